@@ -159,15 +159,6 @@ public class ControleurAccueil {
                     System.out.println("[MAIN] Serveur stoppé pour changement "
                                        + "de l'IP ou du PORT.");
 
-                    try {
-                        Thread.sleep(2000); // pause de 2 secondes
-                    } catch (InterruptedException erreur) {
-                        System.err.println("[MAIN] Interruption pendant le " +
-                                           "délai d'attente : "
-                                           + erreur.getMessage());
-                        Thread.currentThread().interrupt();
-                    }
-
                     MainControleur.initServeur();
                     System.out.println("[MAIN] Serveur redémarré avec "
                             + "la nouvelle IP.");
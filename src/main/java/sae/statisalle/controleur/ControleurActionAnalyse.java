@@ -55,8 +55,4 @@ public class ControleurActionAnalyse {
         MainControleur.activerAffichage();
     }
 
-    @FXML
-    private void initialize() {
-        btnDonneesCalculees.setDisable(true);
-    }
 }
\ No newline at end of file
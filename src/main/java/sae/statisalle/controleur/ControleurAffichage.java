@@ -11,19 +11,18 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.text.Text;
 
 import javafx.stage.FileChooser;
+import sae.statisalle.modele.ColonnesReservations;
+import sae.statisalle.modele.EntrepotDonnees;
+import sae.statisalle.modele.FiltreReservation;
 import sae.statisalle.modele.GenererPdf;
-import sae.statisalle.modele.LireFichier;
+import sae.statisalle.modele.TacheChargement;
 import sae.statisalle.modele.objet.*;
 
 import java.io.File;
 import java.io.IOException;
 
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-
 import java.util.*; // TODO ne jamais mettre d'étoiles
+import java.util.concurrent.Callable;
 
 /**
  * Contrôleur qui gère la consultation des données et des filtres de recherche sont applicables sur les reservations.
@@ -47,6 +46,14 @@ public class ControleurAffichage {
     @FXML
     private Button btnClassement;
 
+    // suivi du chargement des données
+    @FXML
+    private ProgressBar barreChargement;
+    @FXML
+    private Text texteChargement;
+    @FXML
+    private Button btnAnnulerChargement;
+
     @FXML
     private TabPane grandTableau;
 
@@ -142,14 +149,14 @@ public class ControleurAffichage {
 
     private boolean filtreSet = false;
 
-    @FXML
-    ObservableList<Employe> listEmploye = FXCollections.observableArrayList();
-    @FXML
-    ObservableList<Activite> listActivite = FXCollections.observableArrayList();
-    @FXML
-    ObservableList<Salle> listSalle = FXCollections.observableArrayList();
-    @FXML
-    ObservableList<Reservation> listReservation = FXCollections.observableArrayList();
+    /* Évaluation des filtres regroupée et exécutée en arrière-plan */
+    private EvaluationDifferee<List<Reservation>> evaluationFiltres;
+
+    // Données partagées entre tous les écrans
+    ObservableList<Employe> listEmploye = EntrepotDonnees.getListEmploye();
+    ObservableList<Activite> listActivite = EntrepotDonnees.getListActivite();
+    ObservableList<Salle> listSalle = EntrepotDonnees.getListSalle();
+    ObservableList<Reservation> listReservation = EntrepotDonnees.getListReservation();
     @FXML
     ObservableList<Reservation> reservationsFiltrees = FXCollections.observableArrayList();
 
@@ -201,15 +208,8 @@ public class ControleurAffichage {
 
         grandTableau.setVisible(true);
 
-        tabEmploye.getItems().clear();
-        tabSalle.getItems().clear();
-        tabActivite.getItems().clear();
-        tabReservation.getItems().clear();
-
-        // Appel de la méthode centralisée pour charger les fichiers
-        LireFichier.chargerDonneesCSV("src/main/resources/csv", listEmploye, listSalle, listActivite, listReservation);
-
-        // Configurez les tables après avoir chargé les données
+        // Configurez les tables : elles se remplissent au fur et à mesure
+        // du chargement
         idEmploye.setCellValueFactory(new PropertyValueFactory<>("idE"));
         nomE.setCellValueFactory(new PropertyValueFactory<>("nom"));
         prenomE.setCellValueFactory(new PropertyValueFactory<>("prenom"));
@@ -245,6 +245,19 @@ public class ControleurAffichage {
         usageR.setCellValueFactory(new PropertyValueFactory<>("usage"));
         tabReservation.setItems(listReservation);
 
+        // Les fichiers ne sont relus que s'ils ont changé depuis le
+        // dernier chargement, en arrière-plan
+        TacheChargement chargement =
+                EntrepotDonnees.charger(this::afficherFiltresDonnees);
+        MainControleur.afficherChargement(chargement, barreChargement,
+                                          texteChargement, btnAnnulerChargement,
+                                          this::chargementInterrompu);
+    }
+
+    /**
+     * Remplit et affiche les filtres une fois les données chargées.
+     */
+    private void afficherFiltresDonnees() {
         if (grandTableau.getSelectionModel().getSelectedItem() == feuilleReservation) {
             afficherFiltre();
         }
@@ -266,6 +279,26 @@ public class ControleurAffichage {
         reinitialiserFiltre.setVisible(true);
     }
 
+    /**
+     * Garde l'affichage à jour lorsque les fichiers de données changent :
+     * les tableaux sont liés aux listes partagées, seules les réservations
+     * filtrées sont recalculées.
+     */
+    private void donneesModifiees() {
+        if (grandTableau.isVisible() && filtreSet) {
+            appliquerFiltres();
+        }
+    }
+
+    /**
+     * Propose de relancer le chargement lorsqu'il a été annulé ou a échoué.
+     */
+    private void chargementInterrompu() {
+        grandTableau.setVisible(false);
+        btnGenererPdf.setVisible(false);
+        btnAfficherTableaux.setVisible(true);
+    }
+
     @FXML
     private void afficherFiltre() {
         // création d'une liste contenant tous les éléments d'affichage
@@ -338,35 +371,31 @@ public class ControleurAffichage {
     }
 
     private void remplirComboBoxDates() {
-        Set<String> datesUniques = new HashSet<>();
-        for (Reservation date : listReservation) {
-            datesUniques.add(date.getDateR());
-        }
+        Set<String> datesUniques = new HashSet<>(
+                FiltreReservation.datesDistinctes(listReservation));
         remplirComboBox(filtreDateDebut, datesUniques);
         remplirComboBox(filtreDateFin, datesUniques);
     }
 
     private void remplirComboBoxHeuresD() {
-        Set<String> heuresUniques = new HashSet<>();
-        for (Reservation heuresD : listReservation) {
-            heuresUniques.add(heuresD.getHeureDebut());
-        }
-
-        remplirComboBox(filtreHeureD, heuresUniques);
+        remplirComboBox(filtreHeureD, new HashSet<>(
+                FiltreReservation.heuresDistinctes(
+                listReservation, Reservation::getDebutMinutes)));
     }
 
     private void remplirComboBoxHeuresF() {
-        Set<String> heuresUniques = new HashSet<>();
-        for (Reservation heuresF : listReservation) {
-            heuresUniques.add(heuresF.getHeureFin());
-        }
-
-        remplirComboBox(filtreHeureF, heuresUniques);
+        remplirComboBox(filtreHeureF, new HashSet<>(
+                FiltreReservation.heuresDistinctes(
+                listReservation, Reservation::getFinMinutes)));
     }
 
     @FXML
     private void initialize() {
 
+        evaluationFiltres = new EvaluationDifferee<>(this::preparerFiltres,
+                                                     this::afficherFiltres);
+        EntrepotDonnees.ajouterEcouteur(this::donneesModifiees);
+
         // Sélectionner l'onglet "Réservation" par défaut
         grandTableau.getSelectionModel().select(feuilleReservation);
 
@@ -414,6 +443,9 @@ public class ControleurAffichage {
         filtreHeureD.getSelectionModel().select("Tous");
         filtreHeureF.getSelectionModel().select("Tous");
 
+        // Aucun filtre n'est plus actif : inutile d'évaluer les sélections
+        evaluationFiltres.annuler();
+
         // Réaffecter les listes complètes aux tableaux
         if (tabSalle != null) tabSalle.setItems(listSalle);
         if (tabEmploye != null) tabEmploye.setItems(listEmploye);
@@ -426,14 +458,9 @@ public class ControleurAffichage {
     }
 
     private void mettreAJourFiltreHeureDebut() {
-        Set<String> heuresDebutUniques = new HashSet<>();
-
-        for (Reservation reservation : listReservation) {
-            heuresDebutUniques.add(reservation.getHeureDebut());
-        }
-
-        List<String> heuresDebutListe = new ArrayList<>(heuresDebutUniques);
-        Collections.sort(heuresDebutListe);
+        List<String> heuresDebutListe =
+                FiltreReservation.heuresDistinctes(listReservation,
+                                                   Reservation::getDebutMinutes);
 
         heuresDebutListe.addFirst("Tous");
 
@@ -441,14 +468,9 @@ public class ControleurAffichage {
     }
 
     private void mettreAJourFiltreHeureFin() {
-        Set<String> heuresFinUniques = new HashSet<>();
-
-        for (Reservation reservation : listReservation) {
-            heuresFinUniques.add(reservation.getHeureFin());
-        }
-
-        List<String> heuresFinListe = new ArrayList<>(heuresFinUniques);
-        Collections.sort(heuresFinListe);
+        List<String> heuresFinListe =
+                FiltreReservation.heuresDistinctes(listReservation,
+                                                   Reservation::getFinMinutes);
 
         heuresFinListe.addFirst("Tous");
 
@@ -456,14 +478,8 @@ public class ControleurAffichage {
     }
 
     private void mettreAJourFiltreDateDebut() {
-        Set<String> datesDebutUniques = new HashSet<>();
-
-        for (Reservation reservation : listReservation) {
-            datesDebutUniques.add(reservation.getDateR());
-        }
-
-        List<String> datesDebutListe = new ArrayList<>(datesDebutUniques);
-        Collections.sort(datesDebutListe);
+        List<String> datesDebutListe =
+                FiltreReservation.datesDistinctes(listReservation);
 
         datesDebutListe.addFirst("Tous");
 
@@ -471,113 +487,55 @@ public class ControleurAffichage {
     }
 
     private void mettreAJourFiltreDateFin() {
-        Set<String> datesFinUniques = new HashSet<>();
-
-        for (Reservation reservation : listReservation) {
-            datesFinUniques.add(reservation.getDateR());
-        }
-
-        List<String> datesFinListe = new ArrayList<>(datesFinUniques);
-        Collections.sort(datesFinListe);
+        List<String> datesFinListe =
+                FiltreReservation.datesDistinctes(listReservation);
 
         datesFinListe.addFirst("Tous");
 
         filtreDateFin.setItems(FXCollections.observableArrayList(datesFinListe));
     }
 
+    /**
+     * Demande l'application des filtres. Les changements rapprochés ne
+     * donnent lieu qu'à une seule évaluation, en arrière-plan.
+     */
     private void appliquerFiltres() {
-        String employeFiltre = filtreEmploye.getValue();
-        String activiteFiltre = filtreActivite.getValue();
-        String salleFiltre = filtreSalle.getValue();
-        String dateFiltreDebut = filtreDateDebut.getValue();
-        String dateFiltreFin = filtreDateFin.getValue();
-        String heureDebutFiltre = filtreHeureD.getValue();
-        String heureFinFiltre = filtreHeureF.getValue();
-
-        reservationsFiltrees.clear();
-
-        for (Reservation reservation : listReservation) {
-
-            boolean matchesFiltre =
-                    (employeFiltre == null || employeFiltre.equals("Tous") || reservation.getEmployeR().equalsIgnoreCase(employeFiltre)) &&
-                    (activiteFiltre == null || activiteFiltre.equals("Tous") || reservation.getActiviteR().equalsIgnoreCase(activiteFiltre)) &&
-                    (salleFiltre == null || salleFiltre.equals("Tous") || reservation.getSalleR().equalsIgnoreCase(salleFiltre));
-
-            boolean matchesDateDebut = true;
-            boolean matchesDateFin = true;
-
-            if (dateFiltreDebut != null && !dateFiltreDebut.equals("Tous")) {
-                LocalDate dateDebut = parseDate(dateFiltreDebut);
-                if (dateDebut != null) {
-                    LocalDate dateReservation = parseDate(reservation.getDateR());
-                    if (dateReservation != null) {
-                        matchesDateDebut = !dateReservation.isBefore(dateDebut);
-                    }
-                }
-            }
-
-            if (dateFiltreFin != null && !dateFiltreFin.equals("Tous")) {
-                LocalDate dateFin = parseDate(dateFiltreFin);
-                if (dateFin != null) {
-                    LocalDate dateReservation = parseDate(reservation.getDateR());
-                    if (dateReservation != null) {
-                        matchesDateFin = !dateReservation.isAfter(dateFin);
-                    }
-                }
-            }
-
-            boolean matchesHeureDebut = true;
-            boolean matchesHeureFin = true;
-
-            if (heureDebutFiltre != null && !heureDebutFiltre.equals("Tous")) {
-                LocalTime heureDebut = parseHeure(heureDebutFiltre);
-                if (heureDebut != null) {
-                    LocalTime heureDebutReservation = parseHeure(reservation.getHeureDebut());
-                    if (heureDebutReservation != null) {
-                        matchesHeureDebut = !heureDebutReservation.isBefore(heureDebut);
-                    }
-                }
-            }
-
-            if (heureFinFiltre != null && !heureFinFiltre.equals("Tous")) {
-                LocalTime heureFin = parseHeure(heureFinFiltre);
-                if (heureFin != null) {
-                    LocalTime heureFinReservation = parseHeure(reservation.getHeureFin());
-                    if (heureFinReservation != null) {
-                        matchesHeureFin = !heureFinReservation.isAfter(heureFin);
-                    }
-                }
-            }
+        evaluationFiltres.demander();
+    }
 
-            if (matchesFiltre && matchesDateDebut && matchesDateFin && matchesHeureDebut && matchesHeureFin) {
-                reservationsFiltrees.add(reservation);
+    /**
+     * Lit les valeurs des filtres et renvoie le calcul des réservations
+     * retenues, à exécuter en arrière-plan.
+     */
+    private Callable<List<Reservation>> preparerFiltres() {
+        // Les valeurs des filtres sont converties une seule fois, les
+        // réservations retenues sont lues dans l'index des colonnes
+        ColonnesReservations colonnes = EntrepotDonnees.getColonnes();
+        FiltreReservation filtre = new FiltreReservation(
+                colonnes.getDictionnaires(),
+                filtreSalle.getValue(), filtreEmploye.getValue(),
+                filtreActivite.getValue(), filtreDateDebut.getValue(),
+                filtreDateFin.getValue(), filtreHeureD.getValue(),
+                filtreHeureF.getValue());
+
+        return () -> {
+            int[] lignes = colonnes.filtrer(filtre);
+            List<Reservation> resultat = new ArrayList<>(lignes.length);
+            for (int ligne : lignes) {
+                resultat.add(colonnes.getReservation(ligne));
             }
-            filtreSet = true;
-        }
-
-        tabReservation.setItems(reservationsFiltrees);
+            return resultat;
+        };
     }
 
-    // Méthode utilitaire pour la conversion des heures en LocalTime
-    private LocalTime parseHeure(String heure) {
-        try {
-            heure = heure.replace('h', ':');
-            return LocalTime.parse(heure);
-        } catch (DateTimeParseException e) {
-            System.out.println("Erreur de format d'heure: " + heure);
-            return null;
-        }
-    }
+    /**
+     * Affiche les réservations retenues par la dernière évaluation.
+     */
+    private void afficherFiltres(List<Reservation> resultat) {
+        reservationsFiltrees.setAll(resultat);
+        filtreSet = true;
 
-    // Méthode utilitaire pour la conversion des dates en LocalTime
-    private LocalDate parseDate(String date) {
-        try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-            return LocalDate.parse(date, formatter);
-        } catch (DateTimeParseException e) {
-            System.out.println("Erreur de format de date: " + date);
-            return null;
-        }
+        tabReservation.setItems(reservationsFiltrees);
     }
 
     @FXML
@@ -15,16 +15,19 @@ import javafx.scene.control.Button;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.text.Text;
 import javafx.stage.FileChooser;
+import sae.statisalle.modele.Agregation;
+import sae.statisalle.modele.Classement;
+import sae.statisalle.modele.ColonnesReservations;
+import sae.statisalle.modele.Dictionnaire;
+import sae.statisalle.modele.EntrepotDonnees;
+import sae.statisalle.modele.FiltreReservation;
 import sae.statisalle.modele.GenererPdf;
-import sae.statisalle.modele.LireFichier;
+import sae.statisalle.modele.TacheChargement;
 import sae.statisalle.modele.objet.*;
 
 import java.io.File;
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.Callable;
 
 /**
  * Controleur des statistiques - ControleurClassement
@@ -46,6 +49,14 @@ public class ControleurClassement {
     @FXML
     private Button btnGenererPdf;
 
+    // suivi du chargement des données
+    @FXML
+    private ProgressBar barreChargement;
+    @FXML
+    private Text texteChargement;
+    @FXML
+    private Button btnAnnulerChargement;
+
     @FXML
     private TabPane grandTableau;
 
@@ -72,6 +83,32 @@ public class ControleurClassement {
     @FXML
     private TableColumn<ReservationDuree, String> totalS;
 
+    // Tables des salles et des employés les plus occupés
+    @FXML
+    private Tab feuilleSallesOccupees;
+    @FXML
+    private Tab feuilleEmployesOccupes;
+    @FXML
+    private TableView<ValeurClassee> tabSallesOccupees;
+    @FXML
+    private TableColumn<ValeurClassee, Integer> rangSO;
+    @FXML
+    private TableColumn<ValeurClassee, String> nomSO;
+    @FXML
+    private TableColumn<ValeurClassee, Integer> nombreSO;
+    @FXML
+    private TableColumn<ValeurClassee, String> dureeSO;
+    @FXML
+    private TableView<ValeurClassee> tabEmployesOccupes;
+    @FXML
+    private TableColumn<ValeurClassee, Integer> rangEO;
+    @FXML
+    private TableColumn<ValeurClassee, String> nomEO;
+    @FXML
+    private TableColumn<ValeurClassee, Integer> nombreEO;
+    @FXML
+    private TableColumn<ValeurClassee, String> dureeEO;
+
     //Filtre
     @FXML
     private ComboBox<String> filtreEmploye;
@@ -87,6 +124,8 @@ public class ControleurClassement {
     private ComboBox<String> filtreSalle;
     @FXML
     private ComboBox<String> filtreActivite;
+    @FXML
+    private ComboBox<String> filtreNombre;
 
     @FXML
     private Text textfiltreEmploye;
@@ -102,15 +141,14 @@ public class ControleurClassement {
     private Text textfiltreHeureD;
     @FXML
     private Text textfiltreHeureF;
-
-    @FXML
-    ObservableList<Employe> listEmploye = FXCollections.observableArrayList();
-    @FXML
-    ObservableList<Activite> listActivite = FXCollections.observableArrayList();
     @FXML
-    ObservableList<Salle> listSalle = FXCollections.observableArrayList();
-    @FXML
-    ObservableList<Reservation> listReservation = FXCollections.observableArrayList();
+    private Text textfiltreNombre;
+
+    // Données partagées entre tous les écrans
+    ObservableList<Employe> listEmploye = EntrepotDonnees.getListEmploye();
+    ObservableList<Activite> listActivite = EntrepotDonnees.getListActivite();
+    ObservableList<Salle> listSalle = EntrepotDonnees.getListSalle();
+    ObservableList<Reservation> listReservation = EntrepotDonnees.getListReservation();
     @FXML
     ObservableList<ReservationDuree> reservationsFiltrees = FXCollections.observableArrayList();
     @FXML
@@ -118,6 +156,40 @@ public class ControleurClassement {
 
     private boolean filtreSet = false;
 
+    /* Rang dans le classement de chaque ligne du stockage par colonnes,
+       -1 pour les réservations non classées */
+    private int[] rangParLigne = new int[0];
+
+    /* Réservations classées, jamais modifiées une fois le classement fait */
+    private List<ReservationDuree> reservationsClassees = List.of();
+
+    /* Évaluation des filtres regroupée et exécutée en arrière-plan */
+    private EvaluationDifferee<ResultatClassement> evaluationFiltres;
+
+    /* Choix du nombre d'éléments affichés dans les classements */
+    private static final String TOUTES = "Toutes";
+    private static final List<String> NOMBRES_AFFICHES =
+            List.of(TOUTES, "10", "50", "100");
+
+    /**
+     * Résultat d'une évaluation des filtres : réservations classées
+     * retenues, et salles et employés les plus occupés.
+     */
+    private static final class ResultatClassement {
+        /* Réservations retenues, null si toutes sont affichées */
+        private final List<ReservationDuree> reservations;
+        private final List<ValeurClassee> salles;
+        private final List<ValeurClassee> employes;
+
+        private ResultatClassement(List<ReservationDuree> reservations,
+                                   List<ValeurClassee> salles,
+                                   List<ValeurClassee> employes) {
+            this.reservations = reservations;
+            this.salles = salles;
+            this.employes = employes;
+        }
+    }
+
     @FXML
     void actionAide(ActionEvent event) {
         MainControleur.activerAideClassement();
@@ -129,46 +201,47 @@ public class ControleurClassement {
     }
 
     /**
-     * Méthode qui sert à récupérer les attributs de l'objet Reservation
+     * Méthode qui sert à récupérer les attributs de l'objet Reservation.
+     * Les réservations rattachées à une salle sont classées par durée
+     * décroissante à partir du stockage par colonnes : seules les colonnes
+     * d'entiers sont parcourues et triées, les objets ne sont relus que pour
+     * construire la liste affichée.
      * @return reservationDuree liste contenant les informations sur les
      *         réservations et leur durée
      */
     public ObservableList<ReservationDuree> getReservationDuree() {
+        ColonnesReservations colonnes = EntrepotDonnees.getColonnes();
 
-        // Parcours de toutes les salles
+        // Codes des salles chargées : les réservations d'une salle inconnue
+        // ne sont pas classées
+        BitSet sallesConnues = new BitSet();
         for (Salle salle : listSalle) {
-            // Parcours des réservations de chaque salle
-            for (Reservation reservation : salle.getReservations()) {
-
-                String idReservation = reservation.getIdReservation();
-                String salleNom = salle.getNom();
-                String employeNom = reservation.getEmployeR();
-                String activite = reservation.getActiviteR();
-                String date = reservation.getDateR();
-                String heureDebut = reservation.getHeureDebut();
-                String heureFin = reservation.getHeureFin();
-
-                // Création de la réservation détaillée
-                ReservationDuree reservationD = new ReservationDuree(
-                    idReservation,
-                        salleNom,
-                        employeNom,
-                        activite,
-                        date,
-                        heureDebut,
-                        heureFin
-                );
-
-                // Ajout de la réservation détaillée à la liste
-                listReservationDuree.add(reservationD);
+            int code = colonnes.getDictionnaires().getSalles().chercher(salle.getNom());
+            if (code != Dictionnaire.ABSENT) {
+                sallesConnues.set(code);
+            }
+        }
+
+        int[] lignesConnues = new int[colonnes.taille()];
+        int nbLignes = 0;
+        for (int ligne : colonnes.toutesLesLignes()) {
+            if (sallesConnues.get(colonnes.getSalle(ligne))) {
+                lignesConnues[nbLignes++] = ligne;
             }
-            // Tri décroissant du temps de la réservation
-            listReservationDuree.sort((r1, r2) -> {
-                int dureeR1 = parseDuree(r1.getDuree());
-                int dureeR2 = parseDuree(r2.getDuree());
-                return Integer.compare(dureeR2, dureeR1);
-            });
         }
+        int[] ordre = Classement.plusLongues(colonnes,
+                Arrays.copyOf(lignesConnues, nbLignes), Classement.TOUS);
+
+        rangParLigne = new int[colonnes.taille()];
+        Arrays.fill(rangParLigne, -1);
+        List<ReservationDuree> classement = new ArrayList<>(ordre.length);
+        for (int rang = 0; rang < ordre.length; rang++) {
+            int ligne = ordre[rang];
+            rangParLigne[ligne] = rang;
+            classement.add(new ReservationDuree(colonnes.getReservation(ligne)));
+        }
+        reservationsClassees = Collections.unmodifiableList(classement);
+        listReservationDuree.setAll(classement);
         return listReservationDuree;
     }
 
@@ -185,9 +258,20 @@ public class ControleurClassement {
 
         tabSalle.getItems().clear();
 
-        // Appel de la méthode centralisée pour charger les fichiers
-        LireFichier.chargerDonneesCSV("src/main/resources/csv", listEmploye, listSalle, listActivite, listReservation);
+        // Les fichiers ne sont relus que s'ils ont changé depuis le
+        // dernier chargement, en arrière-plan
+        TacheChargement chargement =
+                EntrepotDonnees.charger(this::afficherClassement);
+        MainControleur.afficherChargement(chargement, barreChargement,
+                                          texteChargement, btnAnnulerChargement,
+                                          this::chargementInterrompu);
+    }
 
+    /**
+     * Calcule le classement et affiche les filtres une fois les données
+     * chargées.
+     */
+    private void afficherClassement() {
         // Table salle
         idSalle.setCellValueFactory(new PropertyValueFactory<>("idReservation"));
         nomS.setCellValueFactory(new PropertyValueFactory<>("salle"));
@@ -199,6 +283,16 @@ public class ControleurClassement {
         totalS.setCellValueFactory(new PropertyValueFactory<>("duree"));
         tabSalle.setItems(getReservationDuree());
 
+        // Tables des plus occupés
+        rangSO.setCellValueFactory(new PropertyValueFactory<>("rang"));
+        nomSO.setCellValueFactory(new PropertyValueFactory<>("nom"));
+        nombreSO.setCellValueFactory(new PropertyValueFactory<>("nombre"));
+        dureeSO.setCellValueFactory(new PropertyValueFactory<>("duree"));
+        rangEO.setCellValueFactory(new PropertyValueFactory<>("rang"));
+        nomEO.setCellValueFactory(new PropertyValueFactory<>("nom"));
+        nombreEO.setCellValueFactory(new PropertyValueFactory<>("nombre"));
+        dureeEO.setCellValueFactory(new PropertyValueFactory<>("duree"));
+
         afficherFiltreSalle();
 
         remplirComboBoxSalles();
@@ -220,13 +314,33 @@ public class ControleurClassement {
         reinitialiserFiltre();
     }
 
+    /**
+     * Recalcule les classements affichés lorsque les fichiers de données
+     * changent, avec les filtres choisis.
+     */
+    private void donneesModifiees() {
+        if (grandTableau.isVisible()) {
+            appliquerFiltres();
+        }
+    }
+
+    /**
+     * Propose de relancer le chargement lorsqu'il a été annulé ou a échoué.
+     */
+    private void chargementInterrompu() {
+        grandTableau.setVisible(false);
+        btnGenererPdf.setVisible(false);
+        btnAfficherTableaux.setVisible(true);
+    }
+
     @FXML
     private void handleReinitialiserFiltre() {
         reinitialiserFiltre();
     }
 
     /**
-     * Affiche ou masque les filtres de salle en fonction de l'état du bouton feuilleSalle.
+     * Affiche ou masque les filtres en fonction de l'onglet sélectionné :
+     * les filtres s'appliquent à tous les onglets du classement.
      * Parcourt les composants liés aux filtres et applique leur visibilité.
      * Vérifie que chaque composant n'est pas null avant de modifier sa visibilité
      */
@@ -235,10 +349,12 @@ public class ControleurClassement {
         List<Node> filtres = Arrays.asList(
                 filtreEmploye, filtreActivite, filtreSalle, filtreDateDebut, filtreDateFin, filtreHeureD, filtreHeureF,
                 textfiltreEmploye, textfiltreActivite, textfiltreDateDebut, textfiltreDateFin, textfiltreHeureD,
-                textfiltreHeureF, textfiltreSalle
+                textfiltreHeureF, textfiltreSalle, filtreNombre, textfiltreNombre
         );
 
-        boolean visible = feuilleSalle.isSelected();
+        boolean visible = feuilleSalle.isSelected()
+                          || feuilleSallesOccupees.isSelected()
+                          || feuilleEmployesOccupes.isSelected();
 
         // Applique la visibilité à chaque composant si celui-ci n'est pas null
         filtres.forEach(composantFiltre -> {
@@ -339,10 +455,8 @@ public class ControleurClassement {
      * ces types uniques.
      */
     private void remplirComboBoxDates() {
-        Set<String> datesUniques = new HashSet<>();
-        for (Reservation date : listReservation) {
-            datesUniques.add(date.getDateR());
-        }
+        Set<String> datesUniques = new HashSet<>(
+                FiltreReservation.datesDistinctes(listReservation));
         remplirComboBox(filtreDateDebut, datesUniques);
         remplirComboBox(filtreDateFin, datesUniques);
     }
@@ -357,10 +471,9 @@ public class ControleurClassement {
      * ces types uniques.
      */
     private void remplirComboBoxHeuresD() {
-        Set<String> heuresUniques = new HashSet<>();
-        for (Reservation heuresD : listReservation) {
-            heuresUniques.add(heuresD.getHeureDebut());
-        }
+        Set<String> heuresUniques = new HashSet<>(
+                FiltreReservation.heuresDistinctes(
+                        listReservation, Reservation::getDebutMinutes));
 
         remplirComboBox(filtreHeureD, heuresUniques);
     }
@@ -375,10 +488,9 @@ public class ControleurClassement {
      * ces types uniques.
      */
     private void remplirComboBoxHeuresF() {
-        Set<String> heuresUniques = new HashSet<>();
-        for (Reservation heuresF : listReservation) {
-            heuresUniques.add(heuresF.getHeureFin());
-        }
+        Set<String> heuresUniques = new HashSet<>(
+                FiltreReservation.heuresDistinctes(
+                        listReservation, Reservation::getFinMinutes));
 
         remplirComboBox(filtreHeureF, heuresUniques);
     }
@@ -386,8 +498,15 @@ public class ControleurClassement {
     @FXML
     private void initialize() {
 
+        evaluationFiltres = new EvaluationDifferee<>(this::preparerFiltres,
+                                                     this::afficherFiltres);
+        EntrepotDonnees.ajouterEcouteur(this::donneesModifiees);
+
         masquerFiltres();
 
+        filtreNombre.setItems(FXCollections.observableArrayList(NOMBRES_AFFICHES));
+        filtreNombre.getSelectionModel().select(TOUTES);
+
         // Configurations additionnelles
         grandTableau.getSelectionModel().select(feuilleSalle);
         mettreAJourFiltreHeureFin();
@@ -400,6 +519,7 @@ public class ControleurClassement {
         filtreDateFin.valueProperty().addListener((observable, oldValue, newValue) -> appliquerFiltres());
         filtreHeureD.valueProperty().addListener((observable, oldValue, newValue) -> appliquerFiltres());
         filtreHeureF.valueProperty().addListener((observable, oldValue, newValue) -> appliquerFiltres());
+        filtreNombre.valueProperty().addListener((observable, oldValue, newValue) -> appliquerFiltres());
     }
 
     private void masquerFiltres() {
@@ -417,6 +537,8 @@ public class ControleurClassement {
         textfiltreHeureD.setVisible(false);
         filtreHeureF.setVisible(false);
         textfiltreHeureF.setVisible(false);
+        filtreNombre.setVisible(false);
+        textfiltreNombre.setVisible(false);
         reinitialiserFiltre.setVisible(false);
     }
 
@@ -429,20 +551,16 @@ public class ControleurClassement {
         filtreDateFin.getSelectionModel().select("Tous");
         filtreHeureD.getSelectionModel().select("Tous");
         filtreHeureF.getSelectionModel().select("Tous");
-        tabSalle.setItems(listReservationDuree);
-        filtreSet = false;
+
+        // Les plus occupés sont recalculés sur toutes les réservations
+        appliquerFiltres();
         System.out.println("Filtres réinitialisés avec succès.");
     }
 
     private void mettreAJourFiltreHeureDebut() {
-        Set<String> heuresDebutUniques = new HashSet<>();
-
-        for (Reservation reservation : listReservation) {
-            heuresDebutUniques.add(reservation.getHeureDebut());
-        }
-
-        List<String> heuresDebutListe = new ArrayList<>(heuresDebutUniques);
-        Collections.sort(heuresDebutListe);
+        List<String> heuresDebutListe =
+                FiltreReservation.heuresDistinctes(listReservation,
+                                                   Reservation::getDebutMinutes);
 
         heuresDebutListe.addFirst("Tous");
 
@@ -450,14 +568,9 @@ public class ControleurClassement {
     }
 
     private void mettreAJourFiltreHeureFin() {
-        Set<String> heuresFinUniques = new HashSet<>();
-
-        for (Reservation reservation : listReservation) {
-            heuresFinUniques.add(reservation.getHeureFin());
-        }
-
-        List<String> heuresFinListe = new ArrayList<>(heuresFinUniques);
-        Collections.sort(heuresFinListe);
+        List<String> heuresFinListe =
+                FiltreReservation.heuresDistinctes(listReservation,
+                                                   Reservation::getFinMinutes);
 
         heuresFinListe.addFirst("Tous");
 
@@ -470,14 +583,8 @@ public class ControleurClassement {
      * avec l'option "Tous" en premier.
      */
     private void mettreAJourFiltreDateDebut() {
-        Set<String> datesDebutUniques = new HashSet<>();
-
-        for (Reservation reservation : listReservation) {
-            datesDebutUniques.add(reservation.getDateR());
-        }
-
-        List<String> datesDebutListe = new ArrayList<>(datesDebutUniques);
-        Collections.sort(datesDebutListe);
+        List<String> datesDebutListe =
+                FiltreReservation.datesDistinctes(listReservation);
 
         datesDebutListe.addFirst("Tous");
 
@@ -490,14 +597,8 @@ public class ControleurClassement {
      * avec l'option "Tous" en premier.
      */
     private void mettreAJourFiltreDateFin() {
-        Set<String> datesFinUniques = new HashSet<>();
-
-        for (Reservation reservation : listReservation) {
-            datesFinUniques.add(reservation.getDateR());
-        }
-
-        List<String> datesFinListe = new ArrayList<>(datesFinUniques);
-        Collections.sort(datesFinListe);
+        List<String> datesFinListe =
+                FiltreReservation.datesDistinctes(listReservation);
 
         datesFinListe.addFirst("Tous");
 
@@ -521,137 +622,140 @@ public class ControleurClassement {
      * correspond aux filtres définis. Si une réservation satisfait tous les critères,
      * elle est ajoutée à la liste des réservations filtrées.
      */
+    /**
+     * Demande l'application des filtres. Les changements rapprochés ne
+     * donnent lieu qu'à une seule évaluation, en arrière-plan.
+     */
     private void appliquerFiltres() {
-        // Récupérer les valeurs des filtres
-        String employeFiltre = filtreEmploye.getValue();
-        String activiteFiltre = filtreActivite.getValue();
-        String salleFiltre = filtreSalle.getValue();
-        String dateFiltreDebut = filtreDateDebut.getValue();
-        String dateFiltreFin = filtreDateFin.getValue();
-        String heureDebutFiltre = filtreHeureD.getValue();
-        String heureFinFiltre = filtreHeureF.getValue();
-
-        reservationsFiltrees.clear();
-
-        // Vérifier si tous les filtres sont sur "Tous"
-        boolean aucunFiltreApplique =
-                (employeFiltre == null || employeFiltre.equals("Tous")) &&
-                        (activiteFiltre == null || activiteFiltre.equals("Tous")) &&
-                        (salleFiltre == null || salleFiltre.equals("Tous")) &&
-                        (dateFiltreDebut == null || dateFiltreDebut.equals("Tous")) &&
-                        (dateFiltreFin == null || dateFiltreFin.equals("Tous")) &&
-                        (heureDebutFiltre == null || heureDebutFiltre.equals("Tous")) &&
-                        (heureFinFiltre == null || heureFinFiltre.equals("Tous"));
-
-        if (aucunFiltreApplique) {
-            // Si aucun filtre n'est appliqué, réinitialiser les items de la table avec toutes les salles disponibles
-            tabSalle.setItems(listReservationDuree); // Revenir aux données d'origine sans filtrage
-        } else {
-            for (ReservationDuree reservation : listReservationDuree) {
-
-                boolean matchesFiltre =
-                        (employeFiltre == null || employeFiltre.equals("Tous") || reservation.getEmploye().equalsIgnoreCase(employeFiltre)) &&
-                                (activiteFiltre == null || activiteFiltre.equals("Tous") || reservation.getActivite().equalsIgnoreCase(activiteFiltre)) &&
-                                (salleFiltre == null || salleFiltre.equals("Tous") || reservation.getSalle().equalsIgnoreCase(salleFiltre));
-
-                boolean matchesDateDebut = true;
-                boolean matchesDateFin = true;
-
-                if (dateFiltreDebut != null && !dateFiltreDebut.equals("Tous")) {
-                    LocalDate dateDebut = parseDate(dateFiltreDebut);
-                    if (dateDebut != null) {
-                        LocalDate dateReservation = parseDate(reservation.getDate());
-                        if (dateReservation != null) {
-                            matchesDateDebut = !dateReservation.isBefore(dateDebut);
-                        }
-                    }
-                }
-
-                if (dateFiltreFin != null && !dateFiltreFin.equals("Tous")) {
-                    LocalDate dateFin = parseDate(dateFiltreFin);
-                    if (dateFin != null) {
-                        LocalDate dateReservation = parseDate(reservation.getDate());
-                        if (dateReservation != null) {
-                            matchesDateFin = !dateReservation.isAfter(dateFin);
-                        }
-                    }
-                }
+        evaluationFiltres.demander();
+    }
 
-                boolean matchesHeureDebut = true;
-                boolean matchesHeureFin = true;
-
-                if (heureDebutFiltre != null && !heureDebutFiltre.equals("Tous")) {
-                    LocalTime heureDebut = parseHeure(heureDebutFiltre);
-                    if (heureDebut != null) {
-                        LocalTime heureDebutReservation = parseHeure(reservation.getHeureDebut());
-                        if (heureDebutReservation != null) {
-                            matchesHeureDebut = !heureDebutReservation.isBefore(heureDebut);
-                        }
-                    }
+    /**
+     * Lit les valeurs des filtres et renvoie le calcul des classements, à
+     * exécuter en arrière-plan. Si un nombre d'éléments affichés est
+     * choisi, seuls les premiers sont gardés, sans trier toutes les lignes
+     * retenues.
+     */
+    private Callable<ResultatClassement> preparerFiltres() {
+        // Les valeurs des filtres sont converties une seule fois
+        ColonnesReservations colonnes = EntrepotDonnees.getColonnes();
+        FiltreReservation filtre = new FiltreReservation(
+                colonnes.getDictionnaires(),
+                filtreSalle.getValue(), filtreEmploye.getValue(),
+                filtreActivite.getValue(), filtreDateDebut.getValue(),
+                filtreDateFin.getValue(), filtreHeureD.getValue(),
+                filtreHeureF.getValue());
+        int nombre = nombreAffiche();
+        int[] rangs = rangParLigne;
+        List<ReservationDuree> classees = reservationsClassees;
+
+        return () -> {
+            List<ReservationDuree> reservations;
+            if (filtre.estVide()) {
+                // Le classement complet est déjà fait : il suffit d'en
+                // garder le début
+                reservations = nombre == Classement.TOUS ? null
+                        : classees.subList(0, Math.min(nombre, classees.size()));
+            } else if (nombre == Classement.TOUS) {
+                reservations = reservationsRetenues(colonnes.filtrer(filtre),
+                                                    rangs, classees);
+            } else {
+                reservations = new ArrayList<>();
+                int[] lignes = lignesClassees(colonnes.filtrer(filtre), rangs);
+                for (int ligne : Classement.plusLongues(colonnes, lignes, nombre)) {
+                    reservations.add(classees.get(rangs[ligne]));
                 }
+            }
+            return new ResultatClassement(reservations,
+                    plusOccupes(colonnes, filtre, Agregation.Cle.SALLE, nombre),
+                    plusOccupes(colonnes, filtre, Agregation.Cle.EMPLOYE, nombre));
+        };
+    }
 
-                if (heureFinFiltre != null && !heureFinFiltre.equals("Tous")) {
-                    LocalTime heureFin = parseHeure(heureFinFiltre);
-                    if (heureFin != null) {
-                        LocalTime heureFinReservation = parseHeure(reservation.getHeureFin());
-                        if (heureFinReservation != null) {
-                            matchesHeureFin = !heureFinReservation.isAfter(heureFin);
-                        }
-                    }
-                }
+    /**
+     * @return Le nombre d'éléments à afficher dans les classements, ou
+     *         {@link Classement#TOUS}.
+     */
+    private int nombreAffiche() {
+        String valeur = filtreNombre.getValue();
+        return valeur == null || valeur.equals(TOUTES)
+               ? Classement.TOUS : Integer.parseInt(valeur);
+    }
 
-                if (matchesFiltre && matchesDateDebut && matchesDateFin && matchesHeureDebut && matchesHeureFin) {
-                    reservationsFiltrees.add(reservation);
-                }
+    /**
+     * Remet les lignes retenues dans l'ordre du classement par leur rang.
+     */
+    private static List<ReservationDuree> reservationsRetenues(
+            int[] lignes, int[] rangs, List<ReservationDuree> classees) {
+        BitSet rangsRetenus = new BitSet(classees.size());
+        for (int ligne : lignes) {
+            if (ligne < rangs.length && rangs[ligne] >= 0) {
+                rangsRetenus.set(rangs[ligne]);
             }
-            filtreSet = true;
-            // Mettre à jour la table avec les salles filtrées
-            tabSalle.setItems(reservationsFiltrees);
         }
+        List<ReservationDuree> resultat =
+                new ArrayList<>(rangsRetenus.cardinality());
+        for (int rang = rangsRetenus.nextSetBit(0); rang >= 0;
+             rang = rangsRetenus.nextSetBit(rang + 1)) {
+            resultat.add(classees.get(rang));
+        }
+        return resultat;
     }
 
-    // Méthode utilitaire pour la conversion des heures en LocalTime
-    private LocalTime parseHeure(String heure) {
-        try {
-            heure = heure.replace('h', ':');
-            return LocalTime.parse(heure);
-        } catch (DateTimeParseException e) {
-            System.out.println("Erreur de format d'heure: " + heure);
-            return null;
+    /**
+     * Garde les lignes retenues qui figurent dans le classement.
+     */
+    private static int[] lignesClassees(int[] lignes, int[] rangs) {
+        int[] resultat = new int[lignes.length];
+        int nombre = 0;
+        for (int ligne : lignes) {
+            if (ligne < rangs.length && rangs[ligne] >= 0) {
+                resultat[nombre++] = ligne;
+            }
         }
+        return Arrays.copyOf(resultat, nombre);
     }
 
     /**
-     * Analyse une chaîne de caractères en tant que date au format "dd/MM/yyyy".
-     * Si le format est invalide, une erreur est affichée et la méthode retourne null.
-     *
-     * @param date La chaîne représentant la date à analyser.
-     * @return La date au format LocalDate ou null en cas d'erreur.
+     * Classe les salles ou les employés des réservations retenues par
+     * temps réservé décroissant, à partir du cube des agrégats.
      */
-    private LocalDate parseDate(String date) {
-        try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-            return LocalDate.parse(date, formatter);
-        } catch (DateTimeParseException e) {
-            System.out.println("Erreur de format de date: " + date);
-            return null;
+    private static List<ValeurClassee> plusOccupes(ColonnesReservations colonnes,
+                                                   FiltreReservation filtre,
+                                                   Agregation.Cle cle, int nombre) {
+        Agregation agregation = colonnes.agreger(filtre, cle);
+        int[] codes = Classement.plusOccupes(agregation, nombre);
+        List<ValeurClassee> resultat = new ArrayList<>(codes.length);
+        for (int rang = 0; rang < codes.length; rang++) {
+            int code = codes[rang];
+            resultat.add(new ValeurClassee(rang + 1, agregation.valeur(code),
+                                           agregation.getNombre(code),
+                                           agregation.getMinutes(code)));
         }
+        return resultat;
     }
 
     /**
-     * Analyse une chaîne représentant une durée au format "XXhXX"
-     * et la convertit en minutes.
-     * La durée est extraite et séparée en heures et minutes.
-     * La méthode retourne le total en minutes.
+     * Affiche les classements calculés par la dernière évaluation.
      *
-     * @param duree La chaîne représentant la durée (ex. "2h30").
-     * @return La durée en minutes.
+     * @param resultat Les classements, dont les réservations valent null
+     *                 si toutes sont affichées.
      */
-    private int parseDuree(String duree) {
-        String[] parts = duree.split("h");
-        int heures = Integer.parseInt(parts[0]);
-        int minutes = Integer.parseInt(parts[1]);
-        return heures * 60 + minutes;  // Conversion en minutes
+    private void afficherFiltres(ResultatClassement resultat) {
+        reservationsFiltrees.clear();
+
+        if (resultat.reservations == null) {
+            // Si aucun filtre n'est appliqué, réinitialiser les items de la table avec toutes les salles disponibles
+            tabSalle.setItems(listReservationDuree); // Revenir aux données d'origine sans filtrage
+            filtreSet = false;
+        } else {
+            reservationsFiltrees.setAll(resultat.reservations);
+            filtreSet = true;
+            // Mettre à jour la table avec les salles filtrées
+            tabSalle.setItems(reservationsFiltrees);
+        }
+        tabSallesOccupees.setItems(FXCollections.observableArrayList(resultat.salles));
+        tabEmployesOccupes.setItems(FXCollections.observableArrayList(resultat.employes));
     }
 
     /**
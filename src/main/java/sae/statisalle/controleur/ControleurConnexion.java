@@ -115,8 +115,8 @@ public class ControleurConnexion {
         // mettre le curseur en mode chargement
         MainControleur.getFenetrePrincipale().getScene().setCursor(Cursor.WAIT);
 
-        // envoie de donnée dans un thread séparé pour éviter les bloquages
-        new Thread(() -> {
+        // connexion dans un thread virtuel pour éviter les bloquages
+        Thread.ofVirtual().name("connexion-client").start(() -> {
             try {
                 Session.setClient(client);
                 Session.setIpServeur(ip);
@@ -141,7 +141,7 @@ public class ControleurConnexion {
                             "Impossible de se connecter au serveur.");
                 });
             }
-        }).start();
+        });
     }
 
     /**
@@ -1,15 +1,41 @@
 package sae.statisalle.controleur;
 
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.event.ActionEvent;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.text.Text;
+import sae.statisalle.modele.Agregation;
+import sae.statisalle.modele.ColonnesReservations;
+import sae.statisalle.modele.ConflitsReservations;
+import sae.statisalle.modele.EntrepotDonnees;
+import sae.statisalle.modele.FiltreReservation;
+import sae.statisalle.modele.IndexIntervalles;
+import sae.statisalle.modele.TacheChargement;
 import sae.statisalle.modele.objet.Activite;
+import sae.statisalle.modele.objet.Conflit;
 import sae.statisalle.modele.objet.Employe;
+import sae.statisalle.modele.objet.Reservation;
 import sae.statisalle.modele.objet.Salle;
 
+import java.util.List;
+
+/**
+ * Contrôleur des données calculées : durée totale réservée pour chaque
+ * salle, activité et employé, sur la période et le créneau choisis dans
+ * les filtres, réservations qui se chevauchent (salle ou employé réservé
+ * deux fois) et réservations d'une salle sur un créneau.
+ * <p>
+ * Les totaux sont calculés sur le stockage par colonnes des réservations :
+ * un changement de filtre ne parcourt que des tableaux d'entiers.
+ * </p>
+ */
 public class ControleurDonneesCalculees {
 
     @FXML
@@ -27,6 +53,17 @@ public class ControleurDonneesCalculees {
     @FXML
     private Button reinitialiserFiltre;
 
+    @FXML
+    private Button btnAfficherTableaux;
+
+    // suivi du chargement des données
+    @FXML
+    private ProgressBar barreChargement;
+    @FXML
+    private Text texteChargement;
+    @FXML
+    private Button btnAnnulerChargement;
+
     // Table de salle
     @FXML
     private TableView<Salle> tabSalle;
@@ -69,15 +106,65 @@ public class ControleurDonneesCalculees {
     @FXML
     private TableColumn<Employe, String> totalE;
 
+    // Table des conflits
+    @FXML
+    private TableView<Conflit> tabConflit;
+    @FXML
+    private TableColumn<Conflit, String> typeC;
+    @FXML
+    private TableColumn<Conflit, String> ressourceC;
+    @FXML
+    private TableColumn<Conflit, String> dateC;
+    @FXML
+    private TableColumn<Conflit, String> reservation1C;
+    @FXML
+    private TableColumn<Conflit, String> horaires1C;
+    @FXML
+    private TableColumn<Conflit, String> reservation2C;
+    @FXML
+    private TableColumn<Conflit, String> horaires2C;
+    @FXML
+    private TableColumn<Conflit, String> chevauchementC;
+
+    // Table des réservations d'une salle sur un créneau
+    @FXML
+    private ComboBox<String> filtreSalleCreneau;
+    @FXML
+    private TableView<Reservation> tabCreneau;
+    @FXML
+    private TableColumn<Reservation, String> idReservationCr;
+    @FXML
+    private TableColumn<Reservation, String> employeCr;
+    @FXML
+    private TableColumn<Reservation, String> activiteCr;
+    @FXML
+    private TableColumn<Reservation, String> dateCr;
+    @FXML
+    private TableColumn<Reservation, String> heureDebutCr;
+    @FXML
+    private TableColumn<Reservation, String> heureFinCr;
+
     @FXML
     private Button btnAide;
 
     @FXML
     private Button btnRetour;
 
+    // Données partagées entre tous les écrans
+    ObservableList<Salle> listSalle = EntrepotDonnees.getListSalle();
+    ObservableList<Employe> listEmploye = EntrepotDonnees.getListEmploye();
+    ObservableList<Activite> listActivite = EntrepotDonnees.getListActivite();
+    ObservableList<Reservation> listReservation =
+            EntrepotDonnees.getListReservation();
+    ObservableList<Conflit> listConflit = FXCollections.observableArrayList();
+
     @FXML
     void handleReinitialiserFiltre(ActionEvent event) {
-
+        filtreDateDebut.getSelectionModel().select("Tous");
+        filtreDateFin.getSelectionModel().select("Tous");
+        filtreHeureD.getSelectionModel().select("Tous");
+        filtreHeureF.getSelectionModel().select("Tous");
+        calculerTotaux();
     }
 
     @FXML
@@ -93,6 +180,187 @@ public class ControleurDonneesCalculees {
     // Méthode d'initialisation si nécessaire
     @FXML
     public void initialize() {
+        idSalle.setCellValueFactory(new PropertyValueFactory<>("identifiant"));
+        nomS.setCellValueFactory(new PropertyValueFactory<>("nom"));
+        employeS.setCellValueFactory(new PropertyValueFactory<>("nomEmploye"));
+        activiteS.setCellValueFactory(new PropertyValueFactory<>("typesActivite"));
+        totalS.setCellValueFactory(new PropertyValueFactory<>("dureeTotale"));
+
+        idActivite.setCellValueFactory(new PropertyValueFactory<>("type"));
+        activiteA.setCellValueFactory(new PropertyValueFactory<>("idActivite"));
+        salleA.setCellValueFactory(new PropertyValueFactory<>("sallesAssociees"));
+        employeA.setCellValueFactory(new PropertyValueFactory<>("employeAssocies"));
+        totalA.setCellValueFactory(new PropertyValueFactory<>("dureeTotale"));
+
+        idEmploye.setCellValueFactory(new PropertyValueFactory<>("idE"));
+        nomPrenomE.setCellValueFactory(new PropertyValueFactory<>("nomPrenom"));
+        salleE.setCellValueFactory(new PropertyValueFactory<>("sallesAssociees"));
+        activiteE.setCellValueFactory(new PropertyValueFactory<>("typesActivite"));
+        totalE.setCellValueFactory(new PropertyValueFactory<>("dureeTotale"));
+
+        typeC.setCellValueFactory(new PropertyValueFactory<>("type"));
+        ressourceC.setCellValueFactory(new PropertyValueFactory<>("ressource"));
+        dateC.setCellValueFactory(new PropertyValueFactory<>("date"));
+        reservation1C.setCellValueFactory(new PropertyValueFactory<>("idReservation1"));
+        horaires1C.setCellValueFactory(new PropertyValueFactory<>("horaires1"));
+        reservation2C.setCellValueFactory(new PropertyValueFactory<>("idReservation2"));
+        horaires2C.setCellValueFactory(new PropertyValueFactory<>("horaires2"));
+        chevauchementC.setCellValueFactory(new PropertyValueFactory<>("chevauchement"));
+
+        idReservationCr.setCellValueFactory(new PropertyValueFactory<>("idReservation"));
+        employeCr.setCellValueFactory(new PropertyValueFactory<>("employeR"));
+        activiteCr.setCellValueFactory(new PropertyValueFactory<>("activiteR"));
+        dateCr.setCellValueFactory(new PropertyValueFactory<>("dateR"));
+        heureDebutCr.setCellValueFactory(new PropertyValueFactory<>("heureDebut"));
+        heureFinCr.setCellValueFactory(new PropertyValueFactory<>("heureFin"));
+
+        filtreDateDebut.valueProperty().addListener((observable, oldValue, newValue) -> calculerTotaux());
+        filtreDateFin.valueProperty().addListener((observable, oldValue, newValue) -> calculerTotaux());
+        filtreHeureD.valueProperty().addListener((observable, oldValue, newValue) -> calculerTotaux());
+        filtreHeureF.valueProperty().addListener((observable, oldValue, newValue) -> calculerTotaux());
+        filtreSalleCreneau.valueProperty().addListener((observable, oldValue, newValue) -> afficherCreneau());
+
+        EntrepotDonnees.ajouterEcouteur(this::donneesModifiees);
+    }
+
+    /**
+     * Chargement des données dans les tableaux. Les fichiers ne sont relus
+     * que s'ils ont changé depuis le dernier chargement, en arrière-plan.
+     */
+    @FXML
+    private void chargerDonnees() {
+        btnAfficherTableaux.setVisible(false);
+
+        tabSalle.setItems(listSalle);
+        tabActivite.setItems(listActivite);
+        tabEmploye.setItems(listEmploye);
+        tabConflit.setItems(listConflit);
+
+        TacheChargement chargement =
+                EntrepotDonnees.charger(this::afficherTotaux);
+        MainControleur.afficherChargement(chargement, barreChargement,
+                                          texteChargement, btnAnnulerChargement,
+                                          () -> btnAfficherTableaux.setVisible(true));
+    }
+
+    /**
+     * Remplit les filtres et calcule les totaux une fois les données
+     * chargées.
+     */
+    private void afficherTotaux() {
+        remplirComboBox(filtreDateDebut, FiltreReservation.datesDistinctes(listReservation));
+        remplirComboBox(filtreDateFin, FiltreReservation.datesDistinctes(listReservation));
+        remplirComboBox(filtreHeureD, FiltreReservation.heuresDistinctes(
+                listReservation, Reservation::getDebutMinutes));
+        remplirComboBox(filtreHeureF, FiltreReservation.heuresDistinctes(
+                listReservation, Reservation::getFinMinutes));
+        detecterConflits();
+        calculerTotaux();
+    }
+
+    /**
+     * Recalcule les conflits et les totaux affichés lorsque les fichiers de
+     * données changent, avec les filtres choisis.
+     */
+    private void donneesModifiees() {
+        if (!btnAfficherTableaux.isVisible()) {
+            detecterConflits();
+            calculerTotaux();
+        }
+    }
+
+    /**
+     * Affiche les réservations qui se chevauchent et les salles dont les
+     * créneaux peuvent être consultés. Les index et les conflits sont
+     * calculés en arrière-plan par la tâche de chargement ou de mise à
+     * jour : seul leur résultat est affiché ici.
+     */
+    private void detecterConflits() {
+        ConflitsReservations conflits = EntrepotDonnees.getConflits();
+        listConflit.setAll(conflits.getConflits());
+        filtreSalleCreneau.setItems(FXCollections.observableArrayList(
+                conflits.getNomsSalles()));
+    }
+
+    /**
+     * Affiche les réservations de la salle choisie entre la date et l'heure
+     * de début et la date et l'heure de fin des filtres. Une borne non
+     * choisie laisse le créneau ouvert de ce côté.
+     */
+    private void afficherCreneau() {
+        IndexIntervalles index = EntrepotDonnees.getConflits()
+                .getIndexSalle(filtreSalleCreneau.getValue());
+        if (index == null) {
+            tabCreneau.getItems().clear();
+            return;
+        }
+        long debut = borne(filtreDateDebut.getValue(), filtreHeureD.getValue(),
+                           Long.MIN_VALUE, 0);
+        long fin = borne(filtreDateFin.getValue(), filtreHeureF.getValue(),
+                         Long.MAX_VALUE, 24 * 60);
+        tabCreneau.setItems(FXCollections.observableArrayList(
+                index.reservationsEntre(debut, fin)));
+    }
+
+    /*
+     * Instant désigné par une date et une heure des filtres. Sans date,
+     * le créneau n'est pas borné ; sans heure, l'heure par défaut est
+     * utilisée.
+     */
+    private static long borne(String date, String heure,
+                              long sansDate, int heureParDefaut) {
+        int jour = date == null ? Reservation.DATE_INVALIDE
+                                : Reservation.convertirDate(date);
+        if (jour == Reservation.DATE_INVALIDE) {
+            return sansDate;
+        }
+        int minutes = heure == null ? Reservation.HEURE_INVALIDE
+                                    : Reservation.convertirHeure(heure);
+        return IndexIntervalles.instant(jour, minutes == Reservation.HEURE_INVALIDE
+                                              ? heureParDefaut : minutes);
+    }
+
+    private void remplirComboBox(ComboBox<String> comboBox, List<String> valeurs) {
+        ObservableList<String> items = FXCollections.observableArrayList("Tous");
+        items.addAll(valeurs);
+        comboBox.setItems(items);
+        comboBox.getSelectionModel().selectFirst();
+    }
+
+    /**
+     * Calcule la durée totale réservée pour chaque salle, activité et
+     * employé sur les réservations retenues par les filtres.
+     * Chaque total est obtenu en additionnant les cases du cube des
+     * agrégats, sans parcourir les réservations.
+     */
+    private void calculerTotaux() {
+        ColonnesReservations colonnes = EntrepotDonnees.getColonnes();
+        FiltreReservation filtre = new FiltreReservation(
+                colonnes.getDictionnaires(), null, null, null,
+                filtreDateDebut.getValue(), filtreDateFin.getValue(),
+                filtreHeureD.getValue(), filtreHeureF.getValue());
+
+        Agregation parSalle = colonnes.agreger(filtre, Agregation.Cle.SALLE);
+        for (Salle salle : listSalle) {
+            salle.setDureeTotale(Reservation.formaterHeure((int) parSalle.getMinutes(
+                    parSalle.code(salle.getNom()))));
+        }
+
+        Agregation parActivite = colonnes.agreger(filtre, Agregation.Cle.ACTIVITE);
+        for (Activite activite : listActivite) {
+            activite.setDureeTotale(Reservation.formaterHeure((int) parActivite.getMinutes(
+                    parActivite.code(activite.getIdActivite()))));
+        }
+
+        Agregation parEmploye = colonnes.agreger(filtre, Agregation.Cle.EMPLOYE);
+        for (Employe employe : listEmploye) {
+            employe.setDureeTotale(Reservation.formaterHeure((int) parEmploye.getMinutes(
+                    parEmploye.code(employe.getNomPrenom()))));
+        }
 
+        tabSalle.refresh();
+        tabActivite.refresh();
+        tabEmploye.refresh();
+        afficherCreneau();
     }
-}
\ No newline at end of file
+}
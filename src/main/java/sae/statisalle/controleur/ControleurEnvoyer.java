@@ -4,7 +4,9 @@
  */
 package sae.statisalle.controleur;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
+import javafx.scene.Cursor;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.image.Image;
@@ -15,11 +17,11 @@ import sae.statisalle.modele.*;
 import sae.statisalle.modele.objet.Client;
 import sae.statisalle.modele.objet.Serveur;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -132,90 +134,108 @@ public class ControleurEnvoyer {
 
     /**
      * Gère l'envoi des fichiers sélectionnés au serveur.
+     * L'envoi est exécuté dans un thread virtuel pour ne pas bloquer
+     * l'interface, qui est mise à jour une fois l'envoi terminé.
      */
     @FXML
     void actionEnvoyer() {
-        try {
-            // Initialisation du client et connexion au serveur
-            client = Session.getClient();
-            String ip = Session.getIpServeur();
-            String port = Session.getPortServeur();
-            client.connecter(ip, Integer.parseInt(port));
-
-            // préparer les données à envoyer
-            StringBuilder contenuTotal = new StringBuilder();
-            for (String cheminFichier : cheminsDesFichiers) {
-                File fichier = new File(cheminFichier);
-
-                if (!fichier.exists()) {
-                    throw new IllegalArgumentException("Le fichier n'existe "
-                                                       + "pas : "
-                                                       + cheminFichier);
-                }
-
-                try (BufferedReader reader = new BufferedReader(
-                                                    new FileReader(fichier))) {
-                    String ligne;
-                    while ((ligne = reader.readLine()) != null) {
-                        contenuTotal.append(ligne).append("\n");
-                    }
-
-                } catch (IOException erreurLecture) {
-                    throw new IOException("Erreur lors de la lecture du "
-                                          + "fichier : " + fichier.getName(),
-                                          erreurLecture);
-                }
-
-                contenuTotal.append("/EOF"); // limiteur de fin de fichier
-            }
+        client = Session.getClient();
+        String ip = Session.getIpServeur();
+        String port = Session.getPortServeur();
+        List<String> fichiersAEnvoyer = List.copyOf(cheminsDesFichiers);
 
-            String contenuFormate = contenuTotal.toString()
-                                                .replace("\n", "/N")
-                                                .replace("\r", "/R");
-
-            /* Initialisation Diffie-Hellman */
-            // TODO passer en BigInteger si possible
-            int p = DiffieHellman.genererEntierPremier(1,9999);
-            int g = DiffieHellman.genererGenerateur(p);
-            int a = DiffieHellman.genererEntierPremier(1,9999);
-
-            int clePubliqueClient = DiffieHellman.expoModulaire(g, a, p);
-            client.envoyerClePublic( clePubliqueClient + " ; "
-                                    + p + " ; " + g);
-
-            String clePartageeServeur = client.recevoirClePublic();
-            String[] parties = clePartageeServeur.split(" ; ");
-            if (parties.length != 3) {
-                throw new IllegalArgumentException("Format de clé publique "
-                                                   + "invalide.");
+        btnEnvoyer.setDisable(true);
+        MainControleur.getFenetrePrincipale().getScene().setCursor(Cursor.WAIT);
+
+        Thread.ofVirtual().name("envoi-fichiers").start(() -> {
+            try {
+                envoyerFichiers(ip, port, fichiersAEnvoyer);
+                Platform.runLater(() -> {
+                    finirEnvoi();
+                    afficherConfirmationEtRetour();
+                });
+            } catch (Exception e) {
+                Platform.runLater(() -> {
+                    finirEnvoi();
+                    MainControleur.showAlert(Alert.AlertType.WARNING,
+                                             "Erreur d'envoi",
+                                             "Une erreur est survenue.");
+                });
+                System.out.println("[CLIENT] Une erreur est survenue :"
+                                   + e.getMessage());
+            } finally {
+                client.fermer();
             }
+        });
+    }
 
-            int clePubliqueServeur = Integer.parseInt(parties[0]);
-            BigInteger cleSecreteCalculee = BigInteger.valueOf(
-                       DiffieHellman.expoModulaire(clePubliqueServeur, a, p));
-            System.out.println("[CLIENT] Clé secrète calculé : "
-                               + cleSecreteCalculee);
-
-            // chiffrement et envoi des données
-            String donneesChiffrees =
-                    Vigenere.chiffrementDonnees(contenuFormate,
-                                                cleSecreteCalculee);
-            client.envoyer(donneesChiffrees);
-
-            String reponse = client.recevoir();
-            System.out.println("[CLIENT] Réponse du serveur : " + reponse);
-
-            afficherConfirmationEtRetour();
-        } catch (Exception e) {
-            MainControleur.showAlert(Alert.AlertType.WARNING, "Erreur d'envoi",
-                            "Une erreur est survenue.");
-            System.out.println("[CLIENT] Une erreur est survenue :"
-                               + e.getMessage());
-        } finally {
-            if (client != null) {
-                client.fermer();
+    /**
+     * Rétablit le curseur et le bouton d'envoi à la fin d'un envoi.
+     */
+    private void finirEnvoi() {
+        MainControleur.getFenetrePrincipale().getScene()
+                      .setCursor(Cursor.DEFAULT);
+        btnEnvoyer.setDisable(false);
+    }
+
+    /**
+     * Se connecte au serveur, échange les clés puis envoie les fichiers
+     * chiffrés.
+     *
+     * @param ip L'adresse IP du serveur.
+     * @param port Le port du serveur.
+     * @param fichiersAEnvoyer Les chemins des fichiers à envoyer.
+     * @throws IOException Si la connexion ou la lecture d'un fichier
+     *                     échoue.
+     */
+    private void envoyerFichiers(String ip, String port,
+                                 List<String> fichiersAEnvoyer)
+            throws IOException {
+        List<Path> fichiers = new ArrayList<>();
+        for (String cheminFichier : fichiersAEnvoyer) {
+            Path fichier = Path.of(cheminFichier);
+            if (!Files.isRegularFile(fichier)) {
+                throw new IllegalArgumentException("Le fichier n'existe "
+                                                   + "pas : "
+                                                   + cheminFichier);
             }
+            fichiers.add(fichier);
+        }
+
+        // Initialisation du client et connexion au serveur
+        client.connecter(ip, Integer.parseInt(port));
+
+        /* Initialisation Diffie-Hellman */
+        // TODO passer en BigInteger si possible
+        int p = DiffieHellman.genererEntierPremier(1,9999);
+        int g = DiffieHellman.genererGenerateur(p);
+        int a = DiffieHellman.genererEntierPremier(1,9999);
+
+        int clePubliqueClient = DiffieHellman.expoModulaire(g, a, p);
+        client.envoyerClePublic( clePubliqueClient + " ; "
+                                + p + " ; " + g);
+
+        String clePartageeServeur = client.recevoirClePublic();
+        String[] parties = clePartageeServeur.split(" ; ");
+        if (parties.length != 3) {
+            throw new IllegalArgumentException("Format de clé publique "
+                                               + "invalide.");
+        }
+
+        int clePubliqueServeur = Integer.parseInt(parties[0]);
+        BigInteger cleSecreteCalculee = BigInteger.valueOf(
+                   DiffieHellman.expoModulaire(clePubliqueServeur, a, p));
+        System.out.println("[CLIENT] Clé secrète calculé : "
+                           + cleSecreteCalculee);
+
+        // chiffrement et envoi des fichiers
+        client.envoyerFichiers(fichiers, cleSecreteCalculee);
+
+        String reponse = client.recevoir();
+        if (reponse == null) {
+            throw new IOException("Aucune réponse du serveur.");
         }
+        System.out.println("[CLIENT] Réponse du serveur : " + reponse);
     }
 
     /**
@@ -11,6 +11,7 @@ import javafx.scene.image.Image;
 import javafx.scene.text.Text;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import sae.statisalle.modele.EntrepotDonnees;
 import sae.statisalle.modele.Fichier;
 
 import java.io.File;
@@ -81,6 +82,7 @@ public class ControleurImporter {
         String dateDuJour = new SimpleDateFormat("ddMMyyyy")
                             .format(new Date());
 
+        List<String> fichiersEcrits = new ArrayList<>();
         for (String chemin : cheminsDesFichiers) {
             fichierImporter = new Fichier(chemin);
 
@@ -109,8 +111,12 @@ public class ControleurImporter {
                 fichierExistant.reecritureFichier(
                         fichierImporter.contenuFichier());
             }
+            fichiersEcrits.add("src/main/resources/csv/" + nomFichier);
         }
 
+        // seuls les fichiers importés sont relus dans les données partagées
+        EntrepotDonnees.fichiersEcrits(fichiersEcrits);
+
         System.out.println("Le fichier ou les fichiers ont bien "
                            + "été importé(s)");
         MainControleur.activerAccueil();
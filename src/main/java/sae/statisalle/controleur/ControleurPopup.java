@@ -7,10 +7,12 @@ package sae.statisalle.controleur;
 import javafx.scene.control.*;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
-import sae.statisalle.modele.Fichier;
+import sae.statisalle.modele.EntrepotDonnees;
+import sae.statisalle.modele.FichierTransfere;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
@@ -28,6 +30,9 @@ import java.util.*;
  */
 public class ControleurPopup {
 
+    /* Nombre d'octets affichés au plus pour chaque fichier visualisé */
+    private static final int TAILLE_APERCU = 64 * 1024;
+
     /**
      * Affiche une popup permettant à l'utilisateur
      * de choisir une action après avoir reçu un
@@ -46,10 +51,9 @@ public class ControleurPopup {
      * Si l'utilisateur choisit de visualiser les fichiers,
      * une popup de visualisation des données s'ouvre avec les fichiers reçus.
      *
-     * @param donnees Les données reçues sous forme de chaîne de caractères,
-     *                représentant les fichiers à traiter.
+     * @param fichiers Les fichiers reçus, déchiffrés et vérifiés.
      */
-    public static void afficherPopupFichierRecu(String donnees) {
+    public static void afficherPopupFichierRecu(List<FichierTransfere> fichiers) {
 
         Alert popup = new Alert(Alert.AlertType.CONFIRMATION);
 
@@ -75,14 +79,27 @@ public class ControleurPopup {
 
         Optional<ButtonType> resultat = popup.showAndWait();
 
-        String reponseAvecRetourLigne = donnees.replace("/N", "\n")
-                                               .replace("/R", "\r");
-
-        String[] fichiers = reponseAvecRetourLigne.split("/EOF");
+        // les fichiers reçus non chargés sont supprimés une fois la popup
+        // fermée, quel que soit le choix de l'utilisateur
+        try {
+            traiterChoix(resultat, fichiers, boutonCharger, boutonVisualiser);
+        } finally {
+            fichiers.forEach(FichierTransfere::supprimer);
+        }
+        popup.close();
+    }
 
+    /*
+     * Charge ou visualise les fichiers reçus selon le choix de
+     * l'utilisateur.
+     */
+    private static void traiterChoix(Optional<ButtonType> resultat,
+                                     List<FichierTransfere> fichiers,
+                                     ButtonType boutonCharger,
+                                     ButtonType boutonVisualiser) {
         if (resultat.isPresent()) {
             if (resultat.get() == boutonVisualiser) {
-                afficherPopupVisualiser(reponseAvecRetourLigne);
+                afficherPopupVisualiser(fichiers);
             } else if (resultat.get() == boutonCharger) {
                 String dateDuJour = new SimpleDateFormat("ddMMyyyy")
                                                            .format(new Date());
@@ -96,23 +113,26 @@ public class ControleurPopup {
                                               + "création du répertoire.");
                     }
 
-                    // parcourir chaque fichier extrait et les sauvegarder
-                    for (String fichier : fichiers) {
-                        List<String> donneesEnListe =
-                                Arrays.asList(fichier.split("\n"));
-
-                        String nomFichier = Fichier.getTypeDepuisContenu(
-                                donneesEnListe
-                        ) + "_" + dateDuJour + ".csv";
-
-                        // créer ou réécrire le fichier avec les données reçues
-                        Fichier.ecritureFichier(donneesEnListe,
-                                    "src/main/resources/csv/"
-                                                + nomFichier);
+                    // sauvegarder chaque fichier reçu, tel qu'il a été envoyé
+                    List<String> fichiersEcrits = new ArrayList<>();
+                    for (FichierTransfere fichier : fichiers) {
+                        String type = fichier.getType() != null
+                                      ? fichier.getType() : "Fichier";
+                        String nomFichier = type + "_" + dateDuJour + ".csv";
+
+                        // créer ou remplacer le fichier par le fichier reçu
+                        fichier.deplacer(Path.of("src/main/resources/csv/"
+                                                 + nomFichier));
+                        fichiersEcrits.add("src/main/resources/csv/"
+                                           + nomFichier);
                         System.out.println("Les données ont été sauvegardées "
                                            + "dans : " + nomFichier);
                     }
 
+                    // seuls les fichiers reçus sont relus dans les données
+                    // partagées
+                    EntrepotDonnees.fichiersEcrits(fichiersEcrits);
+
                     // renvoie l'utilisateur vers l'affichage des données
                     MainControleur.activerAffichage();
                 } catch (IOException e) {
@@ -123,17 +143,16 @@ public class ControleurPopup {
                 }
             } else {
                 System.out.println("Action annulée.");
-                popup.close();
             }
         }
     }
 
     /**
      * Affiche une popup pour visualiser
-     * les données reçues sous forme de texte.
-     * @param donnees Les données reçues sous forme de chaîne de caractères
+     * les fichiers reçus sous forme de texte.
+     * @param fichiers Les fichiers reçus.
      */
-    private static void afficherPopupVisualiser(String donnees) {
+    private static void afficherPopupVisualiser(List<FichierTransfere> fichiers) {
         Dialog<ButtonType> popupVisualiser = new Dialog<>();
         popupVisualiser.setTitle("Visualisation des données");
         popupVisualiser.setHeaderText("Données reçues");
@@ -144,9 +163,25 @@ public class ControleurPopup {
                                                              .getWindow();
         stage.getIcons().add(logo);
 
-        // création du contenu de la popup
-        String contenu = donnees.replace("/EOF", "\n\n");
-        TextArea zoneTexte = new TextArea(contenu);
+        // création du contenu de la popup, un fichier après l'autre ; seul
+        // le début d'un fichier volumineux est affiché
+        StringBuilder contenu = new StringBuilder();
+        for (FichierTransfere fichier : fichiers) {
+            contenu.append(fichier.getNom()).append("\n");
+            try {
+                contenu.append(fichier.lireDebut(TAILLE_APERCU));
+                if (fichier.getTaille() > TAILLE_APERCU) {
+                    contenu.append("\n[... ")
+                           .append(fichier.getTaille() - TAILLE_APERCU)
+                           .append(" octets non affichés]");
+                }
+            } catch (IOException e) {
+                contenu.append("[Fichier illisible : ")
+                       .append(e.getMessage()).append("]");
+            }
+            contenu.append("\n\n");
+        }
+        TextArea zoneTexte = new TextArea(contenu.toString());
         zoneTexte.setEditable(false);
         zoneTexte.setWrapText(true);
 
@@ -159,7 +194,7 @@ public class ControleurPopup {
         // gestion du retour
         popupVisualiser.showAndWait().ifPresent(result -> {
             if (result == boutonRetour) {
-                afficherPopupFichierRecu(donnees);
+                afficherPopupFichierRecu(fichiers);
             }
         });
     }
@@ -13,14 +13,17 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.text.Text;
 import javafx.stage.FileChooser;
+import sae.statisalle.modele.Agregation;
+import sae.statisalle.modele.CalendrierOuverture;
+import sae.statisalle.modele.ColonnesReservations;
+import sae.statisalle.modele.EntrepotDonnees;
+import sae.statisalle.modele.FiltreReservation;
 import sae.statisalle.modele.GenererPdf;
-import sae.statisalle.modele.LireFichier;
+import sae.statisalle.modele.OccupationSalles;
+import sae.statisalle.modele.TacheChargement;
 import sae.statisalle.modele.objet.*;
 
 import java.io.File;
-import java.time.Duration;
-import java.time.LocalTime;
-import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -42,26 +45,33 @@ public class ControleurPourcentage {
     private TableView<Salle> tabSalle;
 
     @FXML
-    private TableColumn<Salle, String> nomS, pourcentOccupation;
+    private TableColumn<Salle, String> nomS, pourcentOccupation, tauxOccupation;
 
     @FXML
     private Button btnGenererPdf;
 
+    // suivi du chargement des données
     @FXML
-    private Text textfiltreActivite, textfiltreEmploye, textfiltreSalle;
-
-    @FXML
-    ObservableList<Employe> listEmploye = FXCollections.observableArrayList();
+    private ProgressBar barreChargement;
     @FXML
-    ObservableList<Activite> listActivite = FXCollections.observableArrayList();
+    private Text texteChargement;
     @FXML
-    ObservableList<Salle> listSalle = FXCollections.observableArrayList();
+    private Button btnAnnulerChargement;
+
     @FXML
+    private Text textfiltreActivite, textfiltreEmploye, textfiltreSalle;
+
+    // Données partagées entre tous les écrans
+    ObservableList<Salle> listSalle = EntrepotDonnees.getListSalle();
     ObservableList<Reservation> listReservation =
-            FXCollections.observableArrayList();
-    @FXML
-    ObservableList<Reservation> reservationsFiltrees =
-            FXCollections.observableArrayList();
+            EntrepotDonnees.getListReservation();
+
+    /* Occupation des salles par toutes les réservations, calculée une
+       seule fois pour le stockage et le calendrier avec lesquels elle a
+       été calculée */
+    private OccupationSalles occupationComplete;
+    private ColonnesReservations colonnesOccupation;
+    private CalendrierOuverture calendrierOccupation;
 
     @FXML
     void actionAide(ActionEvent event) {
@@ -93,13 +103,6 @@ public class ControleurPourcentage {
         tabSalle.getItems().clear();
         tabSalle.setVisible(false);
 
-        // Réinitialiser les listes filtrées
-        reservationsFiltrees.clear();
-        listReservation.clear();
-        listSalle.clear();
-        listEmploye.clear();
-        listActivite.clear();
-
         // Rendre le bouton d'affichage du tableau visible
         btnAfficherTableau.setVisible(true);
 
@@ -119,7 +122,7 @@ public class ControleurPourcentage {
         filtreEmploye.getSelectionModel().select("Tous");
         filtreActivite.getSelectionModel().select("Tous");
 
-        calculerPourcentage(listReservation);
+        calculerPourcentage(new FiltreReservation(null, null, null));
 
         if (tabSalle != null) {
             tabSalle.setItems(FXCollections.observableArrayList(listSalle));
@@ -137,60 +140,22 @@ public class ControleurPourcentage {
         String employe = filtreEmploye.getSelectionModel().getSelectedItem();
         String activite = filtreActivite.getSelectionModel().getSelectedItem();
 
-        reservationsFiltrees.clear();
-
-        // filtrage des réservations en fonction des critères choisis
-        for (Reservation reservation : listReservation) {
-            boolean matchesFiltre =
-                    ("Tous".equals(salle) ||
-                            reservation.getSalleR().equals(salle)) &&
-                    ("Tous".equals(employe) ||
-                            reservation.getEmployeR().equals(employe)) &&
-                    ("Tous".equals(activite) ||
-                            reservation.getActiviteR().equals(activite));
-
-            // si la réservation correspond à tous les filtres,
-            // on l'ajoute à la liste filtrée
-            if (matchesFiltre) {
-                reservationsFiltrees.add(reservation);
-            }
-        }
-
-        calculerPourcentage(reservationsFiltrees);
-
-        // Filtrage des salles basé sur les réservations filtrées
-        Set<String> sallesFiltrees = reservationsFiltrees.stream()
-                .map(Reservation::getSalleR)
-                .collect(Collectors.toSet());
+        // filtrage des réservations en fonction des critères choisis,
+        // convertis une seule fois en codes
+        Agregation parSalle = calculerPourcentage(
+                new FiltreReservation(salle, employe, activite));
 
+        // Filtrage des salles basé sur les réservations filtrées : une salle
+        // est gardée si au moins une réservation lui est regroupée
         List<Salle> salles = listSalle.stream()
-                .filter(salleObj -> sallesFiltrees.contains(salleObj.getNom()))
+                .filter(salleObj -> parSalle.getNombre(
+                        parSalle.code(salleObj.getNom())) > 0)
                 .collect(Collectors.toList());
 
         // Mettre à jour la TableView des salles filtrées
         tabSalle.setItems(FXCollections.observableArrayList(salles));
     }
 
-    /**
-     * Méthode utilitaire pour convertir une chaîne représentant une heure en
-     * un objet LocalTime.
-     * La chaîne d'entrée peut utiliser le caractère 'h' comme séparateur
-     * des heures et des minutes.
-     * Ce caractère sera remplacé par ':' avant la tentative de conversion.
-     * @param heure la chaîne représentant une heure à convertir
-     * @return un objet LocalTime représentant l'heure ou bien "null"
-     *         si la chaîne est mal formatée
-     */
-    private LocalTime parseHeure(String heure) {
-        try {
-            heure = heure.replace('h', ':');
-            return LocalTime.parse(heure);
-        } catch (DateTimeParseException e) {
-            System.out.println("Erreur de format d'heure: " + heure);
-            return null;
-        }
-    }
-
     /**
      * Ouvre un dialogue pour enregistrer un fichier PDF contenant les
      * statistiques des salles filtrées.
@@ -205,9 +170,20 @@ public class ControleurPourcentage {
         tabSalle.setVisible(true);
         tabSalle.getItems().clear();
 
-        LireFichier.chargerDonneesCSV("src/main/resources/csv",
-                listEmploye, listSalle, listActivite, listReservation);
+        // Les fichiers ne sont relus que s'ils ont changé depuis le
+        // dernier chargement, en arrière-plan
+        TacheChargement chargement =
+                EntrepotDonnees.charger(this::afficherPourcentages);
+        MainControleur.afficherChargement(chargement, barreChargement,
+                                          texteChargement, btnAnnulerChargement,
+                                          this::chargementInterrompu);
+    }
 
+    /**
+     * Calcule les pourcentages d'occupation et affiche les filtres une fois
+     * les données chargées.
+     */
+    private void afficherPourcentages() {
         remplirComboBox(filtreSalle, listReservation.stream()
                 .map(Reservation::getSalleR).collect(Collectors.toSet()));
         remplirComboBox(filtreEmploye, listReservation.stream()
@@ -220,18 +196,33 @@ public class ControleurPourcentage {
         nomS.setCellValueFactory(new PropertyValueFactory<>("nom"));
         pourcentOccupation.setCellValueFactory(new PropertyValueFactory<>
                 ("pourcentageOccupation"));
+        tauxOccupation.setCellValueFactory(new PropertyValueFactory<>
+                ("tauxOccupation"));
 
-        calculerPourcentage(listReservation);
-
-        // Concaténer le nom et le prénom des employers
-        for (Employe employe : listEmploye) {
-            employe.setNom(employe.getNom() + " " + employe.getPrenom());
-        }
+        calculerPourcentage(new FiltreReservation(null, null, null));
 
         afficherFiltre();
         reinitialiserFiltre.setVisible(true);
     }
 
+    /**
+     * Recalcule les pourcentages affichés lorsque les fichiers de données
+     * changent, avec les filtres choisis.
+     */
+    private void donneesModifiees() {
+        if (tabSalle.isVisible()) {
+            appliquerFiltre();
+        }
+    }
+
+    /**
+     * Propose de relancer le chargement lorsqu'il a été annulé ou a échoué.
+     */
+    private void chargementInterrompu() {
+        tabSalle.setVisible(false);
+        btnAfficherTableau.setVisible(true);
+    }
+
     /**
      * Remplit une ComboBox avec des valeurs à partir d'un ensemble donné.
      * <p>
@@ -281,6 +272,7 @@ public class ControleurPourcentage {
         ajouterListenerFiltre(filtreSalle);
         ajouterListenerFiltre(filtreEmploye);
         ajouterListenerFiltre(filtreActivite);
+        EntrepotDonnees.ajouterEcouteur(this::donneesModifiees);
 
         System.out.println("Listeners pour filtres ajoutés.");
     }
@@ -312,51 +304,59 @@ public class ControleurPourcentage {
      * d'occupation pour chaque salle,
      * puis met à jour l'affichage des pourcentages dans la table des salles.
      * </p>
-     * @param listFiltree liste des réservations filtrées utilisées pour le calcul.
+     * <p>
+     * Seule la part de chaque salle dans la durée réservée est lue dans le
+     * cube des agrégats. Le taux d'occupation fusionne les chevauchements
+     * des réservations, que le cube ne conserve pas : il n'est pas accéléré
+     * par le cube. Sans filtre, il est calculé une seule fois par version
+     * des données ; avec un filtre, les lignes retenues sont lues dans
+     * l'index puis triées, en un temps qui dépend de leur nombre.
+     * </p>
+     * @param filtre critères de filtrage des réservations utilisées pour
+     *               le calcul.
+     * @return le regroupement par salle des réservations filtrées.
      */
-    private void calculerPourcentage(ObservableList<Reservation> listFiltree) {
-        // Calculer la durée totale de toutes les réservations
-        Duration dureeTotaleReservations = Duration.ZERO;
-        for (Reservation reservation : listFiltree) {
-            LocalTime heureDebut = parseHeure(reservation.getHeureDebut());
-            LocalTime heureFin = parseHeure(reservation.getHeureFin());
-            if (heureDebut != null && heureFin != null) {
-                dureeTotaleReservations = dureeTotaleReservations
-                        .plus(Duration.between(heureDebut, heureFin));
-            }
-        }
-
-        // Calculer la durée de réservation pour chaque salle
-        Map<String, Duration> dureeParSalle = new HashMap<>();
-
-        for (Reservation reservation : listFiltree) {
-            LocalTime heureDebut = parseHeure(reservation.getHeureDebut());
-            LocalTime heureFin = parseHeure(reservation.getHeureFin());
-            if (heureDebut != null && heureFin != null) {
-                Duration dureeReservation = Duration.between(heureDebut, heureFin);
-                dureeParSalle.put(reservation.getSalleR(),
-                        dureeParSalle.getOrDefault(reservation.getSalleR(),
-                                Duration.ZERO).plus(dureeReservation));
+    private Agregation calculerPourcentage(FiltreReservation filtre) {
+        ColonnesReservations colonnes = EntrepotDonnees.getColonnes();
+
+        // Calculer la durée totale et la durée de chaque salle à partir
+        // du cube des agrégats
+        Agregation parSalle = colonnes.agreger(filtre, Agregation.Cle.SALLE);
+
+        // Taux d'occupation réel de chaque salle sur toute la période des
+        // réservations, par rapport aux horaires d'ouverture : les
+        // chevauchements se fusionnent sur les créneaux des lignes retenues
+        CalendrierOuverture calendrier = EntrepotDonnees.getCalendrier();
+        OccupationSalles occupation;
+        if (!filtre.estVide()) {
+            occupation = new OccupationSalles(colonnes, colonnes.filtrer(filtre),
+                    calendrier, colonnes.getPremierJour(), colonnes.getDernierJour());
+        } else {
+            if (colonnes != colonnesOccupation || calendrier != calendrierOccupation) {
+                occupationComplete = new OccupationSalles(colonnes,
+                        colonnes.toutesLesLignes(), calendrier,
+                        colonnes.getPremierJour(), colonnes.getDernierJour());
+                colonnesOccupation = colonnes;
+                calendrierOccupation = calendrier;
             }
+            occupation = occupationComplete;
         }
 
         // Mettre à jour les salles avec le pourcentage d'occupation
         for (Salle salle : listSalle) {
-            Duration dureeSalle = dureeParSalle
-                    .getOrDefault(salle.getNom(), Duration.ZERO);
-            double pourcentageOccupation = 0;
-            if (!dureeTotaleReservations.isZero()) {
-                pourcentageOccupation = (dureeSalle.toMinutes() * 100.0)
-                        / dureeTotaleReservations.toMinutes();
-            }
+            int code = parSalle.code(salle.getNom());
+            double pourcentageOccupation = parSalle.getPourcentage(code);
             salle.setPourcentageOccupation(String.format
                     ("%.2f %%", pourcentageOccupation));
+            salle.setTauxOccupation(String.format
+                    ("%.2f %%", occupation.getTaux(code)));
         }
 
         // Mettre à jour la TableView avec les données des salles
         tabSalle.getItems().clear();
         tabSalle.setItems(FXCollections.observableArrayList(listSalle));
         tabSalle.refresh();
+        return parSalle;
     }
 
     /**
@@ -0,0 +1,125 @@
+/*
+ * EvaluationDifferee.java             17/10/2026
+ * IUT DE RODEZ                        Pas de copyrights
+ */
+package sae.statisalle.controleur;
+
+import javafx.animation.PauseTransition;
+import javafx.concurrent.Task;
+import javafx.util.Duration;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Évaluation des filtres d'un écran, regroupée et exécutée en arrière-plan.
+ * <p>
+ * Chaque changement de filtre relance un court délai : une rafale de
+ * sélections (par exemple la réinitialisation de toutes les listes
+ * déroulantes) ne donne lieu qu'à une seule évaluation, à la fin du délai.
+ * Les valeurs des filtres sont alors lues sur le thread JavaFX, puis le
+ * calcul est confié à un thread d'arrière-plan.
+ * </p>
+ * Une évaluation encore en attente ou en cours lorsqu'une nouvelle est
+ * lancée est annulée : seul le résultat de la dernière demande est publié,
+ * sur le thread JavaFX.
+ *
+ * @param <T> Le type du résultat de l'évaluation.
+ * @author erwan.thierry
+ */
+public class EvaluationDifferee<T> {
+
+    /* Délai d'attente après le dernier changement de filtre */
+    private static final Duration DELAI = Duration.millis(150);
+
+    /* Thread unique d'évaluation des filtres, partagé par les écrans */
+    private static final ExecutorService EXECUTEUR =
+            Executors.newSingleThreadExecutor(tache -> {
+                Thread thread = new Thread(tache, "evaluation-filtres");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /* Délai relancé à chaque demande */
+    private final PauseTransition pause;
+
+    /* Lecture des filtres, renvoyant le calcul à exécuter */
+    private final Supplier<Callable<T>> preparation;
+
+    /* Affichage du résultat */
+    private final Consumer<T> publication;
+
+    /* Dernière évaluation lancée, null si aucune n'est en cours */
+    private Task<T> evaluationEnCours;
+
+    /**
+     * Crée une évaluation différée. Doit être appelé depuis le thread
+     * JavaFX.
+     *
+     * @param preparation Lit les filtres sur le thread JavaFX et renvoie
+     *                    le calcul à exécuter en arrière-plan.
+     * @param publication Affiche le résultat, sur le thread JavaFX.
+     */
+    public EvaluationDifferee(Supplier<Callable<T>> preparation,
+                              Consumer<T> publication) {
+        this.preparation = preparation;
+        this.publication = publication;
+        this.pause = new PauseTransition(DELAI);
+        this.pause.setOnFinished(evenement -> lancer());
+    }
+
+    /**
+     * Demande une évaluation. Le délai est relancé s'il était en cours.
+     */
+    public void demander() {
+        pause.playFromStart();
+    }
+
+    /**
+     * Abandonne l'évaluation demandée ou en cours, sans rien publier.
+     */
+    public void annuler() {
+        pause.stop();
+        if (evaluationEnCours != null) {
+            evaluationEnCours.cancel();
+            evaluationEnCours = null;
+        }
+    }
+
+    /*
+     * Lit les filtres et lance leur évaluation en arrière-plan, en
+     * remplacement de la précédente.
+     */
+    private void lancer() {
+        if (evaluationEnCours != null) {
+            evaluationEnCours.cancel();
+        }
+
+        Callable<T> calcul = preparation.get();
+        Task<T> tache = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return calcul.call();
+            }
+        };
+        tache.setOnSucceeded(evenement -> {
+            if (tache == evaluationEnCours) {
+                evaluationEnCours = null;
+                publication.accept(tache.getValue());
+            }
+        });
+        tache.setOnFailed(evenement -> {
+            if (tache == evaluationEnCours) {
+                evaluationEnCours = null;
+            }
+            System.err.println("Erreur lors de l'application des filtres : "
+                               + tache.getException().getMessage());
+        });
+
+        evaluationEnCours = tache;
+        EXECUTEUR.execute(tache);
+    }
+}
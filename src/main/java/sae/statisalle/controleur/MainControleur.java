@@ -5,14 +5,18 @@
 package sae.statisalle.controleur;
 
 import javafx.application.Application;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.image.Image;
+import javafx.scene.text.Text;
 import javafx.stage.Stage;
 
 import sae.statisalle.modele.objet.Serveur;
+import sae.statisalle.modele.EntrepotDonnees;
 import sae.statisalle.modele.Session;
 
 import java.io.IOException;
@@ -237,25 +241,35 @@ public class MainControleur extends Application {
             primaryStage.setResizable(false);
             primaryStage.show();
 
+            // les fichiers reçus, importés ou copiés dans le dossier des
+            // données sont pris en compte sans nouveau chargement
+            EntrepotDonnees.surveillerDossier();
+
         } catch (Exception e) {
             System.err.println("Erreur lors du chargement des vues : "
                                + e.getMessage());
         }
     }
 
+    @Override
+    public void stop() {
+        EntrepotDonnees.arreterSurveillance();
+        stopThreadServeur();
+    }
+
     /**
      * Lance un serveur au démarrage de l'application.
      * Le serveur est exécuté dans un thread séparé pour ne pas
-     * bloquer l'interface utilisateur et peut accepter plusieurs
-     * connexions successives.
+     * bloquer l'interface utilisateur : ce thread attend les événements
+     * du sélecteur du serveur, qui traite les requêtes reçues dans des
+     * threads virtuels. C'est un thread de la plateforme, car l'attente
+     * d'un sélecteur occuperait le thread porteur d'un thread virtuel.
      */
     public static void initServeur() {
-        serveurThread = new Thread(() -> {
-            Serveur serveur = null;
+        Serveur serveur = new Serveur();
+        Session.setServeur(serveur);
+        serveurThread = Thread.ofPlatform().name("serveur").start(() -> {
             try {
-                // initialiser le serveur
-                serveur = new Serveur();
-                Session.setServeur(serveur);
                 String ip = Session.getIpServeur();
                 String port = Session.getPortServeur();
                 serveur.demarrer(Integer.parseInt(port), ip);
@@ -263,38 +277,37 @@ public class MainControleur extends Application {
                                   + "port " + port + ", en attente de "
                                   + "connexions...");
 
-                // Lancer un thread pour accepter
-                // les connexions client en continu.
-                Thread acceptClientThread =
-                        new Thread(serveur::accepterClients);
-                acceptClientThread.start();
-
-                // Continuer à accepter des connexions
-                // jusqu'à l'execution du .stop()
-                acceptClientThread.join();
+                // accepte les connexions jusqu'à fermerServeur()
+                serveur.accepterClients();
             } catch (IOException e) {
                 System.err.println("[MAIN] Erreur lors de l'initialisation"
                                    + " du serveur : " + e.getMessage());
-            } catch (InterruptedException e) {
-                // se déclenche quand le serveur s'arrête
             } finally {
-                if (serveur != null) {
-                    serveur.fermerServeur();
-                    System.out.println("[MAIN] Serveur arrêté.");
-                }
+                serveur.fermerServeur();
+                System.out.println("[MAIN] Serveur arrêté.");
             }
         });
 
-        serveurThread.start();
         System.out.println("[MAIN] Serveur thread lancé : "
                            + serveurThread.isAlive());
     }
 
     /**
-     * Arrête le thread serveur en cours d'exécution.
+     * Arrête le serveur en cours d'exécution et attend la fin de son
+     * thread.
      */
     public static void stopThreadServeur() {
-        serveurThread.interrupt();
+        Serveur serveur = Session.getServeur();
+        if (serveur != null) {
+            serveur.fermerServeur();
+        }
+        if (serveurThread != null) {
+            try {
+                serveurThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
         System.out.println("[MAIN] Thread serveur arrêté.");
     }
 
@@ -315,6 +328,49 @@ public class MainControleur extends Application {
         alert.showAndWait();
     }
 
+    /**
+     * Affiche l'avancement d'une tâche de chargement.
+     * <p>
+     * La barre et le texte sont liés à la progression et au message de la
+     * tâche, le bouton permet de l'annuler. Les composants sont masqués
+     * dès que la tâche est terminée, annulée ou en échec. Dans ces deux
+     * derniers cas, l'action siInterrompue est exécutée afin que l'écran
+     * puisse proposer de relancer le chargement.
+     * </p>
+     * @param tache La tâche à suivre, ou null si aucun chargement n'est
+     *              nécessaire.
+     * @param barre La barre de progression à lier.
+     * @param texte Le texte affichant le message de la tâche.
+     * @param btnAnnuler Le bouton d'annulation de la tâche.
+     * @param siInterrompue L'action à exécuter si la tâche n'aboutit pas.
+     */
+    public static void afficherChargement(Task<?> tache, ProgressBar barre,
+                                          Text texte, Button btnAnnuler,
+                                          Runnable siInterrompue) {
+        if (tache == null) {
+            return;
+        }
+        barre.progressProperty().bind(tache.progressProperty());
+        texte.textProperty().bind(tache.messageProperty());
+        btnAnnuler.setOnAction(evenement -> tache.cancel());
+        barre.setVisible(true);
+        texte.setVisible(true);
+        btnAnnuler.setVisible(true);
+
+        tache.runningProperty().addListener((observable, enCours, toujours) -> {
+            if (!toujours) {
+                barre.progressProperty().unbind();
+                texte.textProperty().unbind();
+                barre.setVisible(false);
+                texte.setVisible(false);
+                btnAnnuler.setVisible(false);
+                if (tache.getState() != Worker.State.SUCCEEDED) {
+                    siInterrompue.run();
+                }
+            }
+        });
+    }
+
     /**
      * Méthode principale pour lancer l'application.
      * @param args Les arguments de la ligne de commande.
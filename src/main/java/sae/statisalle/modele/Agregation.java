@@ -0,0 +1,213 @@
+/*
+ * Agregation.java                      17/10/2026
+ * IUT DE RODEZ                         Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import sae.statisalle.modele.objet.Reservation;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Nombre de réservations et durée réservée, au total et pour chaque valeur
+ * d'un critère de regroupement (salle, employé, activité ou jour).
+ * <p>
+ * Le calcul se fait en un seul parcours des lignes du stockage par
+ * colonnes : chaque ligne ajoute sa durée en minutes au total et à la case
+ * de sa valeur dans un tableau indexé par code. Aucune chaîne n'est lue et
+ * aucun objet n'est créé pendant le parcours.
+ * </p>
+ * Les codes des salles, employés et activités sont ceux des dictionnaires
+ * du stockage par colonnes. Le code d'un jour est son écart avec le premier
+ * jour des réservations ; les réservations sans date valide ne comptent
+ * que dans le total.
+ *
+ * @author erwan.thierry
+ */
+public final class Agregation {
+
+    /* Format d'affichage des jours */
+    private static final DateTimeFormatter FORMAT_DATE =
+            DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /**
+     * Critères de regroupement des réservations.
+     */
+    public enum Cle {
+        /** Regroupement par salle. */
+        SALLE,
+        /** Regroupement par employé. */
+        EMPLOYE,
+        /** Regroupement par activité. */
+        ACTIVITE,
+        /** Regroupement par jour. */
+        JOUR
+    }
+
+    /* Critère de regroupement */
+    private final Cle cle;
+
+    /* Dictionnaire des valeurs du critère, null pour les jours */
+    private final Dictionnaire dictionnaire;
+
+    /* Valeur de la colonne correspondant au code 0 */
+    private final int decalage;
+
+    /* Durée en minutes et nombre de réservations par code */
+    private final long[] minutes;
+    private final int[] nombres;
+
+    /* Durée et nombre de réservations de toutes les lignes parcourues */
+    private long totalMinutes;
+    private int nombreTotal;
+
+    /**
+     * Regroupe les lignes fournies selon un critère.
+     *
+     * @param colonnes Le stockage des réservations.
+     * @param lignes Les lignes à prendre en compte.
+     * @param cle Le critère de regroupement.
+     */
+    public Agregation(ColonnesReservations colonnes, int[] lignes, Cle cle) {
+        this(colonnes, cle);
+        int[] codes = colonnes.colonne(cle);
+        for (int ligne : lignes) {
+            ajouter(codes[ligne], 1, colonnes.getDuree(ligne));
+        }
+    }
+
+    /**
+     * Crée un regroupement vide, dont les codes couvrent toutes les valeurs
+     * du stockage.
+     *
+     * @param colonnes Le stockage des réservations.
+     * @param cle Le critère de regroupement.
+     */
+    Agregation(ColonnesReservations colonnes, Cle cle) {
+        this.cle = cle;
+        DictionnairesReservations dictionnaires = colonnes.getDictionnaires();
+        dictionnaire = switch (cle) {
+            case SALLE -> dictionnaires.getSalles();
+            case EMPLOYE -> dictionnaires.getEmployes();
+            case ACTIVITE -> dictionnaires.getActivites();
+            case JOUR -> null;
+        };
+        int nbCodes;
+        if (dictionnaire != null) {
+            decalage = 0;
+            nbCodes = dictionnaire.taille();
+        } else {
+            decalage = colonnes.getPremierJour();
+            nbCodes = colonnes.getDernierJour() - decalage + 1;
+        }
+        minutes = new long[Math.max(nbCodes, 0)];
+        nombres = new int[minutes.length];
+    }
+
+    /**
+     * Ajoute des réservations d'une même valeur au regroupement.
+     *
+     * @param valeur La valeur du critère : code de la salle, de l'employé,
+     *               de l'activité, ou jour.
+     * @param nombre Le nombre de réservations ajoutées.
+     * @param duree La durée réservée par ces réservations, en minutes.
+     */
+    void ajouter(int valeur, int nombre, long duree) {
+        totalMinutes += duree;
+        nombreTotal += nombre;
+        // un jour non valide donne un code hors du tableau
+        int code = valeur - decalage;
+        if (code >= 0 && code < minutes.length) {
+            minutes[code] += duree;
+            nombres[code] += nombre;
+        }
+    }
+
+    /**
+     * @return Le critère de regroupement.
+     */
+    public Cle getCle() {
+        return cle;
+    }
+
+    /**
+     * @return Le nombre de codes du regroupement ; les codes vont de 0
+     *         à ce nombre exclu.
+     */
+    public int nbCodes() {
+        return minutes.length;
+    }
+
+    /**
+     * @return La durée totale des lignes parcourues, en minutes.
+     */
+    public long getTotalMinutes() {
+        return totalMinutes;
+    }
+
+    /**
+     * @return Le nombre de lignes parcourues.
+     */
+    public int getNombreTotal() {
+        return nombreTotal;
+    }
+
+    /**
+     * @param code Le code de la valeur.
+     * @return La durée réservée pour cette valeur, en minutes, ou 0 si le
+     *         code est inconnu.
+     */
+    public long getMinutes(int code) {
+        return code >= 0 && code < minutes.length ? minutes[code] : 0;
+    }
+
+    /**
+     * @param code Le code de la valeur.
+     * @return Le nombre de réservations de cette valeur, ou 0 si le code
+     *         est inconnu.
+     */
+    public int getNombre(int code) {
+        return code >= 0 && code < nombres.length ? nombres[code] : 0;
+    }
+
+    /**
+     * @param code Le code de la valeur.
+     * @return La part de la durée totale réservée pour cette valeur, en
+     *         pourcentage, ou 0 si la durée totale est nulle.
+     */
+    public double getPourcentage(int code) {
+        return totalMinutes == 0 ? 0 : getMinutes(code) * 100.0 / totalMinutes;
+    }
+
+    /**
+     * Renvoie le code d'une valeur du critère de regroupement.
+     *
+     * @param valeur Le nom de la salle, de l'employé, de l'activité, ou le
+     *               jour au format JJ/MM/AAAA.
+     * @return Le code de la valeur, ou {@link Dictionnaire#ABSENT} si elle
+     *         n'apparaît dans aucune réservation.
+     */
+    public int code(String valeur) {
+        if (dictionnaire != null) {
+            return dictionnaire.chercher(valeur);
+        }
+        int jour = Reservation.convertirDate(valeur);
+        return jour == Reservation.DATE_INVALIDE
+               || jour - decalage < 0 || jour - decalage >= minutes.length
+               ? Dictionnaire.ABSENT : jour - decalage;
+    }
+
+    /**
+     * Renvoie la valeur du critère de regroupement correspondant à un code.
+     *
+     * @param code Le code de la valeur.
+     * @return Le nom de la salle, de l'employé, de l'activité, ou le jour
+     *         au format JJ/MM/AAAA.
+     */
+    public String valeur(int code) {
+        return dictionnaire != null
+               ? dictionnaire.valeur(code)
+               : LocalDate.ofEpochDay(code + decalage).format(FORMAT_DATE);
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * CalendrierOuverture.java             17/10/2026
+ * IUT DE RODEZ                         Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import sae.statisalle.modele.objet.Reservation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Calendrier d'ouverture des salles, utilisé pour calculer leur taux
+ * d'occupation.
+ * <p>
+ * Chaque jour de la semaine a une heure d'ouverture et une heure de
+ * fermeture, ou est fermé. Des jours de fermeture exceptionnelle (jours
+ * fériés, vacances) peuvent être ajoutés. Les heures sont exprimées en
+ * minutes depuis minuit et les jours en jours depuis le 01/01/1970, comme
+ * dans {@link Reservation}.
+ * </p>
+ * Le calendrier peut être lu dans un fichier de propriétés :
+ * <pre>
+ * lundi=08h00-18h00
+ * samedi=ferme
+ * fermetures=25/12/2024;01/01/2025
+ * </pre>
+ * Les jours absents du fichier gardent les horaires par défaut : du lundi
+ * au vendredi de 8h à 18h, fermé le week-end.
+ *
+ * @author erwan.thierry
+ */
+public final class CalendrierOuverture {
+
+    /* Horaires par défaut des jours ouvrés */
+    private static final int OUVERTURE_DEFAUT = 8 * 60;
+    private static final int FERMETURE_DEFAUT = 18 * 60;
+
+    /* Valeur d'un jour de la semaine fermé dans le fichier */
+    private static final String FERME = "ferme";
+
+    /* Noms des jours de la semaine dans le fichier, du lundi au dimanche */
+    private static final String[] NOMS_JOURS = {
+        "lundi", "mardi", "mercredi", "jeudi", "vendredi", "samedi", "dimanche"
+    };
+
+    /* Ouverture et fermeture de chaque jour de la semaine, indexées à
+       partir du lundi ; une fermeture inférieure ou égale à l'ouverture
+       indique un jour fermé */
+    private final int[] ouvertures = new int[7];
+    private final int[] fermetures = new int[7];
+
+    /* Jours de fermeture exceptionnelle */
+    private final Set<Integer> joursFermes = new HashSet<>();
+
+    /**
+     * Crée un calendrier avec les horaires par défaut : du lundi au
+     * vendredi de 8h à 18h, fermé le samedi et le dimanche.
+     */
+    public CalendrierOuverture() {
+        for (DayOfWeek jour : DayOfWeek.values()) {
+            if (jour == DayOfWeek.SATURDAY || jour == DayOfWeek.SUNDAY) {
+                fermer(jour);
+            } else {
+                ouvrir(jour, OUVERTURE_DEFAUT, FERMETURE_DEFAUT);
+            }
+        }
+    }
+
+    /**
+     * Lit un calendrier dans un fichier de propriétés. Les valeurs mal
+     * formatées sont ignorées et signalées sur la sortie d'erreur.
+     *
+     * @param fichier Le chemin du fichier.
+     * @return Le calendrier lu, ou le calendrier par défaut si le fichier
+     *         n'existe pas.
+     * @throws IOException Si le fichier existe mais ne peut pas être lu.
+     */
+    public static CalendrierOuverture lire(Path fichier) throws IOException {
+        CalendrierOuverture calendrier = new CalendrierOuverture();
+        if (!Files.exists(fichier)) {
+            return calendrier;
+        }
+
+        Properties proprietes = new Properties();
+        try (Reader lecteur = Files.newBufferedReader(fichier,
+                                                      StandardCharsets.UTF_8)) {
+            proprietes.load(lecteur);
+        }
+
+        for (int i = 0; i < NOMS_JOURS.length; i++) {
+            String horaires = proprietes.getProperty(NOMS_JOURS[i]);
+            if (horaires != null) {
+                calendrier.lireHoraires(DayOfWeek.of(i + 1), horaires.trim());
+            }
+        }
+        String fermetures = proprietes.getProperty("fermetures", "");
+        for (String date : fermetures.split(";")) {
+            if (!date.isBlank()) {
+                int jour = Reservation.convertirDate(date.trim());
+                if (jour == Reservation.DATE_INVALIDE) {
+                    System.err.println("Calendrier : date de fermeture "
+                                       + "non valide " + date);
+                } else {
+                    calendrier.fermerJour(jour);
+                }
+            }
+        }
+        return calendrier;
+    }
+
+    /*
+     * Applique les horaires lus pour un jour de la semaine, au format
+     * HHhMM-HHhMM ou "ferme". Des horaires dont la fermeture n'est pas
+     * après l'ouverture sont ignorés, comme ceux qui sont mal formatés.
+     */
+    private void lireHoraires(DayOfWeek jour, String horaires) {
+        if (horaires.equalsIgnoreCase(FERME)) {
+            fermer(jour);
+            return;
+        }
+        String[] bornes = horaires.split("-");
+        int ouverture = bornes.length == 2
+                        ? Reservation.convertirHeure(bornes[0]) : Reservation.HEURE_INVALIDE;
+        int fermeture = bornes.length == 2
+                        ? Reservation.convertirHeure(bornes[1]) : Reservation.HEURE_INVALIDE;
+        if (ouverture == Reservation.HEURE_INVALIDE
+            || fermeture == Reservation.HEURE_INVALIDE
+            || fermeture <= ouverture) {
+            System.err.println("Calendrier : horaires non valides pour "
+                               + NOMS_JOURS[jour.getValue() - 1] + " : " + horaires);
+        } else {
+            ouvrir(jour, ouverture, fermeture);
+        }
+    }
+
+    /**
+     * Définit les horaires d'un jour de la semaine.
+     *
+     * @param jour Le jour de la semaine.
+     * @param ouverture L'heure d'ouverture, en minutes depuis minuit.
+     * @param fermeture L'heure de fermeture, en minutes depuis minuit.
+     * @throws IllegalArgumentException Si la fermeture n'est pas après
+     *                                  l'ouverture.
+     */
+    public void ouvrir(DayOfWeek jour, int ouverture, int fermeture) {
+        if (ouverture < 0 || fermeture <= ouverture || fermeture > 24 * 60) {
+            throw new IllegalArgumentException("Horaires d'ouverture non valides");
+        }
+        ouvertures[jour.getValue() - 1] = ouverture;
+        fermetures[jour.getValue() - 1] = fermeture;
+    }
+
+    /**
+     * Ferme les salles un jour de la semaine.
+     *
+     * @param jour Le jour de la semaine.
+     */
+    public void fermer(DayOfWeek jour) {
+        ouvertures[jour.getValue() - 1] = 0;
+        fermetures[jour.getValue() - 1] = 0;
+    }
+
+    /**
+     * Ferme les salles un jour précis.
+     *
+     * @param jour Le jour, en jours depuis le 01/01/1970.
+     */
+    public void fermerJour(int jour) {
+        joursFermes.add(jour);
+    }
+
+    /**
+     * @param jour Le jour, en jours depuis le 01/01/1970.
+     * @return true si les salles sont ouvertes ce jour.
+     */
+    public boolean estOuvert(int jour) {
+        return getFermeture(jour) > getOuverture(jour);
+    }
+
+    /**
+     * @param jour Le jour, en jours depuis le 01/01/1970.
+     * @return L'heure d'ouverture ce jour, en minutes depuis minuit.
+     */
+    public int getOuverture(int jour) {
+        return joursFermes.contains(jour) ? 0 : ouvertures[jourSemaine(jour)];
+    }
+
+    /**
+     * @param jour Le jour, en jours depuis le 01/01/1970.
+     * @return L'heure de fermeture ce jour, en minutes depuis minuit, ou
+     *         l'heure d'ouverture si les salles sont fermées.
+     */
+    public int getFermeture(int jour) {
+        return joursFermes.contains(jour) ? 0 : fermetures[jourSemaine(jour)];
+    }
+
+    /**
+     * Calcule le nombre de minutes d'ouverture d'une salle sur une période.
+     *
+     * @param premierJour Le premier jour de la période.
+     * @param dernierJour Le dernier jour de la période, inclus.
+     * @return Le nombre de minutes d'ouverture.
+     */
+    public long minutesOuvertes(int premierJour, int dernierJour) {
+        long minutes = 0;
+        for (int jour = premierJour; jour <= dernierJour; jour++) {
+            minutes += getFermeture(jour) - getOuverture(jour);
+        }
+        return minutes;
+    }
+
+    /*
+     * Jour de la semaine, indexé à partir du lundi : le 01/01/1970 était
+     * un jeudi.
+     */
+    private static int jourSemaine(int jour) {
+        return Math.floorMod(jour + 3, 7);
+    }
+}
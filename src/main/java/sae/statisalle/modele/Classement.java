@@ -0,0 +1,167 @@
+/*
+ * Classement.java                      17/10/2026
+ * IUT DE RODEZ                         Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import java.util.Arrays;
+
+/**
+ * Classements des réservations par durée et des salles, employés ou
+ * activités par temps réservé.
+ * <p>
+ * Chaque élément classé est représenté par un seul entier long : la valeur
+ * classée (durée ou minutes réservées) dans les bits de poids fort, et le
+ * numéro de ligne ou le code, inversé, dans les bits de poids faible. Un
+ * plus grand entier est ainsi mieux classé, et les ex aequo gardent l'ordre
+ * de leur ligne ou de leur code.
+ * </p>
+ * Pour ne garder que les k premiers, les éléments sont passés dans un tas
+ * borné à k entiers dont la racine est le moins bien classé des éléments
+ * gardés : le classement coûte O(n log k) au lieu d'un tri complet. Un
+ * classement complet se contente d'un seul tri des entiers.
+ *
+ * @author erwan.thierry
+ */
+public final class Classement {
+
+    /** Nombre d'éléments à garder pour un classement complet. */
+    public static final int TOUS = Integer.MAX_VALUE;
+
+    private Classement() {
+        // classe utilitaire
+    }
+
+    /**
+     * Classe des lignes par durée décroissante.
+     *
+     * @param colonnes Le stockage des réservations.
+     * @param lignes Les lignes à classer.
+     * @param k Le nombre de lignes à garder, ou {@link #TOUS}.
+     * @return Les k lignes les plus longues, de la plus longue à la plus
+     *         courte ; à durée égale, dans l'ordre des lignes.
+     */
+    public static int[] plusLongues(ColonnesReservations colonnes,
+                                    int[] lignes, int k) {
+        TasBorne tas = new TasBorne(k, lignes.length);
+        for (int ligne : lignes) {
+            tas.proposer(cle(colonnes.getDuree(ligne), ligne));
+        }
+        return tas.elementsDecroissants();
+    }
+
+    /**
+     * Classe les valeurs d'un regroupement par temps réservé décroissant.
+     * Les valeurs sans aucune réservation ne sont pas classées.
+     *
+     * @param agregation Le regroupement des réservations.
+     * @param k Le nombre de valeurs à garder, ou {@link #TOUS}.
+     * @return Les codes des k valeurs les plus réservées, de la plus
+     *         réservée à la moins réservée ; à durée égale, dans l'ordre
+     *         des codes.
+     */
+    public static int[] plusOccupes(Agregation agregation, int k) {
+        TasBorne tas = new TasBorne(k, agregation.nbCodes());
+        for (int code = 0; code < agregation.nbCodes(); code++) {
+            if (agregation.getNombre(code) > 0) {
+                long minutes = Math.min(agregation.getMinutes(code),
+                                        Integer.MAX_VALUE);
+                tas.proposer(cle(minutes, code));
+            }
+        }
+        return tas.elementsDecroissants();
+    }
+
+    /*
+     * Clé de classement d'un élément : plus la valeur est grande et la
+     * position petite, plus la clé est grande.
+     */
+    private static long cle(long valeur, int position) {
+        return valeur << 32 | (Integer.MAX_VALUE - position);
+    }
+
+    /*
+     * Position d'un élément, lue dans sa clé de classement.
+     */
+    private static int position(long cle) {
+        return Integer.MAX_VALUE - (int) cle;
+    }
+
+    /**
+     * Tas minimum d'entiers longs, borné à une capacité fixe : une fois
+     * plein, un entier proposé ne remplace la racine que s'il est plus
+     * grand qu'elle. Si tous les entiers proposés tiennent dans le tas, ils
+     * sont simplement rangés à la suite et triés à la fin.
+     */
+    private static final class TasBorne {
+
+        /* Entiers gardés, rangés en tas binaire à partir de l'indice 0 */
+        private final long[] cles;
+
+        /* Nombre d'entiers gardés */
+        private int taille;
+
+        /* Vrai si tous les entiers proposés sont gardés */
+        private final boolean complet;
+
+        TasBorne(int capacite, int nbProposes) {
+            complet = capacite >= nbProposes;
+            cles = new long[Math.max(Math.min(capacite, nbProposes), 0)];
+        }
+
+        void proposer(long cle) {
+            if (complet) {
+                cles[taille++] = cle;
+            } else if (taille < cles.length) {
+                cles[taille] = cle;
+                remonter(taille++);
+            } else if (taille > 0 && cle > cles[0]) {
+                cles[0] = cle;
+                descendre(0);
+            }
+        }
+
+        private void remonter(int indice) {
+            long cle = cles[indice];
+            while (indice > 0) {
+                int parent = (indice - 1) >>> 1;
+                if (cles[parent] <= cle) {
+                    break;
+                }
+                cles[indice] = cles[parent];
+                indice = parent;
+            }
+            cles[indice] = cle;
+        }
+
+        private void descendre(int indice) {
+            long cle = cles[indice];
+            int enfant;
+            while ((enfant = 2 * indice + 1) < taille) {
+                if (enfant + 1 < taille && cles[enfant + 1] < cles[enfant]) {
+                    enfant++;
+                }
+                if (cle <= cles[enfant]) {
+                    break;
+                }
+                cles[indice] = cles[enfant];
+                indice = enfant;
+            }
+            cles[indice] = cle;
+        }
+
+        /*
+         * Positions des éléments gardés, du mieux au moins bien classé :
+         * seuls les k entiers gardés sont triés.
+         */
+        int[] elementsDecroissants() {
+            long[] tries = Arrays.copyOf(cles, taille);
+            Arrays.sort(tries);
+            int[] positions = new int[taille];
+            for (int i = 0; i < taille; i++) {
+                positions[i] = position(tries[taille - 1 - i]);
+            }
+            return positions;
+        }
+    }
+}
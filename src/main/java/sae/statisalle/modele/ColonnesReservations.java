@@ -0,0 +1,567 @@
+/*
+ * ColonnesReservations.java               17/10/2026
+ * IUT DE RODEZ                            Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import sae.statisalle.modele.objet.Reservation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Stockage des réservations par colonnes, utilisé pour les calculs
+ * statistiques.
+ * <p>
+ * Chaque caractéristique utile aux statistiques est rangée dans un tableau
+ * de type primitif : la ligne i de chaque tableau décrit la i-ème
+ * réservation. Les salles, employés et activités y figurent sous la forme
+ * de leurs codes dans les {@link #getDictionnaires() dictionnaires} des
+ * réservations, les dates en jours depuis le 01/01/1970 et les heures en
+ * minutes depuis minuit.
+ * </p>
+ * <p>
+ * Un calcul ({@link Agregation}, classement) parcourt ainsi des tableaux contigus
+ * d'entiers, sans accéder aux objets Reservation ni à leurs chaînes. Les
+ * filtres passent par un {@link IndexReservations} construit en même temps
+ * que les colonnes, et les totaux filtrés par un {@link CubeAgregats}.
+ * Les objets restent accessibles par leur numéro de ligne pour
+ * l'affichage du résultat.
+ * </p>
+ * Un stockage n'est jamais modifié après sa construction et peut être lu
+ * depuis n'importe quel thread. L'ajout ou le retrait de réservations
+ * ({@link #modifier}) produit une nouvelle version du stockage, en un temps
+ * proportionnel au nombre de lignes modifiées : les lignes ajoutées sont
+ * écrites à la suite des tableaux existants, les lignes retirées sont
+ * seulement marquées, et l'index et le cube de la version d'origine sont
+ * complétés par un examen des lignes ajoutées et un cube des modifications,
+ * auquel chaque version ajoute les siennes.
+ *
+ * @author erwan.thierry
+ */
+public final class ColonnesReservations {
+
+    /** Stockage ne contenant aucune réservation. */
+    public static final ColonnesReservations VIDE =
+            new ColonnesReservations(List.of(), new DictionnairesReservations());
+
+    /* Dictionnaires des codes des salles, employés et activités */
+    private final DictionnairesReservations dictionnaires;
+
+    /* Nombre de lignes du stockage, retirées comprises */
+    private final int taille;
+
+    /* Réservation décrite par chaque ligne */
+    private final Reservation[] reservations;
+
+    /* Jour de chaque réservation */
+    private final int[] jours;
+
+    /* Heure de début et de fin de chaque réservation, en minutes */
+    private final short[] debuts;
+    private final short[] fins;
+
+    /* Codes de la salle, de l'employé et de l'activité */
+    private final int[] salles;
+    private final int[] employes;
+    private final int[] activites;
+
+    /* Nombre de lignes écrites dans les tableaux, partagé par toutes les
+       versions qui utilisent les mêmes tableaux : seule la dernière version
+       peut y écrire de nouvelles lignes */
+    private final int[] lignesEcrites;
+
+    /* Premier et dernier jour valides des réservations */
+    private final int premierJour;
+    private final int dernierJour;
+
+    /* Index des lignes par valeur, pour les filtres, et agrégats
+       précalculés (null s'ils ne peuvent pas être représentés) : ils
+       portent sur les lignes présentes à la construction */
+    private final IndexReservations index;
+    private final CubeAgregats cube;
+
+    /* Nombre de lignes couvertes par l'index et le cube */
+    private final int tailleIndexee;
+
+    /* Lignes retirées, qui ne figurent plus dans aucun résultat */
+    private final BitSet retirees;
+
+    /* Agrégats des lignes ajoutées et retirées depuis la construction de
+       l'index, null s'il n'y en a pas ou s'ils ne peuvent pas être
+       représentés */
+    private final CubeAgregats cubeModifications;
+
+    /**
+     * Construit le stockage par colonnes des réservations fournies.
+     * Les réservations doivent être rattachées à leur salle, employé et
+     * activité, les codes étant relevés à la construction, et codées dans
+     * les mêmes dictionnaires : ceux de la première réservation, ou les
+     * dictionnaires courants s'il n'y en a aucune.
+     *
+     * @param listReservation Les réservations à ranger.
+     * @throws IllegalArgumentException Si les réservations ne partagent pas
+     *                                  les mêmes dictionnaires.
+     */
+    public ColonnesReservations(List<Reservation> listReservation) {
+        this(listReservation, listReservation.isEmpty()
+                              ? Reservation.getDictionnairesCourants()
+                              : listReservation.get(0).getDictionnaires());
+    }
+
+    /*
+     * Construit le stockage par colonnes de réservations codées dans les
+     * dictionnaires fournis.
+     */
+    private ColonnesReservations(List<Reservation> listReservation,
+                                 DictionnairesReservations dictionnaires) {
+        this.dictionnaires = dictionnaires;
+        taille = listReservation.size();
+        reservations = listReservation.toArray(new Reservation[0]);
+        jours = new int[taille];
+        debuts = new short[taille];
+        fins = new short[taille];
+        salles = new int[taille];
+        employes = new int[taille];
+        activites = new int[taille];
+        lignesEcrites = new int[] {taille};
+        for (int ligne = 0; ligne < taille; ligne++) {
+            verifierDictionnaires(reservations[ligne]);
+            ecrire(ligne, reservations[ligne]);
+        }
+
+        int[] extremes = joursExtremes(0, Integer.MAX_VALUE, Integer.MIN_VALUE);
+        // sans date valide, aucun jour : dernier jour avant le premier
+        premierJour = extremes[0] <= extremes[1] ? extremes[0] : 0;
+        dernierJour = extremes[0] <= extremes[1] ? extremes[1] : -1;
+
+        tailleIndexee = taille;
+        retirees = new BitSet();
+        index = new IndexReservations(this);
+        cube = CubeAgregats.construire(this, toutesLesLignes(), new BitSet());
+        cubeModifications = null;
+    }
+
+    /*
+     * Construit une nouvelle version d'un stockage, dont les lignes
+     * ajoutées ont déjà été écrites dans les tableaux fournis.
+     */
+    private ColonnesReservations(ColonnesReservations origine, int taille,
+                                 Reservation[] reservations, int[] jours,
+                                 short[] debuts, short[] fins, int[] salles,
+                                 int[] employes, int[] activites,
+                                 int[] lignesEcrites, BitSet retirees) {
+        this.dictionnaires = origine.dictionnaires;
+        this.taille = taille;
+        this.reservations = reservations;
+        this.jours = jours;
+        this.debuts = debuts;
+        this.fins = fins;
+        this.salles = salles;
+        this.employes = employes;
+        this.activites = activites;
+        this.lignesEcrites = lignesEcrites;
+        this.retirees = retirees;
+
+        int[] extremes = joursExtremes(origine.taille,
+                origine.dernierJour < origine.premierJour
+                ? Integer.MAX_VALUE : origine.premierJour,
+                origine.dernierJour < origine.premierJour
+                ? Integer.MIN_VALUE : origine.dernierJour);
+        premierJour = extremes[0] <= extremes[1] ? extremes[0] : 0;
+        dernierJour = extremes[0] <= extremes[1] ? extremes[1] : -1;
+
+        index = origine.index;
+        cube = origine.cube;
+        tailleIndexee = origine.tailleIndexee;
+
+        // Seules les lignes modifiées par cette version sont relevées : les
+        // lignes ajoutées, et les lignes existantes retirées comptées en
+        // négatif. Leur cube est fusionné avec celui des modifications
+        // précédentes
+        BitSet nouvellesRetirees = (BitSet) retirees.clone();
+        nouvellesRetirees.andNot(origine.retirees);
+        BitSet negatives = new BitSet();
+        List<Integer> modifiees = new ArrayList<>();
+        for (int ligne = nouvellesRetirees.nextSetBit(0);
+             ligne >= 0 && ligne < origine.taille;
+             ligne = nouvellesRetirees.nextSetBit(ligne + 1)) {
+            negatives.set(modifiees.size());
+            modifiees.add(ligne);
+        }
+        for (int ligne = origine.taille; ligne < taille; ligne++) {
+            if (!retirees.get(ligne)) {
+                modifiees.add(ligne);
+            }
+        }
+        CubeAgregats cubeVersion = modifiees.isEmpty() ? null : CubeAgregats.construire(
+                this, modifiees.stream().mapToInt(Integer::intValue).toArray(),
+                negatives);
+        if (modifiees.isEmpty()) {
+            cubeModifications = origine.cubeModifications;
+        } else if (origine.nbModifications() == 0) {
+            cubeModifications = cubeVersion;
+        } else if (origine.cubeModifications == null || cubeVersion == null) {
+            cubeModifications = null;
+        } else {
+            cubeModifications = CubeAgregats.fusionner(origine.cubeModifications,
+                                                       cubeVersion);
+        }
+    }
+
+    /*
+     * Vérifie qu'une réservation est codée dans les dictionnaires du
+     * stockage.
+     */
+    private void verifierDictionnaires(Reservation reservation) {
+        if (reservation.getDictionnaires() != dictionnaires) {
+            throw new IllegalArgumentException("Réservation " + reservation.getIdReservation()
+                                               + " codée dans d'autres dictionnaires.");
+        }
+    }
+
+    /*
+     * Relève les valeurs d'une réservation dans une ligne des tableaux.
+     */
+    private void ecrire(int ligne, Reservation reservation) {
+        ecrire(ligne, reservation, reservations, jours, debuts, fins,
+               salles, employes, activites);
+    }
+
+    private static void ecrire(int ligne, Reservation reservation,
+                               Reservation[] reservations, int[] jours,
+                               short[] debuts, short[] fins, int[] salles,
+                               int[] employes, int[] activites) {
+        reservations[ligne] = reservation;
+        jours[ligne] = reservation.getJour();
+        debuts[ligne] = (short) reservation.getDebutMinutes();
+        fins[ligne] = (short) reservation.getFinMinutes();
+        salles[ligne] = reservation.getCodeSalle();
+        employes[ligne] = reservation.getCodeEmploye();
+        activites[ligne] = reservation.getCodeActivite();
+    }
+
+    /*
+     * Premier et dernier jour valides des lignes à partir de la ligne
+     * fournie, en partant des bornes fournies.
+     */
+    private int[] joursExtremes(int premiereLigne, int premier, int dernier) {
+        for (int ligne = premiereLigne; ligne < taille; ligne++) {
+            if (jours[ligne] != Reservation.DATE_INVALIDE) {
+                premier = Math.min(premier, jours[ligne]);
+                dernier = Math.max(dernier, jours[ligne]);
+            }
+        }
+        return new int[] {premier, dernier};
+    }
+
+    /**
+     * Renvoie une nouvelle version du stockage, dans laquelle des lignes
+     * sont retirées et des réservations ajoutées. Le stockage d'origine
+     * n'est pas modifié.
+     * <p>
+     * Les lignes gardent leur numéro ; les réservations ajoutées occupent
+     * les lignes suivant la dernière ligne du stockage d'origine. Le temps
+     * de calcul dépend du nombre de lignes modifiées par cet appel, et non
+     * du nombre total de lignes. Les filtres examinent une à une les lignes
+     * ajoutées depuis la construction de l'index : lorsque les
+     * modifications deviennent nombreuses, {@link #compacter()} reconstruit
+     * l'index.
+     * </p>
+     *
+     * @param lignesRetirees Les lignes à retirer.
+     * @param ajouts Les réservations à ajouter, rattachées à leur salle,
+     *               employé et activité et codées dans les dictionnaires
+     *               du stockage.
+     * @return La nouvelle version du stockage.
+     * @throws IllegalArgumentException Si une réservation ajoutée est
+     *                                  codée dans d'autres dictionnaires.
+     */
+    public ColonnesReservations modifier(int[] lignesRetirees,
+                                         List<Reservation> ajouts) {
+        ajouts.forEach(this::verifierDictionnaires);
+        int nouvelleTaille = taille + ajouts.size();
+        Reservation[] nouvellesReservations = reservations;
+        int[] nouveauxJours = jours;
+        short[] nouveauxDebuts = debuts;
+        short[] nouvellesFins = fins;
+        int[] nouvellesSalles = salles;
+        int[] nouveauxEmployes = employes;
+        int[] nouvellesActivites = activites;
+        int[] nouvellesLignesEcrites = lignesEcrites;
+
+        synchronized (lignesEcrites) {
+            // Les tableaux ne sont complétés sur place que si aucune autre
+            // version n'y a déjà écrit et s'il y reste de la place
+            if (lignesEcrites[0] != taille
+                || nouvelleTaille > reservations.length) {
+                int capacite = Math.max(nouvelleTaille,
+                                        taille + (taille >> 1) + 16);
+                nouvellesReservations = Arrays.copyOf(reservations, capacite);
+                nouveauxJours = Arrays.copyOf(jours, capacite);
+                nouveauxDebuts = Arrays.copyOf(debuts, capacite);
+                nouvellesFins = Arrays.copyOf(fins, capacite);
+                nouvellesSalles = Arrays.copyOf(salles, capacite);
+                nouveauxEmployes = Arrays.copyOf(employes, capacite);
+                nouvellesActivites = Arrays.copyOf(activites, capacite);
+                nouvellesLignesEcrites = new int[1];
+            }
+            for (int i = 0; i < ajouts.size(); i++) {
+                ecrire(taille + i, ajouts.get(i), nouvellesReservations,
+                       nouveauxJours, nouveauxDebuts, nouvellesFins,
+                       nouvellesSalles, nouveauxEmployes, nouvellesActivites);
+            }
+            nouvellesLignesEcrites[0] = nouvelleTaille;
+        }
+
+        BitSet nouvellesRetirees = (BitSet) retirees.clone();
+        for (int ligne : lignesRetirees) {
+            nouvellesRetirees.set(ligne);
+        }
+        return new ColonnesReservations(this, nouvelleTaille,
+                nouvellesReservations, nouveauxJours, nouveauxDebuts,
+                nouvellesFins, nouvellesSalles, nouveauxEmployes,
+                nouvellesActivites, nouvellesLignesEcrites, nouvellesRetirees);
+    }
+
+    /**
+     * Reconstruit le stockage avec les seules lignes présentes, ce qui
+     * reconstruit l'index et le cube. Les lignes sont renumérotées dans
+     * l'ordre : voir {@link #nbRetireesAvant(int)}.
+     *
+     * @return Le nouveau stockage.
+     */
+    public ColonnesReservations compacter() {
+        return new ColonnesReservations(getReservations(), dictionnaires);
+    }
+
+    /**
+     * @return Les dictionnaires des codes des salles, employés et activités
+     *         des réservations du stockage.
+     */
+    public DictionnairesReservations getDictionnaires() {
+        return dictionnaires;
+    }
+
+    /**
+     * @return Le nombre de lignes ajoutées ou retirées depuis la
+     *         construction de l'index.
+     */
+    public int nbModifications() {
+        return taille - tailleIndexee + retirees.cardinality();
+    }
+
+    /**
+     * @return Le nombre de lignes du stockage, lignes retirées comprises.
+     */
+    public int taille() {
+        return taille;
+    }
+
+    /**
+     * @param ligne Le numéro de la ligne.
+     * @return true si la ligne a été retirée du stockage.
+     */
+    public boolean estRetiree(int ligne) {
+        return retirees.get(ligne);
+    }
+
+    /**
+     * @param ligne Le numéro d'une ligne.
+     * @return Le nombre de lignes retirées qui la précèdent.
+     */
+    public int nbRetireesAvant(int ligne) {
+        return retirees.get(0, ligne).cardinality();
+    }
+
+    /**
+     * @param ligne Le numéro de la ligne.
+     * @return La réservation décrite par cette ligne.
+     */
+    public Reservation getReservation(int ligne) {
+        return reservations[ligne];
+    }
+
+    /**
+     * @return Les réservations des lignes présentes, dans l'ordre.
+     */
+    public List<Reservation> getReservations() {
+        List<Reservation> presentes = new ArrayList<>(taille - retirees.cardinality());
+        for (int ligne = 0; ligne < taille; ligne++) {
+            if (!retirees.get(ligne)) {
+                presentes.add(reservations[ligne]);
+            }
+        }
+        return presentes;
+    }
+
+    /**
+     * @param ligne Le numéro de la ligne.
+     * @return Le jour de la réservation, ou {@link Reservation#DATE_INVALIDE}.
+     */
+    public int getJour(int ligne) {
+        return jours[ligne];
+    }
+
+    /**
+     * @param ligne Le numéro de la ligne.
+     * @return L'heure de début en minutes, ou
+     *         {@link Reservation#HEURE_INVALIDE}.
+     */
+    public int getDebut(int ligne) {
+        return debuts[ligne];
+    }
+
+    /**
+     * @param ligne Le numéro de la ligne.
+     * @return L'heure de fin en minutes, ou
+     *         {@link Reservation#HEURE_INVALIDE}.
+     */
+    public int getFin(int ligne) {
+        return fins[ligne];
+    }
+
+    /**
+     * @param ligne Le numéro de la ligne.
+     * @return La durée de la réservation en minutes, ou 0 si l'une de ses
+     *         heures n'est pas valide.
+     */
+    public int getDuree(int ligne) {
+        int debut = debuts[ligne];
+        int fin = fins[ligne];
+        return debut == Reservation.HEURE_INVALIDE
+               || fin == Reservation.HEURE_INVALIDE ? 0 : fin - debut;
+    }
+
+    /**
+     * @param ligne Le numéro de la ligne.
+     * @return Le code de la salle dans le dictionnaire des salles.
+     */
+    public int getSalle(int ligne) {
+        return salles[ligne];
+    }
+
+    /**
+     * @param ligne Le numéro de la ligne.
+     * @return Le code de l'employé dans le dictionnaire des employés.
+     */
+    public int getEmploye(int ligne) {
+        return employes[ligne];
+    }
+
+    /**
+     * @param ligne Le numéro de la ligne.
+     * @return Le code de l'activité dans le dictionnaire des activités.
+     */
+    public int getActivite(int ligne) {
+        return activites[ligne];
+    }
+
+    /**
+     * @return Le premier jour valide des réservations, en jours depuis le
+     *         01/01/1970.
+     */
+    public int getPremierJour() {
+        return premierJour;
+    }
+
+    /**
+     * @return Le dernier jour valide des réservations, en jours depuis le
+     *         01/01/1970, ou un jour antérieur au premier s'il n'y en a pas.
+     */
+    public int getDernierJour() {
+        return dernierJour;
+    }
+
+    /*
+     * Colonne des valeurs d'un critère de regroupement, lue sans copie
+     * par les agrégations.
+     */
+    int[] colonne(Agregation.Cle cle) {
+        return switch (cle) {
+            case SALLE -> salles;
+            case EMPLOYE -> employes;
+            case ACTIVITE -> activites;
+            case JOUR -> jours;
+        };
+    }
+
+    /**
+     * @return Les numéros de toutes les lignes présentes, dans l'ordre.
+     */
+    public int[] toutesLesLignes() {
+        if (retirees.isEmpty()) {
+            int[] lignes = new int[taille];
+            Arrays.setAll(lignes, ligne -> ligne);
+            return lignes;
+        }
+        BitSet presentes = new BitSet(taille);
+        presentes.set(0, taille);
+        presentes.andNot(retirees);
+        return presentes.stream().toArray();
+    }
+
+    /**
+     * @return L'index des lignes par salle, employé, activité, jour et
+     *         heure. Il ne porte que sur les lignes présentes à sa
+     *         construction, retirées comprises.
+     */
+    public IndexReservations getIndex() {
+        return index;
+    }
+
+    /**
+     * Renvoie les numéros des lignes présentes satisfaisant un filtre,
+     * dans l'ordre. Les lignes indexées sont obtenues par l'index, sans
+     * tester chaque ligne ; seules les lignes ajoutées depuis sont testées.
+     *
+     * @param filtre Le filtre à appliquer.
+     * @return Les lignes retenues.
+     */
+    public int[] filtrer(FiltreReservation filtre) {
+        if (filtre.estVide()) {
+            return toutesLesLignes();
+        }
+        BitSet lignes = index.filtrer(filtre);
+        lignes.andNot(retirees);
+        for (int ligne = tailleIndexee; ligne < taille; ligne++) {
+            if (!retirees.get(ligne) && filtre.accepte(this, ligne)) {
+                lignes.set(ligne);
+            }
+        }
+        return lignes.stream().toArray();
+    }
+
+    /**
+     * Regroupe selon un critère les réservations retenues par un filtre.
+     * Le regroupement est obtenu à partir du cube des agrégats et du cube
+     * des modifications, sans parcourir les lignes, sauf si l'un des deux
+     * n'a pas pu être construit.
+     *
+     * @param filtre Le filtre à appliquer.
+     * @param cle Le critère de regroupement.
+     * @return Le regroupement des lignes retenues.
+     */
+    public Agregation agreger(FiltreReservation filtre, Agregation.Cle cle) {
+        if (cube == null
+            || cubeModifications == null && nbModifications() > 0) {
+            return new Agregation(this, filtrer(filtre), cle);
+        }
+        Agregation agregation = new Agregation(this, cle);
+        cube.ajouterA(agregation, filtre, cle);
+        if (cubeModifications != null) {
+            cubeModifications.ajouterA(agregation, filtre, cle);
+        }
+        return agregation;
+    }
+
+    /**
+     * @return Le cube des agrégats des lignes indexées, ou null s'il n'a
+     *         pas pu être construit.
+     */
+    public CubeAgregats getCube() {
+        return cube;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Compression.java                     17/10/2026
+ * IUT DE RODEZ                         Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import java.io.OutputStream;
+
+/**
+ * Compression du contenu des fichiers envoyés d'un poste à un autre,
+ * appliquée avant le chiffrement.
+ * <p>
+ * Les compressions prises en charge par les deux postes sont annoncées
+ * par leur nom lors de l'échange des clés (voir {@link ProtocoleTransfert}).
+ * Chaque fichier est compressé par un flux qui lui est propre : une
+ * compression peut donc tirer parti des répétitions d'un morceau à
+ * l'autre du même fichier.
+ * </p>
+ *
+ * @author valentin.munier-genie
+ */
+public interface Compression {
+
+    /**
+     * @return Le nom de la compression, annoncé lors de l'échange des clés.
+     *         Il ne contient ni espace, ni virgule, ni point-virgule.
+     */
+    String getNom();
+
+    /**
+     * Crée le flux de compression du contenu d'un fichier.
+     * <p>
+     * Après chaque appel à {@code flush()}, les octets écrits dans la
+     * sortie doivent suffire à décompresser tout ce qui a été écrit dans le
+     * flux : chaque morceau envoyé peut ainsi être décompressé dès sa
+     * réception. La fermeture du flux termine la compression et ferme la
+     * sortie.
+     * </p>
+     *
+     * @param sortie Le flux recevant le contenu compressé.
+     * @return Le flux dans lequel écrire le contenu en clair.
+     */
+    OutputStream compresser(OutputStream sortie);
+
+    /**
+     * Crée le flux de décompression du contenu d'un fichier. La fermeture
+     * du flux ferme la sortie.
+     *
+     * @param sortie Le flux recevant le contenu décompressé.
+     * @return Le flux dans lequel écrire le contenu compressé, au fur et à
+     *         mesure de sa réception.
+     */
+    OutputStream decompresser(OutputStream sortie);
+}
@@ -0,0 +1,42 @@
+/*
+ * CompressionDeflate.java              17/10/2026
+ * IUT DE RODEZ                         Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterOutputStream;
+
+/**
+ * Compression Deflate du JDK, efficace sur les fichiers CSV dont les
+ * identifiants, les dates et les horaires se répètent d'une ligne à
+ * l'autre.
+ *
+ * @author valentin.munier-genie
+ */
+public class CompressionDeflate implements Compression {
+
+    /** Nom de la compression, annoncé lors de l'échange des clés. */
+    public static final String NOM = "deflate";
+
+    @Override
+    public String getNom() {
+        return NOM;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Chaque {@code flush()} vide le compresseur sans réinitialiser son
+     * dictionnaire.
+     */
+    @Override
+    public OutputStream compresser(OutputStream sortie) {
+        return new DeflaterOutputStream(sortie, true);
+    }
+
+    @Override
+    public OutputStream decompresser(OutputStream sortie) {
+        return new InflaterOutputStream(sortie);
+    }
+}
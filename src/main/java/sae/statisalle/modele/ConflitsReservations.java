@@ -0,0 +1,160 @@
+/*
+ * ConflitsReservations.java            17/10/2026
+ * IUT DE RODEZ                         Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import sae.statisalle.modele.objet.Conflit;
+import sae.statisalle.modele.objet.Employe;
+import sae.statisalle.modele.objet.Reservation;
+import sae.statisalle.modele.objet.Salle;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index des créneaux réservés de chaque salle et réservations qui se
+ * chevauchent (salle ou employé réservé deux fois).
+ * <p>
+ * Le résultat est calculé par les tâches de chargement et de mise à jour,
+ * hors du thread JavaFX, à partir de copies des réservations de chaque
+ * salle et de chaque employé : il n'est plus modifié une fois construit
+ * et peut être lu par les écrans sans recalcul. Une mise à jour ne
+ * recalcule que les salles et employés dont les réservations ont changé.
+ * </p>
+ *
+ * @author erwan.thierry
+ */
+public final class ConflitsReservations {
+
+    /** Résultat sans aucune réservation. */
+    public static final ConflitsReservations VIDE =
+            new ConflitsReservations(Map.of(), Map.of());
+
+    /* Index des créneaux réservés de chaque salle, par nom de salle */
+    private final Map<String, IndexIntervalles> indexParSalle;
+
+    /* Conflits de chaque salle et de chaque employé, dans l'ordre des
+       listes chargées */
+    private final Map<String, List<Conflit>> conflitsParSalle;
+    private final Map<String, List<Conflit>> conflitsParEmploye;
+
+    /**
+     * Construit les index et détecte les conflits des réservations
+     * fournies.
+     *
+     * @param reservationsParSalle Les réservations de chaque salle, par
+     *                             nom de salle.
+     * @param reservationsParEmploye Les réservations de chaque employé,
+     *                               par nom et prénom.
+     */
+    public ConflitsReservations(Map<String, List<Reservation>> reservationsParSalle,
+                                Map<String, List<Reservation>> reservationsParEmploye) {
+        this(new LinkedHashMap<>(), new LinkedHashMap<>(), new LinkedHashMap<>());
+        indexer(reservationsParSalle, reservationsParEmploye);
+    }
+
+    private ConflitsReservations(Map<String, IndexIntervalles> indexParSalle,
+                                 Map<String, List<Conflit>> conflitsParSalle,
+                                 Map<String, List<Conflit>> conflitsParEmploye) {
+        this.indexParSalle = indexParSalle;
+        this.conflitsParSalle = conflitsParSalle;
+        this.conflitsParEmploye = conflitsParEmploye;
+    }
+
+    /*
+     * Indexe les réservations de chaque salle et de chaque employé, et
+     * remplace leurs conflits.
+     */
+    private void indexer(Map<String, List<Reservation>> reservationsParSalle,
+                         Map<String, List<Reservation>> reservationsParEmploye) {
+        reservationsParSalle.forEach((nom, reservations) -> {
+            IndexIntervalles index = new IndexIntervalles(reservations);
+            indexParSalle.put(nom, index);
+            conflitsParSalle.put(nom, index.conflits("Salle", nom));
+        });
+        reservationsParEmploye.forEach((nom, reservations) ->
+                conflitsParEmploye.put(nom, new IndexIntervalles(reservations)
+                        .conflits("Employé", nom)));
+    }
+
+    /**
+     * Renvoie un nouveau résultat dans lequel seuls les salles et employés
+     * fournis sont indexés de nouveau ; les index et conflits des autres
+     * sont repris tels quels.
+     *
+     * @param reservationsParSalle Les réservations des salles modifiées,
+     *                             par nom de salle.
+     * @param reservationsParEmploye Les réservations des employés modifiés,
+     *                               par nom et prénom.
+     * @return Le résultat mis à jour.
+     */
+    public ConflitsReservations modifier(Map<String, List<Reservation>> reservationsParSalle,
+                                         Map<String, List<Reservation>> reservationsParEmploye) {
+        ConflitsReservations resultat = new ConflitsReservations(
+                new LinkedHashMap<>(indexParSalle),
+                new LinkedHashMap<>(conflitsParSalle),
+                new LinkedHashMap<>(conflitsParEmploye));
+        resultat.indexer(reservationsParSalle, reservationsParEmploye);
+        return resultat;
+    }
+
+    /**
+     * Copie les réservations de chaque salle. La copie doit être faite par
+     * le thread qui modifie les salles.
+     *
+     * @param salles Les salles à copier.
+     * @return Les réservations de chaque salle, par nom de salle.
+     */
+    public static Map<String, List<Reservation>> reservationsParSalle(List<Salle> salles) {
+        Map<String, List<Reservation>> reservations = new LinkedHashMap<>();
+        for (Salle salle : salles) {
+            reservations.put(salle.getNom(), new ArrayList<>(salle.getReservations()));
+        }
+        return reservations;
+    }
+
+    /**
+     * Copie les réservations de chaque employé. La copie doit être faite
+     * par le thread qui modifie les employés.
+     *
+     * @param employes Les employés à copier.
+     * @return Les réservations de chaque employé, par nom et prénom.
+     */
+    public static Map<String, List<Reservation>> reservationsParEmploye(List<Employe> employes) {
+        Map<String, List<Reservation>> reservations = new LinkedHashMap<>();
+        for (Employe employe : employes) {
+            reservations.put(employe.getNomPrenom(),
+                             new ArrayList<>(employe.getReservations()));
+        }
+        return reservations;
+    }
+
+    /**
+     * @param salle Le nom de la salle.
+     * @return L'index des créneaux réservés de la salle, null si elle
+     *         n'est pas chargée.
+     */
+    public IndexIntervalles getIndexSalle(String salle) {
+        return indexParSalle.get(salle);
+    }
+
+    /**
+     * @return Les noms des salles indexées, triés.
+     */
+    public List<String> getNomsSalles() {
+        return indexParSalle.keySet().stream().sorted().toList();
+    }
+
+    /**
+     * @return Les conflits des salles puis ceux des employés.
+     */
+    public List<Conflit> getConflits() {
+        List<Conflit> conflits = new ArrayList<>();
+        conflitsParSalle.values().forEach(conflits::addAll);
+        conflitsParEmploye.values().forEach(conflits::addAll);
+        return conflits;
+    }
+}
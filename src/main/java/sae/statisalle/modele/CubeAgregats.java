@@ -0,0 +1,352 @@
+/*
+ * CubeAgregats.java                    17/10/2026
+ * IUT DE RODEZ                         Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import sae.statisalle.modele.objet.Reservation;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Cube des agrégats des réservations, calculé une seule fois au chargement
+ * et utilisé pour les totaux des écrans d'analyse.
+ * <p>
+ * Chaque case du cube correspond à une combinaison de salle, employé,
+ * activité, jour et créneau (heure de début et heure de fin) et contient le
+ * nombre de réservations de cette combinaison et leur durée totale. Les
+ * créneaux sont gardés à la minute près, de sorte que tous les critères
+ * d'un {@link FiltreReservation} s'appliquent exactement à une case.
+ * </p>
+ * <p>
+ * Les cases sont rangées par jour : un filtre sur les dates ne parcourt que
+ * les cases de sa période. Un total filtré s'obtient en additionnant les
+ * cases retenues, sans relire les lignes des réservations ni construire la
+ * liste des lignes filtrées.
+ * </p>
+ * Une ligne peut aussi être comptée en négatif : un cube des lignes
+ * ajoutées et retirées depuis la construction d'un stockage complète ainsi
+ * le cube de ce stockage. Deux cubes se {@link #fusionner fusionnent} sans
+ * relire les lignes, ce qui ajoute les modifications d'une mise à jour à
+ * celles des précédentes. Le cube n'est jamais modifié après sa
+ * construction et peut être lu depuis n'importe quel thread.
+ *
+ * @author erwan.thierry
+ */
+public class CubeAgregats {
+
+    /* Nombre de bits d'une heure décalée de 1 dans une clé de tri */
+    private static final int BITS_HEURE = 11;
+
+    /* Nombre de bits utilisables d'une clé de tri, dont le bit de signe
+       de la ligne */
+    private static final int BITS_CLE = 62;
+
+    /* Valeurs de chaque case, triées par jour */
+    private final int[] jours;
+    private final int[] salles;
+    private final int[] employes;
+    private final int[] activites;
+    private final short[] debuts;
+    private final short[] fins;
+
+    /* Nombre de réservations et durée totale de chaque case */
+    private final int[] nombres;
+    private final long[] minutes;
+
+    /* Nombre de cases au jour non valide, rangées en premier */
+    private final int nbSansDate;
+
+    /**
+     * Construit le cube de lignes d'un stockage par colonnes, si chaque
+     * combinaison tient dans un entier long.
+     *
+     * @param colonnes Le stockage des réservations.
+     * @param lignes Les lignes à prendre en compte.
+     * @param negatives Les positions, dans le tableau des lignes, des
+     *                  lignes à compter en négatif.
+     * @return Le cube, ou null si les dictionnaires ou la période sont trop
+     *         grands pour le représenter.
+     */
+    static CubeAgregats construire(ColonnesReservations colonnes,
+                                   int[] lignes, BitSet negatives) {
+        int bitsJour = bits(colonnes.getDernierJour() - colonnes.getPremierJour() + 2);
+        DictionnairesReservations dictionnaires = colonnes.getDictionnaires();
+        int bitsSalle = bits(dictionnaires.getSalles().taille());
+        int bitsEmploye = bits(dictionnaires.getEmployes().taille());
+        int bitsActivite = bits(dictionnaires.getActivites().taille());
+        if (bitsJour + bitsSalle + bitsEmploye + bitsActivite
+            + 2 * BITS_HEURE > BITS_CLE) {
+            return null;
+        }
+        return new CubeAgregats(colonnes, lignes, negatives,
+                                bitsSalle, bitsEmploye, bitsActivite);
+    }
+
+    /*
+     * Nombre de bits nécessaires pour écrire les entiers de 0 à nombre - 1.
+     */
+    private static int bits(int nombre) {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(nombre - 1, 1));
+    }
+
+    /*
+     * Trie une clé par ligne, puis regroupe les clés égales en une case.
+     * Le rang du jour occupe les bits de poids fort, le jour non valide
+     * ayant le rang 0, et le signe de la ligne le bit de poids faible.
+     */
+    private CubeAgregats(ColonnesReservations colonnes, int[] lignes,
+                         BitSet negatives, int bitsSalle, int bitsEmploye,
+                         int bitsActivite) {
+        int decalageFin = 1;
+        int decalageDebut = decalageFin + BITS_HEURE;
+        int decalageActivite = decalageDebut + BITS_HEURE;
+        int decalageEmploye = decalageActivite + bitsActivite;
+        int decalageSalle = decalageEmploye + bitsEmploye;
+        int decalageJour = decalageSalle + bitsSalle;
+        int premierJour = colonnes.getPremierJour();
+
+        long[] cles = new long[lignes.length];
+        for (int i = 0; i < cles.length; i++) {
+            int ligne = lignes[i];
+            int jour = colonnes.getJour(ligne);
+            long rangJour = jour == Reservation.DATE_INVALIDE
+                            ? 0 : jour - premierJour + 1;
+            cles[i] = rangJour << decalageJour
+                          | (long) colonnes.getSalle(ligne) << decalageSalle
+                          | (long) colonnes.getEmploye(ligne) << decalageEmploye
+                          | (long) colonnes.getActivite(ligne) << decalageActivite
+                          | (long) (colonnes.getDebut(ligne) + 1) << decalageDebut
+                          | (long) (colonnes.getFin(ligne) + 1) << decalageFin
+                          | (negatives.get(i) ? 1 : 0);
+        }
+        Arrays.sort(cles);
+
+        int nbCases = 0;
+        for (int i = 0; i < cles.length; i++) {
+            if (i == 0 || cles[i] != cles[i - 1]) {
+                nbCases++;
+            }
+        }
+        jours = new int[nbCases];
+        salles = new int[nbCases];
+        employes = new int[nbCases];
+        activites = new int[nbCases];
+        debuts = new short[nbCases];
+        fins = new short[nbCases];
+        nombres = new int[nbCases];
+        minutes = new long[nbCases];
+
+        long masqueHeure = (1L << BITS_HEURE) - 1;
+        int sansDate = 0;
+        int numero = -1;
+        for (int i = 0; i < cles.length; i++) {
+            long cle = cles[i];
+            if (i == 0 || cle != cles[i - 1]) {
+                numero++;
+                int rangJour = (int) (cle >>> decalageJour);
+                jours[numero] = rangJour == 0
+                                ? Reservation.DATE_INVALIDE : premierJour + rangJour - 1;
+                salles[numero] = (int) (cle >>> decalageSalle & masque(bitsSalle));
+                employes[numero] = (int) (cle >>> decalageEmploye & masque(bitsEmploye));
+                activites[numero] = (int) (cle >>> decalageActivite & masque(bitsActivite));
+                debuts[numero] = (short) ((cle >>> decalageDebut & masqueHeure) - 1);
+                fins[numero] = (short) ((cle >>> decalageFin & masqueHeure) - 1);
+                if (rangJour == 0) {
+                    sansDate++;
+                }
+            }
+            int signe = (cle & 1) == 0 ? 1 : -1;
+            nombres[numero] += signe;
+            minutes[numero] += signe * duree(numero);
+        }
+        nbSansDate = sansDate;
+    }
+
+    /**
+     * Fusionne deux cubes : chaque case du résultat additionne les cases
+     * de même combinaison des deux cubes, et les cases dont les lignes se
+     * compensent exactement disparaissent. Le temps de calcul est
+     * proportionnel au nombre de cases, et non au nombre de lignes.
+     *
+     * @param premier Le premier cube.
+     * @param second Le second cube.
+     * @return Le cube fusionné.
+     */
+    static CubeAgregats fusionner(CubeAgregats premier, CubeAgregats second) {
+        CubeAgregats fusion = new CubeAgregats(premier.nbCases() + second.nbCases(), 0);
+        int i = 0;
+        int j = 0;
+        int numero = 0;
+        while (i < premier.nbCases() || j < second.nbCases()) {
+            CubeAgregats source;
+            int k;
+            if (j == second.nbCases()
+                || i < premier.nbCases() && comparer(premier, i, second, j) <= 0) {
+                source = premier;
+                k = i++;
+            } else {
+                source = second;
+                k = j++;
+            }
+            if (numero == 0 || comparer(fusion, numero - 1, source, k) != 0) {
+                fusion.copierCase(numero++, source, k);
+            }
+            fusion.nombres[numero - 1] += source.nombres[k];
+            fusion.minutes[numero - 1] += source.minutes[k];
+        }
+        return fusion.retenir(numero);
+    }
+
+    /*
+     * Cube vide du nombre de cases indiqué, rempli par une fusion.
+     */
+    private CubeAgregats(int nbCases, int nbSansDate) {
+        jours = new int[nbCases];
+        salles = new int[nbCases];
+        employes = new int[nbCases];
+        activites = new int[nbCases];
+        debuts = new short[nbCases];
+        fins = new short[nbCases];
+        nombres = new int[nbCases];
+        minutes = new long[nbCases];
+        this.nbSansDate = nbSansDate;
+    }
+
+    /*
+     * Compare deux cases dans l'ordre de rangement des cubes : jour (le
+     * jour non valide en premier), salle, employé, activité, début et fin.
+     */
+    private static int comparer(CubeAgregats premier, int i,
+                                CubeAgregats second, int j) {
+        int comparaison = Integer.compare(premier.jours[i], second.jours[j]);
+        if (comparaison == 0) {
+            comparaison = Integer.compare(premier.salles[i], second.salles[j]);
+        }
+        if (comparaison == 0) {
+            comparaison = Integer.compare(premier.employes[i], second.employes[j]);
+        }
+        if (comparaison == 0) {
+            comparaison = Integer.compare(premier.activites[i], second.activites[j]);
+        }
+        if (comparaison == 0) {
+            comparaison = Short.compare(premier.debuts[i], second.debuts[j]);
+        }
+        if (comparaison == 0) {
+            comparaison = Short.compare(premier.fins[i], second.fins[j]);
+        }
+        return comparaison;
+    }
+
+    private void copierCase(int numero, CubeAgregats source, int i) {
+        jours[numero] = source.jours[i];
+        salles[numero] = source.salles[i];
+        employes[numero] = source.employes[i];
+        activites[numero] = source.activites[i];
+        debuts[numero] = source.debuts[i];
+        fins[numero] = source.fins[i];
+    }
+
+    /*
+     * Cube des premières cases remplies par une fusion, sans celles dont
+     * les lignes se compensent.
+     */
+    private CubeAgregats retenir(int nbCases) {
+        int nbRetenues = 0;
+        int sansDate = 0;
+        for (int i = 0; i < nbCases; i++) {
+            if (nombres[i] != 0 || minutes[i] != 0) {
+                nbRetenues++;
+                if (jours[i] == Reservation.DATE_INVALIDE) {
+                    sansDate++;
+                }
+            }
+        }
+        CubeAgregats retenu = new CubeAgregats(nbRetenues, sansDate);
+        int numero = 0;
+        for (int i = 0; i < nbCases; i++) {
+            if (nombres[i] != 0 || minutes[i] != 0) {
+                retenu.copierCase(numero, this, i);
+                retenu.nombres[numero] = nombres[i];
+                retenu.minutes[numero] = minutes[i];
+                numero++;
+            }
+        }
+        return retenu;
+    }
+
+    private static long masque(int bits) {
+        return (1L << bits) - 1;
+    }
+
+    /*
+     * Durée d'une réservation d'une case, 0 si l'une de ses heures n'est
+     * pas valide.
+     */
+    private int duree(int numero) {
+        return debuts[numero] == Reservation.HEURE_INVALIDE
+               || fins[numero] == Reservation.HEURE_INVALIDE
+               ? 0 : fins[numero] - debuts[numero];
+    }
+
+    /**
+     * @return Le nombre de cases du cube.
+     */
+    public int nbCases() {
+        return nombres.length;
+    }
+
+    /**
+     * Ajoute à un regroupement les cases du cube retenues par un filtre.
+     *
+     * @param agregation Le regroupement à compléter.
+     * @param filtre Le filtre à appliquer.
+     * @param cle Le critère de regroupement.
+     */
+    void ajouterA(Agregation agregation, FiltreReservation filtre,
+                  Agregation.Cle cle) {
+        int[] valeurs = switch (cle) {
+            case SALLE -> salles;
+            case EMPLOYE -> employes;
+            case ACTIVITE -> activites;
+            case JOUR -> jours;
+        };
+
+        // les cases sans date passent tous les filtres de dates
+        ajouterCases(agregation, valeurs, filtre, 0, nbSansDate);
+        int debut = Math.max(premiereCase(filtre.getJourMin()), nbSansDate);
+        int fin = premiereCase(filtre.getJourMax() == Integer.MAX_VALUE
+                               ? Integer.MAX_VALUE : filtre.getJourMax() + 1);
+        ajouterCases(agregation, valeurs, filtre, debut, fin);
+    }
+
+    private void ajouterCases(Agregation agregation, int[] valeurs,
+                              FiltreReservation filtre, int debut, int fin) {
+        boolean vide = filtre.estVide();
+        for (int i = debut; i < fin; i++) {
+            if (vide || filtre.accepte(salles[i], employes[i], activites[i],
+                                       jours[i], debuts[i], fins[i])) {
+                agregation.ajouter(valeurs[i], nombres[i], minutes[i]);
+            }
+        }
+    }
+
+    /*
+     * Position de la première case datée d'un jour supérieur ou égal au
+     * jour fourni, ou le nombre de cases s'il n'y en a pas.
+     */
+    private int premiereCase(int jour) {
+        int bas = nbSansDate;
+        int haut = jours.length;
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+            if (jours[milieu] < jour) {
+                bas = milieu + 1;
+            } else {
+                haut = milieu;
+            }
+        }
+        return bas;
+    }
+}
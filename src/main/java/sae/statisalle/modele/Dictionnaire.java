@@ -0,0 +1,136 @@
+/*
+ * Dictionnaire.java               17/10/2026
+ * IUT DE RODEZ                    Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionnaire associant à chaque valeur distincte un code entier.
+ * <p>
+ * Les codes sont attribués dans l'ordre d'apparition des valeurs, à partir
+ * de 0, et ne changent jamais : une valeur répétée sur un grand nombre de
+ * lignes (nom de salle, d'employé, d'activité) n'est ainsi conservée qu'une
+ * seule fois en mémoire, et deux valeurs se comparent par leur code.
+ * La valeur null reçoit elle aussi un code, attribué à sa première
+ * apparition.
+ * </p>
+ * Le dictionnaire peut être alimenté depuis plusieurs threads à la fois.
+ * Il n'est jamais réduit : un chargement complet des données utilise de
+ * nouveaux {@link DictionnairesReservations dictionnaires}.
+ *
+ * @author erwan.thierry
+ */
+public class Dictionnaire {
+
+    /** Code renvoyé pour une valeur absente du dictionnaire. */
+    public static final int ABSENT = -1;
+
+    /* Capacité initiale du tableau des valeurs */
+    private static final int CAPACITE_INITIALE = 16;
+
+    /* Code associé à chaque valeur */
+    private final ConcurrentHashMap<String, Integer> codes =
+            new ConcurrentHashMap<>();
+
+    /* Valeur associée à chaque code, remplacé lorsqu'il est agrandi */
+    private volatile String[] valeurs = new String[CAPACITE_INITIALE];
+
+    /* Nombre de valeurs enregistrées */
+    private volatile int taille;
+
+    /* Code réservé à la valeur null, ABSENT tant qu'elle n'a pas été codée */
+    private volatile int codeNul = ABSENT;
+
+    /**
+     * Renvoie le code d'une valeur, en l'ajoutant au dictionnaire si elle
+     * n'y figure pas encore.
+     *
+     * @param valeur La valeur à coder.
+     * @return Le code de la valeur.
+     */
+    public int code(String valeur) {
+        if (valeur == null) {
+            int code = codeNul;
+            return code != ABSENT ? code : ajouter(null);
+        }
+        Integer code = codes.get(valeur);
+        return code != null ? code : ajouter(valeur);
+    }
+
+    /**
+     * Ajoute une valeur au dictionnaire. La valeur est rendue lisible
+     * avant que son code ne soit publié.
+     */
+    private synchronized int ajouter(String valeur) {
+        Integer existant = valeur == null
+                           ? (codeNul != ABSENT ? codeNul : null)
+                           : codes.get(valeur);
+        if (existant != null) {
+            return existant;
+        }
+        int code = taille;
+        if (code == valeurs.length) {
+            valeurs = Arrays.copyOf(valeurs, code * 2);
+        }
+        valeurs[code] = valeur;
+        taille = code + 1;
+        if (valeur == null) {
+            codeNul = code;
+        } else {
+            codes.put(valeur, code);
+        }
+        return code;
+    }
+
+    /**
+     * Renvoie le code d'une valeur sans l'ajouter au dictionnaire.
+     *
+     * @param valeur La valeur recherchée.
+     * @return Le code de la valeur, ou {@link #ABSENT} si elle est inconnue.
+     */
+    public int chercher(String valeur) {
+        return valeur == null ? codeNul : codes.getOrDefault(valeur, ABSENT);
+    }
+
+    /**
+     * Renvoie les codes des valeurs égales à celle fournie, sans tenir
+     * compte de la casse. Le parcours est fait sous le verrou des ajouts,
+     * le tableau des valeurs pouvant être remplacé pendant un ajout.
+     *
+     * @param valeur La valeur recherchée.
+     * @return L'ensemble des codes correspondants, éventuellement vide.
+     */
+    public synchronized BitSet chercherSansCasse(String valeur) {
+        BitSet resultat = new BitSet();
+        for (int code = 0; code < taille; code++) {
+            if (valeurs[code] != null && valeurs[code].equalsIgnoreCase(valeur)) {
+                resultat.set(code);
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Renvoie la valeur associée à un code.
+     *
+     * @param code Un code attribué par ce dictionnaire.
+     * @return La valeur correspondante, éventuellement null.
+     */
+    public String valeur(int code) {
+        return valeurs[code];
+    }
+
+    /**
+     * Renvoie le nombre de valeurs distinctes enregistrées. Les codes
+     * attribués sont compris entre 0 et cette taille exclue.
+     *
+     * @return Le nombre de valeurs du dictionnaire.
+     */
+    public int taille() {
+        return taille;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * DictionnairesReservations.java          17/10/2026
+ * IUT DE RODEZ                            Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+/**
+ * Dictionnaires des salles, employés et activités d'un jeu de
+ * réservations.
+ * <p>
+ * Chaque réservation garde les dictionnaires dans lesquels ses codes ont
+ * été attribués, et chaque {@link ColonnesReservations stockage par
+ * colonnes} ceux de ses réservations. Un chargement complet des données
+ * code ses réservations dans de nouveaux dictionnaires, sans modifier
+ * ceux des réservations encore affichées : elles restent lisibles jusqu'à
+ * leur remplacement, puis leurs dictionnaires sont libérés avec elles.
+ * </p>
+ *
+ * @author erwan.thierry
+ */
+public final class DictionnairesReservations {
+
+    /* Dictionnaire des salles réservées */
+    private final Dictionnaire salles = new Dictionnaire();
+
+    /* Dictionnaire des employés ayant effectué une réservation */
+    private final Dictionnaire employes = new Dictionnaire();
+
+    /* Dictionnaire des activités des réservations */
+    private final Dictionnaire activites = new Dictionnaire();
+
+    /**
+     * @return Le dictionnaire des salles réservées.
+     */
+    public Dictionnaire getSalles() {
+        return salles;
+    }
+
+    /**
+     * @return Le dictionnaire des employés ayant effectué une réservation.
+     */
+    public Dictionnaire getEmployes() {
+        return employes;
+    }
+
+    /**
+     * @return Le dictionnaire des activités des réservations.
+     */
+    public Dictionnaire getActivites() {
+        return activites;
+    }
+
+    /**
+     * @return Le nombre total de valeurs des trois dictionnaires.
+     */
+    public int nbValeurs() {
+        return salles.taille() + employes.taille() + activites.taille();
+    }
+}
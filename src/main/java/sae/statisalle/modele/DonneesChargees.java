@@ -0,0 +1,133 @@
+/*
+ * DonneesChargees.java              17/10/2026
+ * IUT DE RODEZ                      Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import sae.statisalle.modele.objet.Activite;
+import sae.statisalle.modele.objet.Employe;
+import sae.statisalle.modele.objet.Reservation;
+import sae.statisalle.modele.objet.Salle;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Résultat de la lecture d'un dossier de fichiers CSV.
+ * <p>
+ * Les listes contenues ne sont pas observables : elles peuvent être
+ * remplies depuis un thread autre que celui de JavaFX, puis publiées
+ * dans les listes affichées par l'application.
+ * </p>
+ * Le résultat contient également les anomalies rencontrées pendant la
+ * lecture, qui sont signalées à l'utilisateur une fois le chargement fini.
+ *
+ * @author erwan.thierry
+ */
+public class DonneesChargees {
+
+    /* Employés lus */
+    private final List<Employe> employes = new ArrayList<>();
+
+    /* Salles lues */
+    private final List<Salle> salles = new ArrayList<>();
+
+    /* Activités lues */
+    private final List<Activite> activites = new ArrayList<>();
+
+    /* Réservations lues */
+    private final List<Reservation> reservations = new ArrayList<>();
+
+    /* Réservations rangées par colonnes pour les calculs */
+    private ColonnesReservations colonnes = ColonnesReservations.VIDE;
+
+    /* Première et dernière ligne (exclue) des réservations de chaque
+       fichier, par nom de fichier */
+    private Map<String, int[]> lignesParFichier = new HashMap<>();
+
+    /* Index des salles et conflits des réservations */
+    private ConflitsReservations conflits = ConflitsReservations.VIDE;
+
+    /* Fichiers qui n'ont pas pu être lus */
+    private final List<File> fichiersInvalides = new ArrayList<>();
+
+    /* Références des réservations qui n'ont pas pu être résolues */
+    private final Map<String, Integer> referencesNonResolues =
+            new LinkedHashMap<>();
+
+    public List<Employe> getEmployes() {
+        return employes;
+    }
+
+    public List<Salle> getSalles() {
+        return salles;
+    }
+
+    public List<Activite> getActivites() {
+        return activites;
+    }
+
+    public List<Reservation> getReservations() {
+        return reservations;
+    }
+
+    /**
+     * Renvoie les réservations rangées par colonnes, construites une fois
+     * les réservations rattachées.
+     *
+     * @return Le stockage par colonnes des réservations.
+     */
+    public ColonnesReservations getColonnes() {
+        return colonnes;
+    }
+
+    public void setColonnes(ColonnesReservations colonnes) {
+        this.colonnes = colonnes;
+    }
+
+    /**
+     * Renvoie les lignes du stockage par colonnes occupées par les
+     * réservations de chaque fichier, sous la forme {début, fin exclue}.
+     *
+     * @return Les lignes de chaque fichier, par nom de fichier.
+     */
+    public Map<String, int[]> getLignesParFichier() {
+        return lignesParFichier;
+    }
+
+    public void setLignesParFichier(Map<String, int[]> lignesParFichier) {
+        this.lignesParFichier = lignesParFichier;
+    }
+
+    /**
+     * Renvoie l'index des créneaux de chaque salle et les réservations qui
+     * se chevauchent, calculés par la tâche de chargement.
+     *
+     * @return Les index et conflits des réservations.
+     */
+    public ConflitsReservations getConflits() {
+        return conflits;
+    }
+
+    public void setConflits(ConflitsReservations conflits) {
+        this.conflits = conflits;
+    }
+
+    public List<File> getFichiersInvalides() {
+        return fichiersInvalides;
+    }
+
+    /**
+     * Renvoie les références non résolues, associées au nombre de
+     * réservations concernées.
+     *
+     * @return Les références non résolues.
+     */
+    public Map<String, Integer> getReferencesNonResolues() {
+        return referencesNonResolues;
+    }
+}
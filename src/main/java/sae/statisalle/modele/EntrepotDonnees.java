@@ -0,0 +1,477 @@
+/*
+ * EntrepotDonnees.java               17/10/2026
+ * IUT DE RODEZ                       Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.concurrent.WorkerStateEvent;
+import sae.statisalle.modele.objet.Activite;
+import sae.statisalle.modele.objet.Employe;
+import sae.statisalle.modele.objet.Reservation;
+import sae.statisalle.modele.objet.Salle;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * La classe EntrepotDonnees centralise les données chargées depuis les
+ * fichiers CSV du dossier de données.
+ * <p>
+ * Les données ne sont lues qu'une seule fois puis partagées par tous les
+ * contrôleurs : naviguer entre les écrans d'analyse ne relit pas les
+ * fichiers et une seule copie des données est conservée en mémoire.
+ * Le dossier est surveillé : lorsque des fichiers CSV y sont créés,
+ * modifiés ou supprimés (importation, réception par le réseau ou copie
+ * manuelle), seuls les fichiers de réservations concernés sont relus et
+ * leurs réservations remplacées dans les données déjà chargées ; un
+ * changement d'un autre type de fichier relance un chargement complet.
+ * Un chargement complet code les réservations dans de nouveaux
+ * dictionnaires, sans toucher à ceux des réservations encore affichées par
+ * les écrans : les mises à jour y laissent les valeurs des réservations
+ * retirées, si bien qu'une mise à jour est remplacée par un chargement
+ * complet lorsque ces dictionnaires ont trop grossi.
+ * </p>
+ * Les listes retournées sont toujours les mêmes instances : un tableau qui
+ * les affiche est mis à jour automatiquement lors d'un rechargement. Les
+ * écrans qui affichent des calculs sont prévenus par les écouteurs
+ * enregistrés avec {@link #ajouterEcouteur(Runnable)}.
+ *
+ * @author erwan.thierry
+ * @author rodrigo.xaviertaborda
+ */
+public class EntrepotDonnees {
+
+    /** Chemin du dossier contenant les fichiers CSV de l'application. */
+    public static final String DOSSIER_CSV = "src/main/resources/csv";
+
+    /** Chemin de l'instantané binaire des fichiers CSV lus, qui évite de
+        relire au démarrage les fichiers inchangés. */
+    public static final String FICHIER_INSTANTANE = DOSSIER_CSV + "/.instantane.bin";
+
+    /** Chemin du fichier décrivant les horaires d'ouverture des salles. */
+    public static final String FICHIER_CALENDRIER =
+            "src/main/resources/calendrier.properties";
+
+    /* Liste partagée des employés */
+    private static final ObservableList<Employe> listEmploye =
+            FXCollections.observableArrayList();
+
+    /* Liste partagée des salles */
+    private static final ObservableList<Salle> listSalle =
+            FXCollections.observableArrayList();
+
+    /* Liste partagée des activités */
+    private static final ObservableList<Activite> listActivite =
+            FXCollections.observableArrayList();
+
+    /* Liste partagée des réservations */
+    private static final ObservableList<Reservation> listReservation =
+            FXCollections.observableArrayList();
+
+    /* Réservations rangées par colonnes, utilisées par les calculs */
+    private static ColonnesReservations colonnes = ColonnesReservations.VIDE;
+
+    /* Lignes du stockage par colonnes occupées par chaque fichier */
+    private static Map<String, int[]> lignesParFichier = new HashMap<>();
+
+    /* Index des salles et conflits des réservations chargées */
+    private static ConflitsReservations conflits = ConflitsReservations.VIDE;
+
+    /* Nombre de valeurs ajoutées aux dictionnaires des réservations, au-delà
+       du double de celles du dernier chargement complet, à partir duquel
+       les données sont entièrement relues */
+    private static final int MARGE_DICTIONNAIRES = 1024;
+
+    /* Nombre de valeurs des dictionnaires des réservations à la fin du
+       dernier chargement complet */
+    private static int nbValeursChargees;
+
+    /* Indique si les listes correspondent au contenu actuel du dossier */
+    private static boolean charge = false;
+
+    /* Chargement en cours d'exécution, null si aucun */
+    private static TacheChargement chargementEnCours;
+
+    /* Fichiers modifiés pendant un chargement, relus à sa fin */
+    private static final Set<String> fichiersEnAttente = new LinkedHashSet<>();
+
+    /* Indique si toutes les données doivent être relues à la fin du
+       chargement en cours */
+    private static boolean rechargementEnAttente = false;
+
+    /* Actions exécutées à la fin du chargement en cours, avant la relecture
+       des fichiers modifiés pendant celui-ci */
+    private static final List<Runnable> actionsEnAttente = new ArrayList<>();
+
+    /* Actions exécutées après chaque mise à jour des données chargées */
+    private static final List<Runnable> ecouteurs = new ArrayList<>();
+
+    /* Surveillance du dossier CSV, null si elle n'est pas démarrée */
+    private static SurveillanceDossier surveillance;
+
+    /* Horaires d'ouverture des salles, lus à la première utilisation */
+    private static CalendrierOuverture calendrier;
+
+    /**
+     * Charge les données du dossier CSV en arrière-plan si elles ne l'ont
+     * pas encore été, ou si l'entrepôt a été invalidé depuis le dernier
+     * chargement.
+     * <p>
+     * L'action fournie est exécutée sur le thread JavaFX dès que les données
+     * sont disponibles : immédiatement si elles sont déjà chargées, sinon à
+     * la fin du chargement. Si un chargement est déjà en cours (lancé par
+     * un autre écran), l'action est rattachée à ce chargement.
+     * </p>
+     * Cette méthode doit être appelée depuis le thread JavaFX.
+     *
+     * @param apresChargement L'action à exécuter une fois les données
+     *                        disponibles.
+     * @return La tâche de chargement, pour suivre son avancement ou
+     *         l'annuler, ou null si les données étaient déjà chargées.
+     */
+    public static TacheChargement charger(Runnable apresChargement) {
+        if (charge) {
+            apresChargement.run();
+            return null;
+        }
+
+        if (chargementEnCours == null) {
+            lancerChargementComplet(false);
+        }
+
+        actionsEnAttente.add(apresChargement);
+        return chargementEnCours;
+    }
+
+    /*
+     * Lance un chargement complet du dossier. Les données chargées sont
+     * vidées avant la lecture, qui code les valeurs des seules réservations
+     * présentes dans de nouveaux dictionnaires.
+     */
+    private static void lancerChargementComplet(boolean prevenir) {
+        viderListes();
+        Reservation.renouvelerDictionnaires();
+        lancer(new TacheChargement(DOSSIER_CSV, Path.of(FICHIER_INSTANTANE),
+                                   listEmploye, listSalle, listActivite,
+                                   listReservation), prevenir);
+    }
+
+    /**
+     * Lance en arrière-plan un chargement ou une mise à jour des données.
+     * Les données sont publiées à la fin de la tâche, et vidées si elle est
+     * annulée ou échoue. Les actions en attente des données sont exécutées
+     * à la fin de la tâche, puis les fichiers modifiés pendant celle-ci
+     * sont relus.
+     *
+     * @param tache La tâche à lancer.
+     * @param prevenir Vrai si les écouteurs doivent être prévenus à la fin
+     *                 de la tâche.
+     */
+    private static void lancer(TacheChargement tache, boolean prevenir) {
+        tache.addEventHandler(WorkerStateEvent.WORKER_STATE_SUCCEEDED, evenement -> {
+            chargementEnCours = null;
+            charge = true;
+            colonnes = tache.getValue().getColonnes();
+            lignesParFichier = tache.getValue().getLignesParFichier();
+            conflits = tache.getValue().getConflits();
+            if (!(tache instanceof TacheMiseAJour)) {
+                nbValeursChargees = colonnes.getDictionnaires().nbValeurs();
+            }
+            LireFichier.signalerAnomalies(tache.getValue());
+            if (prevenir) {
+                ecouteurs.forEach(Runnable::run);
+            }
+            // Les écrans qui attendaient les données les reçoivent avant
+            // qu'une nouvelle tâche ne les invalide
+            List<Runnable> actions = new ArrayList<>(actionsEnAttente);
+            actionsEnAttente.clear();
+            actions.forEach(Runnable::run);
+            if (rechargementEnAttente) {
+                rechargementEnAttente = false;
+                fichiersEnAttente.clear();
+                dossierModifie();
+            } else if (!fichiersEnAttente.isEmpty()) {
+                List<String> chemins = new ArrayList<>(fichiersEnAttente);
+                fichiersEnAttente.clear();
+                fichiersModifies(chemins);
+            }
+        });
+        tache.addEventHandler(WorkerStateEvent.WORKER_STATE_CANCELLED, evenement -> {
+            chargementEnCours = null;
+            fichiersEnAttente.clear();
+            actionsEnAttente.clear();
+            rechargementEnAttente = false;
+            viderListes();
+            System.out.println("Chargement des données annulé.");
+        });
+        tache.addEventHandler(WorkerStateEvent.WORKER_STATE_FAILED, evenement -> {
+            chargementEnCours = null;
+            fichiersEnAttente.clear();
+            actionsEnAttente.clear();
+            rechargementEnAttente = false;
+            viderListes();
+            System.err.println("Erreur lors du chargement des données : "
+                               + tache.getException().getMessage());
+        });
+
+        chargementEnCours = tache;
+        Thread thread = new Thread(tache, "chargement-donnees");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Démarre la surveillance du dossier CSV : les fichiers créés, modifiés
+     * ou supprimés sont signalés à {@link #fichiersModifies(List)} sur le
+     * thread JavaFX, une fois leur écriture terminée.
+     * Sans effet si la surveillance est déjà démarrée.
+     */
+    public static void surveillerDossier() {
+        if (surveillance != null) {
+            return;
+        }
+        try {
+            surveillance = new SurveillanceDossier(
+                    Path.of(DOSSIER_CSV), SurveillanceDossier.DELAI_REGROUPEMENT,
+                    chemins -> Platform.runLater(() -> fichiersModifies(chemins)),
+                    () -> Platform.runLater(EntrepotDonnees::dossierModifie));
+            surveillance.demarrer();
+        } catch (IOException e) {
+            System.err.println("Impossible de surveiller le dossier des "
+                               + "données : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Arrête la surveillance du dossier CSV.
+     */
+    public static void arreterSurveillance() {
+        if (surveillance != null) {
+            surveillance.close();
+            surveillance = null;
+        }
+    }
+
+    /**
+     * Indique que l'application a écrit des fichiers dans le dossier CSV.
+     * Lorsque le dossier est surveillé, les fichiers sont déjà signalés par
+     * la surveillance et cet appel est sans effet.
+     * Cette méthode doit être appelée depuis le thread JavaFX.
+     *
+     * @param chemins Les chemins des fichiers écrits.
+     */
+    public static void fichiersEcrits(List<String> chemins) {
+        if (surveillance == null) {
+            fichiersModifies(chemins);
+        }
+    }
+
+    /**
+     * Indique que des fichiers du dossier CSV ont été créés, modifiés ou
+     * supprimés.
+     * <p>
+     * Si les données sont chargées et que tous les fichiers sont des
+     * fichiers de réservations, seuls ces fichiers sont relus, en
+     * arrière-plan : leurs anciennes réservations sont retirées des données
+     * et des statistiques, et les nouvelles ajoutées. Un fichier supprimé
+     * n'est reconnu que s'il avait été chargé. Un écran qui demande les
+     * données pendant la mise à jour les reçoit à la fin de celle-ci.
+     * </p>
+     * <p>
+     * Si un autre type de fichier est concerné, ou si les dictionnaires des
+     * réservations ont trop grossi depuis le dernier chargement complet,
+     * les données chargées sont entièrement relues. Si un chargement est en cours, les fichiers sont
+     * relus à sa fin. Si aucune donnée n'est chargée, l'entrepôt est
+     * seulement invalidé comme par {@link #invalider()}.
+     * </p>
+     * Les écouteurs sont prévenus à la fin de la mise à jour.
+     * Cette méthode doit être appelée depuis le thread JavaFX.
+     *
+     * @param chemins Les chemins des fichiers modifiés.
+     */
+    public static void fichiersModifies(List<String> chemins) {
+        if (chargementEnCours != null) {
+            fichiersEnAttente.addAll(chemins);
+        } else if (!charge) {
+            invalider();
+        } else if (colonnes.getDictionnaires().nbValeurs()
+                   <= 2 * nbValeursChargees + MARGE_DICTIONNAIRES
+                   && chemins.stream().allMatch(EntrepotDonnees::estFichierReservations)) {
+            charge = false;
+            lancer(new TacheMiseAJour(chemins, colonnes, lignesParFichier,
+                                      conflits, listEmploye, listSalle, listActivite,
+                                      listReservation), true);
+        } else {
+            dossierModifie();
+        }
+    }
+
+    /*
+     * Relit toutes les données si elles étaient chargées, et invalide
+     * l'entrepôt sinon. Un chargement en cours est relancé à sa fin.
+     */
+    private static void dossierModifie() {
+        if (chargementEnCours != null) {
+            rechargementEnAttente = true;
+        } else {
+            boolean etaitCharge = charge;
+            invalider();
+            if (etaitCharge) {
+                lancerChargementComplet(true);
+            }
+        }
+    }
+
+    /*
+     * Indique si un fichier contient des réservations. Un fichier supprimé
+     * en contenait s'il occupait des lignes des données chargées.
+     */
+    private static boolean estFichierReservations(String chemin) {
+        File fichier = new File(chemin);
+        if (!fichier.exists()) {
+            return lignesParFichier.containsKey(fichier.getName());
+        }
+        try {
+            return "Reservation".equals(new Fichier(chemin).getTypeFichier());
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Enregistre une action à exécuter sur le thread JavaFX après chaque
+     * mise à jour des données déjà chargées, qu'elle soit due à la
+     * surveillance du dossier ou à une écriture de l'application. Elle
+     * permet à un écran ouvert de recalculer ce qu'il affiche.
+     *
+     * @param ecouteur L'action à exécuter.
+     */
+    public static void ajouterEcouteur(Runnable ecouteur) {
+        ecouteurs.add(ecouteur);
+    }
+
+    /**
+     * Indique que le contenu du dossier CSV a changé.
+     * Les données seront relues lors du prochain appel à
+     * {@link #charger(Runnable)}. Un chargement en cours, qui lirait
+     * un contenu obsolète, est annulé.
+     */
+    public static void invalider() {
+        charge = false;
+        calendrier = null;
+        if (chargementEnCours != null) {
+            chargementEnCours.cancel();
+        }
+    }
+
+    /**
+     * Vide les listes partagées après un chargement interrompu.
+     */
+    private static void viderListes() {
+        colonnes = ColonnesReservations.VIDE;
+        lignesParFichier = new HashMap<>();
+        conflits = ConflitsReservations.VIDE;
+        listReservation.clear();
+        listEmploye.clear();
+        listSalle.clear();
+        listActivite.clear();
+    }
+
+    /**
+     * Indique si les données ont été chargées et sont à jour.
+     *
+     * @return true si les données sont chargées, false sinon.
+     */
+    public static boolean estCharge() {
+        return charge;
+    }
+
+    /**
+     * Renvoie les réservations chargées rangées par colonnes, à utiliser
+     * pour les calculs statistiques. Le stockage est remplacé à chaque
+     * chargement.
+     *
+     * @return Le stockage par colonnes des réservations.
+     */
+    public static ColonnesReservations getColonnes() {
+        return colonnes;
+    }
+
+    /**
+     * Renvoie l'index des créneaux de chaque salle et les réservations qui
+     * se chevauchent, calculés en arrière-plan par la dernière tâche de
+     * chargement ou de mise à jour. Le résultat est remplacé à chaque
+     * chargement.
+     *
+     * @return Les index et conflits des réservations.
+     */
+    public static ConflitsReservations getConflits() {
+        return conflits;
+    }
+
+    /**
+     * Renvoie les horaires d'ouverture des salles, lus dans
+     * {@link #FICHIER_CALENDRIER}. Les horaires par défaut sont utilisés
+     * si le fichier n'existe pas ou ne peut pas être lu.
+     *
+     * @return Le calendrier d'ouverture des salles.
+     */
+    public static CalendrierOuverture getCalendrier() {
+        if (calendrier == null) {
+            try {
+                calendrier = CalendrierOuverture.lire(Path.of(FICHIER_CALENDRIER));
+            } catch (IOException e) {
+                System.err.println("Erreur lors de la lecture du calendrier : "
+                                   + e.getMessage());
+                calendrier = new CalendrierOuverture();
+            }
+        }
+        return calendrier;
+    }
+
+    /**
+     * Renvoie la liste partagée des employés.
+     *
+     * @return La liste des employés.
+     */
+    public static ObservableList<Employe> getListEmploye() {
+        return listEmploye;
+    }
+
+    /**
+     * Renvoie la liste partagée des salles.
+     *
+     * @return La liste des salles.
+     */
+    public static ObservableList<Salle> getListSalle() {
+        return listSalle;
+    }
+
+    /**
+     * Renvoie la liste partagée des activités.
+     *
+     * @return La liste des activités.
+     */
+    public static ObservableList<Activite> getListActivite() {
+        return listActivite;
+    }
+
+    /**
+     * Renvoie la liste partagée des réservations.
+     *
+     * @return La liste des réservations.
+     */
+    public static ObservableList<Reservation> getListReservation() {
+        return listReservation;
+    }
+}
@@ -14,7 +14,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static java.lang.System.err;
 
@@ -128,44 +132,104 @@ public class Fichier {
      * Extrait les données d'un fichier CSV en ignorant la première ligne (entête)
      * et retourne une liste de listes où chaque sous-liste représente une ligne
      * du fichier CSV, avec chaque cellule séparée par un point-virgule.
+     * <p>
+     * Cette méthode conserve toutes les lignes en mémoire : pour les fichiers
+     * volumineux, préférer {@link #parcourirDonnees(Consumer)}.
+     * </p>
      *
      * @return Une liste de listes de chaînes de caractères représentant
      *         les données du fichier CSV.
      */
     public List<List<String>> recupererDonnees() {
         List<List<String>> tableau3D = new ArrayList<>();
-        List<String> contenu = contenuFichier();
+        parcourirDonnees(ligne -> tableau3D.add(
+                new ArrayList<>(Arrays.asList(ligne))));
+        return tableau3D;
+    }
 
-        if (contenu.isEmpty()) {
-            return tableau3D;
+    /**
+     * Parcourt les données du fichier CSV ligne par ligne, sans jamais
+     * charger l'intégralité du fichier en mémoire. La première ligne
+     * (entête) est ignorée et sert uniquement à connaître le nombre
+     * de colonnes attendu.
+     * <p>
+     * Chaque ligne est découpée selon le point-virgule puis transmise au
+     * traitement : les cellules vides sont remplacées par un espace et la
+     * ligne est complétée par des espaces pour faire la même taille que
+     * l'entête, comme dans {@link #recupererDonnees()}.
+     * </p>
+     *
+     * @param traitement Le traitement appliqué à chaque ligne de données.
+     * @return Le nombre de lignes de données parcourues.
+     */
+    public int parcourirDonnees(Consumer<String[]> traitement) {
+        return parcourirLignes(ligne -> traitement.accept(ligne.cellules()));
+    }
+
+    /**
+     * Parcourt les données du fichier CSV ligne par ligne comme
+     * {@link #parcourirDonnees(Consumer)}, mais sans décoder les cellules :
+     * le traitement ne décode que celles dont il a besoin.
+     * Le fichier est projeté en mémoire par un {@link LecteurCsv}.
+     *
+     * @param traitement Le traitement appliqué à chaque ligne de données,
+     *                   la ligne n'étant valable que pendant l'appel.
+     * @return Le nombre de lignes de données parcourues.
+     */
+    public int parcourirLignes(Consumer<LecteurCsv.Ligne> traitement) {
+        try {
+            return new LecteurCsv().parcourir(this.fichierExploite.toPath(),
+                                              traitement);
+        } catch (IOException e) {
+            err.println(ERREUR_CONTENU_FICHIER);
+            return 0;
         }
+    }
 
-        // Ajout de -1 pour gérer les colonnes vides à la fin
-        String[] entetes = contenu.get(0).split(";", -1);
-
-        for (int i = 1; i < contenu.size(); i++) {
-            // Ajout de -1 ici également
-            String[] ligne = contenu.get(i).split(";", -1);
-            List<String> ligneTraitee = new ArrayList<>();
-
-            for (String cellule : ligne) {
-                // Remplace les cellules vides au milieu de la ligne
-                // par un espace.
-                if (cellule.isEmpty()) {
-                    ligneTraitee.add(" ");
-                } else {
-                    ligneTraitee.add(cellule);
-                }
-            }
+    /**
+     * Parcourt les données du fichier CSV comme
+     * {@link #parcourirLignes(Consumer)}, en découpant le fichier en plages
+     * d'octets alignées sur les débuts de ligne, lues en même temps.
+     * Chaque plage remplit son propre résultat ; les résultats sont
+     * renvoyés dans l'ordre du fichier afin d'être réunis sans changer
+     * l'ordre des lignes.
+     *
+     * @param nbPlages Le nombre de plages souhaité.
+     * @param creerResultat Crée le résultat d'une plage.
+     * @param traitement Le traitement appliqué à chaque ligne de données,
+     *                   avec le résultat de sa plage. Il est appelé en même
+     *                   temps pour des plages différentes.
+     * @param <R> Le type du résultat d'une plage.
+     * @return Les résultats des plages dans l'ordre du fichier, aucun si
+     *         le fichier n'a pas pu être lu.
+     * @see LecteurCsv#parcourirParPlages
+     */
+    public <R> List<R> parcourirLignesParPlages(int nbPlages, Supplier<R> creerResultat,
+                                                BiConsumer<R, LecteurCsv.Ligne> traitement) {
+        try {
+            return new LecteurCsv().parcourirParPlages(this.fichierExploite.toPath(),
+                                                       nbPlages, creerResultat,
+                                                       traitement);
+        } catch (IOException e) {
+            err.println(ERREUR_CONTENU_FICHIER);
+            return List.of();
+        }
+    }
 
-            // Complète la ligne avec des espaces
-            // afin de faire la même taille que l'en-tête.
-            while (ligneTraitee.size() < entetes.length) {
-                ligneTraitee.add(" ");
-            }
-            tableau3D.add(ligneTraitee);
+    /**
+     * Lit uniquement la première ligne du fichier (l'entête).
+     *
+     * @return La première ligne du fichier ou null si le fichier est vide
+     *         ou illisible.
+     */
+    public String premiereLigne() {
+        try (BufferedReader br = new BufferedReader(
+                new FileReader(this.fichierExploite))) {
+            return br.readLine();
+        } catch (IOException e) {
+            err.println(ERREUR_CONTENU_FICHIER);
+            return null;
         }
-        return tableau3D;
     }
 
     /**
@@ -240,12 +304,12 @@ public class Fichier {
      * @throws IllegalStateException si le fichier est vide ou non valide.
      */
     public String getTypeFichier() {
-        List<String> contenu = contenuFichier();
-        if (contenu == null || contenu.isEmpty()) {
+        String entete = premiereLigne();
+        if (entete == null) {
             throw new IllegalStateException("Le contenu du fichier est vide "
                                             + "ou non valide.");
         }
-        return getTypeDepuisContenu(contenu);
+        return getTypeDepuisContenu(List.of(entete));
     }
 
     /**
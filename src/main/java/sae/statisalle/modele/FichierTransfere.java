@@ -0,0 +1,121 @@
+/*
+ * FichierTransfere.java                17/10/2026
+ * IUT DE RODEZ                         Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Fichier CSV reçu d'un autre poste, déchiffré et vérifié par son
+ * empreinte : son nom sur le poste d'origine, son type et le fichier
+ * temporaire dans lequel son contenu a été écrit à la réception.
+ * <p>
+ * Le contenu n'est jamais chargé entièrement en mémoire : le fichier
+ * temporaire est {@link #deplacer(Path) déplacé} vers sa destination s'il
+ * est conservé, ou {@link #supprimer() supprimé} sinon.
+ * </p>
+ *
+ * @author valentin.munier-genie
+ */
+public class FichierTransfere {
+
+    /* Nom du fichier sur le poste d'origine */
+    private final String nom;
+
+    /* Type du fichier ("Salle", "Employe", "Activite" ou "Reservation"),
+       null s'il n'est pas reconnu */
+    private final String type;
+
+    /* Fichier temporaire contenant le contenu reçu, encodé en UTF-8 */
+    private final Path fichier;
+
+    /* Taille du contenu, en octets */
+    private final long taille;
+
+    /**
+     * Crée un fichier transféré.
+     *
+     * @param nom Le nom du fichier sur le poste d'origine.
+     * @param type Le type du fichier, ou null s'il n'est pas reconnu.
+     * @param fichier Le fichier temporaire contenant le contenu reçu.
+     * @param taille La taille du contenu, en octets.
+     */
+    public FichierTransfere(String nom, String type, Path fichier, long taille) {
+        this.nom = nom;
+        this.type = type;
+        this.fichier = fichier;
+        this.taille = taille;
+    }
+
+    /**
+     * @return Le nom du fichier sur le poste d'origine.
+     */
+    public String getNom() {
+        return nom;
+    }
+
+    /**
+     * @return Le type du fichier, ou null s'il n'est pas reconnu.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return Le fichier temporaire contenant le contenu reçu.
+     */
+    public Path getFichier() {
+        return fichier;
+    }
+
+    /**
+     * @return La taille du contenu, en octets.
+     */
+    public long getTaille() {
+        return taille;
+    }
+
+    /**
+     * Lit le début du contenu, pour un aperçu.
+     *
+     * @param nbOctetsMax Le nombre maximal d'octets lus.
+     * @return Le début du contenu sous forme de texte.
+     * @throws IOException Si la lecture du fichier temporaire échoue.
+     */
+    public String lireDebut(int nbOctetsMax) throws IOException {
+        try (InputStream lecture = Files.newInputStream(fichier)) {
+            return new String(lecture.readNBytes(nbOctetsMax),
+                              StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Déplace le fichier temporaire vers sa destination, remplacée si elle
+     * existe déjà. La destination doit être sur le même disque que le
+     * dossier de réception pour que le déplacement soit immédiat.
+     *
+     * @param destination Le chemin du fichier conservé.
+     * @throws IOException Si le déplacement échoue.
+     */
+    public void deplacer(Path destination) throws IOException {
+        Files.move(fichier, destination, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Supprime le fichier temporaire, s'il existe encore.
+     */
+    public void supprimer() {
+        try {
+            Files.deleteIfExists(fichier);
+        } catch (IOException e) {
+            System.err.println("[RECEPTION] Fichier temporaire non supprimé : "
+                               + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * FiltreReservation.java               17/10/2026
+ * IUT DE RODEZ                         Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import sae.statisalle.modele.objet.Reservation;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.ToIntFunction;
+
+/**
+ * Critères de filtrage des réservations choisis dans les écrans d'analyse.
+ * <p>
+ * Les valeurs sélectionnées dans les listes déroulantes sont converties une
+ * seule fois, à la création du filtre : les salles, employés et activités
+ * en codes des dictionnaires des réservations filtrées, ceux du
+ * {@link ColonnesReservations#getDictionnaires() stockage par colonnes}
+ * auquel le filtre est appliqué, les dates en jours et
+ * les heures en minutes. Tester une réservation revient ensuite à comparer
+ * des entiers, sans analyser aucune chaîne.
+ * </p>
+ * Un critère absent, égal à "Tous" ou mal formaté ne filtre rien. Une
+ * réservation dont la date ou l'heure n'est pas valide n'est pas écartée
+ * par le critère correspondant.
+ *
+ * @author erwan.thierry
+ */
+public class FiltreReservation {
+
+    /* Valeur des listes déroulantes ne filtrant rien */
+    private static final String TOUS = "Tous";
+
+    /* Format d'affichage des dates dans les filtres */
+    private static final DateTimeFormatter FORMAT_DATE =
+            DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /* Codes acceptés pour chaque critère, null si aucun filtre */
+    private final BitSet salles;
+    private final BitSet employes;
+    private final BitSet activites;
+
+    /* Bornes sur le jour, l'heure de début et l'heure de fin */
+    private final int jourMin;
+    private final int jourMax;
+    private final int debutMin;
+    private final int finMax;
+
+    /**
+     * Crée un filtre à partir des valeurs sélectionnées par l'utilisateur,
+     * pour les réservations codées dans les dictionnaires courants.
+     *
+     * @param salle La salle recherchée.
+     * @param employe L'employé recherché.
+     * @param activite L'activité recherchée.
+     * @param dateDebut La date à partir de laquelle garder les réservations.
+     * @param dateFin La date jusqu'à laquelle garder les réservations.
+     * @param heureDebut L'heure de début minimale des réservations.
+     * @param heureFin L'heure de fin maximale des réservations.
+     * @see Reservation#getDictionnairesCourants()
+     */
+    public FiltreReservation(String salle, String employe, String activite,
+                             String dateDebut, String dateFin,
+                             String heureDebut, String heureFin) {
+        this(Reservation.getDictionnairesCourants(), salle, employe, activite,
+             dateDebut, dateFin, heureDebut, heureFin);
+    }
+
+    /**
+     * Crée un filtre à partir des valeurs sélectionnées par l'utilisateur.
+     * La comparaison des salles, employés et activités ne tient pas compte
+     * de la casse.
+     *
+     * @param dictionnaires Les dictionnaires des réservations filtrées.
+     * @param salle La salle recherchée.
+     * @param employe L'employé recherché.
+     * @param activite L'activité recherchée.
+     * @param dateDebut La date à partir de laquelle garder les réservations.
+     * @param dateFin La date jusqu'à laquelle garder les réservations.
+     * @param heureDebut L'heure de début minimale des réservations.
+     * @param heureFin L'heure de fin maximale des réservations.
+     */
+    public FiltreReservation(DictionnairesReservations dictionnaires,
+                             String salle, String employe, String activite,
+                             String dateDebut, String dateFin,
+                             String heureDebut, String heureFin) {
+        this.salles = codes(dictionnaires.getSalles(), salle);
+        this.employes = codes(dictionnaires.getEmployes(), employe);
+        this.activites = codes(dictionnaires.getActivites(), activite);
+
+        int jour = estActif(dateDebut) ? Reservation.convertirDate(dateDebut)
+                                       : Reservation.DATE_INVALIDE;
+        this.jourMin = jour == Reservation.DATE_INVALIDE ? Integer.MIN_VALUE : jour;
+        jour = estActif(dateFin) ? Reservation.convertirDate(dateFin)
+                                 : Reservation.DATE_INVALIDE;
+        this.jourMax = jour == Reservation.DATE_INVALIDE ? Integer.MAX_VALUE : jour;
+
+        int heure = estActif(heureDebut) ? Reservation.convertirHeure(heureDebut)
+                                         : Reservation.HEURE_INVALIDE;
+        this.debutMin = heure == Reservation.HEURE_INVALIDE ? Integer.MIN_VALUE : heure;
+        heure = estActif(heureFin) ? Reservation.convertirHeure(heureFin)
+                                   : Reservation.HEURE_INVALIDE;
+        this.finMax = heure == Reservation.HEURE_INVALIDE ? Integer.MAX_VALUE : heure;
+    }
+
+    /**
+     * Crée un filtre portant uniquement sur la salle, l'employé
+     * et l'activité.
+     *
+     * @param salle La salle recherchée.
+     * @param employe L'employé recherché.
+     * @param activite L'activité recherchée.
+     */
+    public FiltreReservation(String salle, String employe, String activite) {
+        this(salle, employe, activite, null, null, null, null);
+    }
+
+    private static boolean estActif(String valeur) {
+        return valeur != null && !valeur.equals(TOUS);
+    }
+
+    private static BitSet codes(Dictionnaire dictionnaire, String valeur) {
+        return estActif(valeur) ? dictionnaire.chercherSansCasse(valeur) : null;
+    }
+
+    /**
+     * Indique si le filtre laisse passer toutes les réservations.
+     *
+     * @return true si aucun critère n'est actif.
+     */
+    public boolean estVide() {
+        return salles == null && employes == null && activites == null
+               && jourMin == Integer.MIN_VALUE && jourMax == Integer.MAX_VALUE
+               && debutMin == Integer.MIN_VALUE && finMax == Integer.MAX_VALUE;
+    }
+
+    /* Critères convertis, lus par l'index des réservations */
+
+    BitSet getSalles() {
+        return salles;
+    }
+
+    BitSet getEmployes() {
+        return employes;
+    }
+
+    BitSet getActivites() {
+        return activites;
+    }
+
+    int getJourMin() {
+        return jourMin;
+    }
+
+    int getJourMax() {
+        return jourMax;
+    }
+
+    int getDebutMin() {
+        return debutMin;
+    }
+
+    int getFinMax() {
+        return finMax;
+    }
+
+    /**
+     * Indique si une réservation satisfait tous les critères du filtre.
+     *
+     * @param reservation La réservation à tester.
+     * @return true si la réservation est conservée.
+     */
+    public boolean accepte(Reservation reservation) {
+        return accepte(reservation.getCodeSalle(), reservation.getCodeEmploye(),
+                       reservation.getCodeActivite(), reservation.getJour(),
+                       reservation.getDebutMinutes(), reservation.getFinMinutes());
+    }
+
+    /**
+     * Indique si une ligne du stockage par colonnes satisfait tous les
+     * critères du filtre.
+     *
+     * @param colonnes Le stockage des réservations.
+     * @param ligne Le numéro de la ligne à tester.
+     * @return true si la réservation de cette ligne est conservée.
+     */
+    public boolean accepte(ColonnesReservations colonnes, int ligne) {
+        return accepte(colonnes.getSalle(ligne), colonnes.getEmploye(ligne),
+                       colonnes.getActivite(ligne), colonnes.getJour(ligne),
+                       colonnes.getDebut(ligne), colonnes.getFin(ligne));
+    }
+
+    /*
+     * Teste les valeurs converties d'une réservation, ou d'une case du
+     * cube des agrégats.
+     */
+    boolean accepte(int salle, int employe, int activite,
+                            int jour, int debut, int fin) {
+        if (salles != null && !salles.get(salle)
+            || employes != null && !employes.get(employe)
+            || activites != null && !activites.get(activite)) {
+            return false;
+        }
+        if (jour != Reservation.DATE_INVALIDE && (jour < jourMin || jour > jourMax)) {
+            return false;
+        }
+        if (debut != Reservation.HEURE_INVALIDE && debut < debutMin) {
+            return false;
+        }
+        return fin == Reservation.HEURE_INVALIDE || fin <= finMax;
+    }
+
+    /**
+     * Renvoie les dates distinctes des réservations, dans l'ordre
+     * chronologique, pour remplir les listes déroulantes des filtres.
+     * Chaque date n'est formatée qu'une seule fois.
+     *
+     * @param reservations Les réservations à parcourir.
+     * @return Les dates distinctes au format JJ/MM/AAAA.
+     */
+    public static List<String> datesDistinctes(List<Reservation> reservations) {
+        Set<Integer> jours = new TreeSet<>();
+        for (Reservation reservation : reservations) {
+            jours.add(reservation.getJour());
+        }
+        List<String> dates = new ArrayList<>();
+        for (int jour : jours) {
+            dates.add(jour == Reservation.DATE_INVALIDE
+                      ? "Non Valide"
+                      : LocalDate.ofEpochDay(jour).format(FORMAT_DATE));
+        }
+        return dates;
+    }
+
+    /**
+     * Renvoie les heures distinctes des réservations, dans l'ordre, pour
+     * remplir les listes déroulantes des filtres.
+     * Chaque heure n'est formatée qu'une seule fois.
+     *
+     * @param reservations Les réservations à parcourir.
+     * @param heure L'heure à extraire (début ou fin), en minutes.
+     * @return Les heures distinctes au format HHhmm.
+     */
+    public static List<String> heuresDistinctes(List<Reservation> reservations,
+                                                ToIntFunction<Reservation> heure) {
+        Set<Integer> minutes = new TreeSet<>();
+        for (Reservation reservation : reservations) {
+            minutes.add(heure.applyAsInt(reservation));
+        }
+        List<String> heures = new ArrayList<>();
+        for (int minute : minutes) {
+            heures.add(Reservation.formaterHeure(minute));
+        }
+        return heures;
+    }
+}
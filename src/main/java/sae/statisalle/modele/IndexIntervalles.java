@@ -0,0 +1,177 @@
+/*
+ * IndexIntervalles.java                17/10/2026
+ * IUT DE RODEZ                         Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import sae.statisalle.modele.objet.Conflit;
+import sae.statisalle.modele.objet.Reservation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Index des créneaux réservés d'une salle ou d'un employé.
+ * <p>
+ * Chaque réservation est vue comme un intervalle de temps, exprimé en
+ * minutes depuis le 01/01/1970 à minuit. Les intervalles sont triés une
+ * seule fois par début ; l'index forme un arbre d'intervalles implicite :
+ * le milieu de chaque portion du tableau en est la racine, et chaque
+ * racine connaît la fin la plus tardive de sa portion. Les réservations
+ * occupant un créneau sont ainsi trouvées en un temps logarithmique, plus
+ * le nombre de réservations renvoyées.
+ * </p>
+ * Les réservations dont la date ou les heures ne sont pas valides, ou qui
+ * ne durent pas, ne sont pas indexées.
+ *
+ * @author erwan.thierry
+ */
+public class IndexIntervalles {
+
+    /* Nombre de minutes dans une journée */
+    private static final long MINUTES_PAR_JOUR = 24 * 60;
+
+    /* Réservations indexées, triées par début puis par fin */
+    private final Reservation[] reservations;
+
+    /* Début et fin de chaque réservation, en minutes depuis le 01/01/1970 */
+    private final long[] debuts;
+    private final long[] fins;
+
+    /* Fin la plus tardive de la portion dont chaque position est la racine */
+    private final long[] finMaximale;
+
+    /**
+     * Construit l'index des réservations d'une salle ou d'un employé.
+     *
+     * @param listReservation Les réservations à indexer.
+     */
+    public IndexIntervalles(List<Reservation> listReservation) {
+        Reservation[] valides = listReservation.stream()
+                .filter(reservation -> reservation.getJour() != Reservation.DATE_INVALIDE
+                                       && reservation.getDureeMinutes() > 0)
+                .toArray(Reservation[]::new);
+        Arrays.sort(valides, (a, b) -> {
+            int comparaison = Long.compare(debut(a), debut(b));
+            return comparaison != 0 ? comparaison : Long.compare(fin(a), fin(b));
+        });
+
+        reservations = valides;
+        debuts = new long[valides.length];
+        fins = new long[valides.length];
+        for (int i = 0; i < valides.length; i++) {
+            debuts[i] = debut(valides[i]);
+            fins[i] = fin(valides[i]);
+        }
+        finMaximale = new long[valides.length];
+        calculerFinMaximale(0, valides.length);
+    }
+
+    /**
+     * Renvoie l'instant correspondant à un jour et une heure.
+     *
+     * @param jour Le jour, en jours depuis le 01/01/1970.
+     * @param minutes L'heure, en minutes depuis minuit.
+     * @return L'instant en minutes depuis le 01/01/1970 à minuit.
+     */
+    public static long instant(int jour, int minutes) {
+        return jour * MINUTES_PAR_JOUR + minutes;
+    }
+
+    private static long debut(Reservation reservation) {
+        return instant(reservation.getJour(), reservation.getDebutMinutes());
+    }
+
+    private static long fin(Reservation reservation) {
+        return instant(reservation.getJour(), reservation.getFinMinutes());
+    }
+
+    /*
+     * Calcule la fin maximale de la portion [bas, haut[ et de ses
+     * sous-portions, et la range à la position de sa racine.
+     */
+    private long calculerFinMaximale(int bas, int haut) {
+        if (bas >= haut) {
+            return Long.MIN_VALUE;
+        }
+        int milieu = (bas + haut) >>> 1;
+        long maximum = Math.max(fins[milieu],
+                Math.max(calculerFinMaximale(bas, milieu),
+                         calculerFinMaximale(milieu + 1, haut)));
+        finMaximale[milieu] = maximum;
+        return maximum;
+    }
+
+    /**
+     * @return Le nombre de réservations indexées.
+     */
+    public int taille() {
+        return reservations.length;
+    }
+
+    /**
+     * Renvoie les réservations occupant au moins une partie d'un créneau,
+     * dans l'ordre de leur début.
+     *
+     * @param debut Le début du créneau, voir {@link #instant(int, int)}.
+     * @param fin La fin du créneau, exclue.
+     * @return Les réservations qui chevauchent le créneau.
+     */
+    public List<Reservation> reservationsEntre(long debut, long fin) {
+        List<Reservation> resultat = new ArrayList<>();
+        chercher(0, reservations.length, debut, fin, resultat);
+        return resultat;
+    }
+
+    /*
+     * Parcourt la portion [bas, haut[ en écartant les sous-portions qui
+     * finissent avant le créneau ou commencent après lui.
+     */
+    private void chercher(int bas, int haut, long debut, long fin,
+                          List<Reservation> resultat) {
+        if (bas >= haut) {
+            return;
+        }
+        int milieu = (bas + haut) >>> 1;
+        if (finMaximale[milieu] <= debut) {
+            return;
+        }
+        chercher(bas, milieu, debut, fin, resultat);
+        if (debuts[milieu] < fin) {
+            if (fins[milieu] > debut) {
+                resultat.add(reservations[milieu]);
+            }
+            chercher(milieu + 1, haut, debut, fin, resultat);
+        }
+    }
+
+    /**
+     * Renvoie toutes les paires de réservations qui se chevauchent.
+     * Les réservations sont parcourues dans l'ordre de leur début en
+     * gardant celles encore en cours, rangées par fin : chaque réservation
+     * n'est comparée qu'à celles qu'elle chevauche.
+     *
+     * @param type Le type de la ressource ("Salle" ou "Employé").
+     * @param ressource Le nom de la salle ou de l'employé.
+     * @return Les conflits, dans l'ordre de début de la seconde
+     *         réservation.
+     */
+    public List<Conflit> conflits(String type, String ressource) {
+        List<Conflit> resultat = new ArrayList<>();
+        PriorityQueue<Integer> enCours = new PriorityQueue<>(
+                (a, b) -> Long.compare(fins[a], fins[b]));
+        for (int i = 0; i < reservations.length; i++) {
+            while (!enCours.isEmpty() && fins[enCours.peek()] <= debuts[i]) {
+                enCours.poll();
+            }
+            for (int precedente : enCours) {
+                resultat.add(new Conflit(type, ressource,
+                        reservations[precedente], reservations[i]));
+            }
+            enCours.add(i);
+        }
+        return resultat;
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * IndexReservations.java               17/10/2026
+ * IUT DE RODEZ                         Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import sae.statisalle.modele.objet.Reservation;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Index des réservations rangées par colonnes, utilisé pour appliquer les
+ * filtres des écrans d'analyse sans parcourir toutes les lignes.
+ * <p>
+ * Chaque salle, employé, activité et jour est associé à l'ensemble des
+ * lignes qui portent cette valeur. Les heures de début et de fin sont
+ * indexées dans l'ordre croissant, de sorte que les lignes d'une plage
+ * horaire sont contiguës. Appliquer un filtre revient alors à réunir les
+ * ensembles des valeurs choisies pour chaque critère, puis à intersecter
+ * les critères entre eux.
+ * </p>
+ * Le résultat est identique à celui de
+ * {@link FiltreReservation#accepte(ColonnesReservations, int)} appliqué à
+ * chaque ligne. L'index est construit avec le stockage par colonnes et
+ * n'est jamais modifié ensuite.
+ *
+ * @author erwan.thierry
+ */
+public class IndexReservations {
+
+    /* Nombre de minutes dans une journée */
+    private static final int MINUTES_PAR_JOUR = 24 * 60;
+
+    /* Nombre de lignes indexées */
+    private final int taille;
+
+    /* Lignes de chaque salle, employé et activité, par code */
+    private final IndexValeurs salles;
+    private final IndexValeurs employes;
+    private final IndexValeurs activites;
+
+    /* Jours distincts, dans l'ordre, et lignes de chacun d'eux */
+    private final int[] joursDistincts;
+    private final IndexValeurs jours;
+
+    /* Lignes triées par heure de début et par heure de fin */
+    private final IndexValeurs debuts;
+    private final IndexValeurs fins;
+
+    /**
+     * Construit l'index des lignes d'un stockage par colonnes.
+     *
+     * @param colonnes Le stockage à indexer.
+     */
+    IndexReservations(ColonnesReservations colonnes) {
+        taille = colonnes.taille();
+
+        int[] codesSalle = new int[taille];
+        int[] codesEmploye = new int[taille];
+        int[] codesActivite = new int[taille];
+        int[] codesDebut = new int[taille];
+        int[] codesFin = new int[taille];
+        int[] valeursJour = new int[taille];
+        for (int ligne = 0; ligne < taille; ligne++) {
+            codesSalle[ligne] = colonnes.getSalle(ligne);
+            codesEmploye[ligne] = colonnes.getEmploye(ligne);
+            codesActivite[ligne] = colonnes.getActivite(ligne);
+            codesDebut[ligne] = codeHeure(colonnes.getDebut(ligne));
+            codesFin[ligne] = codeHeure(colonnes.getFin(ligne));
+            valeursJour[ligne] = colonnes.getJour(ligne);
+        }
+        salles = new IndexValeurs(codesSalle, taille);
+        employes = new IndexValeurs(codesEmploye, taille);
+        activites = new IndexValeurs(codesActivite, taille);
+        debuts = new IndexValeurs(codesDebut, taille);
+        fins = new IndexValeurs(codesFin, taille);
+
+        // Les jours sont remplacés par leur rang parmi les jours distincts
+        joursDistincts = Arrays.stream(valeursJour).distinct().sorted().toArray();
+        for (int ligne = 0; ligne < taille; ligne++) {
+            valeursJour[ligne] = Arrays.binarySearch(joursDistincts,
+                                                     valeursJour[ligne]);
+        }
+        jours = new IndexValeurs(valeursJour, taille);
+    }
+
+    /*
+     * Code d'une heure dans l'index : 0 pour une heure non valide,
+     * le nombre de minutes plus un sinon.
+     */
+    private static int codeHeure(int minutes) {
+        return minutes == Reservation.HEURE_INVALIDE
+               ? 0 : Math.clamp(minutes, 0, MINUTES_PAR_JOUR - 1) + 1;
+    }
+
+    /**
+     * @return Le nombre de lignes indexées.
+     */
+    public int taille() {
+        return taille;
+    }
+
+    /**
+     * Renvoie l'ensemble des lignes satisfaisant un filtre.
+     *
+     * @param filtre Le filtre à appliquer.
+     * @return Les numéros des lignes retenues.
+     */
+    public BitSet filtrer(FiltreReservation filtre) {
+        BitSet resultat = null;
+        resultat = intersecter(resultat, lignesDesCodes(salles, filtre.getSalles()));
+        resultat = intersecter(resultat, lignesDesCodes(employes, filtre.getEmployes()));
+        resultat = intersecter(resultat, lignesDesCodes(activites, filtre.getActivites()));
+
+        if (filtre.getJourMin() != Integer.MIN_VALUE
+            || filtre.getJourMax() != Integer.MAX_VALUE) {
+            // Les jours non valides occupent le premier rang s'il y en a
+            int invalides = joursDistincts.length > 0
+                            && joursDistincts[0] == Reservation.DATE_INVALIDE
+                            ? 1 : 0;
+            int premier = rangMinimal(filtre.getJourMin());
+            int dernier = rangMaximal(filtre.getJourMax());
+            resultat = intersecter(resultat,
+                                   jours.lignes(premier, dernier, invalides));
+        }
+        if (filtre.getDebutMin() != Integer.MIN_VALUE) {
+            resultat = intersecter(resultat, debuts.lignes(
+                    filtre.getDebutMin() + 1, MINUTES_PAR_JOUR, 1));
+        }
+        if (filtre.getFinMax() != Integer.MAX_VALUE) {
+            resultat = intersecter(resultat, fins.lignes(
+                    1, filtre.getFinMax() + 1, 1));
+        }
+
+        if (resultat == null) {
+            resultat = new BitSet(taille);
+            resultat.set(0, taille);
+        }
+        return resultat;
+    }
+
+    /*
+     * Rang du premier jour distinct supérieur ou égal au jour fourni.
+     */
+    private int rangMinimal(int jour) {
+        int rang = Arrays.binarySearch(joursDistincts, jour);
+        return rang >= 0 ? rang : -rang - 1;
+    }
+
+    /*
+     * Rang du dernier jour distinct inférieur ou égal au jour fourni.
+     */
+    private int rangMaximal(int jour) {
+        int rang = Arrays.binarySearch(joursDistincts, jour);
+        return rang >= 0 ? rang : -rang - 2;
+    }
+
+    /*
+     * Réunit les lignes de tous les codes acceptés, ou renvoie null si le
+     * critère n'est pas actif.
+     */
+    private BitSet lignesDesCodes(IndexValeurs index, BitSet codes) {
+        if (codes == null) {
+            return null;
+        }
+        BitSet lignes = new BitSet(taille);
+        for (int code = codes.nextSetBit(0); code >= 0;
+             code = codes.nextSetBit(code + 1)) {
+            index.ajouter(code, code, lignes);
+        }
+        return lignes;
+    }
+
+    /*
+     * Intersection de deux critères, un critère null laissant tout passer.
+     */
+    private static BitSet intersecter(BitSet resultat, BitSet critere) {
+        if (resultat == null) {
+            return critere;
+        }
+        if (critere != null) {
+            resultat.and(critere);
+        }
+        return resultat;
+    }
+
+    /**
+     * Lignes associées à chaque valeur d'une colonne de codes.
+     * <p>
+     * Les lignes sont rangées par code croissant dans un seul tableau, les
+     * lignes d'un code étant contiguës. Les codes portés par une part
+     * importante des lignes disposent en plus d'un ensemble de bits prêt
+     * à être réuni, ce qui évite de poser leurs bits un à un ; les autres
+     * ne coûtent que leurs numéros de ligne.
+     * </p>
+     */
+    private static class IndexValeurs {
+
+        /* Part des lignes à partir de laquelle un code a son ensemble de bits */
+        private static final int SEUIL_DENSE = 32;
+
+        /* Nombre de lignes indexées */
+        private final int taille;
+
+        /* Lignes rangées par code croissant */
+        private final int[] lignes;
+
+        /* Position de la première ligne de chaque code dans lignes */
+        private final int[] debutCode;
+
+        /* Ensemble des lignes des codes fréquents, null pour les autres */
+        private final BitSet[] denses;
+
+        IndexValeurs(int[] codes, int taille) {
+            this.taille = taille;
+            int nbCodes = 0;
+            for (int code : codes) {
+                nbCodes = Math.max(nbCodes, code + 1);
+            }
+
+            // Tri par dénombrement des lignes selon leur code
+            debutCode = new int[nbCodes + 1];
+            for (int code : codes) {
+                debutCode[code + 1]++;
+            }
+            for (int code = 0; code < nbCodes; code++) {
+                debutCode[code + 1] += debutCode[code];
+            }
+            lignes = new int[taille];
+            int[] position = Arrays.copyOf(debutCode, nbCodes);
+            for (int ligne = 0; ligne < taille; ligne++) {
+                lignes[position[codes[ligne]]++] = ligne;
+            }
+
+            denses = new BitSet[nbCodes];
+            for (int code = 0; code < nbCodes; code++) {
+                if (compter(code, code) > taille / SEUIL_DENSE) {
+                    BitSet ensemble = new BitSet(taille);
+                    for (int i = debutCode[code]; i < debutCode[code + 1]; i++) {
+                        ensemble.set(lignes[i]);
+                    }
+                    denses[code] = ensemble;
+                }
+            }
+        }
+
+        /*
+         * Nombre de lignes dont le code est compris entre min et max.
+         */
+        int compter(int min, int max) {
+            min = Math.max(min, 0);
+            max = Math.min(max, denses.length - 1);
+            return min > max ? 0 : debutCode[max + 1] - debutCode[min];
+        }
+
+        /*
+         * Ajoute à cible les lignes dont le code est compris entre min
+         * et max.
+         */
+        void ajouter(int min, int max, BitSet cible) {
+            min = Math.max(min, 0);
+            max = Math.min(max, denses.length - 1);
+            for (int code = min; code <= max; code++) {
+                if (denses[code] != null) {
+                    cible.or(denses[code]);
+                } else {
+                    for (int i = debutCode[code]; i < debutCode[code + 1]; i++) {
+                        cible.set(lignes[i]);
+                    }
+                }
+            }
+        }
+
+        /*
+         * Renvoie les lignes dont le code est compris entre min et max, ou
+         * inférieur à toujours. Lorsque plus de la moitié des lignes est
+         * retenue, ce sont les lignes écartées qui sont posées, puis
+         * l'ensemble est inversé.
+         */
+        BitSet lignes(int min, int max, int toujours) {
+            min = Math.max(min, toujours);
+            BitSet resultat = new BitSet(taille);
+            if (compter(0, toujours - 1) + compter(min, max) <= taille / 2) {
+                ajouter(0, toujours - 1, resultat);
+                ajouter(min, max, resultat);
+            } else if (min > max) {
+                // plage vide : seules les lignes toujours retenues restent
+                ajouter(0, toujours - 1, resultat);
+            } else {
+                ajouter(toujours, min - 1, resultat);
+                ajouter(max + 1, denses.length - 1, resultat);
+                resultat.flip(0, taille);
+            }
+            return resultat;
+        }
+    }
+}
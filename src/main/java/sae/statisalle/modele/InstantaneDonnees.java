@@ -0,0 +1,715 @@
+/*
+ * InstantaneDonnees.java               17/10/2026
+ * IUT DE RODEZ                         Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import sae.statisalle.modele.objet.Activite;
+import sae.statisalle.modele.objet.Employe;
+import sae.statisalle.modele.objet.Reservation;
+import sae.statisalle.modele.objet.Salle;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+
+/**
+ * Instantané binaire des fichiers CSV lus, qui évite de les relire
+ * lorsqu'ils n'ont pas changé depuis le chargement précédent.
+ * <p>
+ * Le contenu de chaque fichier est enregistré tel qu'il a été lu, avant le
+ * rattachement des réservations, dans une section indépendante. Chaque
+ * section est rangée par colonnes : une colonne de texte est codée par un
+ * dictionnaire de ses valeurs distinctes suivi d'un code par ligne, ou
+ * écrite telle quelle si elle a trop de valeurs distinctes ; la date et
+ * les heures des réservations sont enregistrées déjà converties. Une table
+ * en fin d'instantané associe à chaque nom de fichier sa taille, sa date
+ * de modification, l'empreinte CRC32C de son contenu et la position de sa
+ * section.
+ * </p>
+ * <p>
+ * L'instantané est lu par une projection en mémoire du fichier : seules
+ * les sections des fichiers inchangés sont décodées, directement depuis la
+ * projection. Un fichier est inchangé si sa taille et sa date de
+ * modification sont celles de la table ou, si seule la date diffère, si
+ * l'empreinte de son contenu est la même.
+ * </p>
+ * Lorsqu'un fichier a changé, a été ajouté ou supprimé, un nouvel
+ * instantané est écrit pendant le chargement : les sections inchangées
+ * sont recopiées sans être décodées, les fichiers relus sont ajoutés, puis
+ * le nouvel instantané remplace l'ancien. Un instantané illisible est
+ * ignoré et les fichiers sont relus.
+ * <p>
+ * Les fichiers d'un dossier pouvant être lus en même temps,
+ * {@link #restaurer} et {@link #enregistrer} peuvent être appelées depuis
+ * plusieurs threads : seule l'écriture d'une section dans le nouvel
+ * instantané est exclusive, l'ordre des sections n'ayant pas d'importance.
+ * </p>
+ *
+ * @author erwan.thierry
+ */
+public class InstantaneDonnees {
+
+    /* Premiers octets d'un instantané, suivis du numéro de version */
+    private static final int SIGNATURE = 0x53544153;
+    private static final int VERSION = 1;
+
+    /* Codage d'une colonne de texte */
+    private static final byte DICTIONNAIRE = 0;
+    private static final byte BRUT = 1;
+
+    /* Une colonne qui a plus de valeurs distinctes est écrite telle quelle */
+    private static final int TAILLE_MAX_DICTIONNAIRE = 1 << 16;
+
+    /* Longueur enregistrée pour une valeur absente */
+    private static final int ABSENTE = -1;
+
+    /* Nombre de réservations décodées entre deux vérifications de
+       l'interruption du chargement */
+    private static final int PAS_ANNULATION = 1 << 16;
+
+    /* Taille du tampon de lecture et de copie */
+    private static final int TAILLE_TAMPON = 1 << 16;
+
+    /* Colonnes de texte enregistrées pour chaque type d'objet, dans l'ordre
+       des paramètres de leur constructeur */
+    private static final List<Function<Employe, String>> COLONNES_EMPLOYE =
+            List.of(Employe::getIdE, Employe::getNom, Employe::getPrenom,
+                    Employe::getNumTel);
+    private static final List<Function<Salle, String>> COLONNES_SALLE =
+            List.of(Salle::getIdentifiant, Salle::getNom, Salle::getCapacite,
+                    Salle::getVideoProj, Salle::getEcranXXL, Salle::getNbMachine,
+                    Salle::getTypeMachine, Salle::getLogiciel, Salle::getImprimante);
+    private static final List<Function<Activite, String>> COLONNES_ACTIVITE =
+            List.of(Activite::getType, Activite::getIdActivite);
+    private static final List<Function<Reservation, String>> COLONNES_RESERVATION =
+            List.of(Reservation::getIdReservation, Reservation::getSalleR,
+                    Reservation::getEmployeR, Reservation::getActiviteR,
+                    Reservation::getDescription, Reservation::getNomIntervenant,
+                    Reservation::getPrenomIntervenant,
+                    Reservation::getNumTelIntervenant, Reservation::getUsage);
+
+    /* Chemin de l'instantané, null si aucun instantané n'est utilisé */
+    private final Path chemin;
+
+    /* Projection en mémoire de l'instantané lu, null s'il n'y en a pas */
+    private final ByteBuffer contenu;
+
+    /* Sections des fichiers inchangés, par nom de fichier */
+    private final Map<String, Entree> sectionsAJour;
+
+    /* Nouvel instantané en cours d'écriture, null s'il n'est pas à
+       réécrire ou si son écriture a échoué */
+    private DataOutputStream sortie;
+    private Path cheminTemporaire;
+    private long position;
+    private final List<Entree> nouvellesEntrees = new ArrayList<>();
+
+    /**
+     * Section d'un fichier dans un instantané.
+     */
+    private static final class Entree {
+        final String nom;
+        final long taille;
+        final long dateModification;
+        final long empreinte;
+        final long debut;
+        final long longueur;
+
+        Entree(String nom, long taille, long dateModification,
+               long empreinte, long debut, long longueur) {
+            this.nom = nom;
+            this.taille = taille;
+            this.dateModification = dateModification;
+            this.empreinte = empreinte;
+            this.debut = debut;
+            this.longueur = longueur;
+        }
+    }
+
+    private InstantaneDonnees(Path chemin, ByteBuffer contenu,
+                              Map<String, Entree> sectionsAJour) {
+        this.chemin = chemin;
+        this.contenu = contenu;
+        this.sectionsAJour = sectionsAJour;
+    }
+
+    /**
+     * Ouvre l'instantané enregistré pour les fichiers d'un dossier, et
+     * commence l'écriture d'un nouvel instantané si un fichier a changé.
+     *
+     * @param chemin Le chemin de l'instantané, ou null pour n'en utiliser
+     *               aucun.
+     * @param fichiers Les fichiers CSV du dossier.
+     * @return L'instantané, sans aucune section si le fichier n'existe pas
+     *         ou n'est pas lisible.
+     */
+    public static InstantaneDonnees ouvrir(Path chemin, File[] fichiers) {
+        if (chemin == null) {
+            return new InstantaneDonnees(null, null, Map.of());
+        }
+
+        ByteBuffer contenu = null;
+        Map<String, Entree> entrees = Map.of();
+        if (Files.isRegularFile(chemin)) {
+            try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ)) {
+                contenu = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+                entrees = lireTable(contenu);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Instantané des données ignoré : " + e.getMessage());
+                contenu = null;
+                entrees = Map.of();
+            }
+        }
+
+        Map<String, Entree> sectionsAJour = new HashMap<>();
+        boolean inchange = entrees.size() == fichiers.length;
+        for (File fichier : fichiers) {
+            Entree entree = entrees.get(fichier.getName());
+            if (entree == null || entree.taille != fichier.length()) {
+                inchange = false;
+            } else if (entree.dateModification == fichier.lastModified()) {
+                sectionsAJour.put(entree.nom, entree);
+            } else {
+                // fichier réécrit ou copié : seul son contenu compte
+                inchange = false;
+                try {
+                    if (empreinte(fichier) == entree.empreinte) {
+                        sectionsAJour.put(entree.nom, new Entree(
+                                entree.nom, entree.taille, fichier.lastModified(),
+                                entree.empreinte, entree.debut, entree.longueur));
+                    }
+                } catch (IOException e) {
+                    // le fichier sera relu
+                }
+            }
+        }
+
+        InstantaneDonnees instantane = new InstantaneDonnees(chemin, contenu, sectionsAJour);
+        if (!inchange) {
+            instantane.commencerEcriture();
+        }
+        return instantane;
+    }
+
+    /*
+     * Lit la table des sections, rangée en fin d'instantané après son
+     * entête et repérée par sa position dans les 8 derniers octets.
+     */
+    private static Map<String, Entree> lireTable(ByteBuffer contenu) throws IOException {
+        if (contenu.capacity() < 16 || contenu.getInt(0) != SIGNATURE
+            || contenu.getInt(4) != VERSION) {
+            throw new IOException("format non reconnu");
+        }
+        ByteBuffer table = contenu.duplicate();
+        table.position((int) contenu.getLong(contenu.capacity() - 8));
+        int nbEntrees = table.getInt();
+        Map<String, Entree> entrees = new HashMap<>();
+        for (int i = 0; i < nbEntrees; i++) {
+            Entree entree = new Entree(lireChaine(table, new byte[0]), table.getLong(),
+                                       table.getLong(), table.getLong(),
+                                       table.getLong(), table.getLong());
+            if (entree.debut < 8 || entree.debut + entree.longueur > contenu.capacity()) {
+                throw new IOException("section hors de l'instantané");
+            }
+            entrees.put(entree.nom, entree);
+        }
+        return entrees;
+    }
+
+    /**
+     * Calcule l'empreinte CRC32C du contenu d'un fichier.
+     *
+     * @param fichier Le fichier.
+     * @return L'empreinte du contenu.
+     * @throws IOException si le fichier ne peut pas être lu.
+     */
+    static long empreinte(File fichier) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer tampon = ByteBuffer.allocateDirect(TAILLE_TAMPON);
+        try (FileChannel canal = FileChannel.open(fichier.toPath(), StandardOpenOption.READ)) {
+            while (canal.read(tampon) >= 0) {
+                tampon.flip();
+                crc.update(tampon);
+                tampon.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Ajoute aux données chargées le contenu d'un fichier enregistré dans
+     * l'instantané, s'il n'a pas changé.
+     *
+     * @param fichier Le fichier CSV.
+     * @param donnees Les données chargées à compléter.
+     * @param suivi Le suivi de l'avancement, consulté pour interrompre la
+     *              lecture.
+     * @return Le nombre d'objets ajoutés, ou -1 si le fichier doit être lu.
+     * @throws CancellationException si le suivi demande l'interruption.
+     */
+    public int restaurer(File fichier, DonneesChargees donnees,
+                         SuiviChargement suivi) {
+        Entree entree = sectionsAJour.get(fichier.getName());
+        if (entree == null) {
+            return -1;
+        }
+        int[] debuts = tailles(donnees);
+        try {
+            ByteBuffer section = contenu.slice((int) entree.debut, (int) entree.longueur);
+            lireSection(section, donnees, suivi);
+        } catch (RuntimeException e) {
+            if (e instanceof CancellationException) {
+                throw e;
+            }
+            // section endommagée : le fichier est relu
+            System.err.println("Instantané de " + fichier.getName()
+                               + " illisible : " + e.getMessage());
+            retirerDepuis(donnees, debuts);
+            return -1;
+        }
+
+        synchronized (this) {
+            if (sortie != null) {
+                try {
+                    copierSection(entree);
+                } catch (IOException e) {
+                    abandonnerEcriture(e);
+                }
+            }
+        }
+        int[] fins = tailles(donnees);
+        return fins[0] - debuts[0] + fins[1] - debuts[1]
+               + fins[2] - debuts[2] + fins[3] - debuts[3];
+    }
+
+    /**
+     * Enregistre dans le nouvel instantané les objets lus dans un fichier,
+     * avant leur rattachement. Sans effet si l'instantané n'est pas à
+     * réécrire.
+     *
+     * @param fichier Le fichier CSV lu.
+     * @param donnees Les données chargées.
+     * @param debuts Le nombre d'employés, de salles, d'activités et de
+     *               réservations des données avant la lecture du fichier,
+     *               voir {@link #tailles(DonneesChargees)}.
+     */
+    public void enregistrer(File fichier, DonneesChargees donnees, int[] debuts) {
+        synchronized (this) {
+            if (sortie == null) {
+                return;
+            }
+        }
+        long taille = fichier.length();
+        long dateModification = fichier.lastModified();
+        long empreinte;
+        try {
+            // l'empreinte est calculée hors de la section exclusive
+            empreinte = empreinte(fichier);
+        } catch (IOException e) {
+            synchronized (this) {
+                abandonnerEcriture(e);
+            }
+            return;
+        }
+        synchronized (this) {
+            if (sortie != null) {
+                ecrireSection(fichier, donnees, debuts, taille, dateModification,
+                              empreinte);
+            }
+        }
+    }
+
+    /*
+     * Écrit la section d'un fichier lu dans le nouvel instantané.
+     */
+    private void ecrireSection(File fichier, DonneesChargees donnees, int[] debuts,
+                               long taille, long dateModification, long empreinte) {
+        try {
+            long debut = position;
+            ecrireObjets(donnees.getEmployes().subList(debuts[0], donnees.getEmployes().size()),
+                         COLONNES_EMPLOYE);
+            ecrireObjets(donnees.getSalles().subList(debuts[1], donnees.getSalles().size()),
+                         COLONNES_SALLE);
+            ecrireObjets(donnees.getActivites().subList(debuts[2], donnees.getActivites().size()),
+                         COLONNES_ACTIVITE);
+            List<Reservation> reservations = donnees.getReservations()
+                    .subList(debuts[3], donnees.getReservations().size());
+            ecrireObjets(reservations, COLONNES_RESERVATION);
+            for (Reservation reservation : reservations) {
+                ecrireInt(reservation.getJour());
+            }
+            for (Reservation reservation : reservations) {
+                ecrireShort(reservation.getDebutMinutes());
+            }
+            for (Reservation reservation : reservations) {
+                ecrireShort(reservation.getFinMinutes());
+            }
+            nouvellesEntrees.add(new Entree(fichier.getName(), taille, dateModification,
+                                            empreinte, debut, position - debut));
+        } catch (IOException e) {
+            abandonnerEcriture(e);
+        }
+    }
+
+    /**
+     * Termine l'écriture du nouvel instantané et remplace l'ancien.
+     * Sans effet si l'instantané n'est pas à réécrire.
+     */
+    public synchronized void terminer() {
+        if (sortie == null) {
+            return;
+        }
+        try {
+            long debutTable = position;
+            ecrireInt(nouvellesEntrees.size());
+            for (Entree entree : nouvellesEntrees) {
+                ecrireChaine(entree.nom);
+                ecrireLong(entree.taille);
+                ecrireLong(entree.dateModification);
+                ecrireLong(entree.empreinte);
+                ecrireLong(entree.debut);
+                ecrireLong(entree.longueur);
+            }
+            ecrireLong(debutTable);
+            sortie.close();
+            sortie = null;
+            try {
+                Files.move(cheminTemporaire, chemin, StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(cheminTemporaire, chemin, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            abandonnerEcriture(e);
+        }
+    }
+
+    /**
+     * Abandonne l'écriture du nouvel instantané, par exemple après
+     * l'interruption du chargement. L'ancien instantané est conservé.
+     */
+    public synchronized void abandonner() {
+        if (sortie != null) {
+            abandonnerEcriture(null);
+        }
+    }
+
+    /**
+     * Renvoie le nombre d'objets de chaque type des données chargées, à
+     * fournir à {@link #enregistrer} pour repérer les objets lus dans un
+     * fichier.
+     *
+     * @param donnees Les données chargées.
+     * @return Le nombre d'employés, de salles, d'activités et de
+     *         réservations.
+     */
+    public static int[] tailles(DonneesChargees donnees) {
+        return new int[] {donnees.getEmployes().size(), donnees.getSalles().size(),
+                          donnees.getActivites().size(), donnees.getReservations().size()};
+    }
+
+    private static void retirerDepuis(DonneesChargees donnees, int[] debuts) {
+        donnees.getEmployes().subList(debuts[0], donnees.getEmployes().size()).clear();
+        donnees.getSalles().subList(debuts[1], donnees.getSalles().size()).clear();
+        donnees.getActivites().subList(debuts[2], donnees.getActivites().size()).clear();
+        donnees.getReservations().subList(debuts[3], donnees.getReservations().size()).clear();
+    }
+
+    /* ------------------------------------------------ */
+    /* Lecture d'une section depuis la projection       */
+    /* ------------------------------------------------ */
+
+    /*
+     * Décode les employés, salles, activités et réservations d'une section.
+     */
+    private static void lireSection(ByteBuffer section, DonneesChargees donnees,
+                                    SuiviChargement suivi) {
+        int nbEmployes = section.getInt();
+        LecteurColonne[] colonnes = lireColonnes(section, nbEmployes, COLONNES_EMPLOYE.size());
+        for (int i = 0; i < nbEmployes; i++) {
+            donnees.getEmployes().add(new Employe(colonnes[0].suivante(),
+                    colonnes[1].suivante(), colonnes[2].suivante(),
+                    colonnes[3].suivante()));
+        }
+
+        int nbSalles = section.getInt();
+        colonnes = lireColonnes(section, nbSalles, COLONNES_SALLE.size());
+        for (int i = 0; i < nbSalles; i++) {
+            donnees.getSalles().add(new Salle(colonnes[0].suivante(),
+                    colonnes[1].suivante(), colonnes[2].suivante(),
+                    colonnes[3].suivante(), colonnes[4].suivante(),
+                    colonnes[5].suivante(), colonnes[6].suivante(),
+                    colonnes[7].suivante(), colonnes[8].suivante()));
+        }
+
+        int nbActivites = section.getInt();
+        colonnes = lireColonnes(section, nbActivites, COLONNES_ACTIVITE.size());
+        for (int i = 0; i < nbActivites; i++) {
+            donnees.getActivites().add(new Activite(colonnes[0].suivante(),
+                                                    colonnes[1].suivante()));
+        }
+
+        int nbReservations = section.getInt();
+        colonnes = lireColonnes(section, nbReservations, COLONNES_RESERVATION.size());
+        IntBuffer jours = section.slice().asIntBuffer();
+        section.position(section.position() + 4 * nbReservations);
+        ShortBuffer debuts = section.slice().asShortBuffer();
+        section.position(section.position() + 2 * nbReservations);
+        ShortBuffer fins = section.slice().asShortBuffer();
+        for (int i = 0; i < nbReservations; i++) {
+            if (i % PAS_ANNULATION == 0 && suivi.estAnnule()) {
+                throw new CancellationException();
+            }
+            donnees.getReservations().add(new Reservation(
+                    colonnes[0].suivante(), colonnes[1].suivante(),
+                    colonnes[2].suivante(), colonnes[3].suivante(),
+                    jours.get(i), debuts.get(i), fins.get(i),
+                    colonnes[4].suivante(), colonnes[5].suivante(),
+                    colonnes[6].suivante(), colonnes[7].suivante(),
+                    colonnes[8].suivante()));
+        }
+    }
+
+    /*
+     * Prépare la lecture des colonnes de texte d'un type d'objet et place
+     * la section après elles.
+     */
+    private static LecteurColonne[] lireColonnes(ByteBuffer section, int nbLignes,
+                                                 int nbColonnes) {
+        LecteurColonne[] colonnes = new LecteurColonne[nbLignes == 0 ? 0 : nbColonnes];
+        for (int i = 0; i < colonnes.length; i++) {
+            colonnes[i] = new LecteurColonne(section, nbLignes);
+        }
+        return colonnes;
+    }
+
+    /*
+     * Lit une chaîne : sa longueur en octets puis son contenu en UTF-8.
+     * Le tableau fourni est utilisé comme tampon s'il est assez grand.
+     */
+    private static String lireChaine(ByteBuffer tampon, byte[] octets) {
+        int longueur = tampon.getInt();
+        if (longueur == ABSENTE) {
+            return null;
+        }
+        if (octets.length < longueur) {
+            octets = new byte[longueur];
+        }
+        tampon.get(octets, 0, longueur);
+        return new String(octets, 0, longueur, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lecture ligne par ligne d'une colonne de texte d'une section, avec
+     * sa propre position dans la projection.
+     */
+    private static final class LecteurColonne {
+
+        /* Valeurs distinctes de la colonne, null si elle est écrite telle
+           quelle */
+        private final String[] valeurs;
+
+        /* Codes ou valeurs des lignes restant à lire */
+        private final ByteBuffer lignes;
+
+        /* Tampon de décodage des valeurs écrites telles quelles */
+        private byte[] octets = new byte[64];
+
+        /*
+         * Lit l'entête de la colonne et place la section après elle.
+         */
+        LecteurColonne(ByteBuffer section, int nbLignes) {
+            byte codage = section.get();
+            if (codage == DICTIONNAIRE) {
+                valeurs = new String[section.getInt()];
+                for (int i = 0; i < valeurs.length; i++) {
+                    valeurs[i] = lireChaine(section, octets);
+                }
+                lignes = section.slice(section.position(), 4 * nbLignes);
+                section.position(section.position() + 4 * nbLignes);
+            } else if (codage == BRUT) {
+                valeurs = null;
+                int debut = section.position();
+                for (int i = 0; i < nbLignes; i++) {
+                    int longueur = section.getInt();
+                    section.position(section.position() + Math.max(longueur, 0));
+                }
+                lignes = section.slice(debut, section.position() - debut);
+            } else {
+                throw new IllegalStateException("codage de colonne inconnu " + codage);
+            }
+        }
+
+        String suivante() {
+            if (valeurs != null) {
+                return valeurs[lignes.getInt()];
+            }
+            int longueur = lignes.getInt(lignes.position());
+            if (octets.length < longueur) {
+                octets = new byte[longueur];
+            }
+            return lireChaine(lignes, octets);
+        }
+    }
+
+    /* ------------------------------------------------ */
+    /* Écriture du nouvel instantané                     */
+    /* ------------------------------------------------ */
+
+    /*
+     * Ouvre le fichier temporaire du nouvel instantané.
+     */
+    private void commencerEcriture() {
+        try {
+            Path dossier = chemin.toAbsolutePath().getParent();
+            Files.createDirectories(dossier);
+            cheminTemporaire = Files.createTempFile(dossier, "instantane", ".tmp");
+            OutputStream flux = Files.newOutputStream(cheminTemporaire);
+            sortie = new DataOutputStream(new BufferedOutputStream(flux, TAILLE_TAMPON));
+            position = 0;
+            ecrireInt(SIGNATURE);
+            ecrireInt(VERSION);
+        } catch (IOException e) {
+            abandonnerEcriture(e);
+        }
+    }
+
+    /*
+     * Supprime le nouvel instantané, dont l'écriture a échoué ou n'est plus
+     * utile.
+     */
+    private void abandonnerEcriture(IOException cause) {
+        if (cause != null) {
+            System.err.println("Écriture de l'instantané des données impossible : "
+                               + cause.getMessage());
+        }
+        try {
+            if (sortie != null) {
+                sortie.close();
+            }
+            if (cheminTemporaire != null) {
+                Files.deleteIfExists(cheminTemporaire);
+            }
+        } catch (IOException e) {
+            // le fichier temporaire reste dans le dossier
+        }
+        sortie = null;
+    }
+
+    /*
+     * Recopie une section inchangée de l'ancien instantané.
+     */
+    private void copierSection(Entree entree) throws IOException {
+        ByteBuffer section = contenu.slice((int) entree.debut, (int) entree.longueur);
+        byte[] octets = new byte[TAILLE_TAMPON];
+        long debut = position;
+        while (section.hasRemaining()) {
+            int longueur = Math.min(octets.length, section.remaining());
+            section.get(octets, 0, longueur);
+            sortie.write(octets, 0, longueur);
+            position += longueur;
+        }
+        nouvellesEntrees.add(new Entree(entree.nom, entree.taille, entree.dateModification,
+                                        entree.empreinte, debut, entree.longueur));
+    }
+
+    /*
+     * Écrit le nombre d'objets puis, s'il y en a, chacune de leurs colonnes
+     * de texte.
+     */
+    private <T> void ecrireObjets(List<T> objets, List<Function<T, String>> colonnes)
+            throws IOException {
+        ecrireInt(objets.size());
+        if (objets.isEmpty()) {
+            return;
+        }
+        for (Function<T, String> colonne : colonnes) {
+            ecrireColonne(objets, colonne);
+        }
+    }
+
+    /*
+     * Écrit une colonne de texte, codée par un dictionnaire si elle a peu
+     * de valeurs distinctes.
+     */
+    private <T> void ecrireColonne(List<T> objets, Function<T, String> colonne)
+            throws IOException {
+        Map<String, Integer> codes = new HashMap<>();
+        for (T objet : objets) {
+            codes.putIfAbsent(colonne.apply(objet), codes.size());
+            if (codes.size() > TAILLE_MAX_DICTIONNAIRE) {
+                break;
+            }
+        }
+
+        if (codes.size() > TAILLE_MAX_DICTIONNAIRE) {
+            ecrireByte(BRUT);
+            for (T objet : objets) {
+                ecrireChaine(colonne.apply(objet));
+            }
+            return;
+        }
+
+        String[] valeurs = new String[codes.size()];
+        codes.forEach((valeur, code) -> valeurs[code] = valeur);
+        ecrireByte(DICTIONNAIRE);
+        ecrireInt(valeurs.length);
+        for (String valeur : valeurs) {
+            ecrireChaine(valeur);
+        }
+        for (T objet : objets) {
+            ecrireInt(codes.get(colonne.apply(objet)));
+        }
+    }
+
+    private void ecrireChaine(String valeur) throws IOException {
+        if (valeur == null) {
+            ecrireInt(ABSENTE);
+            return;
+        }
+        byte[] octets = valeur.getBytes(StandardCharsets.UTF_8);
+        ecrireInt(octets.length);
+        sortie.write(octets);
+        position += octets.length;
+    }
+
+    private void ecrireByte(byte valeur) throws IOException {
+        sortie.writeByte(valeur);
+        position += 1;
+    }
+
+    private void ecrireShort(int valeur) throws IOException {
+        sortie.writeShort(valeur);
+        position += 2;
+    }
+
+    private void ecrireInt(int valeur) throws IOException {
+        sortie.writeInt(valeur);
+        position += 4;
+    }
+
+    private void ecrireLong(long valeur) throws IOException {
+        sortie.writeLong(valeur);
+        position += 8;
+    }
+}
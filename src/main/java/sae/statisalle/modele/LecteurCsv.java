@@ -0,0 +1,552 @@
+/*
+ * LecteurCsv.java                      17/10/2026
+ * IUT DE RODEZ                         Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Lecture d'un fichier CSV par projection en mémoire, sans décoder les
+ * lignes en chaînes de caractères.
+ * <p>
+ * Le fichier est projeté en mémoire par fenêtres et les séparateurs (point
+ * virgule et fins de ligne) sont cherchés directement dans les octets :
+ * aucune chaîne n'est créée pour une ligne, et une cellule n'est décodée
+ * que lorsqu'elle est demandée. Chaque colonne garde un dictionnaire de
+ * ses valeurs : une valeur répétée (identifiant de salle, nom d'activité,
+ * date...) n'est décodée qu'une fois et la même chaîne est renvoyée pour
+ * toutes ses lignes. Le dictionnaire d'une colonne dont les valeurs sont
+ * presque toutes distinctes, comme une colonne d'identifiants, est
+ * abandonné.
+ * </p>
+ * <p>
+ * Un fichier volumineux peut aussi être découpé en plages d'octets
+ * alignées sur les débuts de ligne et lues en même temps, voir
+ * {@link #parcourirParPlages}.
+ * </p>
+ * Les cellules sont découpées comme par {@link Fichier#parcourirDonnees} :
+ * les fins de ligne sont celles de {@link java.io.BufferedReader#readLine()},
+ * le contenu est lu en UTF-8, une cellule vide vaut un espace et chaque
+ * ligne a au moins autant de cellules que l'entête.
+ *
+ * @author erwan.thierry
+ */
+public class LecteurCsv {
+
+    /* Taille par défaut des fenêtres de projection du fichier */
+    private static final long TAILLE_FENETRE = 1L << 30;
+
+    /* Nombre maximal de valeurs retenues par le dictionnaire d'une colonne */
+    private static final int NB_VALEURS_MAX = 4096;
+
+    /* Taille des lectures qui cherchent le début d'une ligne */
+    private static final int TAILLE_TAMPON_ALIGNEMENT = 8192;
+
+    /* Valeur d'une cellule vide */
+    private static final String CELLULE_VIDE = " ";
+
+    /* Octets recherchés, répétés dans chaque octet d'un long */
+    private static final long POINT_VIRGULE = 0x3B3B3B3B3B3B3B3BL;
+    private static final long SAUT_LIGNE = 0x0A0A0A0A0A0A0A0AL;
+    private static final long RETOUR_CHARIOT = 0x0D0D0D0D0D0D0D0DL;
+    private static final long SEPT_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+    /* Taille des fenêtres de projection, une ligne doit y tenir */
+    private final long tailleFenetre;
+
+    /**
+     * Crée un lecteur qui projette les fichiers par fenêtres d'un gigaoctet.
+     */
+    public LecteurCsv() {
+        this(TAILLE_FENETRE);
+    }
+
+    /**
+     * Crée un lecteur qui projette les fichiers par fenêtres de la taille
+     * indiquée.
+     *
+     * @param tailleFenetre La taille des fenêtres en octets, au plus
+     *                      {@link Integer#MAX_VALUE}. Une ligne plus longue
+     *                      ne peut pas être lue.
+     */
+    public LecteurCsv(long tailleFenetre) {
+        if (tailleFenetre <= 0 || tailleFenetre > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Taille de fenêtre invalide : "
+                                               + tailleFenetre);
+        }
+        this.tailleFenetre = tailleFenetre;
+    }
+
+    /**
+     * Parcourt les lignes de données d'un fichier CSV, la première ligne
+     * (entête) servant uniquement à connaître le nombre de colonnes.
+     * <p>
+     * La même instance de {@link Ligne} est transmise pour chaque ligne :
+     * elle n'est valable que pendant l'appel du traitement.
+     * </p>
+     *
+     * @param chemin Le chemin du fichier.
+     * @param traitement Le traitement appliqué à chaque ligne de données.
+     * @return Le nombre de lignes de données parcourues.
+     * @throws IOException si le fichier ne peut pas être lu ou contient une
+     *                     ligne plus longue qu'une fenêtre.
+     */
+    public int parcourir(Path chemin, Consumer<Ligne> traitement) throws IOException {
+        try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ)) {
+            Ligne ligne = new Ligne();
+            long debutDonnees = lireEntete(canal, ligne);
+            return parcourirPlage(canal, debutDonnees, canal.size(), ligne, traitement);
+        }
+    }
+
+    /**
+     * Parcourt les lignes de données d'un fichier CSV comme
+     * {@link #parcourir(Path, Consumer)}, en découpant le fichier en plages
+     * d'octets lues en même temps sur le pool fork-join commun.
+     * <p>
+     * Les plages sont de tailles voisines et commencent toutes au début
+     * d'une ligne. Chaque plage remplit son propre résultat : les résultats
+     * sont renvoyés dans l'ordre des plages, donc des lignes du fichier.
+     * Le traitement est appelé en même temps pour des plages différentes,
+     * mais jamais pour deux lignes d'une même plage.
+     * </p>
+     *
+     * @param chemin Le chemin du fichier.
+     * @param nbPlages Le nombre de plages souhaité. Un petit fichier peut
+     *                 en compter moins.
+     * @param creerResultat Crée le résultat d'une plage.
+     * @param traitement Le traitement appliqué à chaque ligne de données,
+     *                   avec le résultat de sa plage.
+     * @param <R> Le type du résultat d'une plage.
+     * @return Les résultats des plages, dans l'ordre du fichier.
+     * @throws IOException si le fichier ne peut pas être lu ou contient une
+     *                     ligne plus longue qu'une fenêtre.
+     */
+    public <R> List<R> parcourirParPlages(Path chemin, int nbPlages,
+                                          Supplier<R> creerResultat,
+                                          BiConsumer<R, Ligne> traitement)
+            throws IOException {
+        try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            Ligne entete = new Ligne();
+            long debutDonnees = lireEntete(canal, entete);
+
+            List<Long> bornes = new ArrayList<>();
+            bornes.add(debutDonnees);
+            for (int i = 1; i < nbPlages; i++) {
+                long borne = debutLigne(canal, debutDonnees
+                                        + (taille - debutDonnees) * i / nbPlages);
+                if (borne > bornes.get(bornes.size() - 1) && borne < taille) {
+                    bornes.add(borne);
+                }
+            }
+            bornes.add(taille);
+
+            List<ForkJoinTask<R>> lectures = new ArrayList<>();
+            for (int i = 0; i + 1 < bornes.size(); i++) {
+                long debut = bornes.get(i);
+                long fin = bornes.get(i + 1);
+                lectures.add(ForkJoinTask.adapt(() -> {
+                    R resultat = creerResultat.get();
+                    Ligne ligne = new Ligne();
+                    ligne.nbColonnes = entete.nbColonnes;
+                    try {
+                        parcourirPlage(canal, debut, fin, ligne,
+                                       lue -> traitement.accept(resultat, lue));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return resultat;
+                }));
+            }
+            try {
+                ForkJoinTask.invokeAll(lectures);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            List<R> resultats = new ArrayList<>(lectures.size());
+            for (ForkJoinTask<R> lecture : lectures) {
+                resultats.add(lecture.join());
+            }
+            return resultats;
+        }
+    }
+
+    /*
+     * Découpe l'entête du fichier pour connaître le nombre de colonnes, et
+     * renvoie la position de la première ligne de données.
+     */
+    private long lireEntete(FileChannel canal, Ligne ligne) throws IOException {
+        long taille = canal.size();
+        int limite = (int) Math.min(tailleFenetre, taille);
+        if (limite == 0) {
+            return 0;
+        }
+        ByteBuffer fenetre = projeter(canal, 0, limite);
+        int fin = ligne.decouper(fenetre, 0, limite);
+        if (limite < taille && (fin == limite
+                                || fin == limite - 1 && fenetre.get(fin) == '\r')) {
+            throw new IOException("Ligne plus longue que " + tailleFenetre + " octets");
+        }
+        ligne.nbColonnes = ligne.nbLues;
+        return Math.min(debutLigneSuivante(fenetre, fin, limite), limite);
+    }
+
+    /*
+     * Parcourt les lignes d'une plage du fichier, qui commence au début
+     * d'une ligne et se termine après une fin de ligne ou à la fin du
+     * fichier. La plage est projetée par fenêtres successives.
+     */
+    private int parcourirPlage(FileChannel canal, long debut, long fin, Ligne ligne,
+                               Consumer<Ligne> traitement) throws IOException {
+        int nbLignes = 0;
+        long debutFenetre = debut;
+        while (debutFenetre < fin) {
+            int limite = (int) Math.min(tailleFenetre, fin - debutFenetre);
+            boolean derniere = debutFenetre + limite == fin;
+            ByteBuffer fenetre = projeter(canal, debutFenetre, limite);
+
+            int position = 0;
+            while (position < limite) {
+                int finLigne = ligne.decouper(fenetre, position, limite);
+                // une ligne coupée par la fenêtre est relue dans la
+                // suivante, de même qu'un \r dont le \n peut suivre
+                if (!derniere && (finLigne == limite
+                                  || finLigne == limite - 1
+                                     && fenetre.get(finLigne) == '\r')) {
+                    break;
+                }
+                traitement.accept(ligne);
+                nbLignes++;
+                position = debutLigneSuivante(fenetre, finLigne, limite);
+            }
+
+            if (position == 0) {
+                throw new IOException("Ligne plus longue que "
+                                      + tailleFenetre + " octets");
+            }
+            debutFenetre += position;
+        }
+        return nbLignes;
+    }
+
+    private static ByteBuffer projeter(FileChannel canal, long debut, int longueur)
+            throws IOException {
+        return canal.map(FileChannel.MapMode.READ_ONLY, debut, longueur)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /*
+     * Position du début de la première ligne qui commence à partir d'une
+     * position du fichier, ou la taille du fichier s'il n'y en a pas.
+     * Un \r\n n'est jamais séparé.
+     */
+    private static long debutLigne(FileChannel canal, long position) throws IOException {
+        ByteBuffer tampon = ByteBuffer.allocate(TAILLE_TAMPON_ALIGNEMENT);
+        boolean apresRetourChariot = false;
+        long lue = position;
+        while (canal.read(tampon, lue) > 0) {
+            tampon.flip();
+            while (tampon.hasRemaining()) {
+                byte octet = tampon.get();
+                if (apresRetourChariot) {
+                    return octet == '\n' ? lue + 1 : lue;
+                }
+                if (octet == '\n') {
+                    return lue + 1;
+                }
+                apresRetourChariot = octet == '\r';
+                lue++;
+            }
+            tampon.clear();
+        }
+        return lue;
+    }
+
+    /*
+     * Position qui suit la fin de ligne trouvée, \r\n comptant pour une.
+     */
+    private static int debutLigneSuivante(ByteBuffer fenetre, int fin, int limite) {
+        if (fin < limite && fenetre.get(fin) == '\r'
+            && fin + 1 < limite && fenetre.get(fin + 1) == '\n') {
+            return fin + 2;
+        }
+        return fin + 1;
+    }
+
+    /*
+     * Octets d'un long égaux à l'octet recherché : le bit de poids fort de
+     * chacun de ces octets vaut 1, tous les autres bits valent 0.
+     */
+    private static long octetsEgaux(long mot, long recherche) {
+        long difference = mot ^ recherche;
+        return ~(((difference & SEPT_BITS) + SEPT_BITS) | difference | SEPT_BITS);
+    }
+
+    /**
+     * Ligne de données en cours de parcours, dont les cellules sont
+     * décodées à la demande.
+     */
+    public static final class Ligne {
+
+        /* Nombre de colonnes de l'entête */
+        private int nbColonnes;
+
+        /* Fenêtre contenant la ligne */
+        private ByteBuffer fenetre;
+
+        /* Début et fin de chaque cellule lue dans la fenêtre */
+        private int[] debuts = new int[16];
+        private int[] fins = new int[16];
+        private int nbLues;
+
+        /* Dictionnaire des valeurs de chaque colonne */
+        private ValeursColonne[] valeurs = new ValeursColonne[0];
+
+        /* Octets de la cellule en cours de décodage */
+        private byte[] octets = new byte[256];
+
+        private Ligne() {
+        }
+
+        /*
+         * Repère en un seul passage la fin de la ligne qui commence à une
+         * position de la fenêtre et ses cellules, sans les décoder.
+         * Les séparateurs sont cherchés huit octets à la fois.
+         * Renvoie la position du premier \n ou \r, ou la limite.
+         */
+        private int decouper(ByteBuffer fenetre, int debut, int limite) {
+            this.fenetre = fenetre;
+            nbLues = 0;
+            int debutCellule = debut;
+            int position = debut;
+            for (; position <= limite - Long.BYTES; position += Long.BYTES) {
+                long mot = fenetre.getLong(position);
+                long separateurs = octetsEgaux(mot, POINT_VIRGULE);
+                long finsLigne = octetsEgaux(mot, SAUT_LIGNE)
+                                 | octetsEgaux(mot, RETOUR_CHARIOT);
+                if (finsLigne != 0) {
+                    // seuls les séparateurs avant la fin de ligne comptent
+                    separateurs &= (finsLigne & -finsLigne) - 1;
+                }
+                while (separateurs != 0) {
+                    int separateur = position
+                                     + (Long.numberOfTrailingZeros(separateurs) >>> 3);
+                    ajouterCellule(debutCellule, separateur);
+                    debutCellule = separateur + 1;
+                    separateurs &= separateurs - 1;
+                }
+                if (finsLigne != 0) {
+                    int fin = position + (Long.numberOfTrailingZeros(finsLigne) >>> 3);
+                    ajouterCellule(debutCellule, fin);
+                    return fin;
+                }
+            }
+            for (; position < limite; position++) {
+                byte octet = fenetre.get(position);
+                if (octet == ';') {
+                    ajouterCellule(debutCellule, position);
+                    debutCellule = position + 1;
+                } else if (octet == '\n' || octet == '\r') {
+                    break;
+                }
+            }
+            ajouterCellule(debutCellule, position);
+            return position;
+        }
+
+        private void ajouterCellule(int debut, int fin) {
+            if (nbLues == debuts.length) {
+                debuts = Arrays.copyOf(debuts, 2 * nbLues);
+                fins = Arrays.copyOf(fins, 2 * nbLues);
+            }
+            debuts[nbLues] = debut;
+            fins[nbLues] = fin;
+            nbLues++;
+        }
+
+        /**
+         * @return Le nombre de cellules de la ligne, au moins le nombre de
+         *         colonnes de l'entête.
+         */
+        public int nbCellules() {
+            return Math.max(nbLues, nbColonnes);
+        }
+
+        /**
+         * Décode une cellule de la ligne.
+         *
+         * @param indice L'indice de la cellule, à partir de 0.
+         * @return La valeur de la cellule, ou un espace si elle est vide
+         *         ou absente de la ligne.
+         * @throws IndexOutOfBoundsException si l'indice n'est pas inférieur
+         *                                   à {@link #nbCellules()}.
+         */
+        public String cellule(int indice) {
+            if (indice < 0 || indice >= nbCellules()) {
+                throw new IndexOutOfBoundsException(indice);
+            }
+            if (indice >= nbLues || debuts[indice] == fins[indice]) {
+                return CELLULE_VIDE;
+            }
+            int debut = debuts[indice];
+            int longueur = fins[indice] - debut;
+            if (octets.length < longueur) {
+                octets = new byte[Math.max(longueur, 2 * octets.length)];
+            }
+
+            if (indice >= valeurs.length) {
+                valeurs = Arrays.copyOf(valeurs, Math.max(indice + 1, nbColonnes));
+            }
+            if (valeurs[indice] == null) {
+                valeurs[indice] = new ValeursColonne();
+            }
+            return valeurs[indice].valeur(fenetre, debut, longueur, octets);
+        }
+
+        /**
+         * Décode toutes les cellules de la ligne.
+         *
+         * @return Les valeurs des {@link #nbCellules()} cellules.
+         */
+        public String[] cellules() {
+            String[] cellules = new String[nbCellules()];
+            for (int i = 0; i < cellules.length; i++) {
+                cellules[i] = cellule(i);
+            }
+            return cellules;
+        }
+    }
+
+    /**
+     * Dictionnaire des valeurs d'une colonne, indexé par leurs octets :
+     * table à adressage ouvert dont la taille est une puissance de 2.
+     * Une fois plein, il n'est gardé que si au moins la moitié des valeurs
+     * cherchées y sont trouvées.
+     */
+    private static final class ValeursColonne {
+
+        private byte[][] cles = new byte[16][];
+        private String[] valeurs = new String[16];
+        private int[] hachages = new int[16];
+        private int taille;
+
+        /* Recherches et valeurs trouvées depuis que le dictionnaire est plein */
+        private int nbRecherches;
+        private int nbTrouvees;
+        private boolean abandonne;
+
+        /*
+         * Valeur des octets d'une cellule de la fenêtre, copiés dans le
+         * tableau fourni qui doit pouvoir les contenir.
+         */
+        String valeur(ByteBuffer fenetre, int debut, int longueur, byte[] octets) {
+            fenetre.get(debut, octets, 0, longueur);
+            if (abandonne) {
+                return new String(octets, 0, longueur, StandardCharsets.UTF_8);
+            }
+
+            int hachage = hacher(fenetre, debut, longueur);
+            int masque = cles.length - 1;
+            int indice = hachage & masque;
+            while (cles[indice] != null) {
+                if (hachages[indice] == hachage
+                    && Arrays.equals(cles[indice], 0, cles[indice].length,
+                                     octets, 0, longueur)) {
+                    if (taille == NB_VALEURS_MAX) {
+                        nbTrouvees++;
+                        compterRecherche();
+                    }
+                    return valeurs[indice];
+                }
+                indice = (indice + 1) & masque;
+            }
+
+            String valeur = new String(octets, 0, longueur, StandardCharsets.UTF_8);
+            if (taille < NB_VALEURS_MAX) {
+                cles[indice] = Arrays.copyOf(octets, longueur);
+                valeurs[indice] = valeur;
+                hachages[indice] = hachage;
+                if (++taille * 2 > cles.length) {
+                    agrandir();
+                }
+            } else {
+                compterRecherche();
+            }
+            return valeur;
+        }
+
+        /*
+         * Hachage calculé sur les huit premiers et les huit derniers
+         * octets de la cellule : les collisions sont départagées par la
+         * comparaison des octets.
+         */
+        private static int hacher(ByteBuffer fenetre, int debut, int longueur) {
+            long premiers;
+            long derniers;
+            if (longueur >= Long.BYTES) {
+                premiers = fenetre.getLong(debut);
+                derniers = fenetre.getLong(debut + longueur - Long.BYTES);
+            } else {
+                premiers = 0;
+                for (int i = 0; i < longueur; i++) {
+                    premiers = premiers << 8 | (fenetre.get(debut + i) & 0xFF);
+                }
+                derniers = 0;
+            }
+            long hachage = (premiers * 0x9E3779B97F4A7C15L + derniers)
+                           * 0xC2B2AE3D27D4EB4FL + longueur;
+            return (int) (hachage ^ hachage >>> 29);
+        }
+
+        private void compterRecherche() {
+            if (++nbRecherches == NB_VALEURS_MAX) {
+                if (2 * nbTrouvees < nbRecherches) {
+                    abandonne = true;
+                    cles = null;
+                    valeurs = null;
+                    hachages = null;
+                }
+                nbRecherches = 0;
+                nbTrouvees = 0;
+            }
+        }
+
+        private void agrandir() {
+            byte[][] anciennesCles = cles;
+            String[] anciennesValeurs = valeurs;
+            int[] anciensHachages = hachages;
+            cles = new byte[2 * anciennesCles.length][];
+            valeurs = new String[cles.length];
+            hachages = new int[cles.length];
+            int masque = cles.length - 1;
+            for (int i = 0; i < anciennesCles.length; i++) {
+                if (anciennesCles[i] != null) {
+                    int indice = anciensHachages[i] & masque;
+                    while (cles[indice] != null) {
+                        indice = (indice + 1) & masque;
+                    }
+                    cles[indice] = anciennesCles[i];
+                    valeurs[indice] = anciennesValeurs[i];
+                    hachages[indice] = anciensHachages[i];
+                }
+            }
+        }
+    }
+}
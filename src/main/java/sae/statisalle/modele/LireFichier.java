@@ -21,10 +21,22 @@ import sae.statisalle.modele.objet.Salle;
 import java.io.File;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 /**
  * Classe qui charge les fichiers csv dans des list afin de les affichés dans
@@ -36,164 +48,605 @@ import java.util.Optional;
  */
 public class LireFichier {
 
-    // Méthode pour charger les données depuis les fichiers CSV
+    /* Nombre maximum de références non résolues affichées dans l'alerte */
+    private static final int NB_REFERENCES_AFFICHEES = 15;
+
+    /* Nombre de lignes lues entre deux notifications de l'avancement */
+    private static final int PAS_PROGRESSION = 1000;
+
+    /* Taille minimale d'une plage d'un fichier de réservations lue à part */
+    private static final long TAILLE_MIN_PLAGE = 4L << 20;
+
+    /**
+     * Charge les données depuis les fichiers CSV du dossier dans les listes
+     * fournies, puis signale les éventuelles anomalies à l'utilisateur.
+     * Cette méthode doit être appelée depuis le thread JavaFX : pour un
+     * chargement en arrière-plan, utiliser {@link #lireDossier}.
+     *
+     * @param chemin Le chemin du dossier contenant les fichiers CSV.
+     * @param listEmploye La liste à remplir avec les employés.
+     * @param listSalle La liste à remplir avec les salles.
+     * @param listActivite La liste à remplir avec les activités.
+     * @param listReservation La liste à remplir avec les réservations.
+     */
     public static void chargerDonneesCSV(String chemin, ObservableList<Employe> listEmploye, ObservableList<Salle> listSalle, ObservableList<Activite> listActivite, ObservableList<Reservation> listReservation) {
+        DonneesChargees donnees = lireDossier(chemin, SuiviChargement.AUCUN);
+
+        listEmploye.addAll(donnees.getEmployes());
+        listSalle.addAll(donnees.getSalles());
+        listActivite.addAll(donnees.getActivites());
+        listReservation.addAll(donnees.getReservations());
+
+        signalerAnomalies(donnees);
+    }
+
+    /**
+     * Lit tous les fichiers CSV d'un dossier et rattache les réservations
+     * à leurs salles, employés et activités.
+     * <p>
+     * Les fichiers sont lus en même temps sur le pool fork-join commun,
+     * chacun dans ses propres données, puis leurs données sont réunies
+     * dans l'ordre des fichiers avant le rattachement des réservations.
+     * </p>
+     * <p>
+     * Cette méthode n'accède à aucun élément graphique : elle peut être
+     * exécutée en dehors du thread JavaFX. L'avancement est transmis au
+     * suivi, qui peut interrompre la lecture ; dans ce cas une
+     * {@link CancellationException} est levée.
+     * </p>
+     *
+     * @param chemin Le chemin du dossier contenant les fichiers CSV.
+     * @param suivi Le suivi de l'avancement de la lecture.
+     * @return Les données lues et les anomalies rencontrées.
+     * @throws CancellationException si le suivi demande l'interruption.
+     */
+    public static DonneesChargees lireDossier(String chemin, SuiviChargement suivi) {
+        return lireDossier(chemin, suivi, null);
+    }
+
+    /**
+     * Lit tous les fichiers CSV d'un dossier comme
+     * {@link #lireDossier(String, SuiviChargement)}, en reprenant le contenu
+     * des fichiers inchangés depuis un instantané binaire du chargement
+     * précédent. L'instantané est mis à jour si un fichier a changé.
+     *
+     * @param chemin Le chemin du dossier contenant les fichiers CSV.
+     * @param suivi Le suivi de l'avancement de la lecture.
+     * @param cheminInstantane Le chemin de l'instantané, ou null pour
+     *                         relire tous les fichiers.
+     * @return Les données lues et les anomalies rencontrées.
+     * @throws CancellationException si le suivi demande l'interruption.
+     * @see InstantaneDonnees
+     */
+    public static DonneesChargees lireDossier(String chemin, SuiviChargement suivi,
+                                              Path cheminInstantane) {
+        DonneesChargees donnees = new DonneesChargees();
+        InstantaneDonnees instantane = null;
 
-        String URLDossier = "src/main/resources/csv";
         try {
-            File dossier = new File(URLDecoder.decode(URLDossier, StandardCharsets.UTF_8));
+            File dossier = new File(URLDecoder.decode(chemin, StandardCharsets.UTF_8));
 
             if (!dossier.exists() || !dossier.isDirectory()) {
                 System.out.println("Le répertoire 'csv' n'existe pas ou n'est pas un dossier.");
-                return;
+                return donnees;
             }
 
             File[] fichiers = dossier.listFiles((dir, name) -> name.endsWith(".csv"));
 
             if (fichiers == null || fichiers.length == 0) {
                 System.out.println("Aucun fichier CSV trouvé dans le répertoire.");
-                return;
+                return donnees;
+            }
+
+            // Les fichiers ne dépendent pas les uns des autres : les
+            // réservations sont rattachées aux salles, employés et activités
+            // une fois tous les fichiers lus. Chaque fichier est donc lu
+            // dans ses propres données, tous en même temps
+            instantane = InstantaneDonnees.ouvrir(cheminInstantane, fichiers);
+            InstantaneDonnees instantaneOuvert = instantane;
+            SuiviPartage suiviPartage = new SuiviPartage(suivi);
+            PartageChaines partage = new PartageChaines();
+            List<ForkJoinTask<DonneesChargees>> lectures = new ArrayList<>();
+            for (File fichier : fichiers) {
+                lectures.add(ForkJoinTask.adapt(() -> lireFichierSeul(
+                        fichier, instantaneOuvert, suiviPartage, partage,
+                        fichiers.length)));
+            }
+            try {
+                ForkJoinTask.invokeAll(lectures);
+            } catch (CancellationException e) {
+                lectures.forEach(lecture -> lecture.cancel(false));
+                throw e;
+            }
+
+            // Jointure dans l'ordre des fichiers : les réservations de
+            // chaque fichier occupent des lignes consécutives, retenues
+            // pour le remplacer plus tard
+            for (int i = 0; i < fichiers.length; i++) {
+                ajouterDonneesFichier(donnees, fichiers[i], lectures.get(i).join());
             }
+            instantane.terminer();
+
+        } catch (CancellationException e) {
+            throw e;
+        } catch (Exception e) {
+            System.out.println("Erreur générale : " + e.getMessage());
+        } finally {
+            if (instantane != null) {
+                instantane.abandonner();
+            }
+        }
+
+        donnees.getReferencesNonResolues().putAll(associerReservations(
+                donnees.getEmployes(), donnees.getSalles(),
+                donnees.getActivites(), donnees.getReservations()));
+        donnees.setColonnes(new ColonnesReservations(donnees.getReservations()));
+        return donnees;
+    }
+
+    /*
+     * Lit un fichier du dossier dans ses propres données, depuis
+     * l'instantané s'il n'a pas changé, puis partage ses textes avec ceux
+     * des autres fichiers. Peut être exécutée en même temps pour plusieurs
+     * fichiers.
+     */
+    private static DonneesChargees lireFichierSeul(File fichier,
+                                                   InstantaneDonnees instantane,
+                                                   SuiviPartage suivi,
+                                                   PartageChaines partage,
+                                                   int nbFichiers) {
+        if (suivi.estAnnule()) {
+            throw new CancellationException();
+        }
+
+        DonneesChargees donnees = new DonneesChargees();
+        int nbLus = instantane.restaurer(fichier, donnees, suivi);
+        if (nbLus < 0) {
+            try {
+                lireFichier(fichier, donnees, suivi, 0, nbFichiers);
+                instantane.enregistrer(fichier, donnees, new int[4]);
+            } catch (CancellationException e) {
+                throw e;
+            } catch (Exception e) {
+                System.out.println("Erreur lors du traitement du fichier : " + fichier.getName() + " - " + e.getMessage());
+                donnees.getFichiersInvalides().add(fichier);
+            }
+            nbLus = donnees.getReservations().size();
+        }
+        partage.partagerTextes(donnees.getReservations());
+        suivi.fichierLu(fichier.getName(), nbLus, nbFichiers);
+        return donnees;
+    }
+
+    /*
+     * Suivi partagé par les lectures simultanées des fichiers d'un
+     * dossier : l'avancement de chaque fichier est rapporté au nombre de
+     * fichiers déjà lus par l'ensemble des lectures, et transmis au suivi
+     * une notification à la fois afin que ce nombre ne fasse que croître.
+     */
+    private static final class SuiviPartage implements SuiviChargement {
+
+        private final SuiviChargement suivi;
+        private int nbFichiersLus;
 
-            // Trier les fichiers pour donner la priorité à "Salle"
-            Arrays.sort(fichiers, (f1, f2) -> {
-                if (f1.getName().contains("Salle") && !f2.getName().contains("Salle")) {
-                    return -1;
-                } else if (!f1.getName().contains("Salle") && f2.getName().contains("Salle")) {
-                    return 1;
+        SuiviPartage(SuiviChargement suivi) {
+            this.suivi = suivi;
+        }
+
+        @Override
+        public synchronized void progression(String nomFichier, int nbLignesLues,
+                                             int numeroFichier, int nbFichiers) {
+            suivi.progression(nomFichier, nbLignesLues, nbFichiersLus, nbFichiers);
+        }
+
+        synchronized void fichierLu(String nomFichier, int nbLignesLues,
+                                    int nbFichiers) {
+            nbFichiersLus++;
+            suivi.progression(nomFichier, nbLignesLues, nbFichiersLus, nbFichiers);
+        }
+
+        @Override
+        public boolean estAnnule() {
+            return suivi.estAnnule();
+        }
+    }
+
+    /*
+     * Ajoute aux données chargées celles lues dans un fichier.
+     */
+    private static void ajouterDonneesFichier(DonneesChargees donnees, File fichier,
+                                              DonneesChargees lues) {
+        int premiereLigne = donnees.getReservations().size();
+        ajouterObjets(donnees, lues);
+        donnees.getFichiersInvalides().addAll(lues.getFichiersInvalides());
+        if (donnees.getReservations().size() > premiereLigne) {
+            donnees.getLignesParFichier().put(fichier.getName(),
+                    new int[] {premiereLigne, donnees.getReservations().size()});
+        }
+    }
+
+    /*
+     * Ajoute à la suite des objets des données chargées ceux lus à part.
+     */
+    private static void ajouterObjets(DonneesChargees donnees, DonneesChargees lues) {
+        donnees.getEmployes().addAll(lues.getEmployes());
+        donnees.getSalles().addAll(lues.getSalles());
+        donnees.getActivites().addAll(lues.getActivites());
+        donnees.getReservations().addAll(lues.getReservations());
+    }
+
+    /**
+     * Lit les réservations d'un seul fichier CSV, sans les rattacher à
+     * leurs salles, employés et activités : voir
+     * {@link #associerReservations}. Cette méthode n'accède à aucun élément
+     * graphique.
+     *
+     * @param chemin Le chemin du fichier.
+     * @return Les réservations lues, ou le fichier parmi les fichiers
+     *         invalides s'il n'a pas pu être lu.
+     */
+    public static DonneesChargees lireFichierReservations(String chemin) {
+        DonneesChargees donnees = new DonneesChargees();
+        File fichier = new File(chemin);
+        try {
+            lireFichier(fichier, donnees, SuiviChargement.AUCUN, 0, 1);
+        } catch (Exception e) {
+            System.out.println("Erreur lors du traitement du fichier : " + fichier.getName() + " - " + e.getMessage());
+            donnees.getFichiersInvalides().add(fichier);
+        }
+        return donnees;
+    }
+
+    /**
+     * Lit un fichier CSV et ajoute les objets correspondant à son type
+     * aux données chargées.
+     * Les lignes sont lues et transformées en objets une à une, sans
+     * conserver le contenu brut du fichier. Un gros fichier de
+     * réservations est lu par plages en même temps.
+     *
+     * @param fichier Le fichier à lire.
+     * @param donnees Les données chargées à compléter.
+     * @param suivi Le suivi de l'avancement de la lecture.
+     * @param numeroFichier Le nombre de fichiers déjà lus.
+     * @param nbFichiers Le nombre total de fichiers à lire.
+     */
+    private static void lireFichier(File fichier, DonneesChargees donnees,
+                                    SuiviChargement suivi, int numeroFichier,
+                                    int nbFichiers) {
+        Fichier fichierExploite = new Fichier(fichier.getPath());
+        String nomFichier = fichier.getName();
+        // le type est lu dans la première ligne du fichier : une seule fois
+        String typeFichier = fichierExploite.getTypeFichier();
+
+        BiConsumer<DonneesChargees, LecteurCsv.Ligne> traitement = switch (typeFichier) {
+            case "Employe" -> (lues, ligne) -> {
+                if (ligne.nbCellules() >= 4) {
+                    lues.getEmployes().add(new Employe(ligne.cellule(0), ligne.cellule(1), ligne.cellule(2), ligne.cellule(3)));
+                }
+            };
+            case "Salle" -> (lues, ligne) -> {
+                if (ligne.nbCellules() >= 9) {
+                    lues.getSalles().add(new Salle(ligne.cellule(0), ligne.cellule(1), ligne.cellule(2), ligne.cellule(3), ligne.cellule(4), ligne.cellule(5), ligne.cellule(6), ligne.cellule(7), ligne.cellule(8)));
+                }
+            };
+            case "Activite" -> (lues, ligne) -> {
+                if (ligne.nbCellules() == 2) {
+                    lues.getActivites().add(new Activite(ligne.cellule(0), ligne.cellule(1)));
                 } else {
-                    return 0;
+                    System.out.println("Ligne incorrecte dans le fichier Activité : " + Arrays.toString(ligne.cellules()));
                 }
-            });
-
-            StringBuilder fichiersInvalides = new StringBuilder();
+            };
+            case "Reservation" -> (lues, ligne) -> {
+                if (ligne.nbCellules() >= 12) {
+                    lues.getReservations().add(new Reservation(
+                            ligne.cellule(0), ligne.cellule(1), ligne.cellule(2), ligne.cellule(3), ligne.cellule(4),
+                            ligne.cellule(5), ligne.cellule(6), ligne.cellule(7), ligne.cellule(8), ligne.cellule(9),
+                            ligne.cellule(10), ligne.cellule(11)
+                    ));
+                }
+            };
+            default -> null;
+        };
 
-            for (File fichier : fichiers) {
-                try {
-                    Fichier fichierExploite = new Fichier(fichier.getPath());
-                    List<List<String>> contenu = fichierExploite.recupererDonnees();
-
-                    switch (fichierExploite.getTypeFichier()) {
-                        case "Employe" -> {
-                            for (List<String> ligne : contenu) {
-                                if (ligne.size() >= 4) {
-                                    listEmploye.add(new Employe(ligne.get(0), ligne.get(1), ligne.get(2), ligne.get(3)));
-                                }
-                            }
-                        }
-                        case "Salle" -> {
-                            for (List<String> ligne : contenu) {
-                                if (ligne.size() >= 9) {
-                                    listSalle.add(new Salle(ligne.get(0), ligne.get(1), ligne.get(2), ligne.get(3), ligne.get(4), ligne.get(5), ligne.get(6), ligne.get(7), ligne.get(8)));
-                                }
-                            }
-                        }
-                        case "Activite" -> {
-                            for (List<String> ligne : contenu) {
-                                if (ligne.size() == 2) {
-                                    listActivite.add(new Activite(ligne.get(0), ligne.get(1)));
-                                } else {
-                                    System.out.println("Ligne incorrecte dans le fichier Activité : " + ligne);
-                                }
-                            }
-                        }
-                        case "Reservation" -> {
-                            for (List<String> ligne : contenu) {
-                                if (ligne.size() >= 12) {
-                                    Reservation reservation = new Reservation(
-                                            ligne.get(0), ligne.get(1), ligne.get(2), ligne.get(3), ligne.get(4),
-                                            ligne.get(5), ligne.get(6), ligne.get(7), ligne.get(8), ligne.get(9),
-                                            ligne.get(10), ligne.get(11)
-                                    );
-
-                                    // Récupérer les informations supplémentaires
-                                    for (Employe employe : listEmploye) {
-                                        if (employe.getIdE().equals(reservation.getEmployeR())) {
-                                            reservation.setEmployeR(employe.getNom() + " " + employe.getPrenom());
-                                        }
-                                    }
-
-                                    for (Salle salle : listSalle) {
-                                        if (salle.getIdentifiant().equals(reservation.getSalleR())) {
-                                            reservation.setSalleR(salle.getNom());
-                                        }
-                                    }
-
-                                    listReservation.add(reservation);
-                                }
-                            }
-                        }
-                        default -> System.out.println("Type de fichier inconnu ou non pris en charge : " + fichier.getName());
-                    }
+        if (traitement == null) {
+            System.out.println("Type de fichier inconnu ou non pris en charge : " + nomFichier);
+            return;
+        }
 
-                } catch (Exception e) {
-                    System.out.println("Erreur lors du traitement du fichier : " + fichier.getName() + " - " + e.getMessage());
-                    fichiersInvalides.append(fichier.getName()).append("\n");
+        suivi.progression(nomFichier, 0, numeroFichier, nbFichiers);
+        AtomicInteger nbLignesLues = new AtomicInteger();
+        BiConsumer<LecturePlage, LecteurCsv.Ligne> lecture = (plage, ligne) -> {
+            traitement.accept(plage.donnees, ligne);
+            if (++plage.nbLignes % PAS_PROGRESSION == 0) {
+                if (suivi.estAnnule()) {
+                    throw new CancellationException();
                 }
+                suivi.progression(nomFichier, nbLignesLues.addAndGet(PAS_PROGRESSION),
+                                  numeroFichier, nbFichiers);
+            }
+        };
+
+        // Un gros fichier de réservations est découpé en plages lues en
+        // même temps, réunies ensuite dans l'ordre du fichier
+        int nbPlages = "Reservation".equals(typeFichier)
+                       ? nbPlages(fichier.length()) : 1;
+        int nbLignes = 0;
+        if (nbPlages > 1) {
+            for (LecturePlage plage : fichierExploite.parcourirLignesParPlages(
+                    nbPlages, LecturePlage::new, lecture)) {
+                ajouterObjets(donnees, plage.donnees);
+                nbLignes += plage.nbLignes;
             }
+        } else {
+            LecturePlage plage = new LecturePlage(donnees);
+            fichierExploite.parcourirLignes(ligne -> lecture.accept(plage, ligne));
+            nbLignes = plage.nbLignes;
+        }
+        suivi.progression(nomFichier, nbLignes, numeroFichier + 1, nbFichiers);
+    }
+
+    /*
+     * Nombre de plages lues en même temps pour un fichier de réservations
+     * de la taille indiquée : une par processeur, chacune d'au moins
+     * TAILLE_MIN_PLAGE octets.
+     */
+    private static int nbPlages(long tailleFichier) {
+        return (int) Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(),
+                                          tailleFichier / TAILLE_MIN_PLAGE));
+    }
+
+    /*
+     * Objets lus dans une plage d'un fichier et nombre de lignes de la
+     * plage déjà parcourues.
+     */
+    private static final class LecturePlage {
+
+        private final DonneesChargees donnees;
+        private int nbLignes;
+
+        LecturePlage() {
+            this(new DonneesChargees());
+        }
+
+        LecturePlage(DonneesChargees donnees) {
+            this.donnees = donnees;
+        }
+    }
+
+    /**
+     * Signale à l'utilisateur les anomalies rencontrées pendant la lecture :
+     * fichiers invalides, que l'utilisateur peut choisir de supprimer, et
+     * références non résolues.
+     * Cette méthode doit être appelée depuis le thread JavaFX.
+     *
+     * @param donnees Les données chargées.
+     */
+    public static void signalerAnomalies(DonneesChargees donnees) {
+        if (!donnees.getFichiersInvalides().isEmpty()) {
+            signalerFichiersInvalides(donnees.getFichiersInvalides());
+        }
+
+        if (!donnees.getReferencesNonResolues().isEmpty()) {
+            signalerReferencesNonResolues(donnees.getReferencesNonResolues());
+        }
+    }
+
+    /**
+     * Propose à l'utilisateur de supprimer les fichiers qui n'ont pas pu
+     * être chargés.
+     *
+     * @param fichiersInvalides Les fichiers qui n'ont pas pu être chargés.
+     */
+    private static void signalerFichiersInvalides(List<File> fichiersInvalides) {
+        StringBuilder nomsFichiers = new StringBuilder();
+        for (File fichier : fichiersInvalides) {
+            nomsFichiers.append(fichier.getName()).append("\n");
+        }
+
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Fichiers invalides");
+        Image logo = new Image(Objects.requireNonNull(
+                ControleurPopup.class.getResourceAsStream(
+                        "/sae/statisalle/img/LogoStatisalle.jpg")));
+        Stage stage = (Stage) alert.getDialogPane().getScene().getWindow();
+        stage.getIcons().add(logo);
+        alert.setHeaderText("Certains fichiers n'ont pas pu être chargés");
+        alert.setContentText("Les fichiers suivants sont invalides :\n" + nomsFichiers);
+
+        ButtonType supprimerButton = new ButtonType("Supprimer");
+        ButtonType ignorerButton = new ButtonType("Ignorer", ButtonBar.ButtonData.CANCEL_CLOSE);
+        alert.getButtonTypes().setAll(supprimerButton, ignorerButton);
 
-            if (!fichiersInvalides.isEmpty()) {
-                Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
-                alert.setTitle("Fichiers invalides");
-                Image logo = new Image(Objects.requireNonNull(
-                        ControleurPopup.class.getResourceAsStream(
-                                "/sae/statisalle/img/LogoStatisalle.jpg")));
-                Stage stage = (Stage) alert.getDialogPane().getScene().getWindow();
-                stage.getIcons().add(logo);
-                alert.setHeaderText("Certains fichiers n'ont pas pu être chargés");
-                alert.setContentText("Les fichiers suivants sont invalides :\n" + fichiersInvalides);
-
-                ButtonType supprimerButton = new ButtonType("Supprimer");
-                ButtonType ignorerButton = new ButtonType("Ignorer", ButtonBar.ButtonData.CANCEL_CLOSE);
-                alert.getButtonTypes().setAll(supprimerButton, ignorerButton);
-
-                Optional<ButtonType> resultat = alert.showAndWait();
-                if (resultat.isPresent() && resultat.get() == supprimerButton) {
-                    try {
-                        for (String nomFichier : fichiersInvalides.toString().split("\n")) {
-                            File fichierADelete = new File("src/main/resources/csv/" + nomFichier.trim());
-                            if (fichierADelete.exists() && fichierADelete.isFile()) {
-                                if (fichierADelete.delete()) {
-                                    System.out.println("Fichier supprimé : " + fichierADelete.getName());
-                                } else {
-                                    System.out.println("Impossible de supprimer : " + fichierADelete.getName());
-                                }
-                            }
+        Optional<ButtonType> resultat = alert.showAndWait();
+        if (resultat.isPresent() && resultat.get() == supprimerButton) {
+            try {
+                for (File fichierADelete : fichiersInvalides) {
+                    if (fichierADelete.exists() && fichierADelete.isFile()) {
+                        if (fichierADelete.delete()) {
+                            System.out.println("Fichier supprimé : " + fichierADelete.getName());
+                        } else {
+                            System.out.println("Impossible de supprimer : " + fichierADelete.getName());
                         }
-                    } catch (Exception e) {
-                        System.out.println("Erreur lors de la suppression des fichiers : " + e.getMessage());
                     }
                 }
+            } catch (Exception e) {
+                System.out.println("Erreur lors de la suppression des fichiers : " + e.getMessage());
             }
+        }
+    }
 
-        } catch (Exception e) {
-            System.out.println("Erreur générale : " + e.getMessage());
+    /**
+     * Rattache chaque réservation à sa salle, à son employé et à son activité.
+     * <p>
+     * Des index identifiant → objet et nom → objet sont construits une seule
+     * fois, ce qui permet de résoudre chaque référence en temps constant :
+     * le rattachement est linéaire en nombre de réservations.
+     * L'identifiant de la salle et de l'employé de chaque réservation est
+     * remplacé par leur nom, comme attendu par l'affichage.
+     * </p>
+     * Les références qui ne correspondent à aucun objet chargé sont
+     * retournées avec le nombre de réservations concernées, au lieu
+     * d'être ignorées silencieusement.
+     *
+     * @param listEmploye Les employés chargés.
+     * @param listSalle Les salles chargées.
+     * @param listActivite Les activités chargées.
+     * @param listReservation Les réservations à rattacher.
+     * @return Les références non résolues, associées au nombre de
+     *         réservations concernées.
+     */
+    static Map<String, Integer> associerReservations(List<Employe> listEmploye,
+                                                     List<Salle> listSalle,
+                                                     List<Activite> listActivite,
+                                                     List<Reservation> listReservation) {
+
+        Map<String, Employe> employesParId = new HashMap<>();
+        Map<String, Employe> employesParNom = new HashMap<>();
+        Map<Employe, String> nomsEmployes = new HashMap<>();
+        for (Employe employe : listEmploye) {
+            // Le nom complet est construit une seule fois par employé
+            String nomComplet = employe.getNom() + " " + employe.getPrenom();
+            employesParId.put(employe.getIdE(), employe);
+            employesParNom.put(nomComplet, employe);
+            nomsEmployes.put(employe, nomComplet);
+        }
+
+        Map<String, Salle> sallesParId = new HashMap<>();
+        Map<String, Salle> sallesParNom = new HashMap<>();
+        for (Salle salle : listSalle) {
+            sallesParId.put(salle.getIdentifiant(), salle);
+            sallesParNom.put(salle.getNom(), salle);
         }
 
+        // Le fichier des activités contient l'identifiant dans le champ
+        // "type" et le libellé dans le champ "idActivite"
+        Map<String, Activite> activitesParId = new HashMap<>();
+        Map<String, Activite> activitesParLibelle = new HashMap<>();
+        for (Activite activite : listActivite) {
+            activitesParId.put(activite.getType(), activite);
+            activitesParLibelle.put(activite.getIdActivite(), activite);
+        }
+
+        Map<String, Integer> referencesNonResolues = new LinkedHashMap<>();
+
         for (Reservation reservation : listReservation) {
             // Associer les réservations aux salles
-            for (Salle salle : listSalle) {
-                if (salle.getNom().equals(reservation.getSalleR())) {
-                    salle.getReservations().add(reservation);
-                    break;
-                }
+            Salle salle = sallesParId.get(reservation.getSalleR());
+            if (salle == null) {
+                salle = sallesParNom.get(reservation.getSalleR());
+            }
+            if (salle != null) {
+                reservation.setSalleR(salle.getNom());
+                salle.getReservations().add(reservation);
+            } else {
+                referencesNonResolues.merge("Salle " + reservation.getSalleR(), 1, Integer::sum);
             }
 
             // Associer les réservations aux employés
-            for (Employe employe : listEmploye) {
-                if (employe.getIdE().equals(reservation.getEmployeR())) {
-                    employe.getReservations().add(reservation);
-                    break;
-                }
+            Employe employe = employesParId.get(reservation.getEmployeR());
+            if (employe == null) {
+                employe = employesParNom.get(reservation.getEmployeR());
+            }
+            if (employe != null) {
+                reservation.setEmployeR(nomsEmployes.get(employe));
+                employe.getReservations().add(reservation);
+            } else {
+                referencesNonResolues.merge("Employé " + reservation.getEmployeR(), 1, Integer::sum);
             }
 
             // Associer les réservations aux activités
-            for (Activite activite : listActivite) {
-                if (activite.getIdActivite().equals(reservation.getActiviteR())) {
-                    activite.getReservations().add(reservation);
-                    break;
-                }
+            Activite activite = activitesParLibelle.get(reservation.getActiviteR());
+            if (activite == null) {
+                activite = activitesParId.get(reservation.getActiviteR());
+            }
+            if (activite != null) {
+                reservation.setActiviteR(activite.getIdActivite());
+                activite.getReservations().add(reservation);
+            } else {
+                referencesNonResolues.merge("Activité " + reservation.getActiviteR(), 1, Integer::sum);
             }
         }
+
+        return referencesNonResolues;
+    }
+
+    /**
+     * Détache des réservations retirées de leurs salles, employés et
+     * activités. Seules les listes des objets concernés sont parcourues.
+     *
+     * @param listEmploye Les employés chargés.
+     * @param listSalle Les salles chargées.
+     * @param listActivite Les activités chargées.
+     * @param retirees Les réservations à détacher.
+     */
+    static void detacherReservations(List<Employe> listEmploye,
+                                     List<Salle> listSalle,
+                                     List<Activite> listActivite,
+                                     Collection<Reservation> retirees) {
+        Set<String> salles = new HashSet<>();
+        Set<String> employes = new HashSet<>();
+        Set<String> activites = new HashSet<>();
+        for (Reservation reservation : retirees) {
+            salles.add(reservation.getSalleR());
+            employes.add(reservation.getEmployeR());
+            activites.add(reservation.getActiviteR());
+        }
+
+        Set<Reservation> ensemble = new HashSet<>(retirees);
+        for (Salle salle : listSalle) {
+            if (salles.contains(salle.getNom())) {
+                salle.getReservations().removeAll(ensemble);
+            }
+        }
+        for (Employe employe : listEmploye) {
+            if (employes.contains(employe.getNom() + " " + employe.getPrenom())) {
+                employe.getReservations().removeAll(ensemble);
+            }
+        }
+        for (Activite activite : listActivite) {
+            if (activites.contains(activite.getIdActivite())) {
+                activite.getReservations().removeAll(ensemble);
+            }
+        }
+    }
+
+    /**
+     * Signale à l'utilisateur les références des réservations qui n'ont pas
+     * pu être rattachées à une salle, un employé ou une activité.
+     * Le détail complet est affiché dans la console, la fenêtre d'alerte
+     * n'affiche que les premières références.
+     *
+     * @param referencesNonResolues Les références non résolues, associées au
+     *                              nombre de réservations concernées.
+     */
+    private static void signalerReferencesNonResolues(Map<String, Integer> referencesNonResolues) {
+        StringBuilder detail = new StringBuilder();
+        int nbAffichees = 0;
+
+        for (Map.Entry<String, Integer> reference : referencesNonResolues.entrySet()) {
+            String ligne = reference.getKey() + " : " + reference.getValue() + " réservation(s)";
+            System.out.println("Référence non résolue - " + ligne);
+
+            if (nbAffichees < NB_REFERENCES_AFFICHEES) {
+                detail.append(ligne).append("\n");
+            }
+            nbAffichees++;
+        }
+
+        if (nbAffichees > NB_REFERENCES_AFFICHEES) {
+            detail.append("... et ").append(nbAffichees - NB_REFERENCES_AFFICHEES)
+                  .append(" autre(s)");
+        }
+
+        Alert alert = new Alert(Alert.AlertType.WARNING);
+        alert.setTitle("Références non résolues");
+        Image logo = new Image(Objects.requireNonNull(
+                ControleurPopup.class.getResourceAsStream(
+                        "/sae/statisalle/img/LogoStatisalle.jpg")));
+        Stage stage = (Stage) alert.getDialogPane().getScene().getWindow();
+        stage.getIcons().add(logo);
+        alert.setHeaderText("Certaines réservations font référence à des données absentes");
+        alert.setContentText(detail.toString());
+        alert.showAndWait();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+/*
+ * OccupationSalles.java                17/10/2026
+ * IUT DE RODEZ                         Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import sae.statisalle.modele.objet.Reservation;
+
+import java.util.Arrays;
+
+/**
+ * Taux d'occupation réel des salles sur une période : temps pendant
+ * lequel chaque salle est réservée, rapporté à son temps d'ouverture.
+ * <p>
+ * Les réservations sont d'abord ramenées aux horaires d'ouverture de leur
+ * jour ; une réservation d'un jour fermé ou en dehors des horaires ne
+ * compte pas. Les réservations d'une même salle qui se chevauchent ne sont
+ * comptées qu'une fois : elles sont triées une seule fois par salle, jour
+ * et heure de début, puis parcourues en fusionnant les intervalles qui se
+ * recouvrent.
+ * </p>
+ * Chaque réservation est représentée pendant le tri par un seul entier
+ * long, sans aucun objet : le calcul sur plusieurs années de données reste
+ * bien en dessous de la seconde.
+ *
+ * @author erwan.thierry
+ */
+public class OccupationSalles {
+
+    /* Nombre de bits de chaque champ d'une clé de tri */
+    private static final int BITS_HEURE = 11;
+    private static final int BITS_JOUR = 22;
+
+    /* Masques d'extraction des champs d'une clé */
+    private static final long MASQUE_HEURE = (1L << BITS_HEURE) - 1;
+    private static final long MASQUE_JOUR = (1L << BITS_JOUR) - 1;
+
+    /* Minutes réservées de chaque salle, par code de salle */
+    private final long[] minutesOccupees;
+
+    /* Minutes d'ouverture d'une salle sur la période */
+    private final long minutesOuvertes;
+
+    /**
+     * Calcule l'occupation des salles sur une période.
+     *
+     * @param colonnes Le stockage des réservations.
+     * @param lignes Les lignes à prendre en compte.
+     * @param calendrier Les horaires d'ouverture des salles.
+     * @param premierJour Le premier jour de la période.
+     * @param dernierJour Le dernier jour de la période, inclus.
+     */
+    public OccupationSalles(ColonnesReservations colonnes, int[] lignes,
+                            CalendrierOuverture calendrier,
+                            int premierJour, int dernierJour) {
+        int nbJours = Math.max(dernierJour - premierJour + 1, 0);
+        if (nbJours > MASQUE_JOUR) {
+            throw new IllegalArgumentException("Période trop longue");
+        }
+        minutesOuvertes = calendrier.minutesOuvertes(premierJour, dernierJour);
+        minutesOccupees = new long[colonnes.getDictionnaires().getSalles().taille()];
+
+        // Horaires de chaque jour de la période, relevés une seule fois
+        int[] ouvertures = new int[nbJours];
+        int[] fermetures = new int[nbJours];
+        for (int i = 0; i < nbJours; i++) {
+            ouvertures[i] = calendrier.getOuverture(premierJour + i);
+            fermetures[i] = calendrier.getFermeture(premierJour + i);
+        }
+
+        // Une clé par réservation : salle, jour, début et fin, dans cet
+        // ordre de poids, après réduction aux horaires d'ouverture
+        long[] cles = new long[lignes.length];
+        int nbCles = 0;
+        for (int ligne : lignes) {
+            int jour = colonnes.getJour(ligne);
+            int debut = colonnes.getDebut(ligne);
+            int fin = colonnes.getFin(ligne);
+            if (jour == Reservation.DATE_INVALIDE
+                || debut == Reservation.HEURE_INVALIDE
+                || fin == Reservation.HEURE_INVALIDE
+                || jour < premierJour || jour > dernierJour) {
+                continue;
+            }
+            int rangJour = jour - premierJour;
+            debut = Math.max(debut, ouvertures[rangJour]);
+            fin = Math.min(fin, fermetures[rangJour]);
+            if (fin > debut) {
+                cles[nbCles++] = (long) colonnes.getSalle(ligne)
+                                 << (BITS_JOUR + 2 * BITS_HEURE)
+                                 | (long) rangJour << (2 * BITS_HEURE)
+                                 | (long) debut << BITS_HEURE
+                                 | fin;
+            }
+        }
+        Arrays.sort(cles, 0, nbCles);
+
+        // Parcours des intervalles triés : un intervalle qui commence avant
+        // la fin du précédent, même salle et même jour, le prolonge
+        int salleCourante = -1;
+        long jourCourant = -1;
+        int debutCourant = 0;
+        int finCourante = 0;
+        for (int i = 0; i < nbCles; i++) {
+            long cle = cles[i];
+            int salle = (int) (cle >>> (BITS_JOUR + 2 * BITS_HEURE));
+            long jour = cle >>> (2 * BITS_HEURE) & MASQUE_JOUR;
+            int debut = (int) (cle >>> BITS_HEURE & MASQUE_HEURE);
+            int fin = (int) (cle & MASQUE_HEURE);
+
+            if (salle == salleCourante && jour == jourCourant
+                && debut <= finCourante) {
+                finCourante = Math.max(finCourante, fin);
+            } else {
+                if (salleCourante >= 0) {
+                    minutesOccupees[salleCourante] += finCourante - debutCourant;
+                }
+                salleCourante = salle;
+                jourCourant = jour;
+                debutCourant = debut;
+                finCourante = fin;
+            }
+        }
+        if (salleCourante >= 0) {
+            minutesOccupees[salleCourante] += finCourante - debutCourant;
+        }
+    }
+
+    /**
+     * @return Le nombre de minutes d'ouverture d'une salle sur la période.
+     */
+    public long getMinutesOuvertes() {
+        return minutesOuvertes;
+    }
+
+    /**
+     * @param code Le code de la salle dans le dictionnaire des salles du
+     *             stockage.
+     * @return Le nombre de minutes pendant lesquelles la salle est
+     *         réservée, chevauchements fusionnés.
+     */
+    public long getMinutesOccupees(int code) {
+        return code >= 0 && code < minutesOccupees.length
+               ? minutesOccupees[code] : 0;
+    }
+
+    /**
+     * @param code Le code de la salle dans le dictionnaire des salles du
+     *             stockage.
+     * @return Le taux d'occupation de la salle, en pourcentage, ou 0 si
+     *         les salles ne sont jamais ouvertes sur la période.
+     */
+    public double getTaux(int code) {
+        return minutesOuvertes == 0
+               ? 0 : getMinutesOccupees(code) * 100.0 / minutesOuvertes;
+    }
+}
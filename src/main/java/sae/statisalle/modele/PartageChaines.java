@@ -0,0 +1,84 @@
+/*
+ * PartageChaines.java                  17/10/2026
+ * IUT DE RODEZ                         Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import sae.statisalle.modele.objet.Reservation;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ensemble de chaînes utilisé pendant un chargement pour que les valeurs
+ * répétées des réservations (description, intervenant, téléphone, usage)
+ * partagent une seule instance.
+ * <p>
+ * La lecture d'un fichier partage déjà les valeurs répétées de chacune de
+ * ses colonnes, mais chaque fichier, chaque plage d'un gros fichier et
+ * chaque section de l'instantané a ses propres instances : cet ensemble
+ * les réunit pour tout le dossier. Il n'est conservé que le temps du
+ * chargement ; les salles, employés, activités et dates sont déjà codés
+ * par des entiers dans les réservations.
+ * </p>
+ * Au-delà de {@link #NB_VALEURS_MAX} valeurs distinctes, les nouvelles
+ * valeurs ne sont plus retenues, afin de borner la mémoire occupée par
+ * des colonnes aux valeurs toutes distinctes. L'ensemble peut être utilisé
+ * depuis plusieurs threads à la fois.
+ *
+ * @author erwan.thierry
+ */
+public class PartageChaines {
+
+    /** Nombre maximal de valeurs distinctes retenues. */
+    public static final int NB_VALEURS_MAX = 1 << 18;
+
+    /* Instance partagée de chaque valeur retenue */
+    private final ConcurrentHashMap<String, String> chaines = new ConcurrentHashMap<>();
+
+    /**
+     * Renvoie l'instance partagée d'une valeur, en retenant celle-ci si
+     * elle n'a pas encore été rencontrée.
+     *
+     * @param valeur La valeur, éventuellement null.
+     * @return Une chaîne égale à la valeur, la même pour toutes les valeurs
+     *         égales retenues.
+     */
+    public String partager(String valeur) {
+        if (valeur == null) {
+            return null;
+        }
+        String partagee = chaines.get(valeur);
+        if (partagee != null) {
+            return partagee;
+        }
+        if (chaines.size() >= NB_VALEURS_MAX) {
+            return valeur;
+        }
+        partagee = chaines.putIfAbsent(valeur, valeur);
+        return partagee != null ? partagee : valeur;
+    }
+
+    /**
+     * Remplace les textes de chaque réservation par leurs instances
+     * partagées.
+     *
+     * @param reservations Les réservations lues.
+     */
+    public void partagerTextes(List<Reservation> reservations) {
+        for (Reservation reservation : reservations) {
+            reservation.setDescription(partager(reservation.getDescription()));
+            reservation.setNomIntervenant(partager(reservation.getNomIntervenant()));
+            reservation.setPrenomIntervenant(partager(reservation.getPrenomIntervenant()));
+            reservation.setNumTelIntervenant(partager(reservation.getNumTelIntervenant()));
+            reservation.setUsage(partager(reservation.getUsage()));
+        }
+    }
+
+    /**
+     * @return Le nombre de valeurs distinctes retenues.
+     */
+    public int taille() {
+        return chaines.size();
+    }
+}
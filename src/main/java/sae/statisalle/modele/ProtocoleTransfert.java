@@ -0,0 +1,661 @@
+/*
+ * ProtocoleTransfert.java              17/10/2026
+ * IUT DE RODEZ                         Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Format des fichiers envoyés d'un poste à un autre, une fois les clés
+ * échangées.
+ * <p>
+ * Un transfert commence par un en-tête : la signature {@link #SIGNATURE},
+ * le numéro de version du format sur un octet et le nombre de fichiers sur
+ * deux octets. Chaque fichier suit dans une trame : le code de son type
+ * sur un octet, la longueur de son nom sur deux octets puis le nom en
+ * UTF-8, son contenu découpé en morceaux, puis l'empreinte CRC32 de son
+ * contenu en clair. Chaque morceau est précédé de sa longueur sur quatre
+ * octets et chiffré indépendamment des autres ; une longueur nulle marque
+ * la fin du contenu. Les entiers sont écrits en commençant par l'octet de
+ * poids fort.
+ * </p>
+ * Le contenu d'un fichier est transmis tel quel, fins de ligne comprises :
+ * aucune séquence n'a à être échappée. Le destinataire connaît la longueur
+ * de chaque élément avant de le recevoir et n'a jamais à rechercher de
+ * délimiteur dans les données reçues.
+ * <p>
+ * Un fichier n'est jamais entièrement en mémoire, ni chez l'expéditeur ni
+ * chez le destinataire : il est lu, chiffré et envoyé morceau par morceau,
+ * et chaque morceau reçu est déchiffré puis écrit aussitôt dans un fichier
+ * temporaire. La mémoire utilisée ne dépend pas de la taille des fichiers.
+ * </p>
+ * Le contenu peut être compressé avant d'être chiffré. Le serveur ajoute
+ * à sa clé publique la liste des {@link Compression compressions} qu'il
+ * accepte ("cle ; p ; g ; deflate") : un client qui ne la lit pas ne
+ * regarde que la clé. Un client qui choisit l'une de ces compressions
+ * envoie un transfert de version {@link #VERSION}, dont l'en-tête porte le
+ * code de la compression sur un octet avant le nombre de fichiers ; sinon,
+ * et face à un serveur qui n'annonce aucune compression, il envoie un
+ * transfert de version {@link #VERSION_SANS_COMPRESSION}. Le serveur
+ * accepte les deux versions. Les morceaux compressés sont chiffrés octet
+ * par octet, lus comme des caractères ISO-8859-1 : l'alphabet du
+ * chiffrement n'en contient pas d'autres, si bien qu'un morceau chiffré a
+ * la même longueur que le morceau compressé.
+ *
+ * @author valentin.munier-genie
+ */
+public class ProtocoleTransfert {
+
+    /** Premiers octets d'un transfert, dont le premier n'apparaît jamais
+        dans un texte UTF-8. */
+    public static final int SIGNATURE = 0xFF535354;
+
+    /** Version du format : 3 depuis la compression du contenu. */
+    public static final int VERSION = 3;
+
+    /** Version du format sans compression, comprise par tous les serveurs
+        depuis le découpage du contenu en morceaux. */
+    public static final int VERSION_SANS_COMPRESSION = 2;
+
+    /** Compressions prises en charge, dans l'ordre de préférence ; le code
+        d'une compression est sa position dans la liste plus un. */
+    public static final List<Compression> COMPRESSIONS =
+            List.of(new CompressionDeflate());
+
+    /** Nombre maximal de fichiers d'un transfert. */
+    public static final int NB_FICHIERS_MAX = 64;
+
+    /** Longueur maximale du nom d'un fichier, en octets. */
+    public static final int LONGUEUR_NOM_MAX = 1024;
+
+    /** Nombre de caractères du contenu en clair d'un morceau. */
+    public static final int TAILLE_MORCEAU = 16 * 1024;
+
+    /** Longueur maximale d'un morceau chiffré, en octets : un caractère
+        occupe au plus trois octets en UTF-8, et une compression peut
+        allonger un morceau qui ne se compresse pas de quelques octets. */
+    public static final int LONGUEUR_MORCEAU_MAX = 4 * TAILLE_MORCEAU;
+
+    /** Taille maximale du contenu en clair d'un fichier reçu, en octets :
+        un contenu compressé qui se décompresse au-delà est refusé avant
+        d'avoir rempli le disque. */
+    public static final long TAILLE_FICHIER_MAX = 2L * 1024 * 1024 * 1024;
+
+    /** Extension des fichiers temporaires de réception, ignorés par la
+        lecture et la surveillance du dossier des données. */
+    public static final String EXTENSION_RECEPTION = ".reception";
+
+    /* Types de fichier, dans l'ordre de leur code ; le code 0 correspond à
+       un fichier dont le type n'est pas reconnu */
+    private static final String[] TYPES = {
+        null, "Salle", "Employe", "Activite", "Reservation"
+    };
+
+    /* Taille du tampon d'écriture */
+    private static final int TAILLE_TAMPON = 64 * 1024;
+
+    /**
+     * Liste, à ajouter à la clé publique du serveur, des compressions
+     * qu'il accepte.
+     *
+     * @param compressions Les compressions acceptées.
+     * @return Les noms des compressions, séparés par des virgules.
+     */
+    public static String annoncerCompressions(List<Compression> compressions) {
+        StringJoiner noms = new StringJoiner(",");
+        for (Compression compression : compressions) {
+            noms.add(compression.getNom());
+        }
+        return noms.toString();
+    }
+
+    /**
+     * Choisit la compression du contenu parmi celles annoncées par le
+     * serveur avec sa clé publique.
+     *
+     * @param clePubliqueServeur La clé publique reçue du serveur.
+     * @param acceptees Les compressions acceptées par le client, dans
+     *                  l'ordre de préférence.
+     * @return La première compression acceptée annoncée par le serveur, ou
+     *         null si le serveur n'en annonce aucune.
+     */
+    public static Compression choisirCompression(String clePubliqueServeur,
+                                                 List<Compression> acceptees) {
+        String[] parties = clePubliqueServeur == null
+                           ? new String[0] : clePubliqueServeur.split(" ; ");
+        if (parties.length < 4) {
+            return null;
+        }
+        List<String> annoncees = List.of(parties[3].trim().split(","));
+        for (Compression compression : acceptees) {
+            if (annoncees.contains(compression.getNom())) {
+                return compression;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Écrit un transfert contenant des fichiers, chacun chiffré avec la
+     * clé partagée, sans compression.
+     *
+     * @param sortie Le flux vers le destinataire.
+     * @param fichiers Les fichiers à envoyer.
+     * @param cle La clé secrète partagée avec le destinataire.
+     * @throws IOException Si la lecture d'un fichier ou l'écriture échoue.
+     * @throws IllegalArgumentException Si le nombre de fichiers ou un nom
+     *                                  dépasse les limites du format.
+     * @see #ecrireTransfert(OutputStream, List, BigInteger, Compression)
+     */
+    public static void ecrireTransfert(OutputStream sortie, List<Path> fichiers,
+                                       BigInteger cle) throws IOException {
+        ecrireTransfert(sortie, fichiers, cle, null);
+    }
+
+    /**
+     * Écrit un transfert contenant des fichiers, chacun compressé puis
+     * chiffré avec la clé partagée. Les fichiers sont lus et envoyés par
+     * morceaux. Le flux n'est pas fermé.
+     *
+     * @param sortie Le flux vers le destinataire.
+     * @param fichiers Les fichiers à envoyer.
+     * @param cle La clé secrète partagée avec le destinataire.
+     * @param compression La compression choisie parmi
+     *                    {@link #COMPRESSIONS}, ou null pour envoyer un
+     *                    transfert sans compression.
+     * @throws IOException Si la lecture d'un fichier ou l'écriture échoue.
+     * @throws IllegalArgumentException Si le nombre de fichiers ou un nom
+     *                                  dépasse les limites du format, ou si
+     *                                  la compression est inconnue.
+     */
+    public static void ecrireTransfert(OutputStream sortie, List<Path> fichiers,
+                                       BigInteger cle, Compression compression)
+            throws IOException {
+        if (fichiers.isEmpty() || fichiers.size() > NB_FICHIERS_MAX) {
+            throw new IllegalArgumentException("Nombre de fichiers invalide : "
+                                               + fichiers.size());
+        }
+        DataOutputStream flux = new DataOutputStream(
+                new BufferedOutputStream(sortie, TAILLE_TAMPON));
+        flux.writeInt(SIGNATURE);
+        if (compression == null) {
+            flux.writeByte(VERSION_SANS_COMPRESSION);
+        } else {
+            int code = COMPRESSIONS.indexOf(compression) + 1;
+            if (code == 0) {
+                throw new IllegalArgumentException("Compression inconnue : "
+                                                   + compression.getNom());
+            }
+            flux.writeByte(VERSION);
+            flux.writeByte(code);
+        }
+        flux.writeShort(fichiers.size());
+
+        char[] morceau = new char[TAILLE_MORCEAU];
+        ByteArrayOutputStream compresse = new ByteArrayOutputStream();
+        for (Path fichier : fichiers) {
+            byte[] nom = fichier.getFileName().toString()
+                                .getBytes(StandardCharsets.UTF_8);
+            if (nom.length > LONGUEUR_NOM_MAX) {
+                throw new IllegalArgumentException("Nom de fichier trop long : "
+                                                   + fichier.getFileName());
+            }
+            // le contenu est envoyé tel qu'il sera décodé par le destinataire
+            try (Reader lecteur = new InputStreamReader(Files.newInputStream(fichier),
+                                                        StandardCharsets.UTF_8)) {
+                int nb = remplir(lecteur, morceau, 0);
+                flux.writeByte(codeType(new String(morceau, 0, nb)));
+                flux.writeShort(nom.length);
+                flux.write(nom);
+
+                CRC32 crc = new CRC32();
+                OutputStream compresseur = compression == null
+                                           ? null
+                                           : compression.compresser(compresse);
+                while (nb > 0) {
+                    // une paire de substitution n'est jamais coupée en deux
+                    int longueur = nb == morceau.length
+                                   && Character.isHighSurrogate(morceau[nb - 1])
+                                   ? nb - 1 : nb;
+                    String texte = new String(morceau, 0, longueur);
+                    byte[] clair = texte.getBytes(StandardCharsets.UTF_8);
+                    crc.update(clair);
+                    if (compresseur == null) {
+                        ecrireMorceau(flux, Vigenere.chiffrementDonnees(texte, cle)
+                                                    .getBytes(StandardCharsets.UTF_8));
+                    } else {
+                        compresseur.write(clair);
+                        compresseur.flush();
+                        ecrireMorceauCompresse(flux, compresse, cle);
+                    }
+
+                    int reporte = nb - longueur;
+                    if (reporte > 0) {
+                        morceau[0] = morceau[nb - 1];
+                    }
+                    nb = remplir(lecteur, morceau, reporte);
+                }
+                if (compresseur != null) {
+                    compresseur.close();
+                    ecrireMorceauCompresse(flux, compresse, cle);
+                }
+                flux.writeInt(0);
+                flux.writeInt((int) crc.getValue());
+            }
+        }
+        flux.flush();
+    }
+
+    /*
+     * Écrit un morceau chiffré précédé de sa longueur, s'il n'est pas vide :
+     * un morceau vide marque la fin du contenu.
+     */
+    private static void ecrireMorceau(DataOutputStream flux, byte[] charge)
+            throws IOException {
+        if (charge.length > 0) {
+            flux.writeInt(charge.length);
+            flux.write(charge);
+        }
+    }
+
+    /*
+     * Chiffre et écrit les octets compressés en attente, puis les oublie.
+     */
+    private static void ecrireMorceauCompresse(DataOutputStream flux,
+                                               ByteArrayOutputStream compresse,
+                                               BigInteger cle)
+            throws IOException {
+        ecrireMorceau(flux, Vigenere.chiffrementDonnees(
+                compresse.toString(StandardCharsets.ISO_8859_1), cle)
+                                    .getBytes(StandardCharsets.ISO_8859_1));
+        compresse.reset();
+    }
+
+    /*
+     * Remplit le morceau à partir de la position donnée, autant que le
+     * permet le fichier. Renvoie le nombre de caractères du morceau.
+     */
+    private static int remplir(Reader lecteur, char[] morceau, int debut)
+            throws IOException {
+        int nb = debut;
+        int lus;
+        while (nb < morceau.length
+               && (lus = lecteur.read(morceau, nb, morceau.length - nb)) >= 0) {
+            nb += lus;
+        }
+        return nb;
+    }
+
+    /*
+     * Code du type d'un fichier, reconnu à sa première ligne.
+     */
+    private static int codeType(String texte) {
+        int finLigne = texte.indexOf('\n');
+        String premiereLigne = finLigne < 0 ? texte : texte.substring(0, finLigne);
+        String type = Fichier.getTypeDepuisContenu(List.of(premiereLigne));
+        for (int code = 1; code < TYPES.length; code++) {
+            if (TYPES[code].equals(type)) {
+                return code;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Décodeur d'un transfert reçu par morceaux, de taille quelconque, sur
+     * un canal non bloquant.
+     * <p>
+     * Chaque élément est attendu avec sa longueur connue d'avance : les
+     * octets reçus sont recopiés directement à leur place, sans être
+     * parcourus. Les limites du format sont vérifiées avant d'allouer la
+     * place d'un élément. Chaque morceau de contenu est déchiffré dès qu'il
+     * est complet, décompressé s'il y a lieu et écrit dans un fichier
+     * temporaire du dossier de réception : seul un morceau est gardé en
+     * mémoire. Comme la longueur d'un morceau, la taille du contenu écrit
+     * pour un fichier est bornée.
+     * </p>
+     * Les fichiers temporaires d'un transfert abandonné avant sa fin sont
+     * supprimés par {@link #abandonner()}. Ceux d'un transfert terminé
+     * appartiennent à qui récupère les {@link #getFichiers() fichiers reçus}.
+     */
+    public static class Decodeur {
+
+        /* Élément du transfert attendu */
+        private enum Attente {
+            EN_TETE, NB_FICHIERS, DEBUT_TRAME, NOM, LONGUEUR, MORCEAU, EMPREINTE, FIN
+        }
+
+        /* Dossier des fichiers temporaires de réception */
+        private final Path dossierReception;
+
+        /* Taille maximale du contenu en clair d'un fichier, en octets */
+        private final long tailleFichierMax;
+
+        /* Tampon des éléments de longueur fixe après l'en-tête, longueurs et
+           empreintes les plus longs */
+        private final ByteBuffer entier = ByteBuffer.allocate(4);
+
+        /* Tampon d'un morceau chiffré */
+        private final ByteBuffer morceau = ByteBuffer.allocate(LONGUEUR_MORCEAU_MAX);
+
+        /* Fichiers complets reçus */
+        private final List<FichierTransfere> fichiers = new ArrayList<>();
+
+        /* Clé secrète partagée avec l'expéditeur */
+        private BigInteger cle;
+
+        private Attente attente = Attente.EN_TETE;
+
+        /* Élément en cours de réception */
+        private ByteBuffer element = ByteBuffer.allocate(5);
+
+        /* Version du format annoncée par l'en-tête */
+        private int version;
+
+        /* Compression du contenu, null si le contenu n'est pas compressé */
+        private Compression compression;
+
+        /* Nombre de fichiers annoncé par l'en-tête */
+        private int nbFichiers;
+
+        /* Trame en cours de réception */
+        private int codeType;
+        private String nom;
+        private Path temporaire;
+        private OutputStream ecriture;
+        private final CRC32 crc = new CRC32();
+
+        /**
+         * Crée un décodeur écrivant les fichiers reçus dans un dossier.
+         *
+         * @param dossierReception Le dossier des fichiers temporaires de
+         *                         réception.
+         */
+        public Decodeur(Path dossierReception) {
+            this(dossierReception, TAILLE_FICHIER_MAX);
+        }
+
+        /**
+         * Crée un décodeur écrivant les fichiers reçus dans un dossier, et
+         * refusant les fichiers dont le contenu en clair dépasse une taille.
+         *
+         * @param dossierReception Le dossier des fichiers temporaires de
+         *                         réception.
+         * @param tailleFichierMax La taille maximale du contenu en clair
+         *                         d'un fichier, en octets.
+         */
+        public Decodeur(Path dossierReception, long tailleFichierMax) {
+            this.dossierReception = dossierReception;
+            this.tailleFichierMax = tailleFichierMax;
+        }
+
+        /**
+         * @param cle La clé secrète partagée avec l'expéditeur, connue
+         *            avant de recevoir le contenu des fichiers.
+         */
+        public synchronized void setCle(BigInteger cle) {
+            this.cle = cle;
+        }
+
+        /**
+         * Ajoute des octets reçus au transfert.
+         *
+         * @param octets Les octets reçus, consommés entièrement.
+         * @throws IllegalArgumentException Si les octets ne respectent pas
+         *                                  le format, ou si l'empreinte
+         *                                  d'un fichier est invalide.
+         * @throws IOException Si l'écriture d'un fichier reçu échoue.
+         */
+        public synchronized void ajouter(ByteBuffer octets) throws IOException {
+            while (octets.hasRemaining()) {
+                if (attente == Attente.FIN) {
+                    throw new IllegalArgumentException("Données reçues après "
+                                                       + "la fin du transfert.");
+                }
+                int nb = Math.min(octets.remaining(), element.remaining());
+                element.put(element.position(), octets, octets.position(), nb);
+                element.position(element.position() + nb);
+                octets.position(octets.position() + nb);
+                if (!element.hasRemaining()) {
+                    element.flip();
+                    elementRecu();
+                }
+            }
+        }
+
+        /*
+         * Interprète l'élément entièrement reçu et prépare la réception du
+         * suivant.
+         */
+        private void elementRecu() throws IOException {
+            switch (attente) {
+                case EN_TETE -> {
+                    if (element.getInt() != SIGNATURE) {
+                        throw new IllegalArgumentException("Transfert invalide.");
+                    }
+                    version = element.get();
+                    if (version != VERSION && version != VERSION_SANS_COMPRESSION) {
+                        throw new IllegalArgumentException("Version du format "
+                                + "de transfert non prise en charge : " + version);
+                    }
+                    element = ByteBuffer.allocate(version == VERSION ? 3 : 2);
+                    attente = Attente.NB_FICHIERS;
+                }
+                case NB_FICHIERS -> {
+                    if (version == VERSION) {
+                        int code = Byte.toUnsignedInt(element.get());
+                        if (code == 0 || code > COMPRESSIONS.size()) {
+                            throw new IllegalArgumentException("Compression "
+                                    + "inconnue : " + code);
+                        }
+                        compression = COMPRESSIONS.get(code - 1);
+                    }
+                    nbFichiers = Short.toUnsignedInt(element.getShort());
+                    if (nbFichiers == 0 || nbFichiers > NB_FICHIERS_MAX) {
+                        throw new IllegalArgumentException("Nombre de fichiers "
+                                + "invalide : " + nbFichiers);
+                    }
+                    attendre(Attente.DEBUT_TRAME, 3);
+                }
+                case DEBUT_TRAME -> {
+                    codeType = Byte.toUnsignedInt(element.get());
+                    int longueurNom = Short.toUnsignedInt(element.getShort());
+                    if (codeType >= TYPES.length
+                        || longueurNom > LONGUEUR_NOM_MAX) {
+                        throw new IllegalArgumentException("Trame invalide.");
+                    }
+                    element = ByteBuffer.allocate(longueurNom);
+                    attente = Attente.NOM;
+                    if (!element.hasRemaining()) {
+                        elementRecu();
+                    }
+                }
+                case NOM -> {
+                    nom = StandardCharsets.UTF_8.decode(element).toString();
+                    Files.createDirectories(dossierReception);
+                    temporaire = Files.createTempFile(dossierReception,
+                                                      "reception_",
+                                                      EXTENSION_RECEPTION);
+                    OutputStream fichier = new EcritureBornee(
+                            new CheckedOutputStream(
+                                    new BufferedOutputStream(
+                                            Files.newOutputStream(temporaire),
+                                            TAILLE_TAMPON),
+                                    crc),
+                            tailleFichierMax, nom);
+                    ecriture = compression == null
+                               ? fichier : compression.decompresser(fichier);
+                    crc.reset();
+                    attendre(Attente.LONGUEUR, 4);
+                }
+                case LONGUEUR -> {
+                    int longueur = element.getInt();
+                    if (longueur < 0 || longueur > LONGUEUR_MORCEAU_MAX) {
+                        throw new IllegalArgumentException("Longueur de "
+                                + "morceau invalide : " + longueur);
+                    }
+                    if (longueur == 0) {
+                        attendre(Attente.EMPREINTE, 4);
+                    } else {
+                        attente = Attente.MORCEAU;
+                        element = morceau.clear().limit(longueur);
+                    }
+                }
+                case MORCEAU -> {
+                    if (cle == null) {
+                        throw new IllegalArgumentException("Fichier reçu "
+                                + "avant l'échange des clés.");
+                    }
+                    // le contenu compressé est chiffré octet par octet
+                    Charset codage = compression == null
+                                     ? StandardCharsets.UTF_8
+                                     : StandardCharsets.ISO_8859_1;
+                    String texte = Vigenere.dechiffrementDonnees(
+                            codage.decode(element).toString(), cle);
+                    try {
+                        ecriture.write(texte.getBytes(codage));
+                    } catch (ZipException e) {
+                        throw new IllegalArgumentException("Contenu compressé "
+                                + "invalide pour le fichier " + nom, e);
+                    }
+                    attendre(Attente.LONGUEUR, 4);
+                }
+                case EMPREINTE -> {
+                    try {
+                        ecriture.close();
+                    } catch (ZipException e) {
+                        throw new IllegalArgumentException("Contenu compressé "
+                                + "invalide pour le fichier " + nom, e);
+                    } finally {
+                        ecriture = null;
+                    }
+                    if (element.getInt() != (int) crc.getValue()) {
+                        throw new IllegalArgumentException("Empreinte invalide "
+                                + "pour le fichier " + nom);
+                    }
+                    fichiers.add(new FichierTransfere(nom, TYPES[codeType],
+                                                      temporaire,
+                                                      Files.size(temporaire)));
+                    temporaire = null;
+                    if (fichiers.size() == nbFichiers) {
+                        attente = Attente.FIN;
+                    } else {
+                        attendre(Attente.DEBUT_TRAME, 3);
+                    }
+                }
+                default -> throw new IllegalStateException();
+            }
+        }
+
+        /*
+         * Prépare la réception d'un élément de longueur fixe.
+         */
+        private void attendre(Attente suivante, int longueur) {
+            attente = suivante;
+            element = entier.clear().limit(longueur);
+        }
+
+        /**
+         * Abandonne un transfert qui n'est pas terminé : ses fichiers
+         * temporaires, complets ou non, sont supprimés. Sans effet sur un
+         * transfert terminé.
+         */
+        public synchronized void abandonner() {
+            if (attente == Attente.FIN) {
+                return;
+            }
+            try {
+                if (ecriture != null) {
+                    ecriture.close();
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                // contenu incomplet ou trop volumineux, supprimé ci-dessous
+            }
+            ecriture = null;
+            try {
+                if (temporaire != null) {
+                    Files.deleteIfExists(temporaire);
+                    temporaire = null;
+                }
+            } catch (IOException e) {
+                System.err.println("[RECEPTION] Fichier temporaire non "
+                                   + "supprimé : " + e.getMessage());
+            }
+            for (FichierTransfere fichier : fichiers) {
+                fichier.supprimer();
+            }
+            fichiers.clear();
+        }
+
+        /**
+         * @return true si tous les fichiers annoncés ont été reçus.
+         */
+        public synchronized boolean estTermine() {
+            return attente == Attente.FIN;
+        }
+
+        /**
+         * @return Les fichiers complets reçus, dans l'ordre de l'envoi.
+         */
+        public synchronized List<FichierTransfere> getFichiers() {
+            return List.copyOf(fichiers);
+        }
+    }
+
+    /*
+     * Écriture du contenu en clair d'un fichier reçu, qui compte les octets
+     * écrits et refuse ceux qui dépassent la taille maximale d'un fichier.
+     */
+    private static final class EcritureBornee extends FilterOutputStream {
+
+        private final long tailleMax;
+        private final String nom;
+        private long taille;
+
+        EcritureBornee(OutputStream sortie, long tailleMax, String nom) {
+            super(sortie);
+            this.tailleMax = tailleMax;
+            this.nom = nom;
+        }
+
+        @Override
+        public void write(int octet) throws IOException {
+            compter(1);
+            out.write(octet);
+        }
+
+        @Override
+        public void write(byte[] octets, int debut, int longueur) throws IOException {
+            compter(longueur);
+            out.write(octets, debut, longueur);
+        }
+
+        private void compter(int longueur) {
+            taille += longueur;
+            if (taille > tailleMax) {
+                throw new IllegalArgumentException("Fichier " + nom
+                        + " trop volumineux : plus de " + tailleMax + " octets.");
+            }
+        }
+    }
+}
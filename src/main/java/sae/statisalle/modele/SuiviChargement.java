@@ -0,0 +1,52 @@
+/*
+ * SuiviChargement.java              17/10/2026
+ * Pas de droits d'auteur ni de copyright
+ */
+package sae.statisalle.modele;
+
+/**
+ * Interface permettant de suivre la lecture des fichiers CSV.
+ * Elle est informée de l'avancement de la lecture, fichier par fichier,
+ * et peut demander l'interruption du chargement.
+ * Les fichiers étant lus en même temps, ses méthodes peuvent être
+ * appelées depuis plusieurs threads ; {@link #progression} n'est
+ * cependant jamais appelée par deux threads à la fois.
+ * @author erwan.thierry
+ */
+public interface SuiviChargement {
+
+    /**
+     * Suivi qui ignore l'avancement et ne demande jamais d'interruption,
+     * utilisé pour un chargement sans affichage de la progression.
+     */
+    SuiviChargement AUCUN = new SuiviChargement() {
+        @Override
+        public void progression(String nomFichier, int nbLignesLues,
+                                int numeroFichier, int nbFichiers) {
+            // aucun suivi
+        }
+
+        @Override
+        public boolean estAnnule() {
+            return false;
+        }
+    };
+
+    /**
+     * Informe de l'avancement de la lecture du fichier courant.
+     *
+     * @param nomFichier Le nom du fichier en cours de lecture.
+     * @param nbLignesLues Le nombre de lignes de ce fichier déjà lues.
+     * @param numeroFichier Le nombre de fichiers entièrement lus.
+     * @param nbFichiers Le nombre total de fichiers à lire.
+     */
+    void progression(String nomFichier, int nbLignesLues,
+                     int numeroFichier, int nbFichiers);
+
+    /**
+     * Indique si le chargement doit être interrompu.
+     *
+     * @return true si le chargement a été annulé, false sinon.
+     */
+    boolean estAnnule();
+}
@@ -0,0 +1,165 @@
+/*
+ * SurveillanceDossier.java             17/10/2026
+ * IUT DE RODEZ                         Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Surveillance des fichiers CSV d'un dossier.
+ * <p>
+ * Un thread en arrière-plan attend les événements du système de fichiers
+ * (création, modification et suppression) sur le dossier, sans le
+ * parcourir. L'écriture d'un fichier produisant une rafale d'événements,
+ * et une réception ou une importation écrivant plusieurs fichiers à la
+ * suite, les événements sont regroupés : l'action n'est exécutée qu'une
+ * fois le dossier resté inchangé pendant un délai, avec la liste des
+ * fichiers concernés, chacun une seule fois.
+ * </p>
+ * Si le système a perdu des événements, la liste des fichiers modifiés
+ * n'est pas connue : l'action de débordement est exécutée à la place.
+ * Les actions sont exécutées sur le thread de surveillance.
+ *
+ * @author erwan.thierry
+ */
+public class SurveillanceDossier implements AutoCloseable {
+
+    /** Délai sans événement, en millisecondes, avant de signaler les
+        fichiers modifiés. */
+    public static final long DELAI_REGROUPEMENT = 500;
+
+    /* Les événements d'une écriture continue sont signalés au plus tard
+       après ce nombre de délais */
+    private static final int NB_DELAIS_MAXIMAL = 10;
+
+    /* Extension des fichiers surveillés */
+    private static final String EXTENSION = ".csv";
+
+    /* Dossier surveillé */
+    private final Path dossier;
+
+    /* Délai de regroupement des événements, en millisecondes */
+    private final long delai;
+
+    /* Actions exécutées lorsque des fichiers ont été modifiés */
+    private final Consumer<List<String>> siModifies;
+    private final Runnable siDebordement;
+
+    /* Service recevant les événements du dossier */
+    private final WatchService service;
+
+    /* Thread de surveillance */
+    private final Thread thread;
+
+    /**
+     * Crée la surveillance d'un dossier. Les événements ne sont reçus
+     * qu'à partir de cet appel, mais les actions ne sont exécutées qu'une
+     * fois la surveillance démarrée.
+     *
+     * @param dossier Le dossier à surveiller.
+     * @param delai Le délai sans événement, en millisecondes, avant de
+     *              signaler les fichiers modifiés.
+     * @param siModifies L'action recevant les chemins des fichiers CSV
+     *                   créés, modifiés ou supprimés.
+     * @param siDebordement L'action à exécuter lorsque des événements ont
+     *                      été perdus.
+     * @throws IOException si le dossier ne peut pas être surveillé.
+     */
+    public SurveillanceDossier(Path dossier, long delai,
+                               Consumer<List<String>> siModifies,
+                               Runnable siDebordement) throws IOException {
+        this.dossier = dossier;
+        this.delai = delai;
+        this.siModifies = siModifies;
+        this.siDebordement = siDebordement;
+        service = dossier.getFileSystem().newWatchService();
+        try {
+            dossier.register(service,
+                             StandardWatchEventKinds.ENTRY_CREATE,
+                             StandardWatchEventKinds.ENTRY_MODIFY,
+                             StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            service.close();
+            throw e;
+        }
+        thread = new Thread(this::surveiller, "surveillance-" + dossier.getFileName());
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Démarre le thread de surveillance.
+     */
+    public void demarrer() {
+        thread.start();
+    }
+
+    /**
+     * Arrête la surveillance. Les événements en attente de regroupement
+     * ne sont pas signalés.
+     */
+    @Override
+    public void close() {
+        try {
+            service.close();
+        } catch (IOException e) {
+            System.err.println("Erreur lors de l'arrêt de la surveillance : "
+                               + e.getMessage());
+        }
+    }
+
+    /*
+     * Attend un premier événement, puis regroupe les suivants jusqu'à ce
+     * que le dossier reste inchangé pendant le délai.
+     */
+    private void surveiller() {
+        try {
+            while (true) {
+                WatchKey cle = service.take();
+                Set<String> chemins = new LinkedHashSet<>();
+                boolean debordement = false;
+                long limite = System.currentTimeMillis() + NB_DELAIS_MAXIMAL * delai;
+                while (cle != null) {
+                    for (WatchEvent<?> evenement : cle.pollEvents()) {
+                        if (evenement.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            debordement = true;
+                        } else {
+                            String nom = evenement.context().toString();
+                            if (nom.toLowerCase().endsWith(EXTENSION)) {
+                                chemins.add(dossier.resolve(nom).toString());
+                            }
+                        }
+                    }
+                    if (!cle.reset()) {
+                        // le dossier n'est plus accessible
+                        return;
+                    }
+                    long restant = limite - System.currentTimeMillis();
+                    cle = restant <= 0 ? null
+                                       : service.poll(Math.min(delai, restant),
+                                                      TimeUnit.MILLISECONDS);
+                }
+
+                if (debordement) {
+                    siDebordement.run();
+                } else if (!chemins.isEmpty()) {
+                    siModifies.accept(new ArrayList<>(chemins));
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // la surveillance est arrêtée
+        }
+    }
+}
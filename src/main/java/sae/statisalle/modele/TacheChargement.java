@@ -0,0 +1,167 @@
+/*
+ * TacheChargement.java              17/10/2026
+ * IUT DE RODEZ                      Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import sae.statisalle.modele.objet.Activite;
+import sae.statisalle.modele.objet.Employe;
+import sae.statisalle.modele.objet.Reservation;
+import sae.statisalle.modele.objet.Salle;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Tâche de chargement des fichiers CSV exécutée en arrière-plan.
+ * <p>
+ * La lecture des fichiers et le rattachement des réservations sont
+ * réalisés hors du thread JavaFX, de même que la détection des
+ * réservations qui se chevauchent. L'avancement (nombre de lignes lues pour
+ * chaque fichier) est publié dans les propriétés message et progress de
+ * la tâche, et la tâche peut être annulée à tout moment.
+ * </p>
+ * Une fois la lecture terminée, les données sont publiées dans les listes
+ * observables par lots : l'interface est redessinée entre deux lots et
+ * reste réactive quel que soit le volume de données.
+ *
+ * @author erwan.thierry
+ */
+public class TacheChargement extends Task<DonneesChargees>
+                             implements SuiviChargement {
+
+    /* Nombre de réservations ajoutées aux listes affichées à chaque lot */
+    private static final int TAILLE_LOT = 5000;
+
+    /* Chemin du dossier à charger */
+    private final String dossier;
+
+    /* Chemin de l'instantané des fichiers lus, null si aucun */
+    private final Path instantane;
+
+    /* Listes dans lesquelles les données sont publiées */
+    private final ObservableList<Employe> listEmploye;
+    private final ObservableList<Salle> listSalle;
+    private final ObservableList<Activite> listActivite;
+    private final ObservableList<Reservation> listReservation;
+
+    /**
+     * Crée une tâche de chargement du dossier vers les listes fournies.
+     *
+     * @param dossier Le chemin du dossier contenant les fichiers CSV.
+     * @param listEmploye La liste à remplir avec les employés.
+     * @param listSalle La liste à remplir avec les salles.
+     * @param listActivite La liste à remplir avec les activités.
+     * @param listReservation La liste à remplir avec les réservations.
+     */
+    public TacheChargement(String dossier,
+                           ObservableList<Employe> listEmploye,
+                           ObservableList<Salle> listSalle,
+                           ObservableList<Activite> listActivite,
+                           ObservableList<Reservation> listReservation) {
+        this(dossier, null, listEmploye, listSalle, listActivite, listReservation);
+    }
+
+    /**
+     * Crée une tâche de chargement du dossier vers les listes fournies, qui
+     * ne relit que les fichiers modifiés depuis l'instantané enregistré
+     * lors du chargement précédent.
+     *
+     * @param dossier Le chemin du dossier contenant les fichiers CSV.
+     * @param instantane Le chemin de l'instantané des fichiers lus, ou null
+     *                   pour relire tous les fichiers.
+     * @param listEmploye La liste à remplir avec les employés.
+     * @param listSalle La liste à remplir avec les salles.
+     * @param listActivite La liste à remplir avec les activités.
+     * @param listReservation La liste à remplir avec les réservations.
+     */
+    public TacheChargement(String dossier, Path instantane,
+                           ObservableList<Employe> listEmploye,
+                           ObservableList<Salle> listSalle,
+                           ObservableList<Activite> listActivite,
+                           ObservableList<Reservation> listReservation) {
+        this.dossier = dossier;
+        this.instantane = instantane;
+        this.listEmploye = listEmploye;
+        this.listSalle = listSalle;
+        this.listActivite = listActivite;
+        this.listReservation = listReservation;
+    }
+
+    @Override
+    protected DonneesChargees call() throws Exception {
+        updateMessage("Lecture des fichiers...");
+        DonneesChargees donnees = LireFichier.lireDossier(dossier, this, instantane);
+        if (isCancelled()) {
+            return null;
+        }
+
+        // Les conflits sont détectés avant la publication, tant que les
+        // salles et les employés ne sont modifiés que par cette tâche
+        updateMessage("Détection des conflits...");
+        donnees.setConflits(new ConflitsReservations(
+                ConflitsReservations.reservationsParSalle(donnees.getSalles()),
+                ConflitsReservations.reservationsParEmploye(donnees.getEmployes())));
+
+        // les listes de référence sont petites : publiées en une fois
+        executerSurThreadJavaFX(() -> {
+            listReservation.clear();
+            listEmploye.setAll(donnees.getEmployes());
+            listSalle.setAll(donnees.getSalles());
+            listActivite.setAll(donnees.getActivites());
+        });
+
+        List<Reservation> reservations = donnees.getReservations();
+        for (int debut = 0; debut < reservations.size(); debut += TAILLE_LOT) {
+            if (isCancelled()) {
+                return null;
+            }
+            int fin = Math.min(debut + TAILLE_LOT, reservations.size());
+            List<Reservation> lot = reservations.subList(debut, fin);
+            executerSurThreadJavaFX(() -> listReservation.addAll(lot));
+
+            updateMessage("Affichage des réservations : " + fin + " / "
+                          + reservations.size());
+            updateProgress(fin, reservations.size());
+        }
+
+        updateMessage("Données chargées");
+        return donnees;
+    }
+
+    /**
+     * Exécute une action sur le thread JavaFX et attend qu'elle soit
+     * terminée, ce qui laisse l'interface se redessiner entre deux lots.
+     *
+     * @param action L'action à exécuter.
+     * @throws InterruptedException si la tâche est annulée pendant l'attente.
+     */
+    protected static void executerSurThreadJavaFX(Runnable action)
+            throws InterruptedException {
+        CountDownLatch terminee = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                action.run();
+            } finally {
+                terminee.countDown();
+            }
+        });
+        terminee.await();
+    }
+
+    @Override
+    public void progression(String nomFichier, int nbLignesLues,
+                            int numeroFichier, int nbFichiers) {
+        updateMessage(nomFichier + " : " + nbLignesLues + " lignes lues");
+        updateProgress(numeroFichier, nbFichiers);
+    }
+
+    @Override
+    public boolean estAnnule() {
+        return isCancelled();
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * TacheMiseAJour.java               17/10/2026
+ * IUT DE RODEZ                      Pas de copyrights
+ */
+package sae.statisalle.modele;
+
+import javafx.collections.ObservableList;
+import sae.statisalle.modele.objet.Activite;
+import sae.statisalle.modele.objet.Employe;
+import sae.statisalle.modele.objet.Reservation;
+import sae.statisalle.modele.objet.Salle;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tâche de mise à jour des données après l'écriture ou la suppression de
+ * fichiers de réservations dans le dossier de données, exécutée en
+ * arrière-plan.
+ * <p>
+ * Seuls les fichiers écrits sont lus. Les réservations qu'un fichier
+ * contenait lors de la lecture précédente sont retirées, les nouvelles
+ * réservations ajoutées : le stockage par colonnes, son index et ses
+ * agrégats sont complétés en un temps proportionnel au nombre de
+ * réservations modifiées, sans relire ni recalculer tout l'historique.
+ * </p>
+ * Lorsque les modifications accumulées dépassent une part du stockage,
+ * celui-ci est reconstruit une fois, ce qui garde les filtres et les
+ * totaux aussi rapides qu'après un chargement complet.
+ * Les conflits des seules salles et employés concernés par les
+ * réservations modifiées sont recalculés, en arrière-plan.
+ *
+ * @author erwan.thierry
+ */
+public class TacheMiseAJour extends TacheChargement {
+
+    /* Le stockage est reconstruit lorsque plus d'une ligne sur
+       DIVISEUR_MODIFICATIONS a été modifiée depuis sa construction */
+    private static final int DIVISEUR_MODIFICATIONS = 8;
+
+    /* Chemins des fichiers écrits */
+    private final List<String> fichiers;
+
+    /* État des données au lancement de la mise à jour */
+    private final ColonnesReservations colonnes;
+    private final Map<String, int[]> lignesParFichier;
+    private final ConflitsReservations conflits;
+
+    /* Listes dans lesquelles les modifications sont publiées */
+    private final ObservableList<Employe> listEmploye;
+    private final ObservableList<Salle> listSalle;
+    private final ObservableList<Activite> listActivite;
+    private final ObservableList<Reservation> listReservation;
+
+    /**
+     * Crée une tâche de mise à jour des données chargées.
+     *
+     * @param fichiers Les chemins des fichiers de réservations écrits ou
+     *                 supprimés.
+     * @param colonnes Le stockage par colonnes des données chargées.
+     * @param lignesParFichier Les lignes occupées par chaque fichier dans
+     *                         ce stockage.
+     * @param conflits Les index et conflits des données chargées.
+     * @param listEmploye Les employés chargés.
+     * @param listSalle Les salles chargées.
+     * @param listActivite Les activités chargées.
+     * @param listReservation Les réservations chargées, à mettre à jour.
+     */
+    public TacheMiseAJour(List<String> fichiers, ColonnesReservations colonnes,
+                          Map<String, int[]> lignesParFichier,
+                          ConflitsReservations conflits,
+                          ObservableList<Employe> listEmploye,
+                          ObservableList<Salle> listSalle,
+                          ObservableList<Activite> listActivite,
+                          ObservableList<Reservation> listReservation) {
+        super(EntrepotDonnees.DOSSIER_CSV, listEmploye, listSalle,
+              listActivite, listReservation);
+        this.fichiers = List.copyOf(fichiers);
+        this.colonnes = colonnes;
+        // Les lignes sont copiées : elles sont renumérotées si le stockage
+        // est reconstruit
+        this.lignesParFichier = new HashMap<>();
+        lignesParFichier.forEach((nom, lignes) ->
+                this.lignesParFichier.put(nom, lignes.clone()));
+        this.conflits = conflits;
+        this.listEmploye = listEmploye;
+        this.listSalle = listSalle;
+        this.listActivite = listActivite;
+        this.listReservation = listReservation;
+    }
+
+    @Override
+    protected DonneesChargees call() throws Exception {
+        DonneesChargees resultat = new DonneesChargees();
+        ColonnesReservations version = colonnes;
+        List<Reservation> retirees = new ArrayList<>();
+        List<Reservation> ajoutees = new ArrayList<>();
+        // Plages des réservations retirées de chaque fichier : position
+        // dans la liste affichée, position dans les réservations retirées
+        // et nombre de réservations
+        List<int[]> plagesRetirees = new ArrayList<>();
+
+        for (int i = 0; i < fichiers.size(); i++) {
+            if (isCancelled()) {
+                return null;
+            }
+            String nomFichier = new File(fichiers.get(i)).getName();
+            updateMessage("Mise à jour : " + nomFichier);
+            updateProgress(i, fichiers.size());
+
+            // un fichier supprimé n'a plus de réservations
+            DonneesChargees lues = new File(fichiers.get(i)).exists()
+                                   ? LireFichier.lireFichierReservations(fichiers.get(i))
+                                   : new DonneesChargees();
+            resultat.getFichiersInvalides().addAll(lues.getFichiersInvalides());
+
+            // Lignes des réservations que le fichier contenait
+            int[] anciennes = lignesParFichier.get(nomFichier);
+            int[] lignesRetirees = anciennes == null
+                                   ? new int[0] : new int[anciennes[1] - anciennes[0]];
+            List<Reservation> retireesFichier = new ArrayList<>(lignesRetirees.length);
+            for (int j = 0; j < lignesRetirees.length; j++) {
+                lignesRetirees[j] = anciennes[0] + j;
+                retireesFichier.add(version.getReservation(lignesRetirees[j]));
+            }
+
+            // Le rattachement modifie les salles, employés et activités
+            // affichés : il est fait sur le thread JavaFX
+            List<Reservation> nouvelles = lues.getReservations();
+            executerSurThreadJavaFX(() -> {
+                LireFichier.detacherReservations(listEmploye, listSalle,
+                                                 listActivite, retireesFichier);
+                LireFichier.associerReservations(listEmploye, listSalle,
+                                                 listActivite, nouvelles)
+                        .forEach((reference, nombre) -> resultat
+                                .getReferencesNonResolues()
+                                .merge(reference, nombre, Integer::sum));
+            });
+
+            int premiereLigne = version.taille();
+            version = version.modifier(lignesRetirees, nouvelles);
+            lignesParFichier.remove(nomFichier);
+            if (!nouvelles.isEmpty()) {
+                lignesParFichier.put(nomFichier,
+                                     new int[] {premiereLigne, version.taille()});
+            }
+            if (!retireesFichier.isEmpty()) {
+                plagesRetirees.add(new int[] {
+                    anciennes[0] - colonnes.nbRetireesAvant(anciennes[0]),
+                    retirees.size(), retireesFichier.size()
+                });
+            }
+            retirees.addAll(retireesFichier);
+            ajoutees.addAll(nouvelles);
+        }
+
+        if (version.nbModifications() > version.taille() / DIVISEUR_MODIFICATIONS) {
+            updateMessage("Reconstruction de l'index...");
+            version = compacter(version);
+        }
+
+        // Salles et employés dont les réservations ont changé
+        Set<String> salles = new HashSet<>();
+        Set<String> employes = new HashSet<>();
+        for (List<Reservation> modifiees : List.of(retirees, ajoutees)) {
+            for (Reservation reservation : modifiees) {
+                salles.add(reservation.getSalleR());
+                employes.add(reservation.getEmployeR());
+            }
+        }
+
+        // Les réservations affichées ne sont pas relues : seules les
+        // réservations modifiées sont retirées ou ajoutées. Les réservations
+        // des salles et employés concernés sont copiées sur le thread
+        // JavaFX, qui les modifie, puis indexées en arrière-plan
+        Map<String, List<Reservation>> reservationsParSalle = new HashMap<>();
+        Map<String, List<Reservation>> reservationsParEmploye = new HashMap<>();
+        executerSurThreadJavaFX(() -> {
+            retirer(plagesRetirees, retirees);
+            listReservation.addAll(ajoutees);
+            reservationsParSalle.putAll(ConflitsReservations.reservationsParSalle(
+                    listSalle.filtered(salle -> salles.contains(salle.getNom()))));
+            reservationsParEmploye.putAll(ConflitsReservations.reservationsParEmploye(
+                    listEmploye.filtered(employe -> employes.contains(employe.getNomPrenom()))));
+        });
+
+        updateMessage("Détection des conflits...");
+        resultat.setConflits(conflits.modifier(reservationsParSalle,
+                                               reservationsParEmploye));
+
+        resultat.getReservations().addAll(ajoutees);
+        resultat.setColonnes(version);
+        resultat.setLignesParFichier(lignesParFichier);
+        updateMessage("Données mises à jour");
+        updateProgress(1, 1);
+        return resultat;
+    }
+
+    /*
+     * Retire de la liste affichée les réservations des fichiers relus.
+     * La liste suit l'ordre des lignes présentes du stockage : celles d'un
+     * fichier y occupent des positions consécutives et chaque plage est
+     * retirée d'un bloc, en partant de la fin. Si la liste a été réordonnée
+     * par un tableau qui l'affiche, les réservations y sont recherchées.
+     */
+    private void retirer(List<int[]> plages, List<Reservation> retirees) {
+        plages.sort(Comparator.comparingInt((int[] plage) -> plage[0]).reversed());
+        for (int[] plage : plages) {
+            if (!estEnPlace(plage, retirees)) {
+                listReservation.removeAll(new HashSet<>(retirees));
+                return;
+            }
+        }
+        for (int[] plage : plages) {
+            listReservation.remove(plage[0], plage[0] + plage[2]);
+        }
+    }
+
+    /*
+     * Indique si les réservations d'une plage occupent bien sa position
+     * dans la liste affichée.
+     */
+    private boolean estEnPlace(int[] plage, List<Reservation> retirees) {
+        if (plage[0] + plage[2] > listReservation.size()) {
+            return false;
+        }
+        for (int i = 0; i < plage[2]; i++) {
+            if (listReservation.get(plage[0] + i) != retirees.get(plage[1] + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Reconstruit le stockage et renumérote les lignes de chaque fichier,
+     * qui ne contiennent aucune ligne retirée.
+     */
+    private ColonnesReservations compacter(ColonnesReservations version) {
+        for (int[] lignes : lignesParFichier.values()) {
+            int decalage = version.nbRetireesAvant(lignes[0]);
+            lignes[0] -= decalage;
+            lignes[1] -= decalage;
+        }
+        return version.compacter();
+    }
+}
@@ -2,6 +2,7 @@ package sae.statisalle.modele;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -28,8 +29,15 @@ public class Vigenere {
      * Liste des caractères utilisés comme alphabet
      * pour le chiffrement/déchiffrement.
      * (public pour les tests)
+     * L'alphabet n'est publié qu'une fois complet, car plusieurs connexions
+     * peuvent chiffrer ou déchiffrer en même temps.
      */
-    public static List<Character> alphabet;
+    public static volatile List<Character> alphabet;
+
+    /* Caractères de l'alphabet, et position dans l'alphabet de chaque
+       caractère indexée par son code (-1 s'il n'en fait pas partie) */
+    private static char[] caracteres;
+    private static int[] positions;
 
     /**
      * Chiffre une chaîne de données en utilisant une clé numérique.
@@ -40,29 +48,7 @@ public class Vigenere {
      * @return une chaîne représentant les données chiffrées.
      */
     public static String chiffrementDonnees(String donnees, BigInteger cle) {
-        StringBuilder messChiffre = new StringBuilder();
-        creerAlphabet();
-        BigInteger cleAjustee = ajusterTailleCle(donnees, cle);
-        BigInteger tailleAlphabet = BigInteger.valueOf(alphabet.size());
-
-        for (int i = 0; i < donnees.length(); i++) {
-            char caractere = donnees.charAt(i);
-            int codeDonnees = alphabet.indexOf(caractere);
-
-            if (codeDonnees != -1) {
-                BigInteger codeCle = cleAjustee.mod(tailleAlphabet);
-                BigInteger codeDonneesBI = BigInteger.valueOf(codeDonnees);
-                BigInteger codeCharChiffre = codeDonneesBI.add(codeCle)
-                                                          .mod(tailleAlphabet);
-                messChiffre.append(alphabet.get(codeCharChiffre.intValue()));
-            } else {
-                messChiffre.append(caractere);
-            }
-
-            // décale la clé
-            cleAjustee = cleAjustee.divide(BigInteger.TEN);
-        }
-        return messChiffre.toString();
+        return decaler(donnees, cle, 1);
     }
 
     /**
@@ -74,36 +60,96 @@ public class Vigenere {
      * @return une chaîne représentant les données déchiffrées.
      */
     public static String dechiffrementDonnees(String donnees, BigInteger cle) {
-        StringBuilder messDechiffre = new StringBuilder();
-        creerAlphabet();
+        return decaler(donnees, cle, -1);
+    }
+
+    /*
+     * Décale dans l'alphabet chaque caractère des données, dans le sens
+     * donné (1 pour chiffrer, -1 pour déchiffrer).
+     *
+     * Le décalage du caractère i est le reste, modulo la taille de
+     * l'alphabet, de la clé ajustée divisée par 10^i : c'est-à-dire du
+     * nombre formé par ses n - i premiers chiffres. Ces restes sont calculés
+     * de proche en proche sur les chiffres de la clé, sans construire la
+     * clé ajustée ni la diviser à chaque caractère : le coût est linéaire
+     * en la longueur des données, ce qui permet de chiffrer un fichier par
+     * morceaux aussi gros soient-ils.
+     */
+    private static String decaler(String donnees, BigInteger cle, int sens) {
+        if (cle != null && cle.signum() < 0) {
+            // le signe fait partie de la clé ajustée : calcul d'origine
+            return decalerCleNegative(donnees, cle, sens);
+        }
+        if (alphabet == null) {
+            creerAlphabet();
+        }
+        char[] caracteres = Vigenere.caracteres;
+        int[] positions = Vigenere.positions;
+        int taille = caracteres.length;
+
+        int longueur = donnees.length();
+        int[] restes = restesCle(longueur, cle, taille);
+        char[] resultat = new char[longueur];
+        for (int i = 0; i < longueur; i++) {
+            char caractere = donnees.charAt(i);
+            int position = caractere < positions.length ? positions[caractere] : -1;
+            resultat[i] = position < 0
+                          ? caractere
+                          : caracteres[Math.floorMod(
+                                position + sens * restes[longueur - 1 - i],
+                                taille)];
+        }
+        return new String(resultat);
+    }
+
+    /*
+     * Restes, modulo la taille de l'alphabet, des nombres formés par les
+     * j + 1 premiers chiffres de la clé répétée, pour j de 0 à longueur - 1.
+     */
+    private static int[] restesCle(int longueur, BigInteger cle, int taille) {
+        int[] restes = new int[longueur];
+        if (cle == null || longueur == 0) {
+            return restes;
+        }
+        String chiffres = cle.toString();
+        int reste = 0;
+        for (int j = 0; j < longueur; j++) {
+            reste = (reste * 10 + chiffres.charAt(j % chiffres.length()) - '0')
+                    % taille;
+            restes[j] = reste;
+        }
+        return restes;
+    }
+
+    /*
+     * Calcul d'origine, sur la clé ajustée, conservé pour une clé négative.
+     */
+    private static String decalerCleNegative(String donnees, BigInteger cle,
+                                             int sens) {
+        StringBuilder resultat = new StringBuilder();
+        if (alphabet == null) {
+            creerAlphabet();
+        }
+        List<Character> alphabet = Vigenere.alphabet;
         BigInteger cleAjustee = ajusterTailleCle(donnees, cle);
         BigInteger tailleAlphabet = BigInteger.valueOf(alphabet.size());
 
         for (int i = 0; i < donnees.length(); i++) {
             char caractere = donnees.charAt(i);
-            int codeDonnees = alphabet.indexOf(caractere);
-
-            if (codeDonnees != -1) {
+            int code = alphabet.indexOf(caractere);
+            if (code != -1) {
                 BigInteger codeCle = cleAjustee.mod(tailleAlphabet);
-                BigInteger codeDonneesBI = BigInteger.valueOf(codeDonnees);
-                BigInteger codeCharDechiffre = codeDonneesBI.subtract(codeCle)
-                                                          .mod(tailleAlphabet);
-
-                // gestion des indices négatifs dans modulo
-                if (codeCharDechiffre.compareTo(BigInteger.ZERO) < 0) {
-                    codeCharDechiffre = codeCharDechiffre.add(tailleAlphabet);
-                }
-
-                messDechiffre.append(alphabet.get(
-                                                codeCharDechiffre.intValue()));
+                BigInteger codeDecale = sens > 0
+                        ? BigInteger.valueOf(code).add(codeCle)
+                        : BigInteger.valueOf(code).subtract(codeCle);
+                resultat.append(alphabet.get(codeDecale.mod(tailleAlphabet)
+                                                       .intValue()));
             } else {
-                messDechiffre.append(caractere);
+                resultat.append(caractere);
             }
-
-            // décale la clé
             cleAjustee = cleAjustee.divide(BigInteger.TEN);
         }
-        return messDechiffre.toString();
+        return resultat.toString();
     }
 
     /**
@@ -117,7 +163,7 @@ public class Vigenere {
         //            tous les tests.
         // -----------
 
-        alphabet = new ArrayList<>();
+        List<Character> alphabet = new ArrayList<>();
 
         // lettres minuscules et majuscules
         for (char c = 'a'; c <= 'z'; c++) {
@@ -158,6 +204,23 @@ public class Vigenere {
         alphabet.add(' ');
         alphabet.add('`');
         alphabet.add('~');
+
+        char[] caracteres = new char[alphabet.size()];
+        char max = 0;
+        for (int i = 0; i < caracteres.length; i++) {
+            caracteres[i] = alphabet.get(i);
+            max = (char) Math.max(max, caracteres[i]);
+        }
+        int[] positions = new int[max + 1];
+        Arrays.fill(positions, -1);
+        for (int i = caracteres.length - 1; i >= 0; i--) {
+            positions[caracteres[i]] = i;
+        }
+
+        // les tables sont publiées avant la liste, dont dépend leur lecture
+        Vigenere.caracteres = caracteres;
+        Vigenere.positions = positions;
+        Vigenere.alphabet = alphabet;
     }
 
     /**
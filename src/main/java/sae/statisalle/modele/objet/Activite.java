@@ -48,6 +48,9 @@ public class Activite {
     /* Listes des différentes réservations */
     private ObservableList<Reservation> listReservation ;
 
+    /* Durée totale réservée, calculée dans les données calculées */
+    String dureeTotale;
+
     /**
      * Constructeur pour initialiser une nouvelle
      * activité avec son type et son identifiant.
@@ -110,12 +113,10 @@ public class Activite {
                 .orElse("Aucune activité");
     }
 
-//    // 2. Calculer le temps total pour l'activité
-//    public int getTempsTotal() {
-//        return reservations.stream()
-//                .mapToInt(Reservation::getDuree)
-//                .sum();
-//    }
+    // 2. Obtenir le temps total pour l'activité
+    public String getDureeTotale() {
+        return dureeTotale;
+    }
 
     // 3. Obtenir les noms des employés participant à l'activité
     public String getEmployeAssocies() {
@@ -143,4 +144,8 @@ public class Activite {
     public void setType(String type) {
         this.type = type;
     }
+
+    public void setDureeTotale(String dureeTotale) {
+        this.dureeTotale = dureeTotale;
+    }
 }
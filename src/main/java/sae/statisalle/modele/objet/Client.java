@@ -4,15 +4,20 @@
  */
 package sae.statisalle.modele.objet;
 
+import sae.statisalle.modele.Compression;
 import sae.statisalle.modele.Connexion;
+import sae.statisalle.modele.ProtocoleTransfert;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.math.BigInteger;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.nio.file.Path;
+import java.util.List;
 
 /**
  * La classe Client implémente l'interface Connexion pour établir
@@ -25,6 +30,11 @@ import java.net.Socket;
  */
 public class Client implements Connexion {
 
+    /**
+     * Délai d'attente maximal d'une réponse du serveur, en millisecondes.
+     */
+    public static final int DELAI_REPONSE = 30_000;
+
     /**
      * Le socket utilisé pour la connexion réseau du client.
      */
@@ -40,10 +50,41 @@ public class Client implements Connexion {
      */
     private PrintWriter fluxSortie;
 
+    /**
+     * Compressions acceptées par le client, dans l'ordre de préférence.
+     */
+    private final List<Compression> compressions;
+
+    /**
+     * Compression choisie parmi celles annoncées par le serveur avec sa clé
+     * publique, null si le serveur n'en annonce aucune.
+     */
+    private Compression compression;
+
+    /**
+     * Crée un client acceptant toutes les compressions prises en charge.
+     */
+    public Client() {
+        this(ProtocoleTransfert.COMPRESSIONS);
+    }
+
+    /**
+     * Crée un client n'acceptant que certaines compressions.
+     *
+     * @param compressions Les compressions acceptées, parmi
+     *                     {@link ProtocoleTransfert#COMPRESSIONS}, dans
+     *                     l'ordre de préférence ; une liste vide pour
+     *                     envoyer les fichiers sans compression.
+     */
+    public Client(List<Compression> compressions) {
+        this.compressions = compressions;
+    }
+
     /**
      * Se connecte à un serveur spécifié par une adresse et un port.
      * Le client établit une connexion en utilisant un socket et
      * crée les flux d'entrée et de sortie pour communiquer avec le serveur.
+     * Une réception attend au plus {@link #DELAI_REPONSE} millisecondes.
      *
      * @param adresse L'adresse IP du serveur auquel se connecter.
      * @param port Le port du serveur auquel se connecter.
@@ -54,6 +95,7 @@ public class Client implements Connexion {
         clientSocket = new Socket();
         clientSocket.connect(new InetSocketAddress(adresse, port),
                       5000); // timeout de 5 secondes
+        clientSocket.setSoTimeout(DELAI_REPONSE);
         fluxSortie = new PrintWriter(clientSocket.getOutputStream(),
                             true);
         fluxEntree = new BufferedReader(
@@ -67,12 +109,15 @@ public class Client implements Connexion {
      * Reçoit la clé publique du serveur.
      * Cette méthode utilise le flux d'entrée pour lire la clé
      * publique envoyée par le serveur et la retourne sous forme
-     * de chaîne de caractères.
+     * de chaîne de caractères. La compression des fichiers envoyés ensuite
+     * est choisie parmi celles que le serveur annonce avec sa clé.
      *
      * @return La clé publique reçue du serveur.
      */
     public String recevoirClePublic() {
         String clePubliqueServeur = recevoir();
+        compression = ProtocoleTransfert.choisirCompression(clePubliqueServeur,
+                                                            compressions);
         System.out.println("[CLIENT] Clé publique du serveur reçue : "
                            + clePubliqueServeur);
         return clePubliqueServeur;
@@ -102,6 +147,21 @@ public class Client implements Connexion {
         fluxSortie.println(donnees);
     }
 
+    /**
+     * Envoie des fichiers au serveur, compressés si le serveur l'accepte
+     * puis chiffrés avec la clé partagée, au format de
+     * {@link ProtocoleTransfert}.
+     *
+     * @param fichiers Les fichiers à envoyer.
+     * @param cle La clé secrète partagée avec le serveur.
+     * @throws IOException Si la lecture d'un fichier ou l'envoi échoue.
+     */
+    public void envoyerFichiers(List<Path> fichiers, BigInteger cle)
+            throws IOException {
+        ProtocoleTransfert.ecrireTransfert(clientSocket.getOutputStream(),
+                                           fichiers, cle, compression);
+    }
+
     /**
      * Reçoit des données du serveur.
      * Cette méthode lit une ligne de texte du flux d'entrée et la retourne.
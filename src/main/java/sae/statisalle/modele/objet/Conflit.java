@@ -0,0 +1,69 @@
+/*
+ * Conflit.java               17/10/2026
+ * IUT DE RODEZ               Pas de copyrights
+ */
+package sae.statisalle.modele.objet;
+
+/**
+ * Classe objet qui présente deux réservations d'une même salle ou d'un
+ * même employé dont les créneaux se chevauchent.
+ * Les valeurs affichées sont lues dans les deux réservations d'origine.
+ *
+ * @author erwan.thierry
+ */
+public class Conflit {
+    private final String type;
+    private final String ressource;
+    private final Reservation premiere;
+    private final Reservation seconde;
+
+    /**
+     * Crée un conflit entre deux réservations.
+     *
+     * @param type Le type de la ressource réservée deux fois
+     *             ("Salle" ou "Employé").
+     * @param ressource Le nom de la salle ou de l'employé.
+     * @param premiere La réservation qui commence en premier.
+     * @param seconde La réservation qui la chevauche.
+     */
+    public Conflit(String type, String ressource,
+                   Reservation premiere, Reservation seconde) {
+        this.type = type;
+        this.ressource = ressource;
+        this.premiere = premiere;
+        this.seconde = seconde;
+    }
+
+    // Getters
+    public String getType() { return type; }
+    public String getRessource() { return ressource; }
+    public String getDate() { return premiere.getDateR(); }
+    public String getIdReservation1() { return premiere.getIdReservation(); }
+    public String getHoraires1() {
+        return premiere.getHeureDebut() + " - " + premiere.getHeureFin();
+    }
+    public String getIdReservation2() { return seconde.getIdReservation(); }
+    public String getHoraires2() {
+        return seconde.getHeureDebut() + " - " + seconde.getHeureFin();
+    }
+
+    /**
+     * @return La durée pendant laquelle les deux réservations se
+     *         chevauchent, au format HHhMM.
+     */
+    public String getChevauchement() {
+        int debut = Math.max(premiere.getDebutMinutes(), seconde.getDebutMinutes());
+        int fin = Math.min(premiere.getFinMinutes(), seconde.getFinMinutes());
+        return Reservation.formaterHeure(fin - debut);
+    }
+
+    /**
+     * @return La réservation qui commence en premier.
+     */
+    public Reservation getPremiere() { return premiere; }
+
+    /**
+     * @return La réservation qui chevauche la première.
+     */
+    public Reservation getSeconde() { return seconde; }
+}
@@ -0,0 +1,319 @@
+/*
+ * ConnexionClient.java         17/10/2026
+ * IUT DE RODEZ                 Pas de copyrights
+ */
+package sae.statisalle.modele.objet;
+
+import sae.statisalle.modele.Connexion;
+import sae.statisalle.modele.ProtocoleTransfert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Connexion d'un client accepté par le {@link Serveur}.
+ * <p>
+ * Chaque client connecté a sa propre instance, qui porte tout l'état de
+ * l'échange avec lui : son canal, sa clé publique en cours de réception,
+ * le décodeur des fichiers qu'il envoie, les données en attente d'envoi,
+ * l'étape de l'échange et la clé secrète partagée. Le canal est non bloquant : le serveur lit et écrit pour toutes
+ * les connexions depuis un seul thread, lorsque le sélecteur signale que
+ * le canal est prêt.
+ * </p>
+ * La réponse à la requête est préparée par un autre thread : l'envoi de
+ * données peut donc être demandé depuis n'importe quel thread, il réveille
+ * le sélecteur qui les écrira.
+ * <p>
+ * Le client envoie d'abord sa clé publique sur une ligne de texte encodée
+ * en UTF-8, puis ses fichiers au format de {@link ProtocoleTransfert}.
+ * Le serveur lui répond par des lignes de texte.
+ *
+ * @author valentin.munier-genie
+ */
+public class ConnexionClient implements Connexion {
+
+    /**
+     * Étapes de l'échange entre le serveur et le client.
+     */
+    enum Etape {
+        /** En attente de la clé publique du client. */
+        ATTENTE_CLE,
+        /** En attente des fichiers chiffrés du client. */
+        ATTENTE_REQUETE,
+        /** Fichiers reçus, en cours de traitement. */
+        TRAITEMENT,
+        /** Réponse envoyée, la connexion sera fermée une fois écrite. */
+        TERMINEE
+    }
+
+    /* Taille du tampon de lecture du canal */
+    private static final int TAILLE_TAMPON = 16 * 1024;
+
+    /* Longueur maximale de la ligne de la clé publique, en octets */
+    private static final int LONGUEUR_LIGNE_MAX = 1024;
+
+    /* Canal de la connexion avec le client */
+    private final SocketChannel canal;
+
+    /* Clé du canal dans le sélecteur du serveur */
+    private final SelectionKey cle;
+
+    /* Tampon de lecture du canal */
+    private final ByteBuffer tamponLecture = ByteBuffer.allocate(TAILLE_TAMPON);
+
+    /* Octets reçus de la ligne de la clé publique */
+    private final ByteArrayOutputStream ligneEnCours = new ByteArrayOutputStream();
+
+    /* Ligne de la clé publique, une fois reçue entièrement */
+    private String ligneCle;
+
+    /* Vrai si la ligne de la clé publique a été renvoyée par recevoir */
+    private boolean ligneCleRenvoyee;
+
+    /* Décodeur des fichiers reçus après la clé publique */
+    private final ProtocoleTransfert.Decodeur decodeur;
+
+    /* Données en attente d'écriture sur le canal */
+    private final Deque<ByteBuffer> aEcrire = new ArrayDeque<>();
+
+    /* Étape de l'échange avec le client */
+    private volatile Etape etape = Etape.ATTENTE_CLE;
+
+    /* Clé secrète partagée, connue après l'échange des clés publiques */
+    private volatile BigInteger cleSecretePartagee;
+
+    /* Instant de la dernière lecture ou écriture, en millisecondes */
+    private volatile long derniereActivite = System.currentTimeMillis();
+
+    /* Vrai si la dernière réponse a été mise en attente : la connexion est
+       fermée une fois les données en attente écrites */
+    private boolean fermerApresEcriture;
+
+    /**
+     * Crée la connexion d'un client accepté.
+     *
+     * @param canal Le canal non bloquant de la connexion.
+     * @param cle La clé du canal, enregistré dans le sélecteur du serveur.
+     * @param dossierReception Le dossier des fichiers temporaires de
+     *                         réception.
+     */
+    ConnexionClient(SocketChannel canal, SelectionKey cle,
+                    Path dossierReception) {
+        this.canal = canal;
+        this.cle = cle;
+        this.decodeur = new ProtocoleTransfert.Decodeur(dossierReception);
+    }
+
+    /**
+     * Lit les octets disponibles sur le canal : la ligne de la clé
+     * publique, puis les fichiers transmis au décodeur.
+     *
+     * @return false si le client a fermé la connexion.
+     * @throws IOException Si la lecture ou l'écriture d'un fichier reçu
+     *                     échoue.
+     * @throws IllegalArgumentException Si les données reçues ne respectent
+     *                                  pas le format attendu.
+     */
+    boolean lire() throws IOException {
+        int nbLus;
+        while ((nbLus = canal.read(tamponLecture)) > 0) {
+            derniereActivite = System.currentTimeMillis();
+            tamponLecture.flip();
+            if (ligneCle == null) {
+                lireLigneCle();
+            }
+            if (ligneCle != null) {
+                decodeur.ajouter(tamponLecture);
+            }
+            tamponLecture.clear();
+        }
+        return nbLus >= 0;
+    }
+
+    /*
+     * Ajoute les octets lus à la ligne de la clé publique, jusqu'à sa fin
+     * de ligne éventuelle.
+     */
+    private void lireLigneCle() {
+        byte[] octets = tamponLecture.array();
+        int debut = tamponLecture.position();
+        int fin = tamponLecture.limit();
+        int i = debut;
+        while (i < fin && octets[i] != '\n') {
+            i++;
+        }
+        ligneEnCours.write(octets, debut, i - debut);
+        if (ligneEnCours.size() > LONGUEUR_LIGNE_MAX) {
+            throw new IllegalArgumentException("Clé publique trop longue.");
+        }
+        if (i < fin) {
+            String ligne = ligneEnCours.toString(StandardCharsets.UTF_8);
+            ligneCle = ligne.endsWith("\r")
+                       ? ligne.substring(0, ligne.length() - 1) : ligne;
+            tamponLecture.position(i + 1);
+        } else {
+            tamponLecture.position(fin);
+        }
+    }
+
+    /**
+     * Écrit sur le canal autant de données en attente que possible.
+     *
+     * @return true si la dernière réponse, mise en attente par
+     *         {@link #envoyerPuisFermer(String)}, a été entièrement écrite :
+     *         la connexion doit alors être fermée.
+     * @throws IOException Si l'écriture échoue.
+     */
+    synchronized boolean ecrire() throws IOException {
+        while (!aEcrire.isEmpty()) {
+            ByteBuffer donnees = aEcrire.peek();
+            if (canal.write(donnees) > 0) {
+                derniereActivite = System.currentTimeMillis();
+            }
+            if (donnees.hasRemaining()) {
+                return false;
+            }
+            aEcrire.poll();
+        }
+        cle.interestOps(SelectionKey.OP_READ);
+        return fermerApresEcriture;
+    }
+
+    /**
+     * Met les données en attente d'envoi au client, suivies d'une fin de
+     * ligne. Elles sont écrites dès que le canal est prêt.
+     *
+     * @param donnees Les données à envoyer au client.
+     */
+    @Override
+    public synchronized void envoyer(String donnees) {
+        aEcrire.add(ByteBuffer.wrap((donnees + "\n")
+                                    .getBytes(StandardCharsets.UTF_8)));
+        if (cle.isValid()) {
+            cle.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            cle.selector().wakeup();
+        }
+    }
+
+    /**
+     * Met la dernière réponse en attente d'envoi au client et demande la
+     * fermeture de la connexion une fois qu'elle aura été écrite. Les deux
+     * sont faits sous le même verrou que {@link #ecrire()}, qui ne peut
+     * donc pas fermer la connexion avant que la réponse soit écrite.
+     *
+     * @param donnees La dernière réponse à envoyer au client.
+     */
+    synchronized void envoyerPuisFermer(String donnees) {
+        envoyer(donnees);
+        fermerApresEcriture = true;
+    }
+
+    /**
+     * @return true s'il reste des données en attente d'écriture.
+     */
+    synchronized boolean aDonneesEnAttente() {
+        return !aEcrire.isEmpty();
+    }
+
+    /**
+     * Renvoie la ligne de la clé publique du client, une seule fois.
+     * Cette méthode ne bloque pas ; les fichiers envoyés ensuite sont
+     * obtenus par {@link #getDecodeur()}.
+     *
+     * @return La clé publique reçue, ou null si elle n'a pas encore été
+     *         entièrement reçue ou a déjà été renvoyée.
+     */
+    @Override
+    public String recevoir() {
+        if (ligneCle == null || ligneCleRenvoyee) {
+            return null;
+        }
+        ligneCleRenvoyee = true;
+        return ligneCle;
+    }
+
+    /**
+     * @return Le décodeur des fichiers envoyés par le client.
+     */
+    ProtocoleTransfert.Decodeur getDecodeur() {
+        return decodeur;
+    }
+
+    /**
+     * Ferme le canal de la connexion avec le client et le retire du
+     * sélecteur du serveur. Les fichiers d'un transfert inachevé sont
+     * supprimés.
+     */
+    @Override
+    public void fermer() {
+        cle.cancel();
+        decodeur.abandonner();
+        try {
+            canal.close();
+        } catch (IOException e) {
+            System.err.println("[SERVEUR] Erreur lors de la fermeture de "
+                               + "la connexion : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Renvoie l'adresse IP du client.
+     *
+     * @return L'adresse IP du client, ou null si elle n'est plus connue.
+     */
+    @Override
+    public InetAddress renvoyerIP() {
+        try {
+            return canal.getRemoteAddress() instanceof InetSocketAddress adresse
+                   ? adresse.getAddress() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return L'étape de l'échange avec le client.
+     */
+    Etape getEtape() {
+        return etape;
+    }
+
+    /**
+     * @param etape La nouvelle étape de l'échange avec le client.
+     */
+    void setEtape(Etape etape) {
+        this.etape = etape;
+    }
+
+    /**
+     * @return La clé secrète partagée avec le client.
+     */
+    BigInteger getCleSecretePartagee() {
+        return cleSecretePartagee;
+    }
+
+    /**
+     * @param cleSecretePartagee La clé secrète partagée avec le client.
+     */
+    void setCleSecretePartagee(BigInteger cleSecretePartagee) {
+        this.cleSecretePartagee = cleSecretePartagee;
+    }
+
+    /**
+     * @return L'instant de la dernière lecture ou écriture sur le canal,
+     *         en millisecondes.
+     */
+    long getDerniereActivite() {
+        return derniereActivite;
+    }
+}
@@ -51,6 +51,9 @@ public class Employe {
     /* Liste des réservations */
     private ObservableList<Reservation> listReservation;
 
+    /* Durée totale réservée, calculée dans les données calculées */
+    String dureeTotale;
+
     /**
      * Constructeur pour initialiser un nouvel employé avec son identifiant,
      * son nom, son prénom et son numéro de téléphone.
@@ -105,16 +108,24 @@ public class Employe {
     }
 
 
+    /**
+     * Renvoie le nom suivi du prénom de l'employé, tel qu'il apparaît
+     * dans les réservations.
+     *
+     * @return Le nom complet de l'employé.
+     */
+    public String getNomPrenom() {
+        return nom + " " + prenom;
+    }
+
     public ObservableList<Reservation> getReservations() {
         return listReservation;
     }
 
-//    // 1. Obtenir le temps total de réservation
-//    public int getTempsTotalReservation() {
-//        return reservations.stream()
-//                .mapToInt(Reservation::getDuree)
-//                .sum();
-//    }
+    // 1. Obtenir le temps total de réservation
+    public String getDureeTotale() {
+        return dureeTotale;
+    }
 
     // 2. Obtenir les noms des salles réservées
     public String getSallesAssociees() {
@@ -187,4 +198,8 @@ public class Employe {
     public void setNumTel(String numTel) {
         this.numTel = numTel;
     }
+
+    public void setDureeTotale(String dureeTotale) {
+        this.dureeTotale = dureeTotale;
+    }
 }
@@ -4,9 +4,10 @@
  */
 package sae.statisalle.modele.objet;
 
-import java.time.Duration;
-import java.time.LocalTime;
-import java.time.format.DateTimeParseException;
+import sae.statisalle.modele.DictionnairesReservations;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 
 /**
  * La classe Reservation représente une réservation effectuée pour une salle avec
@@ -34,48 +35,76 @@ import java.time.format.DateTimeParseException;
  * </p>
  *
  * <p>
- * Elle assure également une validation minimale des heures afin de s'assurer
- * qu'elles respectent un format standard (HH:mm).
+ * Les dates et les heures sont converties une seule fois, à la création de
+ * la réservation : la date est conservée en nombre de jours depuis le
+ * 01/01/1970 et les heures en minutes depuis minuit. La salle, l'employé et
+ * l'activité sont conservés sous forme de codes, partagés par toutes les
+ * réservations d'un même chargement grâce à leurs
+ * {@link DictionnairesReservations dictionnaires} : ceux qui sont courants
+ * à la création de la réservation, remplacés à chaque chargement complet
+ * par {@link #renouvelerDictionnaires()}. Les getters renvoyant des chaînes
+ * (utilisés par les tableaux de l'application) reconstruisent la valeur
+ * affichée.
  * </p>
  *
  * @author erwan.thierry
  */
 public class Reservation {
 
+    /** Valeur du jour d'une réservation dont la date est mal formatée. */
+    public static final int DATE_INVALIDE = Integer.MIN_VALUE;
+
+    /** Valeur d'une heure mal formatée. */
+    public static final int HEURE_INVALIDE = -1;
+
+    /* Texte affiché pour une date, une heure ou une durée non valide */
+    private static final String NON_VALIDE = "Non Valide";
+
+    /* Format des dates dans les fichiers et l'affichage */
+    private static final DateTimeFormatter FORMAT_DATE =
+            DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /* Dictionnaires dans lesquels sont codées les nouvelles réservations */
+    private static volatile DictionnairesReservations dictionnairesCourants =
+            new DictionnairesReservations();
+
+    /* Dictionnaires des codes de la salle, de l'employé et de l'activité */
+    final DictionnairesReservations dictionnaires = dictionnairesCourants;
+
     /* Identifiant de la reservation */
     String idReservation;
 
-    /* Date de la réservation */
-    String salleR;
+    /* Code de la salle réservée */
+    int salle;
 
-    /* Identifiant de la reservation */
-    String employeR;
+    /* Code de l'employé ayant réservé */
+    int employe;
 
-    /* Date de la réservation */
-    String activiteR;
+    /* Code de l'activité */
+    int activite;
 
-    /* Identifiant de la reservation */
-    String dateR;
+    /* Date de la réservation, en jours depuis le 01/01/1970 */
+    int jour;
 
-    /* Date de la réservation */
-    String heureDebut;
+    /* Heure de début, en minutes depuis minuit */
+    short debut;
 
-    /* Identifiant de la reservation */
-    String heureFin;
+    /* Heure de fin, en minutes depuis minuit */
+    short fin;
 
-    /* Date de la réservation */
+    /* Description de la réservation */
     String description;
 
-    /* Identifiant de la reservation */
+    /* Nom de l'intervenant */
     String nomIntervenant;
 
-    /* Date de la réservation */
+    /* Prénom de l'intervenant */
     String prenomIntervenant;
 
-    /* Identifiant de la reservation */
+    /* Numéro de téléphone de l'intervenant */
     String numTelIntervenant;
 
-    /* Date de la réservation */
+    /* Usage de la réservation */
     String usage;
 
     /**
@@ -84,16 +113,16 @@ public class Reservation {
      * réservation, la salle, l'employé, l'activité, la date, l'heure de début
      * et de fin, la description, les informations de l'intervenant (nom,
      * prénom, numéro de téléphone), ainsi que l'usage de la réservation.
-     * Si l'heure de début ou de fin est inférieure à 5 caractères,
-     * elle est automatiquement formatée pour ajouter un zéro en début de chaîne.
+     * La date et les heures sont converties à la création ; une valeur
+     * mal formatée est conservée comme non valide.
      *
      * @param idReservation Identifiant unique de la réservation
      * @param salleR Nom de la salle réservée
      * @param employeR Nom de l'employé ayant effectué la réservation
      * @param activiteR Activité associée à la réservation
      * @param dateR Date de la réservation (format attendu : JJ/MM/AAAA)
-     * @param heureDebut Heure de début de la réservation (format attendu : HH:mm)
-     * @param heureFin Heure de fin de la réservation (format attendu : HH:mm)
+     * @param heureDebut Heure de début de la réservation (format attendu : HHhmm)
+     * @param heureFin Heure de fin de la réservation (format attendu : HHhmm)
      * @param description Brève description de la réservation
      * @param nomIntervenant Nom de l'intervenant associé à la réservation
      * @param prenomIntervenant Prénom de l'intervenant associé à la réservation
@@ -107,20 +136,52 @@ public class Reservation {
                        String numTelIntervenant, String usage) {
 
         this.idReservation = idReservation;
-        this.salleR = salleR;
-        this.employeR = employeR;
-        this.activiteR = activiteR;
-        this.dateR = dateR;
-        if (heureDebut.length() < 5) {
-            heureDebut = "0" + heureDebut;
-        }
+        this.salle = dictionnaires.getSalles().code(salleR);
+        this.employe = dictionnaires.getEmployes().code(employeR);
+        this.activite = dictionnaires.getActivites().code(activiteR);
+        this.jour = convertirDate(dateR);
+        this.debut = (short) convertirHeure(heureDebut);
+        this.fin = (short) convertirHeure(heureFin);
+        this.description = description;
+        this.nomIntervenant = nomIntervenant;
+        this.prenomIntervenant = prenomIntervenant;
+        this.numTelIntervenant = numTelIntervenant;
+        this.usage = usage;
+    }
 
-        if (heureFin.length() < 5) {
-            heureFin = "0" + heureFin;
-        }
+    /**
+     * Constructeur d'une réservation dont la date et les heures sont déjà
+     * converties, par exemple lues dans un instantané des données.
+     *
+     * @param idReservation Identifiant unique de la réservation
+     * @param salleR Nom de la salle réservée
+     * @param employeR Nom de l'employé ayant effectué la réservation
+     * @param activiteR Activité associée à la réservation
+     * @param jour Jour de la réservation, en jours depuis le 01/01/1970,
+     *             ou {@link #DATE_INVALIDE}
+     * @param debutMinutes Heure de début en minutes depuis minuit,
+     *                     ou {@link #HEURE_INVALIDE}
+     * @param finMinutes Heure de fin en minutes depuis minuit,
+     *                   ou {@link #HEURE_INVALIDE}
+     * @param description Brève description de la réservation
+     * @param nomIntervenant Nom de l'intervenant associé à la réservation
+     * @param prenomIntervenant Prénom de l'intervenant associé à la réservation
+     * @param numTelIntervenant Numéro de téléphone de l'intervenant
+     * @param usage Usage prévu pour cette réservation
+     */
+    public Reservation(String idReservation, String salleR, String employeR,
+                       String activiteR, int jour, int debutMinutes,
+                       int finMinutes, String description,
+                       String nomIntervenant, String prenomIntervenant,
+                       String numTelIntervenant, String usage) {
 
-        this.heureDebut = heureDebut;
-        this.heureFin = heureFin;
+        this.idReservation = idReservation;
+        this.salle = dictionnaires.getSalles().code(salleR);
+        this.employe = dictionnaires.getEmployes().code(employeR);
+        this.activite = dictionnaires.getActivites().code(activiteR);
+        this.jour = jour;
+        this.debut = (short) debutMinutes;
+        this.fin = (short) finMinutes;
         this.description = description;
         this.nomIntervenant = nomIntervenant;
         this.prenomIntervenant = prenomIntervenant;
@@ -128,6 +189,36 @@ public class Reservation {
         this.usage = usage;
     }
 
+    /**
+     * Remplace les dictionnaires dans lesquels sont codées les nouvelles
+     * réservations, avant un chargement complet des données, afin qu'ils
+     * ne conservent pas les valeurs des réservations disparues. Les
+     * réservations créées auparavant gardent leurs dictionnaires.
+     *
+     * @return Les nouveaux dictionnaires courants.
+     */
+    public static DictionnairesReservations renouvelerDictionnaires() {
+        DictionnairesReservations nouveaux = new DictionnairesReservations();
+        dictionnairesCourants = nouveaux;
+        return nouveaux;
+    }
+
+    /**
+     * @return Les dictionnaires dans lesquels sont codées les nouvelles
+     *         réservations.
+     */
+    public static DictionnairesReservations getDictionnairesCourants() {
+        return dictionnairesCourants;
+    }
+
+    /**
+     * @return Les dictionnaires des codes de la salle, de l'employé et de
+     *         l'activité de cette réservation.
+     */
+    public DictionnairesReservations getDictionnaires() {
+        return dictionnaires;
+    }
+
     /* ---------------------------------------------- */
     /* Getters pour chaque attribut de la réservation */
     /* ---------------------------------------------- */
@@ -137,27 +228,28 @@ public class Reservation {
     }
 
     public String getSalleR() {
-        return salleR;
+        return dictionnaires.getSalles().valeur(salle);
     }
 
     public String getEmployeR() {
-        return employeR;
+        return dictionnaires.getEmployes().valeur(employe);
     }
 
     public String getActiviteR() {
-        return activiteR;
+        return dictionnaires.getActivites().valeur(activite);
     }
 
     public String getDateR() {
-        return dateR;
+        return jour == DATE_INVALIDE ? NON_VALIDE
+                                     : LocalDate.ofEpochDay(jour).format(FORMAT_DATE);
     }
 
     public String getHeureDebut() {
-        return heureDebut;
+        return formaterHeure(debut);
     }
 
     public String getHeureFin() {
-        return heureFin;
+        return formaterHeure(fin);
     }
 
     public String getDescription() {
@@ -181,31 +273,153 @@ public class Reservation {
     }
 
     public String getDureeReservation() {
-        String heureDebutL = getHeureDebut();
-        String heureFinL = getHeureFin();
+        return heuresValides() ? formaterHeure(getDureeMinutes()) : NON_VALIDE;
+    }
+
+    /* ------------------------------------------------------ */
+    /* Accès aux valeurs converties, sans conversion de chaîne */
+    /* ------------------------------------------------------ */
 
-        LocalTime heureDebut = parseHeure(heureDebutL);
-        LocalTime heureFin = parseHeure(heureFinL);
+    /**
+     * @return Le code de la salle dans le dictionnaire des salles.
+     */
+    public int getCodeSalle() {
+        return salle;
+    }
+
+    /**
+     * @return Le code de l'employé dans le dictionnaire des employés.
+     */
+    public int getCodeEmploye() {
+        return employe;
+    }
+
+    /**
+     * @return Le code de l'activité dans le dictionnaire des activités.
+     */
+    public int getCodeActivite() {
+        return activite;
+    }
+
+    /**
+     * @return Le jour de la réservation, en jours depuis le 01/01/1970,
+     *         ou {@link #DATE_INVALIDE}.
+     */
+    public int getJour() {
+        return jour;
+    }
 
-        if (heureDebut != null && heureFin != null) {
-            int duree = (int) Duration.between(heureDebut, heureFin).toMinutes();
-            int heure = duree / 60;
-            int minutes = duree % 60;
+    /**
+     * @return L'heure de début en minutes depuis minuit,
+     *         ou {@link #HEURE_INVALIDE}.
+     */
+    public int getDebutMinutes() {
+        return debut;
+    }
+
+    /**
+     * @return L'heure de fin en minutes depuis minuit,
+     *         ou {@link #HEURE_INVALIDE}.
+     */
+    public int getFinMinutes() {
+        return fin;
+    }
+
+    /**
+     * @return true si les heures de début et de fin sont valides.
+     */
+    public boolean heuresValides() {
+        return debut != HEURE_INVALIDE && fin != HEURE_INVALIDE;
+    }
 
-            return (heure < 10 ? "0" + heure : heure) + "h" + (minutes < 10 ? "0" + minutes : minutes);
-        } else {
-            return "Non Valide";
+    /**
+     * @return La durée de la réservation en minutes, ou 0 si l'une des
+     *         heures n'est pas valide.
+     */
+    public int getDureeMinutes() {
+        return heuresValides() ? fin - debut : 0;
+    }
+
+    /* ----------------------------------------------------- */
+    /* Conversions entre les chaînes et les valeurs stockées */
+    /* ----------------------------------------------------- */
+
+    /**
+     * Convertit une date au format JJ/MM/AAAA en nombre de jours depuis
+     * le 01/01/1970.
+     *
+     * @param date La date à convertir.
+     * @return Le jour correspondant, ou {@link #DATE_INVALIDE} si la date
+     *         est mal formatée.
+     */
+    public static int convertirDate(String date) {
+        if (date == null) {
+            return DATE_INVALIDE;
+        }
+        date = date.trim();
+        int premier = date.indexOf('/');
+        int second = date.indexOf('/', premier + 1);
+        if (premier < 0 || second < 0) {
+            return DATE_INVALIDE;
+        }
+        try {
+            int jourMois = Integer.parseInt(date, 0, premier, 10);
+            int mois = Integer.parseInt(date, premier + 1, second, 10);
+            int annee = Integer.parseInt(date, second + 1, date.length(), 10);
+            return (int) LocalDate.of(annee, mois, jourMois).toEpochDay();
+        } catch (RuntimeException e) {
+            return DATE_INVALIDE;
         }
     }
 
-    private LocalTime parseHeure(String heure) {
+    /**
+     * Convertit une heure au format HHhmm (ou HH:mm) en minutes depuis
+     * minuit.
+     *
+     * @param heure L'heure à convertir.
+     * @return Le nombre de minutes, ou {@link #HEURE_INVALIDE} si l'heure
+     *         est mal formatée.
+     */
+    public static int convertirHeure(String heure) {
+        if (heure == null) {
+            return HEURE_INVALIDE;
+        }
+        heure = heure.trim();
+        int separateur = heure.indexOf('h');
+        if (separateur < 0) {
+            separateur = heure.indexOf(':');
+        }
+        if (separateur <= 0 || separateur == heure.length() - 1) {
+            return HEURE_INVALIDE;
+        }
         try {
-            heure = heure.replace('h', ':');
-            return LocalTime.parse(heure);
-        } catch (DateTimeParseException e) {
-            System.out.println("Erreur de format d'heure: " + heure);
-            return null;
+            int heures = Integer.parseInt(heure, 0, separateur, 10);
+            int minutes = Integer.parseInt(heure, separateur + 1,
+                                           heure.length(), 10);
+            if (heures < 0 || heures > 23 || minutes < 0 || minutes > 59) {
+                return HEURE_INVALIDE;
+            }
+            return heures * 60 + minutes;
+        } catch (NumberFormatException e) {
+            return HEURE_INVALIDE;
+        }
+    }
+
+    /**
+     * Formate un nombre de minutes au format HHhmm, utilisé pour les heures
+     * et les durées.
+     *
+     * @param minutes Le nombre de minutes.
+     * @return L'heure formatée, ou "Non Valide" pour une heure invalide.
+     */
+    public static String formaterHeure(int minutes) {
+        if (minutes < 0) {
+            return NON_VALIDE;
         }
+        int heures = minutes / 60;
+        int reste = minutes % 60;
+        return (heures < 10 ? "0" + heures : heures) + "h"
+               + (reste < 10 ? "0" + reste : reste);
     }
 
     /* ----------------------------------------------------- */
@@ -217,27 +431,27 @@ public class Reservation {
     }
 
     public void setSalleR(String salleR) {
-        this.salleR = salleR;
+        this.salle = dictionnaires.getSalles().code(salleR);
     }
 
     public void setEmployeR(String employeR) {
-        this.employeR = employeR;
+        this.employe = dictionnaires.getEmployes().code(employeR);
     }
 
     public void setActiviteR(String activiteR) {
-        this.activiteR = activiteR;
+        this.activite = dictionnaires.getActivites().code(activiteR);
     }
 
     public void setDateR(String dateR) {
-        this.dateR = dateR;
+        this.jour = convertirDate(dateR);
     }
 
     public void setHeureDebut(String heureDebut) {
-        this.heureDebut = heureDebut;
+        this.debut = (short) convertirHeure(heureDebut);
     }
 
     public void setHeureFin(String heureFin) {
-        this.heureFin = heureFin;
+        this.fin = (short) convertirHeure(heureFin);
     }
 
     public void setDescription(String description) {
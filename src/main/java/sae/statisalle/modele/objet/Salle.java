@@ -57,6 +57,12 @@ public class Salle {
 
     String pourcentageOccupation;
 
+    /* Taux d'occupation par rapport aux horaires d'ouverture */
+    String tauxOccupation;
+
+    /* Durée totale réservée, calculée dans les données calculées */
+    String dureeTotale;
+
     /* Liste des réservations */
     private ObservableList<Reservation> listReservation;
 
@@ -224,6 +230,14 @@ public class Salle {
         return pourcentageOccupation;
     }
 
+    public String getTauxOccupation() {
+        return tauxOccupation;
+    }
+
+    public String getDureeTotale() {
+        return dureeTotale;
+    }
+
     /**
      * Modifie l'identifiant de la salle.
      *
@@ -308,4 +322,12 @@ public class Salle {
     public void setPourcentageOccupation(String pourcentageOccupation) {
         this.pourcentageOccupation = pourcentageOccupation;
     }
-}
\ No newline at end of file
+
+    public void setTauxOccupation(String tauxOccupation) {
+        this.tauxOccupation = tauxOccupation;
+    }
+
+    public void setDureeTotale(String dureeTotale) {
+        this.dureeTotale = dureeTotale;
+    }
+}
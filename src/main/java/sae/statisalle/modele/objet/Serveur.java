@@ -8,58 +8,164 @@ import javafx.application.Platform;
 import sae.statisalle.controleur.ControleurPopup;
 import sae.statisalle.modele.Connexion;
 import sae.statisalle.modele.DiffieHellman;
-import sae.statisalle.modele.Vigenere;
+import sae.statisalle.modele.EntrepotDonnees;
+import sae.statisalle.modele.FichierTransfere;
+import sae.statisalle.modele.ProtocoleTransfert;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
 import java.math.BigInteger;
 import java.net.InetAddress;
-import java.net.ServerSocket;
+import java.net.InetSocketAddress;
 import java.net.Socket;
-import java.net.SocketException;
+import java.net.StandardSocketOptions;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
- * La classe Serveur implémente l'interface Connexion pour établir
- * un serveur réseau qui écoute les connexions entrantes d'un client.
+ * La classe Serveur établit un serveur réseau qui écoute les connexions
+ * entrantes des clients.
  * Le serveur prend en charge l'échange de clés publiques avec le
  * client à l'aide du protocole Diffie-Hellman,
- * puis chiffre et déchiffre les données échangées à l'aide du
- * chiffrement Vigenère.
+ * puis reçoit les fichiers du client, au format de
+ * {@link ProtocoleTransfert}, chiffrés à l'aide du chiffrement Vigenère.
+ * Le serveur annonce avec sa clé publique les compressions qu'il accepte,
+ * et reçoit aussi bien les fichiers compressés que ceux des clients qui
+ * ne compressent pas.
  * <p>
- * Le serveur peut gérer plusieurs clients simultanément
- * en démarrant un nouveau thread pour chaque connexion.
+ * Le serveur gère plusieurs clients simultanément depuis un seul thread :
+ * les canaux sont non bloquants et un sélecteur signale ceux qui sont
+ * prêts à être acceptés, lus ou écrits. L'état de l'échange avec chaque
+ * client est porté par sa propre {@link ConnexionClient}, si bien que les
+ * clients qui se connectent en même temps ne partagent ni flux ni clé.
+ * <p>
+ * Les fichiers reçus ne sont pas gardés en mémoire : chaque morceau est
+ * déchiffré dès sa réception, en un temps borné par sa taille, puis écrit
+ * dans un fichier temporaire du dossier de réception. Le traitement des
+ * fichiers une fois tous reçus est exécuté dans un thread virtuel, afin
+ * de ne pas retarder les échanges avec les autres clients. Le nombre de connexions
+ * simultanées est borné : au-delà, les nouveaux clients attendent dans la
+ * file du système qu'une connexion se libère. Une connexion restée sans
+ * lecture ni écriture plus longtemps que le délai d'inactivité est fermée,
+ * sauf pendant le traitement de sa requête.
  * <p>
  * @author valentin.munier-genie
  */
-public class Serveur implements Connexion {
+public class Serveur {
+
+    /** Nombre maximal de connexions simultanées par défaut. */
+    public static final int NB_CONNEXIONS_MAX = 256;
+
+    /** Délai d'inactivité par défaut d'une connexion, en millisecondes. */
+    public static final long DELAI_INACTIVITE = 30_000;
+
+    /* Nombre de clients en attente d'acceptation dans la file du système */
+    private static final int TAILLE_FILE_ATTENTE = 512;
+
+    /* Délai d'attente de la fin des traitements à l'arrêt, en millisecondes */
+    private static final long DELAI_ARRET = 5_000;
 
     /**
-     * Le socket d'écoute du serveur.
+     * Nombre maximal de connexions simultanées.
      */
-    private ServerSocket serverSocket;
+    private final int nbConnexionsMax;
 
     /**
-     * Le socket de connexion avec un client.
+     * Délai d'inactivité d'une connexion, en millisecondes.
      */
-    private Socket clientSocket;
+    private final long delaiInactivite;
 
     /**
-     * Flux d'entrée pour recevoir des données du client.
+     * Dossier des fichiers temporaires de réception.
      */
-    private BufferedReader fluxEntree;
+    private final Path dossierReception;
 
     /**
-     * Flux de sortie pour envoyer des données au client.
+     * Exécuteur des traitements des requêtes, un thread virtuel par
+     * requête.
      */
-    private PrintWriter fluxSortie;
+    private final ExecutorService traitements = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("serveur-traitement-", 0).factory());
+
+    /**
+     * Le canal d'écoute du serveur.
+     */
+    private ServerSocketChannel canalEcoute;
+
+    /**
+     * La clé du canal d'écoute dans le sélecteur.
+     */
+    private SelectionKey cleEcoute;
+
+    /**
+     * Le sélecteur des canaux prêts, d'écoute et des clients.
+     */
+    private Selector selecteur;
+
+    /**
+     * Les connexions avec les clients en cours.
+     */
+    private final Set<ConnexionClient> connexions =
+            ConcurrentHashMap.newKeySet();
 
     /**
      * Indicateur pour savoir si le serveur est fermé.
      */
     private volatile boolean isClosed = false;
 
+    /**
+     * Crée un serveur avec le nombre maximal de connexions et le délai
+     * d'inactivité par défaut.
+     */
+    public Serveur() {
+        this(NB_CONNEXIONS_MAX, DELAI_INACTIVITE);
+    }
+
+    /**
+     * Crée un serveur recevant les fichiers dans le dossier des données.
+     *
+     * @param nbConnexionsMax Le nombre maximal de connexions simultanées.
+     * @param delaiInactivite Le délai, en millisecondes, après lequel une
+     *                        connexion sans lecture ni écriture est fermée.
+     */
+    public Serveur(int nbConnexionsMax, long delaiInactivite) {
+        this(nbConnexionsMax, delaiInactivite,
+             Path.of(EntrepotDonnees.DOSSIER_CSV));
+    }
+
+    /**
+     * Crée un serveur.
+     *
+     * @param nbConnexionsMax Le nombre maximal de connexions simultanées.
+     * @param delaiInactivite Le délai, en millisecondes, après lequel une
+     *                        connexion sans lecture ni écriture est fermée.
+     * @param dossierReception Le dossier des fichiers temporaires de
+     *                         réception, sur le même disque que celui où
+     *                         les fichiers reçus sont conservés.
+     */
+    public Serveur(int nbConnexionsMax, long delaiInactivite,
+                   Path dossierReception) {
+        if (nbConnexionsMax < 1 || delaiInactivite < 1) {
+            throw new IllegalArgumentException("Nombre de connexions ou "
+                                               + "délai d'inactivité invalide.");
+        }
+        this.nbConnexionsMax = nbConnexionsMax;
+        this.delaiInactivite = delaiInactivite;
+        this.dossierReception = dossierReception;
+    }
+
     /**
      * Démarre le serveur sur un port et une adresse spécifiés.
      * Si une adresse IP est fournie,
@@ -71,15 +177,23 @@ public class Serveur implements Connexion {
      *             entrantes.
      * @param ip L'adresse IP à laquelle le serveur doit être lié.
      * @throws IOException Si une erreur se produit lors de l'ouverture
-     *                     du socket du serveur.
+     *                     du canal du serveur.
      */
     public void demarrer(int port, String ip) throws IOException {
-        if (ip != null && !ip.isEmpty()) {
-            serverSocket = new ServerSocket(port,
-                                            50,
-                                            InetAddress.getByName(ip));
-        } else {
-            serverSocket = new ServerSocket(port);
+        InetSocketAddress adresse = ip != null && !ip.isEmpty()
+                ? new InetSocketAddress(InetAddress.getByName(ip), port)
+                : new InetSocketAddress(port);
+
+        selecteur = Selector.open();
+        canalEcoute = ServerSocketChannel.open();
+        try {
+            canalEcoute.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            canalEcoute.bind(adresse, TAILLE_FILE_ATTENTE);
+            canalEcoute.configureBlocking(false);
+            cleEcoute = canalEcoute.register(selecteur, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            fermerServeur();
+            throw e;
         }
 
         String ipEffective = InetAddress.getLocalHost().getHostAddress();
@@ -87,216 +201,346 @@ public class Serveur implements Connexion {
     }
 
     /**
-     * Envoie la clé publique du serveur au client.
-     * Cette méthode utilise le flux de sortie pour envoyer la clé
-     * publique au client après la génération de cette dernière à
-     * l'aide du protocole Diffie-Hellman.
+     * Envoie la clé publique du serveur à un client.
      *
+     * @param connexion La connexion avec le client.
      * @param clePublique La clé publique du serveur à envoyer.
      */
-    public void envoyerClePublic(String clePublique) {
-        envoyer(clePublique);  // envoie la clé publique au client
+    public void envoyerClePublic(Connexion connexion, String clePublique) {
+        connexion.envoyer(clePublique);  // envoie la clé publique au client
         System.out.println("[SERVEUR] Clé publique envoyée : " + clePublique);
-
     }
 
     /**
-     * Attend les connexions des clients et les accepte lorsqu'elles arrivent.
-     * Une fois qu'une connexion est établie, le serveur crée un thread pour
-     * gérer la communication avec le client, y compris l'échange de
-     * clés publiques et le traitement des requêtes chiffrées.
+     * Accepte les connexions des clients et traite leurs échanges, jusqu'à
+     * la fermeture du serveur.
+     * Chaque client accepté reçoit sa propre connexion ; les données
+     * reçues de chacun sont traitées dès qu'une ligne complète est
+     * arrivée, sans attendre les autres clients.
      */
     public void accepterClients() {
-        while (!isClosed) {
-            try {
-                clientSocket = serverSocket.accept();
-                fluxSortie = new PrintWriter(clientSocket.getOutputStream(),
-                        true);
-                fluxEntree = new BufferedReader(
-                        new InputStreamReader(clientSocket.getInputStream())
-                );
-                String clientIP = clientSocket.getInetAddress()
-                                              .getHostAddress();
-                System.out.println("[SERVEUR] Client connecté : " + clientIP);
-
-                // Créer un thread pour gérer cette connexion client
-                Thread clientThread = new Thread(() -> {
-                    try {
-                        String initialisationDiffieHellman = recevoir();
-                        System.out.println("[SERVEUR] Clé publique du client "
-                                + "reçue : " + initialisationDiffieHellman);
-
-                        String[] parties = initialisationDiffieHellman
-                                           .split(" ; ");
-                        if (parties.length != 3) {
-                            throw new IllegalArgumentException("Format de clé "
-                                    + "publique invalide : "
-                                    + initialisationDiffieHellman);
+        if (selecteur == null) {
+            return;
+        }
+        long periodeVerification = Math.max(1, Math.min(delaiInactivite / 2,
+                                                        1_000));
+        long prochaineVerification = System.currentTimeMillis()
+                                     + periodeVerification;
+        try {
+            while (!isClosed) {
+                selecteur.select(periodeVerification);
+                if (System.currentTimeMillis() >= prochaineVerification) {
+                    fermerConnexionsInactives();
+                    prochaineVerification = System.currentTimeMillis()
+                                            + periodeVerification;
+                }
+                Iterator<SelectionKey> cles = selecteur.selectedKeys()
+                                                       .iterator();
+                while (cles.hasNext()) {
+                    SelectionKey cle = cles.next();
+                    cles.remove();
+                    if (!cle.isValid()) {
+                        continue;
+                    }
+                    if (cle.isAcceptable()) {
+                        try {
+                            accepter();
+                        } catch (IOException e) {
+                            if (isClosed) {
+                                return;
+                            }
+                            System.err.println("[SERVEUR] Erreur lors de "
+                                    + "l'attente d'un client : "
+                                    + e.getMessage());
                         }
-
-                        int clePublicClient = Integer.parseInt(parties[0]);
-                        int p = Integer.parseInt(parties[1]);
-                        int g = Integer.parseInt(parties[2]);
-
-                        // génération de la clé publique du serveur
-                        int b = DiffieHellman.genererEntierPremier(1,9999);
-                        int clePubliqueServeur = DiffieHellman.expoModulaire(g,
-                                                                             b,
-                                                                             p);
-                        envoyerClePublic(clePubliqueServeur + " ; "
-                                         + p + " ; " + g);
-
-                        // calcul de la clé secrète partagée
-                        BigInteger cleSecretePartagee =
-                                BigInteger.valueOf(DiffieHellman.expoModulaire(
-                                                clePublicClient, b, p
-                                        )
-                                );
-                        System.out.println("[SERVEUR] Clé secrète partagée "
-                                + "calculée : " + cleSecretePartagee);
-
-                        String requeteChiffree  = recevoir();
-                        System.out.println("[SERVEUR] Requête reçue : "
-                                + requeteChiffree );
-
-                        String requeteDechiffree =
-                                Vigenere.dechiffrementDonnees(requeteChiffree,
-                                        cleSecretePartagee);
-
-                        System.out.println("[SERVEUR] Données déchiffrées : "
-                                + requeteDechiffree);
-
-                        Platform.runLater(() ->
-                                ControleurPopup.afficherPopupFichierRecu(
-                                        requeteDechiffree
-                                ));
-
-                        String reponse = traiterRequete(requeteDechiffree);
-                        envoyer(reponse);
-                    } catch (IllegalArgumentException e) {
-                        System.err.println("[SERVEUR] Erreur attendue lors de "
-                                + "la gestion du client : " + e.getMessage());
-                    } catch (Exception e) {
-                        System.err.println("[SERVEUR] Erreur inattendue lors "
-                                           + "de la gestion du client : "
-                                           + e.getMessage());
-                    } finally {
-                        fermer();
+                    } else {
+                        traiterEvenement(cle);
                     }
-                });
-
-                clientThread.start();
-            } catch (SocketException e) {
-                // cas où le client se déconnecte brutalement
-                System.err.println("[SERVEUR] Le client s'est "
-                        + "déconnecté brusquement : "
-                        + e.getMessage());
-            } catch (IOException e) {
-                if (isClosed) {
-                    System.out.println("[SERVEUR] Le serveur est arrêté, "
-                            + "plus de clients à accepter.");
-                } else {
-                    System.err.println("[SERVEUR] Erreur lors de l'attente "
-                            + "d'un client : " + e.getMessage());
                 }
             }
+        } catch (IOException | ClosedSelectorException e) {
+            if (!isClosed) {
+                System.err.println("[SERVEUR] Erreur lors de l'attente "
+                        + "d'un client : " + e.getMessage());
+            }
+        } finally {
+            fermerServeur();
+            System.out.println("[SERVEUR] Le serveur est arrêté, "
+                    + "plus de clients à accepter.");
         }
     }
 
-    /**
-     * Envoie des données au client.
-     * Cette méthode utilise le flux de sortie
-     * pour envoyer les données spécifiées
-     * au client.
-     *
-     * @param donnees Les données à envoyer au client.
+    /*
+     * Accepte les clients en attente sur le canal d'écoute et enregistre
+     * leur connexion dans le sélecteur. Un client qui ne peut être
+     * enregistré est fermé sans interrompre le serveur. Une fois le nombre
+     * maximal de connexions atteint, le canal d'écoute n'est plus
+     * surveillé jusqu'à la fermeture d'une connexion.
      */
-    @Override
-    public void envoyer(String donnees) {
-        fluxSortie.println(donnees);
+    private void accepter() throws IOException {
+        SocketChannel canalClient;
+        while (connexions.size() < nbConnexionsMax
+               && (canalClient = canalEcoute.accept()) != null) {
+            try {
+                canalClient.configureBlocking(false);
+                SelectionKey cle = canalClient.register(selecteur,
+                                                        SelectionKey.OP_READ);
+                ConnexionClient connexion = new ConnexionClient(canalClient,
+                                                                cle,
+                                                                dossierReception);
+                cle.attach(connexion);
+                connexions.add(connexion);
+                System.out.println("[SERVEUR] Client connecté : "
+                                   + canalClient.getRemoteAddress());
+            } catch (IOException e) {
+                System.err.println("[SERVEUR] Erreur lors de l'acceptation "
+                        + "d'un client : " + e.getMessage());
+                canalClient.close();
+            }
+        }
+        if (connexions.size() >= nbConnexionsMax) {
+            cleEcoute.interestOps(0);
+        }
     }
 
-    /**
-     * Reçoit des données envoyées par le client.
-     * Cette méthode lit une ligne de texte du flux
-     * d'entrée et la retourne.
-     *
-     * @return La chaîne de caractères lue du client, ou null si une
-     *         erreur de lecture se produit.
+    /*
+     * Ferme les connexions restées inactives plus longtemps que le délai
+     * d'inactivité, hors traitement de leur requête et hors écriture de la
+     * réponse.
      */
-    @Override
-    public String recevoir() {
+    private void fermerConnexionsInactives() {
+        long limite = System.currentTimeMillis() - delaiInactivite;
+        for (ConnexionClient connexion : connexions) {
+            ConnexionClient.Etape etape = connexion.getEtape();
+            if (etape != ConnexionClient.Etape.TRAITEMENT
+                && !(etape == ConnexionClient.Etape.TERMINEE
+                     && connexion.aDonneesEnAttente())
+                && connexion.getDerniereActivite() < limite) {
+                System.err.println("[SERVEUR] Connexion inactive fermée : "
+                                   + connexion.renvoyerIP());
+                fermerConnexion(connexion);
+            }
+        }
+    }
+
+    /*
+     * Lit, traite puis écrit les données d'un client dont le canal est
+     * prêt. Une erreur ne concerne que ce client, dont la connexion est
+     * alors fermée.
+     */
+    private void traiterEvenement(SelectionKey cle) {
+        ConnexionClient connexion = (ConnexionClient) cle.attachment();
         try {
-            return fluxEntree.readLine();
+            boolean ouverte = !cle.isReadable() || connexion.lire();
+            traiterDonnees(connexion);
+            if (!ouverte) {
+                fermerConnexion(connexion);
+            } else if (cle.isValid() && connexion.ecrire()) {
+                fermerConnexion(connexion);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("[SERVEUR] Erreur attendue lors de "
+                    + "la gestion du client : " + e.getMessage());
+            fermerConnexion(connexion);
         } catch (IOException e) {
-            System.err.println("[SERVEUR] Erreur lors de la réception : "
+            // cas où le client se déconnecte brutalement, ou où un
+            // fichier reçu ne peut être écrit
+            System.err.println("[SERVEUR] Échange interrompu avec "
+                    + "le client : " + e.getMessage());
+            fermerConnexion(connexion);
+        } catch (CancelledKeyException e) {
+            // connexion fermée depuis un autre thread par fermer()
+            fermerConnexion(connexion);
+        } catch (RuntimeException e) {
+            System.err.println("[SERVEUR] Erreur inattendue lors "
+                               + "de la gestion du client : "
                                + e.getMessage());
-            return null;
+            fermerConnexion(connexion);
         }
     }
 
-    /**
-     * Ferme la connexion avec le client.
-     * Cette méthode ferme les flux d'entrée
-     * et de sortie ainsi que le socket
-     * de connexion avec le client.
+    /*
+     * Traite les données reçues d'un client selon l'étape de l'échange :
+     * clé publique du client, puis fichiers chiffrés, dont le traitement
+     * est confié à un thread virtuel une fois tous reçus et vérifiés.
      */
-    @Override
-    public void fermer() {
-        try {
-            if (fluxEntree != null) {
-                fluxEntree.close();
+    private void traiterDonnees(ConnexionClient connexion) {
+        if (connexion.getEtape() == ConnexionClient.Etape.ATTENTE_CLE) {
+            String ligne = connexion.recevoir();
+            if (ligne != null) {
+                echangerCles(connexion, ligne);
+                connexion.setEtape(ConnexionClient.Etape.ATTENTE_REQUETE);
             }
-            if (fluxSortie != null) {
-                fluxSortie.close();
+        }
+        if (connexion.getEtape() == ConnexionClient.Etape.ATTENTE_REQUETE
+            && connexion.getDecodeur().estTermine()) {
+            List<FichierTransfere> fichiers = connexion.getDecodeur().getFichiers();
+            connexion.setEtape(ConnexionClient.Etape.TRAITEMENT);
+            traitements.execute(() -> traiterTransfert(connexion, fichiers));
+        }
+    }
+
+    /*
+     * Répond à la clé publique du client par celle du serveur et calcule
+     * la clé secrète partagée avec ce client.
+     */
+    private void echangerCles(ConnexionClient connexion,
+                              String initialisationDiffieHellman) {
+        System.out.println("[SERVEUR] Clé publique du client "
+                + "reçue : " + initialisationDiffieHellman);
+
+        String[] parties = initialisationDiffieHellman.split(" ; ");
+        if (parties.length != 3) {
+            throw new IllegalArgumentException("Format de clé "
+                    + "publique invalide : "
+                    + initialisationDiffieHellman);
+        }
+
+        int clePublicClient = Integer.parseInt(parties[0]);
+        int p = Integer.parseInt(parties[1]);
+        int g = Integer.parseInt(parties[2]);
+
+        // génération de la clé publique du serveur
+        int b = DiffieHellman.genererEntierPremier(1,9999);
+        int clePubliqueServeur = DiffieHellman.expoModulaire(g, b, p);
+        // les compressions acceptées suivent la clé, ignorées par les
+        // clients qui ne compressent pas
+        envoyerClePublic(connexion, clePubliqueServeur + " ; "
+                                    + p + " ; " + g + " ; "
+                                    + ProtocoleTransfert.annoncerCompressions(
+                                            ProtocoleTransfert.COMPRESSIONS));
+
+        // calcul de la clé secrète partagée
+        BigInteger cleSecretePartagee = BigInteger.valueOf(
+                DiffieHellman.expoModulaire(clePublicClient, b, p));
+        connexion.setCleSecretePartagee(cleSecretePartagee);
+        connexion.getDecodeur().setCle(cleSecretePartagee);
+        System.out.println("[SERVEUR] Clé secrète partagée "
+                + "calculée : " + cleSecretePartagee);
+    }
+
+    /*
+     * Répond au client puis affiche les fichiers reçus, déjà déchiffrés et
+     * vérifiés. La connexion est fermée une fois la réponse écrite, ou
+     * aussitôt en cas d'erreur. Les fichiers temporaires qui ne seront pas
+     * affichés sont supprimés.
+     */
+    private void traiterTransfert(ConnexionClient connexion,
+                                  List<FichierTransfere> fichiers) {
+        try {
+            for (FichierTransfere fichier : fichiers) {
+                System.out.println("[SERVEUR] Fichier reçu : "
+                                   + fichier.getNom() + " ("
+                                   + fichier.getTaille() + " octets)");
             }
-            if (clientSocket != null) {
-                clientSocket.close();
+
+            // la réponse est en attente avant la fin du traitement, pour
+            // que la connexion ne soit pas fermée comme inactive entre-temps
+            connexion.envoyerPuisFermer(traiterRequete(fichiers));
+            connexion.setEtape(ConnexionClient.Etape.TERMINEE);
+        } catch (RuntimeException e) {
+            System.err.println("[SERVEUR] Erreur lors du traitement "
+                               + "des fichiers reçus : "
+                               + e.getMessage());
+            fichiers.forEach(FichierTransfere::supprimer);
+            fermerConnexion(connexion);
+            return;
+        }
+
+        try {
+            Platform.runLater(() ->
+                    ControleurPopup.afficherPopupFichierRecu(fichiers));
+        } catch (IllegalStateException e) {
+            // serveur lancé sans interface graphique
+            System.err.println("[SERVEUR] Données reçues non affichées : "
+                               + e.getMessage());
+            fichiers.forEach(FichierTransfere::supprimer);
+        }
+    }
+
+    /*
+     * Ferme la connexion avec un client et l'oublie. La place libérée
+     * permet d'accepter de nouveau des clients.
+     */
+    private void fermerConnexion(ConnexionClient connexion) {
+        connexion.fermer();
+        if (connexions.remove(connexion) && !isClosed
+            && connexions.size() < nbConnexionsMax) {
+            try {
+                cleEcoute.interestOps(SelectionKey.OP_ACCEPT);
+                selecteur.wakeup();
+            } catch (CancelledKeyException e) {
+                // serveur en cours de fermeture
             }
-        } catch (IOException e) {
-            System.err.println("[SERVEUR] Erreur lors de la fermeture de "
-                               + "la connexion : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Ferme les connexions avec les clients en cours.
+     * Le serveur continue d'accepter de nouveaux clients.
+     */
+    public void fermer() {
+        for (ConnexionClient connexion : connexions) {
+            fermerConnexion(connexion);
         }
     }
 
     /**
      * Ferme le serveur et empêche l'acceptation
      * de nouvelles connexions.
-     * Cette méthode marque le serveur comme fermé et
-     * ferme le socket du serveur.
+     * Cette méthode marque le serveur comme fermé, ferme le canal
+     * d'écoute, les connexions avec les clients et le sélecteur, ce qui
+     * termine {@link #accepterClients()}, puis attend la fin des
+     * traitements de requêtes en cours.
      */
     public void fermerServeur() {
         isClosed = true;
         try {
-            if (serverSocket != null) {
-                serverSocket.close();
+            if (canalEcoute != null) {
+                canalEcoute.close();
+            }
+            fermer();
+            if (selecteur != null) {
+                selecteur.close();
             }
         } catch (IOException e) {
             System.err.println("[SERVEUR] Erreur lors de la fermeture du "
                                + "serveur : " + e.getMessage());
         }
+        traitements.shutdown();
+        try {
+            if (!traitements.awaitTermination(DELAI_ARRET,
+                                              TimeUnit.MILLISECONDS)) {
+                traitements.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            traitements.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
     }
 
     /**
-     * Traite la requête reçue du client.
-     * Cette méthode effectue un traitement simple sur la requête et retourne
-     * une réponse à envoyer au client.
+     * Construit la réponse envoyée au client après la réception de ses
+     * fichiers.
      *
-     * @param requete La requête reçue du client.
-     * @return La réponse générée en fonction de la requête.
+     * @param fichiers Les fichiers reçus du client.
+     * @return La réponse, qui rappelle le nom des fichiers reçus.
      */
-    public static String traiterRequete(String requete) {
-        if (requete == null || requete.isEmpty()) {
+    public static String traiterRequete(List<FichierTransfere> fichiers) {
+        if (fichiers == null || fichiers.isEmpty()) {
             return "Requête invalide.";
         }
-        return "Données bien envoyées :" + requete;
+        StringJoiner noms = new StringJoiner(", ");
+        for (FichierTransfere fichier : fichiers) {
+            noms.add(fichier.getNom());
+        }
+        return "Données bien envoyées : " + noms;
     }
 
     /**
      * Renvoie l'adresse IP locale du serveur.
      * @return L'adresse IP locale du serveur, ou null en cas d'erreur.
      */
-    @Override
     public InetAddress renvoyerIP() {
         // 8.8.8.8 correspond au DNS de google
         try (Socket socket = new Socket("8.8.8.8", 53)) {
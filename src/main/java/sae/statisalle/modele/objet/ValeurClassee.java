@@ -0,0 +1,47 @@
+/*
+ * ValeurClassee.java               17/10/2026
+ * IUT DE RODEZ                     Pas de copyrights
+ */
+package sae.statisalle.modele.objet;
+
+/**
+ * Classe objet qui présente une salle ou un employé dans le classement
+ * des plus occupés, avec son rang, son nombre de réservations et le temps
+ * total réservé.
+ *
+ * @author erwan.thierry
+ */
+public class ValeurClassee {
+    private final int rang;
+    private final String nom;
+    private final int nombre;
+    private final long minutes;
+
+    /**
+     * Crée une valeur classée.
+     *
+     * @param rang Le rang dans le classement, à partir de 1.
+     * @param nom Le nom de la salle ou de l'employé.
+     * @param nombre Le nombre de réservations.
+     * @param minutes Le temps total réservé, en minutes.
+     */
+    public ValeurClassee(int rang, String nom, int nombre, long minutes) {
+        this.rang = rang;
+        this.nom = nom;
+        this.nombre = nombre;
+        this.minutes = minutes;
+    }
+
+    // Getters
+    public int getRang() { return rang; }
+    public String getNom() { return nom; }
+    public int getNombre() { return nombre; }
+    public long getMinutes() { return minutes; }
+
+    /**
+     * @return Le temps total réservé, au format HHhMM.
+     */
+    public String getDuree() {
+        return Reservation.formaterHeure((int) Math.min(minutes, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * BancEssaiLectureCsv.java              17/10/2026
+ * IUT DE RODEZ                          Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import sae.statisalle.modele.LecteurCsv;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Banc d'essai JMH de la lecture d'un fichier de réservations d'un million
+ * de lignes : lecture par lignes de texte découpées par String.split
+ * (lecture utilisée auparavant par Fichier.parcourirDonnees) comparée à la
+ * lecture par projection en mémoire de {@link LecteurCsv}, en décodant
+ * toutes les cellules ou seulement une partie, et découpée en autant de
+ * plages lues en même temps que de processeurs.
+ * <p>
+ * Ce banc d'essai n'est pas lancé par les tests :
+ * <pre>mvn -P banc-essai test-compile exec:exec</pre>
+ * </p>
+ * @author erwan.thierry
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BancEssaiLectureCsv {
+
+    /* Nombre de lignes de réservation générées */
+    private static final int NB_LIGNES = 1_000_000;
+
+    private Path fichier;
+
+    @Setup
+    public void genererFichier() throws IOException {
+        fichier = Files.createTempFile("banc_reservations", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(fichier)) {
+            writer.write("Ident;salle;employe;activite;date;heuredebut;"
+                         + "heurefin;;;;;");
+            writer.newLine();
+            for (int i = 0; i < NB_LIGNES; i++) {
+                writer.write("R" + i + ";0000000" + (i % 9 + 1) + ";E00000"
+                             + (i % 8 + 1) + ";réunion;"
+                             + String.format("%02d", i % 28 + 1)
+                             + "/10/2024;08h00;10h30;"
+                             + "réunion de suivi hebdomadaire du service;"
+                             + "Legendre;Noémie;0600000000;reunion");
+                writer.newLine();
+            }
+        }
+    }
+
+    @TearDown
+    public void supprimerFichier() throws IOException {
+        Files.deleteIfExists(fichier);
+    }
+
+    @Benchmark
+    public void lectureTexte(Blackhole trou) throws IOException {
+        try (BufferedReader br = new BufferedReader(new FileReader(fichier.toFile()))) {
+            int nbColonnes = br.readLine().split(";", -1).length;
+            String ligne;
+            while ((ligne = br.readLine()) != null) {
+                String[] cellules = ligne.split(";", -1);
+                if (cellules.length < nbColonnes) {
+                    cellules = Arrays.copyOf(cellules, nbColonnes);
+                }
+                for (int i = 0; i < cellules.length; i++) {
+                    if (cellules[i] == null || cellules[i].isEmpty()) {
+                        cellules[i] = " ";
+                    }
+                }
+                trou.consume(cellules);
+            }
+        }
+    }
+
+    @Benchmark
+    public void lectureProjetee(Blackhole trou) throws IOException {
+        new LecteurCsv().parcourir(fichier, ligne -> trou.consume(ligne.cellules()));
+    }
+
+    @Benchmark
+    public void lectureProjeteePartielle(Blackhole trou) throws IOException {
+        new LecteurCsv().parcourir(fichier, ligne -> {
+            trou.consume(ligne.cellule(1));
+            trou.consume(ligne.cellule(4));
+        });
+    }
+
+    @Benchmark
+    public void lectureProjeteeParPlages(Blackhole trou) throws IOException {
+        new LecteurCsv().parcourirParPlages(fichier,
+                Runtime.getRuntime().availableProcessors(), () -> trou,
+                (plage, ligne) -> plage.consume(ligne.cellules()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BancEssaiLectureCsv.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * TestChargeServeur.java                 17/10/2026
+ * IUT DE RODEZ                           Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sae.statisalle.modele.DiffieHellman;
+import sae.statisalle.modele.objet.Client;
+import sae.statisalle.modele.objet.Serveur;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test de charge du serveur sur la boucle locale.
+ * <p>
+ * Plusieurs centaines de clients, un thread virtuel chacun, envoient en
+ * même temps un export au serveur, dont le nombre de connexions simultanées est borné à moins que
+ * le nombre de clients. Chaque client doit recevoir la réponse à ses
+ * propres données ; la durée totale et la plus longue durée d'un envoi
+ * sont affichées :
+ * <pre>mvn test -P performance</pre>
+ * Ce test est exclu des tests lancés par défaut.
+ * </p>
+ * @author valentin.munier-genie
+ */
+@Tag("performance")
+class TestChargeServeur {
+
+    /* Port d'écoute du serveur testé */
+    private static final int PORT = 55600;
+
+    /* Nombre de clients envoyant en même temps */
+    private static final int NB_CLIENTS = 400;
+
+    /* Nombre maximal de connexions simultanées du serveur */
+    private static final int NB_CONNEXIONS_MAX = 128;
+
+    /* Nombre de lignes de l'export envoyé par chaque client */
+    private static final int NB_LIGNES = 20;
+
+    private Serveur serveur;
+    private Thread serveurThread;
+
+    @TempDir
+    Path dossier;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serveur = new Serveur(NB_CONNEXIONS_MAX, Serveur.DELAI_INACTIVITE,
+                              dossier);
+        serveur.demarrer(PORT, "127.0.0.1");
+        serveurThread = Thread.ofPlatform().name("serveur")
+                              .start(serveur::accepterClients);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        serveur.fermerServeur();
+        serveurThread.join();
+    }
+
+    @Test
+    void testEnvoisSimultanes() throws Exception {
+        CountDownLatch depart = new CountDownLatch(1);
+        List<Future<Long>> durees = new ArrayList<>();
+        long debut;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < NB_CLIENTS; i++) {
+                Path fichier = genererExport(i);
+                durees.add(clients.submit(() -> {
+                    depart.await();
+                    long debutEnvoi = System.nanoTime();
+                    assertEquals("Données bien envoyées : "
+                                 + fichier.getFileName(),
+                                 envoyerFichier(fichier));
+                    return System.nanoTime() - debutEnvoi;
+                }));
+            }
+            debut = System.nanoTime();
+            depart.countDown();
+        }
+
+        long dureeMax = 0;
+        for (Future<Long> duree : durees) {
+            dureeMax = Math.max(dureeMax, duree.get(1, TimeUnit.MINUTES));
+        }
+        System.out.printf("%d envois simultanés en %d ms, envoi le plus "
+                          + "long : %d ms%n", NB_CLIENTS,
+                          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - debut),
+                          TimeUnit.NANOSECONDS.toMillis(dureeMax));
+    }
+
+    /*
+     * Fichier d'export des réservations d'un département.
+     */
+    private Path genererExport(int departement) throws IOException {
+        StringBuilder export = new StringBuilder("Ident;salle;employe;activite;"
+                                                 + "date;heuredebut;heurefin\n");
+        for (int i = 0; i < NB_LIGNES; i++) {
+            export.append("R").append(departement).append("-").append(i)
+                  .append(";0000000").append(i % 9 + 1)
+                  .append(";E00000").append(departement % 8 + 1)
+                  .append(";réunion;07/10/2024;08h00;10h30\n");
+        }
+        Path fichier = dossier.resolve("Reservation_" + departement + ".csv");
+        Files.writeString(fichier, export);
+        return fichier;
+    }
+
+    /*
+     * Échange les clés avec le serveur, lui envoie un fichier chiffré et
+     * renvoie sa réponse.
+     */
+    private static String envoyerFichier(Path fichier) throws IOException {
+        Client client = new Client();
+        try {
+            client.connecter("127.0.0.1", PORT);
+            int p = DiffieHellman.genererEntierPremier(1, 9999);
+            int g = DiffieHellman.genererGenerateur(p);
+            int a = DiffieHellman.genererEntierPremier(1, 9999);
+            client.envoyerClePublic(DiffieHellman.expoModulaire(g, a, p)
+                                    + " ; " + p + " ; " + g);
+
+            String[] parties = client.recevoirClePublic().split(" ; ");
+            BigInteger cle = BigInteger.valueOf(DiffieHellman.expoModulaire(
+                    Integer.parseInt(parties[0]), a, p));
+            client.envoyerFichiers(List.of(fichier), cle);
+            return client.recevoir();
+        } finally {
+            client.fermer();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * TestCompressionTransfert.java          17/10/2026
+ * IUT DE RODEZ                           Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sae.statisalle.modele.DiffieHellman;
+import sae.statisalle.modele.objet.Client;
+import sae.statisalle.modele.objet.Serveur;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mesure de la compression des fichiers envoyés sur la boucle locale, à
+ * débit limité.
+ * <p>
+ * Un export de réservations est envoyé au serveur à travers un relais qui
+ * limite le débit du client vers le serveur et compte les octets
+ * transmis, une fois sans compression (comme un client qui ne la prend
+ * pas en charge) et une fois compressé. Les octets transmis et la durée de
+ * l'envoi, réponse du serveur comprise, sont affichés pour chaque débit :
+ * <pre>mvn test -P performance</pre>
+ * Ce test est exclu des tests lancés par défaut.
+ * </p>
+ * @author valentin.munier-genie
+ */
+@Tag("performance")
+class TestCompressionTransfert {
+
+    /* Port d'écoute du serveur testé */
+    private static final int PORT = 55620;
+
+    /* Port d'écoute du relais à débit limité */
+    private static final int PORT_RELAIS = 55621;
+
+    /* Nombre de lignes de l'export envoyé (environ 5 Mo) */
+    private static final int NB_LIGNES = 40_000;
+
+    /* Débits du relais, en octets par seconde */
+    private static final long[] DEBITS = {1024 * 1024, 8 * 1024 * 1024};
+
+    @TempDir
+    Path dossier;
+
+    private Serveur serveur;
+    private Thread serveurThread;
+    private Path export;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path reception = Files.createDirectories(dossier.resolve("reception"));
+        serveur = new Serveur(Serveur.NB_CONNEXIONS_MAX,
+                              Serveur.DELAI_INACTIVITE, reception);
+        serveur.demarrer(PORT, "127.0.0.1");
+        serveurThread = Thread.ofPlatform().name("serveur")
+                              .start(serveur::accepterClients);
+        export = genererExport();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        serveur.fermerServeur();
+        serveurThread.join();
+    }
+
+    @Test
+    void testCompressionDebitLimite() throws Exception {
+        System.out.printf("Export de %d octets%n", Files.size(export));
+        for (long debit : DEBITS) {
+            long[] sansCompression = envoyerParRelais(new Client(List.of()), debit);
+            long[] compresse = envoyerParRelais(new Client(), debit);
+            System.out.printf("%5d Ko/s : sans compression %9d octets en %5d ms,"
+                              + " compressé %9d octets en %5d ms%n",
+                              debit / 1024,
+                              sansCompression[0], sansCompression[1],
+                              compresse[0], compresse[1]);
+
+            assertTrue(compresse[0] * 4 < sansCompression[0],
+                       "Un export doit être au moins 4 fois plus petit compressé");
+            if (debit == DEBITS[0]) {
+                assertTrue(compresse[1] < sansCompression[1],
+                           "À débit limité, l'envoi compressé doit être plus rapide");
+            }
+        }
+    }
+
+    /*
+     * Envoie l'export par un relais au débit donné. Renvoie le nombre
+     * d'octets envoyés par le client et la durée de l'envoi en
+     * millisecondes.
+     */
+    private long[] envoyerParRelais(Client client, long debit) throws Exception {
+        AtomicLong octets = new AtomicLong();
+        try (ServerSocket relais = new ServerSocket(PORT_RELAIS)) {
+            Thread relaisThread = Thread.ofPlatform().start(() -> relayer(relais, debit, octets));
+            long debut = System.nanoTime();
+            try {
+                client.connecter("127.0.0.1", PORT_RELAIS);
+                int p = DiffieHellman.genererEntierPremier(1, 9999);
+                int g = DiffieHellman.genererGenerateur(p);
+                int a = DiffieHellman.genererEntierPremier(1, 9999);
+                client.envoyerClePublic(DiffieHellman.expoModulaire(g, a, p)
+                                        + " ; " + p + " ; " + g);
+                String[] parties = client.recevoirClePublic().split(" ; ");
+                BigInteger cle = BigInteger.valueOf(DiffieHellman.expoModulaire(
+                        Integer.parseInt(parties[0]), a, p));
+                client.envoyerFichiers(List.of(export), cle);
+                assertEquals("Données bien envoyées : Reservations.csv",
+                             client.recevoir());
+            } finally {
+                client.fermer();
+            }
+            long duree = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - debut);
+            relaisThread.join();
+            return new long[] {octets.get(), duree};
+        }
+    }
+
+    /*
+     * Relaie une connexion vers le serveur, en limitant le débit du client
+     * vers le serveur et en comptant les octets relayés dans ce sens.
+     */
+    private static void relayer(ServerSocket relais, long debit, AtomicLong octets) {
+        try (Socket client = relais.accept();
+             Socket serveur = new Socket("127.0.0.1", PORT)) {
+            Thread retour = Thread.ofPlatform().start(() -> copier(
+                    serveur, client, Long.MAX_VALUE, new AtomicLong()));
+            copier(client, serveur, debit, octets);
+            retour.join();
+        } catch (IOException | InterruptedException e) {
+            fail("Relais interrompu : " + e.getMessage());
+        }
+    }
+
+    /*
+     * Copie les octets reçus d'une connexion vers l'autre, au débit donné,
+     * jusqu'à la fermeture de la connexion source.
+     */
+    private static void copier(Socket source, Socket destination, long debit,
+                               AtomicLong octets) {
+        byte[] tampon = new byte[8 * 1024];
+        long debut = System.nanoTime();
+        try {
+            InputStream entree = source.getInputStream();
+            OutputStream sortie = destination.getOutputStream();
+            int nb;
+            while ((nb = entree.read(tampon)) >= 0) {
+                sortie.write(tampon, 0, nb);
+                long total = octets.addAndGet(nb);
+                long attente = total * 1_000 / debit
+                               - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - debut);
+                if (attente > 0) {
+                    Thread.sleep(attente);
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            // connexion fermée par l'autre extrémité
+        } finally {
+            try {
+                destination.shutdownOutput();
+            } catch (IOException e) {
+                // connexion déjà fermée
+            }
+        }
+    }
+
+    /*
+     * Export de réservations, dont les salles, employés, dates et horaires
+     * se répètent d'une ligne à l'autre.
+     */
+    private Path genererExport() throws IOException {
+        Path fichier = dossier.resolve("Reservations.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(fichier)) {
+            writer.write("Ident;salle;employe;activite;date;heuredebut;"
+                         + "heurefin;;;;;");
+            writer.newLine();
+            for (int i = 0; i < NB_LIGNES; i++) {
+                writer.write("R" + i + ";0000000" + (i % 9 + 1) + ";E00000"
+                             + (i % 8 + 1) + ";réunion;"
+                             + String.format("%02d", i % 28 + 1)
+                             + "/10/2024;08h00;10h30;"
+                             + "réunion de suivi hebdomadaire du service;"
+                             + "Legendre;Noémie;0600000000;reunion");
+                writer.newLine();
+            }
+        }
+        return fichier;
+    }
+}
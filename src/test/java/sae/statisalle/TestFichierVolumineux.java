@@ -0,0 +1,110 @@
+/*
+ * TestFichierVolumineux.java            17/10/2026
+ * IUT DE RODEZ                          Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sae.statisalle.modele.DonneesChargees;
+import sae.statisalle.modele.Fichier;
+import sae.statisalle.modele.LireFichier;
+import sae.statisalle.modele.SuiviChargement;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test de lecture d'un fichier de réservations volumineux.
+ * <p>
+ * Un fichier de réservations synthétique de plusieurs centaines de
+ * mégaoctets est généré puis parcouru ligne par ligne. Un second fichier,
+ * plus volumineux que le tas mais dont les réservations y tiennent, est
+ * chargé comme le fait l'application, par {@link LireFichier}. Ce test
+ * doit être lancé avec un tas réduit afin de vérifier que la lecture se
+ * fait en mémoire bornée :
+ * <pre>mvn test -P volumineux</pre>
+ * Il est exclu des tests lancés par défaut.
+ * </p>
+ * @author erwan.thierry
+ */
+@Tag("volumineux")
+class TestFichierVolumineux {
+
+    /* Nombre de lignes de réservation parcourues (environ 300 Mo) */
+    private static final int NB_LIGNES = 3_000_000;
+
+    /* Nombre de lignes de réservation chargées, dont la description longue
+       est partagée par toutes les réservations (environ 200 Mo) */
+    private static final int NB_LIGNES_CHARGEES = 400_000;
+
+    /* Taille maximale du tas attendue pour ce test, en octets */
+    private static final long TAS_MAXIMUM = 128L * 1024 * 1024;
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    void testParcourirFichierVolumineux() throws IOException {
+        assertTrue(Runtime.getRuntime().maxMemory() <= TAS_MAXIMUM,
+                "Ce test doit être lancé avec un tas réduit (-P volumineux)");
+        Path chemin = genererFichier(NB_LIGNES,
+                                     "réunion de suivi hebdomadaire du service");
+        assertTrue(Files.size(chemin) > 300L * 1024 * 1024);
+
+        Fichier fichier = new Fichier(chemin.toString());
+        long[] nbColonnes = new long[1];
+        int nbLignes = fichier.parcourirDonnees(
+                ligne -> nbColonnes[0] += ligne.length);
+
+        assertEquals(NB_LIGNES, nbLignes);
+        assertEquals(12L * NB_LIGNES, nbColonnes[0]);
+        assertEquals("Reservation", fichier.getTypeFichier());
+    }
+
+    @Test
+    void testChargerFichierVolumineux() throws IOException {
+        assertTrue(Runtime.getRuntime().maxMemory() <= TAS_MAXIMUM,
+                "Ce test doit être lancé avec un tas réduit (-P volumineux)");
+        Path chemin = genererFichier(NB_LIGNES_CHARGEES,
+                "réunion de suivi hebdomadaire du service ".repeat(12));
+        assertTrue(Files.size(chemin) > TAS_MAXIMUM);
+
+        DonneesChargees donnees = LireFichier.lireDossier(dossier.toString(),
+                                                          SuiviChargement.AUCUN);
+
+        assertTrue(donnees.getFichiersInvalides().isEmpty());
+        assertEquals(NB_LIGNES_CHARGEES, donnees.getReservations().size());
+        assertEquals(NB_LIGNES_CHARGEES, donnees.getColonnes().taille());
+        assertEquals("R" + (NB_LIGNES_CHARGEES - 1), donnees.getReservations()
+                .get(NB_LIGNES_CHARGEES - 1).getIdReservation());
+    }
+
+    /*
+     * Génère dans le dossier du test un fichier de réservations du nombre
+     * de lignes indiqué, toutes avec la même description.
+     */
+    private Path genererFichier(int nbLignes, String description)
+            throws IOException {
+        Path fichier = dossier.resolve("Reservations.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(fichier)) {
+            writer.write("Ident;salle;employe;activite;date;heuredebut;"
+                         + "heurefin;;;;;");
+            writer.newLine();
+            for (int i = 0; i < nbLignes; i++) {
+                writer.write("R" + i + ";0000000" + (i % 9 + 1) + ";E00000"
+                             + (i % 8 + 1) + ";réunion;"
+                             + String.format("%02d", i % 28 + 1)
+                             + "/10/2024;08h00;10h30;" + description
+                             + ";Legendre;Noémie;0600000000;reunion");
+                writer.newLine();
+            }
+        }
+        return fichier;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * TestMemoireReservations.java           17/10/2026
+ * IUT DE RODEZ                           Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sae.statisalle.modele.DonneesChargees;
+import sae.statisalle.modele.LireFichier;
+import sae.statisalle.modele.SuiviChargement;
+import sae.statisalle.modele.objet.Reservation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mesure de la mémoire occupée par réservation chargée, afin de
+ * dimensionner le tas pour un historique de plusieurs années.
+ * <p>
+ * Un dossier de fichiers de réservations quotidiens est chargé, puis la
+ * mémoire occupée par les données chargées est rapportée au nombre de
+ * réservations : avec les textes partagés par le chargement, puis après
+ * avoir donné à chaque réservation sa propre copie de ses textes, comme
+ * avant leur partage. Les deux valeurs sont affichées :
+ * <pre>mvn test -P performance</pre>
+ * Ce test est exclu des tests lancés par défaut.
+ * </p>
+ * @author erwan.thierry
+ */
+@Tag("performance")
+class TestMemoireReservations {
+
+    /* Nombre de fichiers quotidiens générés */
+    private static final int NB_JOURS = 60;
+
+    /* Nombre de réservations de chaque fichier */
+    private static final int NB_LIGNES_PAR_JOUR = 10_000;
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    void testMemoireParReservation() throws IOException, InterruptedException {
+        genererFichiers();
+
+        long memoireInitiale = memoireUtilisee();
+        DonneesChargees donnees = LireFichier.lireDossier(dossier.toString(),
+                                                          SuiviChargement.AUCUN);
+        int nbReservations = donnees.getReservations().size();
+        assertEquals(NB_JOURS * NB_LIGNES_PAR_JOUR, nbReservations);
+        long avecPartage = (memoireUtilisee() - memoireInitiale) / nbReservations;
+
+        for (Reservation reservation : donnees.getReservations()) {
+            reservation.setDescription(new String(reservation.getDescription()));
+            reservation.setNomIntervenant(new String(reservation.getNomIntervenant()));
+            reservation.setPrenomIntervenant(new String(reservation.getPrenomIntervenant()));
+            reservation.setNumTelIntervenant(new String(reservation.getNumTelIntervenant()));
+            reservation.setUsage(new String(reservation.getUsage()));
+        }
+        long sansPartage = (memoireUtilisee() - memoireInitiale) / nbReservations;
+
+        System.out.printf("Mémoire par réservation (%d réservations) : "
+                          + "%d octets sans partage des textes, %d octets avec%n",
+                          nbReservations, sansPartage, avecPartage);
+        assertTrue(avecPartage < sansPartage);
+        assertNotNull(donnees.getColonnes());
+    }
+
+    private void genererFichiers() throws IOException {
+        for (int jour = 0; jour < NB_JOURS; jour++) {
+            Path fichier = dossier.resolve(String.format("Reservation_%03d.csv", jour));
+            try (BufferedWriter writer = Files.newBufferedWriter(fichier)) {
+                writer.write("Ident;salle;employe;activite;date;heuredebut;"
+                             + "heurefin;;;;;");
+                writer.newLine();
+                for (int i = 0; i < NB_LIGNES_PAR_JOUR; i++) {
+                    int ligne = jour * NB_LIGNES_PAR_JOUR + i;
+                    writer.write("R" + ligne + ";0000000" + (i % 9 + 1)
+                                 + ";E00000" + (i % 8 + 1) + ";réunion;"
+                                 + String.format("%02d/%02d/2024", jour % 28 + 1,
+                                                 jour / 28 + 1)
+                                 + ";08h00;10h30;réunion de suivi " + i % 50
+                                 + ";Intervenant" + i % 200 + ";Prénom" + i % 150
+                                 + ";06000" + String.format("%05d", i % 200)
+                                 + ";usage " + i % 5);
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    /*
+     * Mémoire occupée après plusieurs ramasse-miettes, en octets.
+     */
+    private static long memoireUtilisee() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
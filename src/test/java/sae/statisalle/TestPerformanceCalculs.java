@@ -0,0 +1,133 @@
+/*
+ * TestPerformanceCalculs.java            17/10/2026
+ * IUT DE RODEZ                           Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sae.statisalle.modele.Agregation;
+import sae.statisalle.modele.CalendrierOuverture;
+import sae.statisalle.modele.ColonnesReservations;
+import sae.statisalle.modele.FiltreReservation;
+import sae.statisalle.modele.OccupationSalles;
+import sae.statisalle.modele.objet.Reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test du temps des calculs statistiques sur un million de réservations
+ * réparties sur cinq ans.
+ * <p>
+ * Les filtres des écrans d'analyse doivent rester interactifs : chaque
+ * changement de filtre doit être traité en moins de 10 ms, qu'il s'agisse
+ * de retrouver les lignes retenues ou d'en calculer les totaux. Le taux
+ * d'occupation des salles doit être calculé en bien moins d'une seconde.
+ * Ce test mesure le meilleur temps obtenu sur plusieurs essais, après
+ * échauffement :
+ * <pre>mvn test -P performance</pre>
+ * Il est exclu des tests lancés par défaut.
+ * </p>
+ * @author erwan.thierry
+ */
+@Tag("performance")
+class TestPerformanceCalculs {
+
+    /* Nombre de réservations générées */
+    private static final int NB_RESERVATIONS = 1_000_000;
+
+    /* Temps maximal attendu pour un filtre, en nanosecondes */
+    private static final long TEMPS_MAXIMUM = 10_000_000L;
+
+    /* Temps maximal attendu pour le taux d'occupation, en nanosecondes */
+    private static final long TEMPS_MAXIMUM_OCCUPATION = 300_000_000L;
+
+    /* Nombre de mesures de chaque filtre */
+    private static final int NB_ESSAIS = 20;
+
+    private static ColonnesReservations colonnes;
+
+    @BeforeAll
+    static void genererReservations() {
+        List<Reservation> reservations = new ArrayList<>(NB_RESERVATIONS);
+        for (int i = 0; i < NB_RESERVATIONS; i++) {
+            int debut = 7 + i % 11;
+            reservations.add(new Reservation("R" + i,
+                    "salle performance " + i % 40,
+                    "employe performance " + i % 300,
+                    "activite performance " + i % 8,
+                    String.format("%02d/%02d/%d", i % 28 + 1, i % 12 + 1,
+                                  2020 + i % 5),
+                    String.format("%02dh%02d", debut, i % 4 * 15),
+                    String.format("%02dh00", debut + 1 + i % 3),
+                    "", "", "", "", ""));
+        }
+        colonnes = new ColonnesReservations(reservations);
+    }
+
+    /**
+     * Meilleur temps d'exécution d'un calcul, en nanosecondes.
+     */
+    private static long mesurer(Runnable calcul) {
+        long meilleur = Long.MAX_VALUE;
+        for (int essai = 0; essai < NB_ESSAIS; essai++) {
+            long debut = System.nanoTime();
+            calcul.run();
+            meilleur = Math.min(meilleur, System.nanoTime() - debut);
+        }
+        return meilleur;
+    }
+
+    @Test
+    void testFiltresInteractifs() {
+        FiltreReservation[] filtres = {
+            new FiltreReservation("salle performance 7", "Tous", "Tous"),
+            new FiltreReservation("Tous", "employe performance 12",
+                                  "activite performance 4"),
+            new FiltreReservation("Tous", "Tous", "Tous",
+                                  "01/03/2024", "30/09/2024", "Tous", "Tous"),
+            new FiltreReservation("Tous", "Tous", "Tous",
+                                  "Tous", "Tous", "09h00", "15h00"),
+            new FiltreReservation("salle performance 3", "Tous",
+                                  "activite performance 3", "01/02/2024",
+                                  "30/11/2024", "08h00", "18h00")
+        };
+
+        for (FiltreReservation filtre : filtres) {
+            long temps = mesurer(() -> colonnes.getIndex().filtrer(filtre));
+            assertTrue(temps < TEMPS_MAXIMUM,
+                       "Filtre appliqué en " + temps / 1_000_000.0 + " ms");
+        }
+    }
+
+    @Test
+    void testTotauxFiltres() {
+        FiltreReservation[] filtres = {
+            new FiltreReservation("Tous", "Tous", "Tous"),
+            new FiltreReservation("salle performance 7", "Tous", "Tous"),
+            new FiltreReservation("Tous", "Tous", "Tous",
+                                  "01/03/2024", "30/09/2024", "09h00", "15h00")
+        };
+
+        for (FiltreReservation filtre : filtres) {
+            long temps = mesurer(() -> colonnes.agreger(filtre, Agregation.Cle.SALLE));
+            assertTrue(temps < TEMPS_MAXIMUM,
+                       "Totaux calculés en " + temps / 1_000_000.0 + " ms");
+        }
+    }
+
+    @Test
+    void testTauxOccupation() {
+        int[] lignes = colonnes.toutesLesLignes();
+        CalendrierOuverture calendrier = new CalendrierOuverture();
+
+        long temps = mesurer(() -> new OccupationSalles(colonnes, lignes,
+                calendrier, colonnes.getPremierJour(), colonnes.getDernierJour()));
+        assertTrue(temps < TEMPS_MAXIMUM_OCCUPATION,
+                   "Taux d'occupation calculé en " + temps / 1_000_000.0 + " ms");
+    }
+}
@@ -4,12 +4,15 @@
  */
 package sae.statisalle;
 
+import sae.statisalle.modele.DiffieHellman;
 import sae.statisalle.modele.objet.Serveur;
 import sae.statisalle.modele.objet.Client;
 
 import java.io.IOException;
+import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 /**
  * Classe de test de fonctionnement pour les classes Serveur et Client
@@ -75,17 +78,18 @@ public class TestReseau {
         try {
             client.connecter(HOST, PORT);
 
-            // Simulation d'échange de clés Diffie-Hellman
-            String clePubliqueClient = "12345 ; 23 ; 5"; // Exemple de clé publique
+            // Échange de clés Diffie-Hellman avec p = 23, g = 5 et a = 7
+            String clePubliqueClient = DiffieHellman.expoModulaire(5, 7, 23) + " ; 23 ; 5";
             client.envoyerClePublic(clePubliqueClient);
 
             String clePubliqueServeur = client.recevoirClePublic();
             System.out.println("[CLIENT] Clé publique reçue du serveur : " + clePubliqueServeur);
+            BigInteger cle = BigInteger.valueOf(DiffieHellman.expoModulaire(
+                    Integer.parseInt(clePubliqueServeur.split(" ; ")[0]), 7, 23));
 
-            // Envoi de données
-            String contenuFichier = Files.readString(Path.of(TEST_FILE_PATH));
-            System.out.println("[CLIENT] Envoi des données : " + contenuFichier);
-            client.envoyer(contenuFichier);
+            // Envoi du fichier
+            System.out.println("[CLIENT] Envoi du fichier : " + TEST_FILE_PATH);
+            client.envoyerFichiers(List.of(Path.of(TEST_FILE_PATH)), cle);
 
             // Réception de la réponse du serveur
             String reponse = client.recevoir();
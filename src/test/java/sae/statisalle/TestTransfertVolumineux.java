@@ -0,0 +1,110 @@
+/*
+ * TestTransfertVolumineux.java          17/10/2026
+ * IUT DE RODEZ                          Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sae.statisalle.modele.DiffieHellman;
+import sae.statisalle.modele.objet.Client;
+import sae.statisalle.modele.objet.Serveur;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test de l'envoi d'un fichier de réservations plus volumineux que le tas.
+ * <p>
+ * Un fichier de réservations synthétique de plus de 128 Mo est envoyé par
+ * un client à un serveur du même poste. Ce test doit être lancé avec un
+ * tas réduit afin de vérifier que l'envoi, le déchiffrement et l'écriture
+ * du fichier reçu se font en mémoire bornée :
+ * <pre>mvn test -P volumineux</pre>
+ * Il est exclu des tests lancés par défaut.
+ * </p>
+ * @author valentin.munier-genie
+ */
+@Tag("volumineux")
+class TestTransfertVolumineux {
+
+    /* Nombre de lignes de réservation générées (environ 250 Mo) */
+    private static final int NB_LIGNES = 2_000_000;
+
+    /* Taille maximale du tas attendue pour ce test, en octets */
+    private static final long TAS_MAXIMUM = 128L * 1024 * 1024;
+
+    private static final int PORT = 55610;
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    void testEnvoyerFichierVolumineux() throws Exception {
+        assertTrue(Runtime.getRuntime().maxMemory() <= TAS_MAXIMUM,
+                "Ce test doit être lancé avec un tas réduit (-P volumineux)");
+        Path fichier = genererFichier();
+        assertTrue(Files.size(fichier) > TAS_MAXIMUM);
+
+        Path reception = Files.createDirectories(dossier.resolve("reception"));
+        Serveur serveur = new Serveur(Serveur.NB_CONNEXIONS_MAX,
+                                      Serveur.DELAI_INACTIVITE, reception);
+        serveur.demarrer(PORT, "127.0.0.1");
+        Thread serveurThread = Thread.ofPlatform().name("serveur")
+                                     .start(serveur::accepterClients);
+        Client client = new Client();
+        try {
+            long debut = System.nanoTime();
+            client.connecter("127.0.0.1", PORT);
+            int p = DiffieHellman.genererEntierPremier(1, 9999);
+            int g = DiffieHellman.genererGenerateur(p);
+            int a = DiffieHellman.genererEntierPremier(1, 9999);
+            client.envoyerClePublic(DiffieHellman.expoModulaire(g, a, p)
+                                    + " ; " + p + " ; " + g);
+            String[] parties = client.recevoirClePublic().split(" ; ");
+            BigInteger cle = BigInteger.valueOf(DiffieHellman.expoModulaire(
+                    Integer.parseInt(parties[0]), a, p));
+            client.envoyerFichiers(List.of(fichier), cle);
+
+            // la réponse n'est envoyée qu'une fois l'empreinte vérifiée
+            assertEquals("Données bien envoyées : Reservations.csv",
+                         client.recevoir());
+            System.out.println("[TRANSFERT] " + Files.size(fichier) / (1024 * 1024)
+                               + " Mo envoyés en "
+                               + (System.nanoTime() - debut) / 1_000_000 + " ms");
+        } finally {
+            client.fermer();
+            serveur.fermerServeur();
+            serveurThread.join();
+        }
+    }
+
+    /*
+     * Génère le fichier de réservations envoyé.
+     */
+    private Path genererFichier() throws IOException {
+        Path fichier = dossier.resolve("Reservations.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(fichier)) {
+            writer.write("Ident;salle;employe;activite;date;heuredebut;"
+                         + "heurefin;;;;;");
+            writer.newLine();
+            for (int i = 0; i < NB_LIGNES; i++) {
+                writer.write("R" + i + ";0000000" + (i % 9 + 1) + ";E00000"
+                             + (i % 8 + 1) + ";réunion;"
+                             + String.format("%02d", i % 28 + 1)
+                             + "/10/2024;08h00;10h30;"
+                             + "réunion de suivi hebdomadaire du service;"
+                             + "Legendre;Noémie;0600000000;reunion");
+                writer.newLine();
+            }
+        }
+        return fichier;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * TestUnitaireAgregation.java            17/10/2026
+ * IUT DE RODEZ                           Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Test;
+import sae.statisalle.modele.Agregation;
+import sae.statisalle.modele.ColonnesReservations;
+import sae.statisalle.modele.Dictionnaire;
+import sae.statisalle.modele.objet.Reservation;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour la classe Agregation.
+ *
+ * <p>Les tests couvrent les fonctionnalités suivantes :
+ * <ul>
+ *   <li>Regroupement par salle, employé et activité   </li>
+ *   <li>Regroupement par jour                         </li>
+ *   <li>Pourcentages et valeurs inconnues             </li>
+ * </ul>
+ * @author erwan.thierry
+ */
+class TestUnitaireAgregation {
+
+    private final Reservation matin = new Reservation("R1", "salle agregation A",
+            "Dupont Pierre", "réunion", "07/10/2024", "08h00", "10h00",
+            "", "", "", "", "");
+
+    private final Reservation apresMidi = new Reservation("R2", "salle agregation B",
+            "Dupont Pierre", "formation", "09/10/2024", "14h00", "18h00",
+            "", "", "", "", "");
+
+    private final Reservation soir = new Reservation("R3", "salle agregation A",
+            "Lexpert Noemie", "réunion", "09/10/2024", "18h00", "20h00",
+            "", "", "", "", "");
+
+    private final Reservation sansDate = new Reservation("R4", "salle agregation B",
+            "Lexpert Noemie", "formation", "date inconnue", "10h00", "12h00",
+            "", "", "", "", "");
+
+    private final ColonnesReservations colonnes = new ColonnesReservations(
+            List.of(matin, apresMidi, soir, sansDate));
+
+    @Test
+    void testRegroupementParCode() {
+        Agregation parSalle = new Agregation(colonnes,
+                colonnes.toutesLesLignes(), Agregation.Cle.SALLE);
+
+        assertEquals(600, parSalle.getTotalMinutes());
+        assertEquals(4, parSalle.getNombreTotal());
+        int salleA = parSalle.code("salle agregation A");
+        assertEquals(240, parSalle.getMinutes(salleA));
+        assertEquals(2, parSalle.getNombre(salleA));
+        assertEquals(40.0, parSalle.getPourcentage(salleA), 1e-9);
+        assertEquals("salle agregation A", parSalle.valeur(salleA));
+
+        Agregation parEmploye = new Agregation(colonnes,
+                new int[] {0, 1, 2}, Agregation.Cle.EMPLOYE);
+        assertEquals(360, parEmploye.getMinutes(parEmploye.code("Dupont Pierre")));
+        assertEquals(120, parEmploye.getMinutes(parEmploye.code("Lexpert Noemie")));
+        assertEquals(480, parEmploye.getTotalMinutes());
+
+        Agregation parActivite = new Agregation(colonnes,
+                colonnes.toutesLesLignes(), Agregation.Cle.ACTIVITE);
+        assertEquals(360, parActivite.getMinutes(parActivite.code("formation")));
+    }
+
+    @Test
+    void testRegroupementParJour() {
+        Agregation parJour = new Agregation(colonnes,
+                colonnes.toutesLesLignes(), Agregation.Cle.JOUR);
+
+        assertEquals(3, parJour.nbCodes());
+        assertEquals(120, parJour.getMinutes(parJour.code("07/10/2024")));
+        assertEquals(0, parJour.getNombre(parJour.code("08/10/2024")));
+        assertEquals(360, parJour.getMinutes(parJour.code("09/10/2024")));
+        assertEquals("09/10/2024", parJour.valeur(2));
+        // la réservation sans date ne compte que dans le total
+        assertEquals(600, parJour.getTotalMinutes());
+    }
+
+    @Test
+    void testValeursInconnues() {
+        Agregation parSalle = new Agregation(colonnes, new int[0],
+                                             Agregation.Cle.SALLE);
+
+        assertEquals(0, parSalle.getTotalMinutes());
+        assertEquals(0.0, parSalle.getPourcentage(parSalle.code("salle agregation A")));
+        assertEquals(Dictionnaire.ABSENT, parSalle.code("salle jamais réservée"));
+        assertEquals(0, parSalle.getMinutes(Dictionnaire.ABSENT));
+
+        Agregation parJour = new Agregation(colonnes, colonnes.toutesLesLignes(),
+                                            Agregation.Cle.JOUR);
+        assertEquals(Dictionnaire.ABSENT, parJour.code("01/01/2020"));
+        assertEquals(Dictionnaire.ABSENT, parJour.code("date inconnue"));
+    }
+}
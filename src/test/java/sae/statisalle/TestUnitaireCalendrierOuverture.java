@@ -0,0 +1,108 @@
+/*
+ * TestUnitaireCalendrierOuverture.java            17/10/2026
+ * IUT DE RODEZ                                    Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sae.statisalle.modele.CalendrierOuverture;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour la classe CalendrierOuverture.
+ *
+ * <p>Les tests couvrent les fonctionnalités suivantes :
+ * <ul>
+ *   <li>Horaires par défaut                       </li>
+ *   <li>Jours de fermeture exceptionnelle         </li>
+ *   <li>Lecture d'un fichier de propriétés        </li>
+ *   <li>Horaires inversés ignorés à la lecture    </li>
+ * </ul>
+ * @author erwan.thierry
+ */
+class TestUnitaireCalendrierOuverture {
+
+    /* Lundi 07/10/2024 et dimanche 13/10/2024 */
+    private static final int LUNDI = (int) LocalDate.of(2024, 10, 7).toEpochDay();
+    private static final int DIMANCHE = LUNDI + 6;
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    void testHorairesParDefaut() {
+        CalendrierOuverture calendrier = new CalendrierOuverture();
+
+        assertEquals(8 * 60, calendrier.getOuverture(LUNDI));
+        assertEquals(18 * 60, calendrier.getFermeture(LUNDI));
+        assertFalse(calendrier.estOuvert(DIMANCHE));
+        // 5 jours ouvrés de 10 heures
+        assertEquals(5 * 600, calendrier.minutesOuvertes(LUNDI, DIMANCHE));
+    }
+
+    @Test
+    void testFermetures() {
+        CalendrierOuverture calendrier = new CalendrierOuverture();
+        calendrier.fermerJour(LUNDI);
+        calendrier.ouvrir(DayOfWeek.SATURDAY, 9 * 60, 12 * 60);
+
+        assertFalse(calendrier.estOuvert(LUNDI));
+        assertEquals(4 * 600 + 180, calendrier.minutesOuvertes(LUNDI, DIMANCHE));
+        assertThrows(IllegalArgumentException.class,
+                () -> calendrier.ouvrir(DayOfWeek.MONDAY, 600, 500));
+    }
+
+    @Test
+    void testLireFichier() throws IOException {
+        Path fichier = dossier.resolve("calendrier.properties");
+        Files.writeString(fichier, """
+                lundi=07h30-12h00
+                mardi=ferme
+                dimanche=10h00-11h00
+                mercredi=n'importe quoi
+                fermetures=10/10/2024; date fausse
+                """);
+
+        CalendrierOuverture calendrier = CalendrierOuverture.lire(fichier);
+
+        assertEquals(7 * 60 + 30, calendrier.getOuverture(LUNDI));
+        assertEquals(12 * 60, calendrier.getFermeture(LUNDI));
+        assertFalse(calendrier.estOuvert(LUNDI + 1));
+        assertEquals(600, calendrier.getFermeture(LUNDI + 2)
+                          - calendrier.getOuverture(LUNDI + 2));
+        assertFalse(calendrier.estOuvert(LUNDI + 3));
+        assertEquals(60, calendrier.minutesOuvertes(DIMANCHE, DIMANCHE));
+
+        CalendrierOuverture absent = CalendrierOuverture.lire(
+                dossier.resolve("absent.properties"));
+        assertEquals(5 * 600, absent.minutesOuvertes(LUNDI, DIMANCHE));
+    }
+
+    @Test
+    void testLireHorairesInverses() throws IOException {
+        Path fichier = dossier.resolve("calendrier.properties");
+        Files.writeString(fichier, """
+                lundi=18h00-08h00
+                mardi=08h00-08h00
+                jeudi=09h00-17h00
+                """);
+
+        CalendrierOuverture calendrier = CalendrierOuverture.lire(fichier);
+
+        // les horaires ignorés laissent ceux par défaut
+        assertEquals(8 * 60, calendrier.getOuverture(LUNDI));
+        assertEquals(18 * 60, calendrier.getFermeture(LUNDI));
+        assertEquals(8 * 60, calendrier.getOuverture(LUNDI + 1));
+        assertEquals(18 * 60, calendrier.getFermeture(LUNDI + 1));
+        assertEquals(9 * 60, calendrier.getOuverture(LUNDI + 3));
+        assertEquals(17 * 60, calendrier.getFermeture(LUNDI + 3));
+    }
+}
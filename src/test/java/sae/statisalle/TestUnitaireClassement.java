@@ -0,0 +1,117 @@
+/*
+ * TestUnitaireClassement.java            17/10/2026
+ * IUT DE RODEZ                           Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Test;
+import sae.statisalle.modele.Agregation;
+import sae.statisalle.modele.Classement;
+import sae.statisalle.modele.ColonnesReservations;
+import sae.statisalle.modele.objet.Reservation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour la classe Classement.
+ *
+ * <p>Les tests couvrent les fonctionnalités suivantes :
+ * <ul>
+ *   <li>Classement complet des réservations par durée  </li>
+ *   <li>Premières réservations et ex aequo             </li>
+ *   <li>Salles et employés les plus occupés            </li>
+ *   <li>Accord du tas borné avec un tri complet        </li>
+ * </ul>
+ * @author erwan.thierry
+ */
+class TestUnitaireClassement {
+
+    private final Reservation courte = new Reservation("R1", "salle classement A",
+            "Dupont Pierre", "réunion", "07/10/2024", "08h00", "09h00",
+            "", "", "", "", "");
+
+    private final Reservation longue = new Reservation("R2", "salle classement B",
+            "Dupont Pierre", "formation", "09/10/2024", "14h00", "18h00",
+            "", "", "", "", "");
+
+    private final Reservation moyenne = new Reservation("R3", "salle classement A",
+            "Lexpert Noemie", "réunion", "09/10/2024", "18h00", "20h00",
+            "", "", "", "", "");
+
+    private final Reservation moyenneBis = new Reservation("R4", "salle classement C",
+            "Lexpert Noemie", "formation", "10/10/2024", "10h00", "12h00",
+            "", "", "", "", "");
+
+    private final ColonnesReservations colonnes = new ColonnesReservations(
+            List.of(courte, longue, moyenne, moyenneBis));
+
+    @Test
+    void testClassementComplet() {
+        assertArrayEquals(new int[] {1, 2, 3, 0}, Classement.plusLongues(
+                colonnes, colonnes.toutesLesLignes(), Classement.TOUS));
+        assertArrayEquals(new int[0], Classement.plusLongues(
+                colonnes, new int[0], Classement.TOUS));
+    }
+
+    @Test
+    void testPremieresReservations() {
+        // à durée égale, la première ligne est la mieux classée
+        assertArrayEquals(new int[] {1, 2}, Classement.plusLongues(
+                colonnes, colonnes.toutesLesLignes(), 2));
+        assertArrayEquals(new int[] {3, 0}, Classement.plusLongues(
+                colonnes, new int[] {0, 3}, 5));
+        assertArrayEquals(new int[0], Classement.plusLongues(
+                colonnes, colonnes.toutesLesLignes(), 0));
+    }
+
+    @Test
+    void testPlusOccupes() {
+        Agregation parSalle = new Agregation(colonnes,
+                colonnes.toutesLesLignes(), Agregation.Cle.SALLE);
+        int[] salles = Classement.plusOccupes(parSalle, 2);
+        assertEquals(2, salles.length);
+        assertEquals("salle classement B", parSalle.valeur(salles[0]));
+        assertEquals("salle classement A", parSalle.valeur(salles[1]));
+
+        // une salle sans réservation retenue n'est pas classée
+        Agregation parSalleFiltree = new Agregation(colonnes,
+                new int[] {0, 2}, Agregation.Cle.SALLE);
+        int[] salleSeule = Classement.plusOccupes(parSalleFiltree, Classement.TOUS);
+        assertEquals(1, salleSeule.length);
+        assertEquals("salle classement A", parSalleFiltree.valeur(salleSeule[0]));
+
+        Agregation parEmploye = new Agregation(colonnes,
+                colonnes.toutesLesLignes(), Agregation.Cle.EMPLOYE);
+        int[] employes = Classement.plusOccupes(parEmploye, 1);
+        assertEquals("Dupont Pierre", parEmploye.valeur(employes[0]));
+    }
+
+    @Test
+    void testAccordAvecTriComplet() {
+        Random hasard = new Random(12);
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            int debut = 8 * 60 + hasard.nextInt(8) * 30;
+            int fin = debut + 30 * (1 + hasard.nextInt(6));
+            reservations.add(new Reservation("T" + i, "salle classement A",
+                    "Dupont Pierre", "réunion", "07/10/2024",
+                    Reservation.formaterHeure(debut),
+                    Reservation.formaterHeure(fin), "", "", "", "", ""));
+        }
+        ColonnesReservations grandes = new ColonnesReservations(reservations);
+        int[] complet = Classement.plusLongues(grandes,
+                grandes.toutesLesLignes(), Classement.TOUS);
+        for (int k : new int[] {1, 7, 100, 1999}) {
+            assertArrayEquals(Arrays.copyOf(complet, k), Classement.plusLongues(
+                    grandes, grandes.toutesLesLignes(), k));
+        }
+        for (int i = 1; i < complet.length; i++) {
+            assertTrue(grandes.getDuree(complet[i - 1]) >= grandes.getDuree(complet[i]));
+        }
+    }
+}
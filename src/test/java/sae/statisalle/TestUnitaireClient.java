@@ -93,7 +93,7 @@ public class TestUnitaireClient {
 
         assertNotNull(clePubliqueServeur, "La clé publique reçue du "
                 + "serveur ne doit pas être null");
-        assertTrue(clePubliqueServeur.matches("\\d+ ; \\d+ ; \\d+"),
+        assertTrue(clePubliqueServeur.matches("\\d+ ; \\d+ ; \\d+( ; [a-z,]*)?"),
                 "La clé publique reçue doit respecter le format attendu");
     }
 
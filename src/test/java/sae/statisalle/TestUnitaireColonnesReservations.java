@@ -0,0 +1,175 @@
+/*
+ * TestUnitaireColonnesReservations.java            17/10/2026
+ * IUT DE RODEZ                                     Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Test;
+import sae.statisalle.modele.Agregation;
+import sae.statisalle.modele.ColonnesReservations;
+import sae.statisalle.modele.FiltreReservation;
+import sae.statisalle.modele.objet.Reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour la classe ColonnesReservations.
+ *
+ * <p>Les tests couvrent les fonctionnalités suivantes :
+ * <ul>
+ *   <li>Rangement des réservations par colonnes          </li>
+ *   <li>Durée d'une ligne aux heures non valides          </li>
+ *   <li>Filtrage des lignes                               </li>
+ *   <li>Premier et dernier jour des réservations          </li>
+ *   <li>Ajout et retrait de réservations                  </li>
+ *   <li>Reconstruction après modifications                </li>
+ * </ul>
+ * @author erwan.thierry
+ */
+class TestUnitaireColonnesReservations {
+
+    private final Reservation matin = new Reservation("R1", "salle colonnes A",
+            "Dupont Pierre", "réunion", "07/10/2024", "08h00", "10h00",
+            "", "", "", "", "");
+
+    private final Reservation apresMidi = new Reservation("R2", "salle colonnes B",
+            "Dupont Pierre", "formation", "09/10/2024", "14h00", "18h00",
+            "", "", "", "", "");
+
+    private final Reservation soir = new Reservation("R3", "salle colonnes A",
+            "Lexpert Noemie", "réunion", "09/10/2024", "18h00", "19h30",
+            "", "", "", "", "");
+
+    private final Reservation nonValide = new Reservation("R4", "salle colonnes B",
+            "Lexpert Noemie", "formation", "10/10/2024", "midi", "14h00",
+            "", "", "", "", "");
+
+    private final ColonnesReservations colonnes = new ColonnesReservations(
+            List.of(matin, apresMidi, soir, nonValide));
+
+    @Test
+    void testRangementParColonnes() {
+        assertEquals(4, colonnes.taille());
+        assertSame(soir, colonnes.getReservation(2));
+        assertEquals(soir.getJour(), colonnes.getJour(2));
+        assertEquals(18 * 60, colonnes.getDebut(2));
+        assertEquals(19 * 60 + 30, colonnes.getFin(2));
+        assertEquals(soir.getCodeSalle(), colonnes.getSalle(2));
+        assertEquals(soir.getCodeEmploye(), colonnes.getEmploye(2));
+        assertEquals(soir.getCodeActivite(), colonnes.getActivite(2));
+        assertEquals(0, ColonnesReservations.VIDE.taille());
+    }
+
+    @Test
+    void testDuree() {
+        assertEquals(120, colonnes.getDuree(0));
+        assertEquals(90, colonnes.getDuree(2));
+        assertEquals(0, colonnes.getDuree(3));
+    }
+
+    @Test
+    void testFiltrer() {
+        assertArrayEquals(new int[] {0, 1, 2, 3}, colonnes.toutesLesLignes());
+        assertArrayEquals(new int[] {0, 2}, colonnes.filtrer(
+                new FiltreReservation("salle colonnes A", "Tous", "Tous")));
+        assertArrayEquals(new int[] {1, 2}, colonnes.filtrer(
+                new FiltreReservation("Tous", "Tous", "Tous",
+                        "08/10/2024", "09/10/2024", "Tous", "Tous")));
+    }
+
+    @Test
+    void testJoursExtremes() {
+        assertEquals(matin.getJour(), colonnes.getPremierJour());
+        assertEquals(nonValide.getJour(), colonnes.getDernierJour());
+        assertTrue(ColonnesReservations.VIDE.getDernierJour()
+                   < ColonnesReservations.VIDE.getPremierJour());
+    }
+
+    @Test
+    void testModifier() {
+        Reservation ajout = new Reservation("R5", "salle colonnes A",
+                "Lexpert Noemie", "formation", "05/10/2024", "09h00", "12h00",
+                "", "", "", "", "");
+        ColonnesReservations modifiees = colonnes.modifier(new int[] {0},
+                                                           List.of(ajout));
+
+        // le stockage d'origine n'est pas modifié
+        assertEquals(4, colonnes.taille());
+        assertArrayEquals(new int[] {0, 2}, colonnes.filtrer(
+                new FiltreReservation("salle colonnes A", "Tous", "Tous")));
+
+        assertEquals(5, modifiees.taille());
+        assertTrue(modifiees.estRetiree(0));
+        assertSame(ajout, modifiees.getReservation(4));
+        assertEquals(2, modifiees.nbModifications());
+        assertArrayEquals(new int[] {1, 2, 3, 4}, modifiees.toutesLesLignes());
+        assertArrayEquals(new int[] {2, 4}, modifiees.filtrer(
+                new FiltreReservation("salle colonnes A", "Tous", "Tous")));
+        assertEquals(ajout.getJour(), modifiees.getPremierJour());
+
+        Agregation parSalle = modifiees.agreger(
+                new FiltreReservation("Tous", "Tous", "Tous"), Agregation.Cle.SALLE);
+        int salleA = parSalle.code("salle colonnes A");
+        assertEquals(2, parSalle.getNombre(salleA));
+        assertEquals(90 + 180, parSalle.getMinutes(salleA));
+        assertEquals(4, parSalle.getNombreTotal());
+    }
+
+    @Test
+    void testModificationsSuccessives() {
+        List<Reservation> attendues = new ArrayList<>(List.of(apresMidi, soir, nonValide));
+        ColonnesReservations version = colonnes.modifier(new int[] {0}, List.of());
+        for (int i = 0; i < 5; i++) {
+            Reservation ajout = new Reservation("A" + i, "salle colonnes B",
+                    "Dupont Pierre", "réunion", "1" + i + "/10/2024",
+                    "10h00", "1" + (i + 1) + "h00", "", "", "", "", "");
+            version = version.modifier(new int[0], List.of(ajout));
+            attendues.add(ajout);
+        }
+        // retrait d'une ligne ajoutée par une version précédente, dans la
+        // même modification qu'un ajout
+        Reservation remplacante = new Reservation("A5", "salle colonnes A",
+                "Dupont Pierre", "réunion", "11/10/2024", "10h00", "12h00",
+                "", "", "", "", "");
+        assertSame(attendues.get(4), version.getReservation(5));
+        version = version.modifier(new int[] {5}, List.of(remplacante));
+        attendues.remove(4);
+        attendues.add(remplacante);
+        // une version plus ancienne peut encore être modifiée sans
+        // toucher aux suivantes
+        ColonnesReservations autre = colonnes.modifier(new int[0], List.of(matin));
+        assertSame(matin, autre.getReservation(4));
+        assertNotSame(matin, version.getReservation(4));
+
+        ColonnesReservations reconstruite = new ColonnesReservations(attendues);
+        ColonnesReservations compactee = version.compacter();
+        assertEquals(0, compactee.nbModifications());
+        assertEquals(attendues, compactee.getReservations());
+        assertEquals(1, version.nbRetireesAvant(3));
+
+        FiltreReservation[] filtres = {
+            new FiltreReservation("Tous", "Tous", "Tous"),
+            new FiltreReservation("salle colonnes B", "Dupont Pierre", "Tous"),
+            new FiltreReservation("Tous", "Tous", "Tous",
+                                  "09/10/2024", "12/10/2024", "Tous", "Tous")
+        };
+        for (FiltreReservation filtre : filtres) {
+            assertEquals(version.filtrer(filtre).length,
+                         reconstruite.filtrer(filtre).length);
+            for (Agregation.Cle cle : Agregation.Cle.values()) {
+                Agregation attendue = reconstruite.agreger(filtre, cle);
+                Agregation obtenue = version.agreger(filtre, cle);
+                assertEquals(attendue.getNombreTotal(), obtenue.getNombreTotal());
+                assertEquals(attendue.getTotalMinutes(), obtenue.getTotalMinutes());
+                // les codes des jours dépendent du premier jour du stockage
+                for (int code = 0; code < attendue.nbCodes(); code++) {
+                    assertEquals(attendue.getMinutes(code), obtenue.getMinutes(
+                            obtenue.code(attendue.valeur(code))));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * TestUnitaireConflitsReservations.java        17/10/2026
+ * IUT DE RODEZ                                 Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Test;
+import sae.statisalle.modele.ConflitsReservations;
+import sae.statisalle.modele.objet.Conflit;
+import sae.statisalle.modele.objet.Reservation;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour la classe ConflitsReservations.
+ *
+ * <p>Les tests couvrent les fonctionnalités suivantes :
+ * <ul>
+ *   <li>Conflits des salles puis des employés                </li>
+ *   <li>Mise à jour limitée aux ressources modifiées         </li>
+ * </ul>
+ * @author erwan.thierry
+ */
+class TestUnitaireConflitsReservations {
+
+    private static Reservation creer(String id, String salle,
+                                     String debut, String fin) {
+        return new Reservation(id, salle, "Dupont Pierre", "réunion",
+                               "07/10/2024", debut, fin,
+                               "", "", "", "", "");
+    }
+
+    private final Reservation r1 = creer("R1", "salle A", "08h00", "10h00");
+    private final Reservation r2 = creer("R2", "salle A", "09h00", "11h00");
+    private final Reservation r3 = creer("R3", "salle B", "14h00", "16h00");
+    private final Reservation r4 = creer("R4", "salle B", "15h00", "17h00");
+
+    private static Map<String, List<Reservation>> parRessource(Object... valeurs) {
+        Map<String, List<Reservation>> reservations = new LinkedHashMap<>();
+        for (int i = 0; i < valeurs.length; i += 2) {
+            @SuppressWarnings("unchecked")
+            List<Reservation> liste = (List<Reservation>) valeurs[i + 1];
+            reservations.put((String) valeurs[i], liste);
+        }
+        return reservations;
+    }
+
+    @Test
+    void testConflits() {
+        ConflitsReservations conflits = new ConflitsReservations(
+                parRessource("salle B", List.of(r3, r4), "salle A", List.of(r1, r2)),
+                parRessource("Dupont Pierre", List.of(r1, r2, r3, r4)));
+
+        List<Conflit> liste = conflits.getConflits();
+        assertEquals(4, liste.size());
+        assertEquals(List.of("Salle", "Salle", "Employé", "Employé"),
+                     liste.stream().map(Conflit::getType).toList());
+        assertEquals("salle B", liste.get(0).getRessource());
+        assertEquals(List.of("salle A", "salle B"), conflits.getNomsSalles());
+        assertEquals(2, conflits.getIndexSalle("salle A").taille());
+        assertNull(conflits.getIndexSalle("salle C"));
+        assertTrue(ConflitsReservations.VIDE.getConflits().isEmpty());
+    }
+
+    @Test
+    void testModifier() {
+        ConflitsReservations conflits = new ConflitsReservations(
+                parRessource("salle A", List.of(r1, r2), "salle B", List.of(r3, r4)),
+                parRessource("Dupont Pierre", List.of(r1, r2, r3, r4)));
+
+        // R2 est retirée de la salle A et de l'employé
+        ConflitsReservations modifies = conflits.modifier(
+                parRessource("salle A", List.of(r1)),
+                parRessource("Dupont Pierre", List.of(r1, r3, r4)));
+
+        List<Conflit> liste = modifies.getConflits();
+        assertEquals(2, liste.size());
+        assertEquals("salle B", liste.get(0).getRessource());
+        assertEquals("Dupont Pierre", liste.get(1).getRessource());
+        assertSame(conflits.getIndexSalle("salle B"), modifies.getIndexSalle("salle B"));
+        assertEquals(1, modifies.getIndexSalle("salle A").taille());
+
+        // Le résultat d'origine n'est pas modifié
+        assertEquals(4, conflits.getConflits().size());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * TestUnitaireCubeAgregats.java          17/10/2026
+ * IUT DE RODEZ                           Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Test;
+import sae.statisalle.modele.Agregation;
+import sae.statisalle.modele.ColonnesReservations;
+import sae.statisalle.modele.FiltreReservation;
+import sae.statisalle.modele.objet.Reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour la classe CubeAgregats.
+ *
+ * <p>Les tests couvrent les fonctionnalités suivantes :
+ * <ul>
+ *   <li>Regroupement des réservations identiques en une case   </li>
+ *   <li>Totaux du cube identiques à ceux des lignes filtrées   </li>
+ * </ul>
+ * @author erwan.thierry
+ */
+class TestUnitaireCubeAgregats {
+
+    /* Dates, heures et valeurs tirées pour les réservations générées */
+    private static final String[] DATES = {
+        "07/10/2024", "08/10/2024", "09/10/2024", "14/10/2024", "date inconnue"
+    };
+    private static final String[] HEURES = {
+        "08h00", "09h30", "10h00", "14h00", "16h15", "18h00", "midi"
+    };
+
+    @Test
+    void testRegroupementEnCases() {
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            reservations.add(new Reservation("R" + i, "salle cube A",
+                    "Dupont Pierre", "réunion", "07/10/2024", "08h00", "10h00",
+                    "", "", "", "", ""));
+        }
+        reservations.add(new Reservation("R3", "salle cube A",
+                "Dupont Pierre", "réunion", "07/10/2024", "08h00", "10h30",
+                "", "", "", "", ""));
+        ColonnesReservations colonnes = new ColonnesReservations(reservations);
+
+        assertNotNull(colonnes.getCube());
+        assertEquals(2, colonnes.getCube().nbCases());
+        Agregation parSalle = colonnes.agreger(
+                new FiltreReservation("Tous", "Tous", "Tous"), Agregation.Cle.SALLE);
+        int salle = parSalle.code("salle cube A");
+        assertEquals(4, parSalle.getNombre(salle));
+        assertEquals(3 * 120 + 150, parSalle.getMinutes(salle));
+    }
+
+    @Test
+    void testAccordAvecLesLignes() {
+        Random hasard = new Random(13);
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            reservations.add(new Reservation("R" + i,
+                    "salle cube " + hasard.nextInt(5),
+                    "employe cube " + hasard.nextInt(7),
+                    "activite cube " + hasard.nextInt(3),
+                    DATES[hasard.nextInt(DATES.length)],
+                    HEURES[hasard.nextInt(HEURES.length)],
+                    HEURES[hasard.nextInt(HEURES.length)],
+                    "", "", "", "", ""));
+        }
+        ColonnesReservations colonnes = new ColonnesReservations(reservations);
+        assertTrue(colonnes.getCube().nbCases() < reservations.size());
+
+        FiltreReservation[] filtres = {
+            new FiltreReservation("Tous", "Tous", "Tous"),
+            new FiltreReservation("salle cube 2", "Tous", "activite cube 1"),
+            new FiltreReservation("Tous", "employe cube 4", "Tous",
+                                  "08/10/2024", "09/10/2024", "Tous", "Tous"),
+            new FiltreReservation("Tous", "Tous", "Tous",
+                                  "Tous", "08/10/2024", "09h30", "16h15"),
+            new FiltreReservation("Tous", "Tous", "Tous",
+                                  "10/10/2024", "Tous", "Tous", "Tous")
+        };
+        for (FiltreReservation filtre : filtres) {
+            int[] lignes = colonnes.filtrer(filtre);
+            for (Agregation.Cle cle : Agregation.Cle.values()) {
+                Agregation attendue = new Agregation(colonnes, lignes, cle);
+                Agregation cube = colonnes.agreger(filtre, cle);
+                assertEquals(attendue.getNombreTotal(), cube.getNombreTotal());
+                assertEquals(attendue.getTotalMinutes(), cube.getTotalMinutes());
+                assertEquals(attendue.nbCodes(), cube.nbCodes());
+                for (int code = 0; code < attendue.nbCodes(); code++) {
+                    assertEquals(attendue.getNombre(code), cube.getNombre(code));
+                    assertEquals(attendue.getMinutes(code), cube.getMinutes(code));
+                }
+            }
+        }
+    }
+}
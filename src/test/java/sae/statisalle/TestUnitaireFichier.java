@@ -8,6 +8,7 @@ import sae.statisalle.modele.Fichier;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * <ul>
  *   <li>Validation de l'extension du fichier           </li>
  *   <li>Récupération du contenu du fichier             </li>
+ *   <li>Parcours des données ligne par ligne           </li>
  *   <li>Récupération du nom du fichier sans extension  </li>
  *   <li>Accès au fichier exploité                      </li>
  *   <li>Détection du type de fichier                   </li>
@@ -209,6 +211,45 @@ class TestUnitaireFichier {
         assertEquals("A0000002", donneesActivite.get(1).get(0));
     }
 
+    @Test
+    void testParcourirDonnees() {
+        List<String[]> lignesReservation = new ArrayList<>();
+        int nbLignes = fichierReservation.parcourirDonnees(lignesReservation::add);
+
+        // L'entête est ignorée, seules les lignes de données sont parcourues
+        assertEquals(18, nbLignes);
+        assertEquals(18, lignesReservation.size());
+        assertEquals(12, lignesReservation.get(0).length);
+        assertEquals("R000001", lignesReservation.get(0)[0]);
+        assertEquals("17h00", lignesReservation.get(0)[5]);
+
+        // Les cellules vides sont remplacées par un espace
+        assertEquals(" ", lignesReservation.get(3)[7]);
+
+        // Les lignes plus courtes que l'entête sont complétées
+        int[] nbColonnes = new int[1];
+        fichierSalle.parcourirDonnees(ligne -> nbColonnes[0] = ligne.length);
+        assertEquals(9, nbColonnes[0]);
+    }
+
+    @Test
+    void testParcourirDonneesIdentiqueARecupererDonnees() {
+        List<List<String>> donnees = fichierSalle.recupererDonnees();
+        List<String[]> lignes = new ArrayList<>();
+        fichierSalle.parcourirDonnees(lignes::add);
+
+        assertEquals(donnees.size(), lignes.size());
+        for (int i = 0; i < donnees.size(); i++) {
+            assertEquals(donnees.get(i), List.of(lignes.get(i)));
+        }
+    }
+
+    @Test
+    void testPremiereLigne() {
+        assertEquals("Ident;Nom;Prenom;Telephone", fichierEmploye.premiereLigne());
+        assertEquals("Ident;Activité", fichierActivite.premiereLigne());
+    }
+
     @Test
     void testGetTypeFichier() {
         assertEquals("Employe", fichierEmploye.getTypeFichier());
@@ -0,0 +1,89 @@
+/*
+ * TestUnitaireFiltreReservation.java            17/10/2026
+ * IUT DE RODEZ                                  Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Test;
+import sae.statisalle.modele.FiltreReservation;
+import sae.statisalle.modele.objet.Reservation;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour la classe FiltreReservation.
+ *
+ * <p>Les tests couvrent les fonctionnalités suivantes :
+ * <ul>
+ *   <li>Filtre sans critère                             </li>
+ *   <li>Filtre sur la salle, sans tenir compte de la casse </li>
+ *   <li>Filtre sur une période et une plage horaire     </li>
+ *   <li>Valeurs distinctes proposées dans les filtres   </li>
+ * </ul>
+ * @author erwan.thierry
+ */
+class TestUnitaireFiltreReservation {
+
+    private final Reservation matin = new Reservation("R1", "salle filtre A",
+            "Dupont Pierre", "réunion", "07/10/2024", "08h00", "10h00",
+            "", "", "", "", "");
+
+    private final Reservation apresMidi = new Reservation("R2", "salle filtre B",
+            "Lexpert Noemie", "formation", "09/10/2024", "14h00", "18h00",
+            "", "", "", "", "");
+
+    @Test
+    void testFiltreVide() {
+        FiltreReservation filtre = new FiltreReservation("Tous", "Tous", null,
+                "Tous", "Tous", "Tous", "Tous");
+
+        assertTrue(filtre.estVide());
+        assertTrue(filtre.accepte(matin));
+        assertTrue(filtre.accepte(apresMidi));
+    }
+
+    @Test
+    void testFiltreSalleSansCasse() {
+        FiltreReservation filtre = new FiltreReservation("SALLE FILTRE A",
+                                                         "Tous", "Tous");
+
+        assertFalse(filtre.estVide());
+        assertTrue(filtre.accepte(matin));
+        assertFalse(filtre.accepte(apresMidi));
+    }
+
+    @Test
+    void testFiltreValeurInconnue() {
+        FiltreReservation filtre = new FiltreReservation("Tous",
+                "Employé inconnu", "Tous");
+
+        assertFalse(filtre.accepte(matin));
+        assertFalse(filtre.accepte(apresMidi));
+    }
+
+    @Test
+    void testFiltrePeriodeEtHeures() {
+        FiltreReservation filtre = new FiltreReservation("Tous", "Tous", "Tous",
+                "08/10/2024", "Tous", "Tous", "Tous");
+        assertFalse(filtre.accepte(matin));
+        assertTrue(filtre.accepte(apresMidi));
+
+        filtre = new FiltreReservation("Tous", "Tous", "Tous",
+                "Tous", "Tous", "08h00", "12h00");
+        assertTrue(filtre.accepte(matin));
+        assertFalse(filtre.accepte(apresMidi));
+    }
+
+    @Test
+    void testValeursDistinctes() {
+        List<Reservation> reservations = List.of(apresMidi, matin, matin);
+
+        assertEquals(List.of("07/10/2024", "09/10/2024"),
+                     FiltreReservation.datesDistinctes(reservations));
+        assertEquals(List.of("08h00", "14h00"),
+                     FiltreReservation.heuresDistinctes(reservations,
+                             Reservation::getDebutMinutes));
+    }
+}
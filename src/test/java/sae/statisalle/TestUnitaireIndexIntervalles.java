@@ -0,0 +1,127 @@
+/*
+ * TestUnitaireIndexIntervalles.java            17/10/2026
+ * IUT DE RODEZ                                 Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Test;
+import sae.statisalle.modele.IndexIntervalles;
+import sae.statisalle.modele.objet.Conflit;
+import sae.statisalle.modele.objet.Reservation;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour la classe IndexIntervalles.
+ *
+ * <p>Les tests couvrent les fonctionnalités suivantes :
+ * <ul>
+ *   <li>Détection des réservations qui se chevauchent        </li>
+ *   <li>Réservations occupant un créneau                     </li>
+ *   <li>Réservations non valides écartées                    </li>
+ *   <li>Résultat identique à une recherche exhaustive        </li>
+ * </ul>
+ * @author erwan.thierry
+ */
+class TestUnitaireIndexIntervalles {
+
+    private static final int LUNDI = (int) LocalDate.of(2024, 10, 7).toEpochDay();
+
+    private static Reservation creer(String id, String date,
+                                     String debut, String fin) {
+        return new Reservation(id, "salle intervalles", "Dupont Pierre",
+                               "réunion", date, debut, fin,
+                               "", "", "", "", "");
+    }
+
+    private final List<Reservation> reservations = List.of(
+            creer("R1", "07/10/2024", "08h00", "10h00"),
+            creer("R2", "07/10/2024", "09h30", "11h00"),
+            creer("R3", "07/10/2024", "10h00", "12h00"),
+            creer("R4", "08/10/2024", "09h00", "10h00"),
+            creer("R5", "date inconnue", "09h00", "10h00"),
+            creer("R6", "07/10/2024", "10h00", "10h00"));
+
+    @Test
+    void testConflits() {
+        IndexIntervalles index = new IndexIntervalles(reservations);
+        List<Conflit> conflits = index.conflits("Salle", "salle intervalles");
+
+        // R1-R2 et R2-R3 ; R1 finit quand R3 commence, R4 est le lendemain
+        assertEquals(4, index.taille());
+        assertEquals(2, conflits.size());
+        assertEquals("R1", conflits.get(0).getIdReservation1());
+        assertEquals("R2", conflits.get(0).getIdReservation2());
+        assertEquals("00h30", conflits.get(0).getChevauchement());
+        assertEquals("R2", conflits.get(1).getIdReservation1());
+        assertEquals("R3", conflits.get(1).getIdReservation2());
+        assertEquals("Salle", conflits.get(1).getType());
+        assertEquals("07/10/2024", conflits.get(1).getDate());
+    }
+
+    @Test
+    void testReservationsEntre() {
+        IndexIntervalles index = new IndexIntervalles(reservations);
+
+        List<Reservation> matin = index.reservationsEntre(
+                IndexIntervalles.instant(LUNDI, 9 * 60),
+                IndexIntervalles.instant(LUNDI, 10 * 60));
+        assertEquals(List.of("R1", "R2"),
+                     matin.stream().map(Reservation::getIdReservation).toList());
+
+        List<Reservation> semaine = index.reservationsEntre(
+                IndexIntervalles.instant(LUNDI, 0),
+                IndexIntervalles.instant(LUNDI + 7, 0));
+        assertEquals(4, semaine.size());
+
+        assertTrue(index.reservationsEntre(
+                IndexIntervalles.instant(LUNDI, 12 * 60),
+                IndexIntervalles.instant(LUNDI + 1, 9 * 60)).isEmpty());
+    }
+
+    @Test
+    void testIdentiqueARechercheExhaustive() {
+        Random hasard = new Random(7);
+        List<Reservation> aleatoires = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int debut = 7 * 60 + hasard.nextInt(10 * 60);
+            int fin = debut + 15 + hasard.nextInt(180);
+            aleatoires.add(creer("R" + i,
+                    String.format("%02d/10/2024", 1 + hasard.nextInt(10)),
+                    Reservation.formaterHeure(debut),
+                    Reservation.formaterHeure(Math.min(fin, 23 * 60))));
+        }
+        IndexIntervalles index = new IndexIntervalles(aleatoires);
+
+        int nbConflits = 0;
+        for (int i = 0; i < aleatoires.size(); i++) {
+            for (int j = i + 1; j < aleatoires.size(); j++) {
+                Reservation a = aleatoires.get(i);
+                Reservation b = aleatoires.get(j);
+                if (a.getJour() == b.getJour()
+                    && a.getDebutMinutes() < b.getFinMinutes()
+                    && b.getDebutMinutes() < a.getFinMinutes()) {
+                    nbConflits++;
+                }
+            }
+        }
+        assertEquals(nbConflits, index.conflits("Salle", "aléatoire").size());
+
+        for (int essai = 0; essai < 100; essai++) {
+            long debut = IndexIntervalles.instant(
+                    (int) LocalDate.of(2024, 10, 1).toEpochDay() + hasard.nextInt(10),
+                    hasard.nextInt(24 * 60));
+            long fin = debut + hasard.nextInt(3 * 24 * 60);
+            long attendu = aleatoires.stream()
+                    .filter(r -> IndexIntervalles.instant(r.getJour(), r.getDebutMinutes()) < fin
+                                 && IndexIntervalles.instant(r.getJour(), r.getFinMinutes()) > debut)
+                    .count();
+            assertEquals(attendu, index.reservationsEntre(debut, fin).size());
+        }
+    }
+}
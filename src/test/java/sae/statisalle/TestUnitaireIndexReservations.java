@@ -0,0 +1,150 @@
+/*
+ * TestUnitaireIndexReservations.java            17/10/2026
+ * IUT DE RODEZ                                  Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Test;
+import sae.statisalle.modele.ColonnesReservations;
+import sae.statisalle.modele.FiltreReservation;
+import sae.statisalle.modele.objet.Reservation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour la classe IndexReservations.
+ *
+ * <p>Les tests couvrent les fonctionnalités suivantes :
+ * <ul>
+ *   <li>Filtre sans critère                                    </li>
+ *   <li>Filtre sur une valeur, une période et une plage horaire  </li>
+ *   <li>Dates et heures non valides                            </li>
+ *   <li>Résultat identique au test de chaque ligne             </li>
+ * </ul>
+ * @author erwan.thierry
+ */
+class TestUnitaireIndexReservations {
+
+    private static final String[] SALLES = {
+        "salle index A", "salle index B", "salle index C"
+    };
+
+    private static final String[] EMPLOYES = {
+        "Dupont Pierre", "Lexpert Noemie", "Martin Paul", "Durand Julie"
+    };
+
+    private static final String[] ACTIVITES = {"réunion", "formation"};
+
+    /**
+     * Génère des réservations aléatoires, dont certaines ont une date ou
+     * une heure non valide.
+     */
+    private static List<Reservation> genererReservations(int nombre) {
+        Random hasard = new Random(42);
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < nombre; i++) {
+            int debut = 7 + hasard.nextInt(10);
+            String date = i % 50 == 0 ? "date inconnue"
+                          : String.format("%02d/10/2024", 1 + hasard.nextInt(20));
+            String heureDebut = i % 70 == 0 ? "midi"
+                                : String.format("%02dh%02d", debut, hasard.nextInt(4) * 15);
+            reservations.add(new Reservation("R" + i,
+                    SALLES[hasard.nextInt(SALLES.length)],
+                    EMPLOYES[hasard.nextInt(EMPLOYES.length)],
+                    ACTIVITES[hasard.nextInt(ACTIVITES.length)],
+                    date, heureDebut,
+                    String.format("%02dh00", debut + 1 + hasard.nextInt(3)),
+                    "", "", "", "", ""));
+        }
+        return reservations;
+    }
+
+    /**
+     * Lignes retenues en testant chaque ligne une à une.
+     */
+    private static BitSet filtrerLigneALigne(ColonnesReservations colonnes,
+                                             FiltreReservation filtre) {
+        BitSet attendu = new BitSet();
+        for (int ligne = 0; ligne < colonnes.taille(); ligne++) {
+            if (filtre.accepte(colonnes, ligne)) {
+                attendu.set(ligne);
+            }
+        }
+        return attendu;
+    }
+
+    @Test
+    void testFiltreVide() {
+        ColonnesReservations colonnes = new ColonnesReservations(
+                genererReservations(100));
+        BitSet lignes = colonnes.getIndex().filtrer(
+                new FiltreReservation("Tous", "Tous", "Tous"));
+
+        assertEquals(100, lignes.cardinality());
+        assertEquals(100, colonnes.getIndex().taille());
+    }
+
+    @Test
+    void testFiltreCriteres() {
+        Reservation matin = new Reservation("R1", "salle index A",
+                "Dupont Pierre", "réunion", "07/10/2024", "08h00", "10h00",
+                "", "", "", "", "");
+        Reservation apresMidi = new Reservation("R2", "salle index B",
+                "Dupont Pierre", "formation", "09/10/2024", "14h00", "18h00",
+                "", "", "", "", "");
+        Reservation nonValide = new Reservation("R3", "salle index B",
+                "Lexpert Noemie", "formation", "date inconnue", "midi", "14h00",
+                "", "", "", "", "");
+        ColonnesReservations colonnes = new ColonnesReservations(
+                List.of(matin, apresMidi, nonValide));
+
+        assertArrayEquals(new int[] {1, 2}, colonnes.filtrer(
+                new FiltreReservation("SALLE INDEX B", "Tous", "Tous")));
+        assertArrayEquals(new int[] {1, 2}, colonnes.filtrer(
+                new FiltreReservation("Tous", "Tous", "Tous",
+                        "08/10/2024", "Tous", "Tous", "Tous")));
+        assertArrayEquals(new int[] {0, 2}, colonnes.filtrer(
+                new FiltreReservation("Tous", "Tous", "Tous",
+                        "Tous", "08/10/2024", "Tous", "Tous")));
+        assertArrayEquals(new int[] {1, 2}, colonnes.filtrer(
+                new FiltreReservation("Tous", "Tous", "Tous",
+                        "Tous", "Tous", "12h00", "Tous")));
+        assertArrayEquals(new int[] {0}, colonnes.filtrer(
+                new FiltreReservation("Tous", "Tous", "Tous",
+                        "Tous", "Tous", "Tous", "12h00")));
+        assertArrayEquals(new int[0], colonnes.filtrer(
+                new FiltreReservation("salle inconnue", "Tous", "Tous")));
+    }
+
+    @Test
+    void testIdentiqueAuTestLigneALigne() {
+        ColonnesReservations colonnes = new ColonnesReservations(
+                genererReservations(5000));
+        String[] dates = {"Tous", "01/10/2024", "05/10/2024", "15/10/2024",
+                          "20/10/2024", "31/12/2030"};
+        String[] heures = {"Tous", "07h00", "09h30", "12h00", "17h00"};
+
+        for (String salle : new String[] {"Tous", "salle index B"}) {
+            for (String employe : new String[] {"Tous", "Martin Paul"}) {
+                for (String dateDebut : dates) {
+                    for (String dateFin : dates) {
+                        for (String heureDebut : heures) {
+                            for (String heureFin : heures) {
+                                FiltreReservation filtre = new FiltreReservation(
+                                        salle, employe, "Tous", dateDebut,
+                                        dateFin, heureDebut, heureFin);
+                                assertEquals(filtrerLigneALigne(colonnes, filtre),
+                                             colonnes.getIndex().filtrer(filtre));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
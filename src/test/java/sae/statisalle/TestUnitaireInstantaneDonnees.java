@@ -0,0 +1,195 @@
+/*
+ * TestUnitaireInstantaneDonnees.java     17/10/2026
+ * IUT DE RODEZ                           Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sae.statisalle.modele.DonneesChargees;
+import sae.statisalle.modele.LireFichier;
+import sae.statisalle.modele.SuiviChargement;
+import sae.statisalle.modele.objet.Activite;
+import sae.statisalle.modele.objet.Employe;
+import sae.statisalle.modele.objet.Reservation;
+import sae.statisalle.modele.objet.Salle;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour la classe InstantaneDonnees.
+ *
+ * <p>Les tests couvrent les fonctionnalités suivantes :
+ * <ul>
+ *   <li>Données restaurées identiques aux données lues          </li>
+ *   <li>Instantané non réécrit si aucun fichier n'a changé      </li>
+ *   <li>Fichiers modifiés relus, fichiers touchés restaurés     </li>
+ *   <li>Instantané endommagé ignoré                             </li>
+ * </ul>
+ * @author erwan.thierry
+ */
+class TestUnitaireInstantaneDonnees {
+
+    @TempDir
+    Path dossier;
+
+    @TempDir
+    Path cache;
+
+    private Path instantane;
+
+    private static final String RESERVATIONS =
+            "Ident;salle;employe;activite;date;heuredebut;heurefin;;;;;\n"
+            + "R000001;00000001;E000001;prét;07/10/2024;17h00;19h00;"
+            + "club gym;Legendre;Noémie;0600000000;reunion\n"
+            + "R000002;00000004;E000002;réunion;07/10/2024;15h00;18h00;"
+            + "réunion avec client;;;;\n"
+            + "R000003;00000009;E000002;réunion;date inconnue;9h;11h00;"
+            + ";;;;\n";
+
+    @BeforeEach
+    void setUp() throws IOException {
+        instantane = cache.resolve("instantane.bin");
+        Files.writeString(dossier.resolve("Employe_01102024.csv"),
+                "Ident;Nom;Prenom;Telephone\n"
+                + "E000001;Dupont;Pierre;2614\n"
+                + "E000002;Lexpert;Noemie;2614\n");
+        Files.writeString(dossier.resolve("Salle_01102024.csv"),
+                "Ident;Nom;Capacite;videoproj;ecranXXL;ordinateur;type;"
+                + "logiciels;imprimante\n"
+                + "00000001;A6;15;oui;non;4;PC portable;bureautique;non\n"
+                + "00000004;salle Picasso;15;non;non;;;;\n");
+        Files.writeString(dossier.resolve("Activite_01102024.csv"),
+                "Ident;Activité\n"
+                + "A0000001;réunion\n"
+                + "A0000004;prét\n");
+        Files.writeString(dossier.resolve("Reservation_01102024.csv"), RESERVATIONS);
+    }
+
+    @Test
+    void testRestaurationIdentique() {
+        String attendu = decrire(lire(null));
+
+        // le premier chargement écrit l'instantané, le second le lit
+        assertEquals(attendu, decrire(lire(instantane)));
+        assertTrue(Files.exists(instantane));
+        assertEquals(attendu, decrire(lire(instantane)));
+    }
+
+    @Test
+    void testInstantaneNonReecrit() throws IOException {
+        lire(instantane);
+        Object cle = Files.readAttributes(instantane, BasicFileAttributes.class).fileKey();
+        byte[] contenu = Files.readAllBytes(instantane);
+
+        lire(instantane);
+        assertEquals(cle, Files.readAttributes(instantane, BasicFileAttributes.class).fileKey());
+        assertArrayEquals(contenu, Files.readAllBytes(instantane));
+    }
+
+    @Test
+    void testFichierModifie() throws IOException {
+        lire(instantane);
+        Path fichier = dossier.resolve("Reservation_01102024.csv");
+        Files.writeString(fichier, RESERVATIONS
+                + "R000004;00000001;E000001;prét;09/10/2024;08h00;09h00;;;;;\n");
+
+        DonneesChargees donnees = lire(instantane);
+        assertEquals(4, donnees.getReservations().size());
+        assertEquals(decrire(lire(null)), decrire(donnees));
+        assertEquals(decrire(lire(null)), decrire(lire(instantane)));
+    }
+
+    @Test
+    void testCleTailleEtDate() throws IOException {
+        lire(instantane);
+        Path fichier = dossier.resolve("Reservation_01102024.csv");
+        FileTime date = Files.getLastModifiedTime(fichier);
+
+        // même taille et même date : le contenu enregistré est repris
+        Files.writeString(fichier, RESERVATIONS.replace("R000001", "R000009"));
+        Files.setLastModifiedTime(fichier, date);
+        assertEquals("R000001", lire(instantane).getReservations().get(0).getIdReservation());
+
+        // seule la date change : le contenu est comparé par son empreinte
+        Files.setLastModifiedTime(fichier, FileTime.fromMillis(date.toMillis() + 60_000));
+        assertEquals("R000009", lire(instantane).getReservations().get(0).getIdReservation());
+
+        Files.writeString(fichier, RESERVATIONS);
+        Files.setLastModifiedTime(fichier, FileTime.fromMillis(date.toMillis() + 120_000));
+        assertEquals("R000001", lire(instantane).getReservations().get(0).getIdReservation());
+    }
+
+    @Test
+    void testInstantaneEndommage() throws IOException {
+        String attendu = decrire(lire(null));
+        lire(instantane);
+
+        byte[] contenu = Files.readAllBytes(instantane);
+        for (int i = 8; i < contenu.length - 8; i += 3) {
+            contenu[i] = (byte) 0xFF;
+        }
+        Files.write(instantane, contenu);
+        assertEquals(attendu, decrire(lire(instantane)));
+
+        Files.writeString(instantane, "pas un instantané");
+        assertEquals(attendu, decrire(lire(instantane)));
+        assertEquals(attendu, decrire(lire(instantane)));
+    }
+
+    private DonneesChargees lire(Path cheminInstantane) {
+        return LireFichier.lireDossier(dossier.toString(), SuiviChargement.AUCUN,
+                                       cheminInstantane);
+    }
+
+    /*
+     * Description des données chargées indépendante de l'ordre de lecture
+     * des fichiers.
+     */
+    private static String decrire(DonneesChargees donnees) {
+        List<String> lignes = new ArrayList<>();
+        for (Employe employe : donnees.getEmployes()) {
+            lignes.add(String.join("|", employe.getIdE(), employe.getNom(),
+                    employe.getPrenom(), employe.getNumTel(),
+                    "" + employe.getReservations().size()));
+        }
+        for (Salle salle : donnees.getSalles()) {
+            lignes.add(String.join("|", salle.getIdentifiant(), salle.getNom(),
+                    salle.getCapacite(), salle.getVideoProj(), salle.getEcranXXL(),
+                    salle.getNbMachine(), salle.getTypeMachine(), salle.getLogiciel(),
+                    salle.getImprimante(), "" + salle.getReservations().size()));
+        }
+        for (Activite activite : donnees.getActivites()) {
+            lignes.add(String.join("|", activite.getType(), activite.getIdActivite(),
+                    "" + activite.getReservations().size()));
+        }
+        for (Reservation reservation : donnees.getReservations()) {
+            lignes.add(String.join("|", reservation.getIdReservation(),
+                    reservation.getSalleR(), reservation.getEmployeR(),
+                    reservation.getActiviteR(), reservation.getDateR(),
+                    reservation.getHeureDebut(), reservation.getHeureFin(),
+                    reservation.getDescription(), reservation.getNomIntervenant(),
+                    reservation.getPrenomIntervenant(),
+                    reservation.getNumTelIntervenant(), reservation.getUsage()));
+        }
+        lignes.sort(null);
+
+        Map<String, String> lignesParFichier = new TreeMap<>();
+        donnees.getLignesParFichier().forEach((nom, bornes) ->
+                lignesParFichier.put(nom, (bornes[1] - bornes[0]) + " lignes"));
+        return lignes + " " + lignesParFichier + " "
+               + new TreeMap<>(donnees.getReferencesNonResolues())
+               + " " + donnees.getFichiersInvalides();
+    }
+}
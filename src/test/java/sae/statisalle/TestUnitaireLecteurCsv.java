@@ -0,0 +1,159 @@
+/*
+ * TestUnitaireLecteurCsv.java            17/10/2026
+ * IUT DE RODEZ                           Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sae.statisalle.modele.LecteurCsv;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour la classe LecteurCsv.
+ *
+ * <p>Les tests couvrent les fonctionnalités suivantes :
+ * <ul>
+ *   <li>Découpage identique à la lecture par lignes de texte    </li>
+ *   <li>Lignes coupées par la fin d'une fenêtre de projection   </li>
+ *   <li>Valeurs répétées décodées une seule fois                </li>
+ *   <li>Lecture par plages réunies dans l'ordre du fichier      </li>
+ *   <li>Cellules absentes et indices invalides                  </li>
+ * </ul>
+ * @author erwan.thierry
+ */
+class TestUnitaireLecteurCsv {
+
+    private static final String CONTENU =
+            "Ident;salle;employe;activite;date;heuredebut;heurefin;;;;;\n"
+            + "R000001;00000001;E000001;prét;07/10/2024;17h00;19h00;"
+            + "club gym;Legendre;Noémie;0600000000;réunion\r\n"
+            + "R000002;00000004;E000002;réunion;07/10/2024;15h00;18h00;;;;\r"
+            + "\n"
+            + ";;\n"
+            + "R000003;00000009;E000002;réunion;;9h;11h00;trop;de;cellules;;;;;\r"
+            + "R000004;00000001;E000001;prét;08/10/2024;8h00;9h00;;;;;";
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    void testDecoupageIdentique() throws IOException {
+        Path fichier = ecrire(CONTENU);
+        assertEquals(attendu(CONTENU), lire(new LecteurCsv(), fichier));
+        assertEquals(5, new LecteurCsv().parcourir(fichier, ligne -> { }));
+    }
+
+    @Test
+    void testFenetresReduites() throws IOException {
+        Path fichier = ecrire(CONTENU);
+        List<String> attendu = attendu(CONTENU);
+
+        // chaque taille coupe les lignes (et les \r\n) à un autre endroit
+        for (int taille = 110; taille <= 200; taille++) {
+            assertEquals(attendu, lire(new LecteurCsv(taille), fichier),
+                         "fenêtre de " + taille + " octets");
+        }
+        assertThrows(IOException.class, () -> lire(new LecteurCsv(20), fichier));
+    }
+
+    @Test
+    void testLectureParPlages() throws IOException {
+        StringBuilder contenu = new StringBuilder(CONTENU).append("\r\n");
+        for (int i = 0; i < 500; i++) {
+            contenu.append("R").append(i).append(";0000000").append(i % 9)
+                   .append(i % 3 == 0 ? "\r\n" : i % 3 == 1 ? "\n" : "\r");
+        }
+        Path fichier = ecrire(contenu.toString());
+        List<String> attendu = attendu(contenu.toString());
+
+        for (int nbPlages = 1; nbPlages <= 40; nbPlages += 3) {
+            List<List<String>> plages = new LecteurCsv(200).parcourirParPlages(
+                    fichier, nbPlages, ArrayList::new,
+                    (lignes, ligne) -> lignes.add(Arrays.toString(ligne.cellules())));
+
+            List<String> lues = new ArrayList<>();
+            for (List<String> plage : plages) {
+                assertFalse(plage.isEmpty());
+                lues.addAll(plage);
+            }
+            assertEquals(attendu, lues, nbPlages + " plages");
+            assertTrue(plages.size() <= nbPlages);
+        }
+        assertEquals(40, new LecteurCsv().parcourirParPlages(
+                fichier, 40, ArrayList::new, List::add).size());
+    }
+
+    @Test
+    void testValeursRepetees() throws IOException {
+        Path fichier = ecrire(CONTENU);
+        List<String> activites = new ArrayList<>();
+        new LecteurCsv().parcourir(fichier, ligne -> activites.add(ligne.cellule(3)));
+
+        assertEquals("réunion", activites.get(1));
+        assertSame(activites.get(1), activites.get(3));
+        assertSame(activites.get(0), activites.get(4));
+    }
+
+    @Test
+    void testCellulesAbsentes() throws IOException {
+        Path fichier = ecrire("Ident;Nom;Prenom;Telephone\nE000001;Dupont\n");
+        new LecteurCsv().parcourir(fichier, ligne -> {
+            assertEquals(4, ligne.nbCellules());
+            assertEquals("Dupont", ligne.cellule(1));
+            assertEquals(" ", ligne.cellule(3));
+            assertThrows(IndexOutOfBoundsException.class, () -> ligne.cellule(4));
+        });
+
+        assertEquals(0, new LecteurCsv().parcourir(ecrire(""), ligne -> fail()));
+        assertEquals(0, new LecteurCsv().parcourir(ecrire("Ident;Nom"), ligne -> fail()));
+    }
+
+    private Path ecrire(String contenu) throws IOException {
+        Path fichier = Files.createTempFile(dossier, "lecteur", ".csv");
+        Files.writeString(fichier, contenu, StandardCharsets.UTF_8);
+        return fichier;
+    }
+
+    private static List<String> lire(LecteurCsv lecteur, Path fichier) throws IOException {
+        List<String> lignes = new ArrayList<>();
+        lecteur.parcourir(fichier, ligne -> lignes.add(Arrays.toString(ligne.cellules())));
+        return lignes;
+    }
+
+    /*
+     * Découpage par lignes de texte et String.split, tel que le faisait
+     * Fichier.parcourirDonnees avant la projection en mémoire.
+     */
+    private static List<String> attendu(String contenu) throws IOException {
+        List<String> lignes = new ArrayList<>();
+        try (BufferedReader lecteur = new BufferedReader(new StringReader(contenu))) {
+            int nbColonnes = lecteur.readLine().split(";", -1).length;
+            String ligne;
+            while ((ligne = lecteur.readLine()) != null) {
+                String[] cellules = ligne.split(";", -1);
+                if (cellules.length < nbColonnes) {
+                    cellules = Arrays.copyOf(cellules, nbColonnes);
+                }
+                for (int i = 0; i < cellules.length; i++) {
+                    if (cellules[i] == null || cellules[i].isEmpty()) {
+                        cellules[i] = " ";
+                    }
+                }
+                lignes.add(Arrays.toString(cellules));
+            }
+        }
+        return lignes;
+    }
+}
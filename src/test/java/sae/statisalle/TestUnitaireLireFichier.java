@@ -0,0 +1,179 @@
+/*
+ * TestUnitaireLireFichier.java            17/10/2026
+ * IUT DE RODEZ                            Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sae.statisalle.modele.DonneesChargees;
+import sae.statisalle.modele.LireFichier;
+import sae.statisalle.modele.SuiviChargement;
+import sae.statisalle.modele.objet.Reservation;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour la lecture d'un dossier de fichiers CSV.
+ *
+ * <p>Les tests couvrent les fonctionnalités suivantes :
+ * <ul>
+ *   <li>Lecture de tous les fichiers d'un dossier          </li>
+ *   <li>Rattachement des réservations aux salles, employés
+ *       et activités                                       </li>
+ *   <li>Suivi de l'avancement de la lecture                </li>
+ *   <li>Lecture simultanée de nombreux fichiers datés      </li>
+ *   <li>Interruption du chargement                         </li>
+ * </ul>
+ * @author erwan.thierry
+ */
+class TestUnitaireLireFichier {
+
+    @TempDir
+    Path dossier;
+
+    private final String[][] fichiers = {
+            {"Employe_01102024.csv",
+             "Ident;Nom;Prenom;Telephone\n"
+             + "E000001;Dupont;Pierre;2614\n"
+             + "E000002;Lexpert;Noemie;2614\n"},
+            {"Salle_01102024.csv",
+             "Ident;Nom;Capacite;videoproj;ecranXXL;ordinateur;type;"
+             + "logiciels;imprimante\n"
+             + "00000001;A6;15;oui;non;4;PC portable;bureautique;non\n"
+             + "00000004;salle Picasso;15;non;non;;;;\n"},
+            {"Activite_01102024.csv",
+             "Ident;Activité\n"
+             + "A0000001;réunion\n"
+             + "A0000004;prét\n"},
+            {"Reservation_01102024.csv",
+             "Ident;salle;employe;activite;date;heuredebut;heurefin;;;;;\n"
+             + "R000001;00000001;E000001;prét;07/10/2024;17h00;19h00;"
+             + "club gym;Legendre;Noémie;0600000000;reunion\n"
+             + "R000002;00000004;E000002;réunion;07/10/2024;15h00;18h00;"
+             + "réunion avec client;;;;\n"
+             + "R000003;00000009;E000002;réunion;08/10/2024;09h00;11h00;"
+             + ";;;;\n"}
+    };
+
+    @BeforeEach
+    void setUp() throws IOException {
+        for (String[] fichier : fichiers) {
+            try (FileWriter writer = new FileWriter(
+                    dossier.resolve(fichier[0]).toFile())) {
+                writer.write(fichier[1]);
+            }
+        }
+    }
+
+    @Test
+    void testLireDossier() {
+        DonneesChargees donnees = LireFichier.lireDossier(
+                dossier.toString(), SuiviChargement.AUCUN);
+
+        assertEquals(2, donnees.getEmployes().size());
+        assertEquals(2, donnees.getSalles().size());
+        assertEquals(2, donnees.getActivites().size());
+        assertEquals(3, donnees.getReservations().size());
+        assertTrue(donnees.getFichiersInvalides().isEmpty());
+
+        Reservation premiere = donnees.getReservations().get(0);
+        assertEquals("A6", premiere.getSalleR());
+        assertEquals("Dupont Pierre", premiere.getEmployeR());
+        assertEquals(1, donnees.getSalles().get(0).getReservations().size());
+
+        // la salle 00000009 n'existe pas
+        assertEquals(1, donnees.getReferencesNonResolues().size());
+    }
+
+    @Test
+    void testSuiviProgression() {
+        int[] dernierNumero = {-1};
+        int[] totalFichiers = {0};
+        DonneesChargees donnees = LireFichier.lireDossier(dossier.toString(),
+                new SuiviChargement() {
+            @Override
+            public void progression(String nomFichier, int nbLignesLues,
+                                    int numeroFichier, int nbFichiers) {
+                assertTrue(numeroFichier >= dernierNumero[0]);
+                dernierNumero[0] = numeroFichier;
+                totalFichiers[0] = nbFichiers;
+            }
+
+            @Override
+            public boolean estAnnule() {
+                return false;
+            }
+        });
+
+        assertEquals(fichiers.length, totalFichiers[0]);
+        assertEquals(fichiers.length, dernierNumero[0]);
+        assertEquals(3, donnees.getReservations().size());
+    }
+
+    @Test
+    void testLectureFichiersDates() throws IOException {
+        int nbJours = 40;
+        int nbLignes = 250;
+        for (int jour = 0; jour < nbJours; jour++) {
+            StringBuilder contenu = new StringBuilder(
+                    "Ident;salle;employe;activite;date;heuredebut;heurefin;;;;;\n");
+            for (int i = 0; i < nbLignes; i++) {
+                contenu.append(String.format("R%02d%04d;00000001;E000001;réunion;"
+                                             + "%02d/11/2024;08h00;09h00;;;;;\n",
+                                             jour, i, jour % 28 + 1));
+            }
+            try (FileWriter writer = new FileWriter(dossier.resolve(
+                    String.format("Reservation_%02d112024.csv", jour)).toFile())) {
+                writer.write(contenu.toString());
+            }
+        }
+
+        DonneesChargees donnees = LireFichier.lireDossier(
+                dossier.toString(), SuiviChargement.AUCUN);
+
+        assertEquals(3 + nbJours * nbLignes, donnees.getReservations().size());
+        assertTrue(donnees.getFichiersInvalides().isEmpty());
+        assertEquals(1, donnees.getReferencesNonResolues().size());
+
+        // les réservations de chaque fichier sont consécutives et dans
+        // l'ordre du fichier
+        for (int jour = 0; jour < nbJours; jour++) {
+            int[] bornes = donnees.getLignesParFichier().get(
+                    String.format("Reservation_%02d112024.csv", jour));
+            assertEquals(nbLignes, bornes[1] - bornes[0]);
+            for (int i = 0; i < nbLignes; i++) {
+                Reservation reservation = donnees.getReservations().get(bornes[0] + i);
+                assertEquals(String.format("R%02d%04d", jour, i),
+                             reservation.getIdReservation());
+                assertEquals("Dupont Pierre", reservation.getEmployeR());
+            }
+        }
+        assertEquals(1 + nbJours * nbLignes,
+                     donnees.getSalles().get(0).getReservations().size());
+    }
+
+    @Test
+    void testChargementAnnule() {
+        assertThrows(CancellationException.class,
+                () -> LireFichier.lireDossier(dossier.toString(),
+                        new SuiviChargement() {
+            @Override
+            public void progression(String nomFichier, int nbLignesLues,
+                                    int numeroFichier, int nbFichiers) {
+                fail("Aucun fichier ne doit être lu après l'annulation");
+            }
+
+            @Override
+            public boolean estAnnule() {
+                return true;
+            }
+        }));
+    }
+}
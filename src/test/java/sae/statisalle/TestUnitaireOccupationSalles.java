@@ -0,0 +1,78 @@
+/*
+ * TestUnitaireOccupationSalles.java            17/10/2026
+ * IUT DE RODEZ                                 Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Test;
+import sae.statisalle.modele.CalendrierOuverture;
+import sae.statisalle.modele.ColonnesReservations;
+import sae.statisalle.modele.OccupationSalles;
+import sae.statisalle.modele.objet.Reservation;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour la classe OccupationSalles.
+ *
+ * <p>Les tests couvrent les fonctionnalités suivantes :
+ * <ul>
+ *   <li>Fusion des réservations qui se chevauchent          </li>
+ *   <li>Réduction aux horaires d'ouverture                  </li>
+ *   <li>Taux d'occupation sur la période                    </li>
+ * </ul>
+ * @author erwan.thierry
+ */
+class TestUnitaireOccupationSalles {
+
+    private static Reservation creer(String salle, String date,
+                                     String debut, String fin) {
+        return new Reservation("R", salle, "Dupont Pierre", "réunion", date,
+                               debut, fin, "", "", "", "", "");
+    }
+
+    /* Semaine du lundi 07/10/2024 au dimanche 13/10/2024 */
+    private final ColonnesReservations colonnes = new ColonnesReservations(List.of(
+            // salle A : 9h-11h et 10h-12h se chevauchent, 11h30-13h prolonge
+            creer("salle occupation A", "07/10/2024", "09h00", "11h00"),
+            creer("salle occupation A", "07/10/2024", "10h00", "12h00"),
+            creer("salle occupation A", "07/10/2024", "11h30", "13h00"),
+            // même horaire un autre jour : pas de fusion entre les jours
+            creer("salle occupation A", "08/10/2024", "09h00", "10h00"),
+            // salle B : débordements hors des horaires et jour fermé
+            creer("salle occupation B", "07/10/2024", "07h00", "09h00"),
+            creer("salle occupation B", "07/10/2024", "17h00", "20h00"),
+            creer("salle occupation B", "12/10/2024", "10h00", "12h00"),
+            creer("salle occupation B", "09/10/2024", "midi", "14h00")));
+
+    @Test
+    void testFusionEtReduction() {
+        OccupationSalles occupation = new OccupationSalles(colonnes,
+                colonnes.toutesLesLignes(), new CalendrierOuverture(),
+                colonnes.getPremierJour(), colonnes.getDernierJour());
+
+        int salleA = colonnes.getDictionnaires().getSalles().chercher("salle occupation A");
+        int salleB = colonnes.getDictionnaires().getSalles().chercher("salle occupation B");
+
+        assertEquals(4 * 60 + 60, occupation.getMinutesOccupees(salleA));
+        assertEquals(60 + 60, occupation.getMinutesOccupees(salleB));
+        // du lundi au samedi : 5 jours ouvrés de 10 heures
+        assertEquals(5 * 600, occupation.getMinutesOuvertes());
+        assertEquals(10.0, occupation.getTaux(salleA), 1e-9);
+        assertEquals(0.0, occupation.getTaux(-1));
+    }
+
+    @Test
+    void testPeriodeEtLignes() {
+        int lundi = colonnes.getPremierJour();
+        OccupationSalles occupation = new OccupationSalles(colonnes,
+                new int[] {0, 3}, new CalendrierOuverture(), lundi, lundi);
+
+        int salleA = colonnes.getDictionnaires().getSalles().chercher("salle occupation A");
+        // la réservation du mardi est hors de la période
+        assertEquals(120, occupation.getMinutesOccupees(salleA));
+        assertEquals(20.0, occupation.getTaux(salleA), 1e-9);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * TestUnitairePartageChaines.java        17/10/2026
+ * IUT DE RODEZ                           Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sae.statisalle.modele.DonneesChargees;
+import sae.statisalle.modele.LireFichier;
+import sae.statisalle.modele.PartageChaines;
+import sae.statisalle.modele.SuiviChargement;
+import sae.statisalle.modele.objet.Reservation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour la classe PartageChaines.
+ *
+ * <p>Les tests couvrent les fonctionnalités suivantes :
+ * <ul>
+ *   <li>Instance partagée des valeurs égales                    </li>
+ *   <li>Textes des réservations de fichiers différents partagés </li>
+ * </ul>
+ * @author erwan.thierry
+ */
+class TestUnitairePartageChaines {
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    void testPartager() {
+        PartageChaines partage = new PartageChaines();
+        String valeur = partage.partager(new String("réunion"));
+
+        assertSame(valeur, partage.partager(new String("réunion")));
+        assertEquals("club gym", partage.partager("club gym"));
+        assertNull(partage.partager(null));
+        assertEquals(2, partage.taille());
+    }
+
+    @Test
+    void testPartageEntreFichiers() throws IOException {
+        for (int jour = 1; jour <= 3; jour++) {
+            Files.writeString(dossier.resolve("Reservation_0" + jour + "102024.csv"),
+                    "Ident;salle;employe;activite;date;heuredebut;heurefin;;;;;\n"
+                    + "R00000" + jour + ";00000001;E000001;réunion;0" + jour
+                    + "/10/2024;08h00;09h00;suivi hebdomadaire;Legendre;Noémie;"
+                    + "0600000000;reunion\n");
+        }
+
+        DonneesChargees donnees = LireFichier.lireDossier(dossier.toString(),
+                                                          SuiviChargement.AUCUN);
+        List<Reservation> reservations = donnees.getReservations();
+        assertEquals(3, reservations.size());
+        for (Reservation reservation : reservations) {
+            Reservation premiere = reservations.get(0);
+            assertSame(premiere.getDescription(), reservation.getDescription());
+            assertSame(premiere.getNomIntervenant(), reservation.getNomIntervenant());
+            assertSame(premiere.getPrenomIntervenant(), reservation.getPrenomIntervenant());
+            assertSame(premiere.getNumTelIntervenant(), reservation.getNumTelIntervenant());
+            assertSame(premiere.getUsage(), reservation.getUsage());
+        }
+    }
+}
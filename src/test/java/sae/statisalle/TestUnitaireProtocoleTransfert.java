@@ -0,0 +1,309 @@
+/*
+ * TestUnitaireProtocoleTransfert.java    17/10/2026
+ * IUT DE RODEZ                           Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sae.statisalle.modele.Compression;
+import sae.statisalle.modele.FichierTransfere;
+import sae.statisalle.modele.ProtocoleTransfert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour la classe ProtocoleTransfert.
+ *
+ * <p>Les tests couvrent les fonctionnalités suivantes :
+ * <ul>
+ *   <li>Fichiers reçus identiques aux fichiers envoyés, quel que soit le
+ *       découpage des octets reçus                                  </li>
+ *   <li>Contenus contenant "/N", "/EOF" et des fins de ligne        </li>
+ *   <li>Contenu découpé en plusieurs morceaux, sans couper une paire
+ *       de substitution                                             </li>
+ *   <li>Signature, version et empreinte invalides refusées          </li>
+ *   <li>Fichiers temporaires d'un transfert abandonné supprimés     </li>
+ *   <li>Contenu compressé, et choix de la compression annoncée      </li>
+ *   <li>Fichier dont le contenu décompressé est trop volumineux
+ *       refusé                                                      </li>
+ * </ul>
+ * @author valentin.munier-genie
+ */
+class TestUnitaireProtocoleTransfert {
+
+    private static final BigInteger CLE = BigInteger.valueOf(4217);
+
+    private static final String SALLES =
+            "Ident;Nom;Capacite;videoproj;ecranXXL;ordinateur;type;logiciels;"
+            + "imprimante\r\n00000001;Salle /N 1;30;oui;non;0;;;non\r\n";
+
+    private static final String RESERVATIONS =
+            "Ident;salle;employe;activite;date;heuredebut;heurefin\n"
+            + "R000001;00000001;E000001;réunion /EOF;07/10/2024;08h00;10h30\n";
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    void testTransfertDecoupe() throws IOException {
+        byte[] transfert = ecrire();
+
+        for (int taille : new int[] {1, 3, 7, transfert.length}) {
+            Path reception = Files.createDirectories(dossier.resolve("reception_" + taille));
+            ProtocoleTransfert.Decodeur decodeur = decodeur(reception);
+            for (int debut = 0; debut < transfert.length; debut += taille) {
+                assertFalse(decodeur.estTermine());
+                decodeur.ajouter(ByteBuffer.wrap(transfert, debut,
+                        Math.min(taille, transfert.length - debut)));
+            }
+            assertTrue(decodeur.estTermine());
+
+            List<FichierTransfere> fichiers = decodeur.getFichiers();
+            assertEquals(3, fichiers.size());
+            FichierTransfere salles = fichiers.get(0);
+            FichierTransfere reservations = fichiers.get(1);
+            FichierTransfere vide = fichiers.get(2);
+
+            assertEquals("Salles.csv", salles.getNom());
+            assertEquals("Salle", salles.getType());
+            assertEquals(SALLES, Files.readString(salles.getFichier()));
+            assertEquals(SALLES.getBytes(StandardCharsets.UTF_8).length,
+                         salles.getTaille());
+            assertEquals("Reservation", reservations.getType());
+            assertEquals(RESERVATIONS, Files.readString(reservations.getFichier()));
+            assertNull(vide.getType());
+            assertEquals(0, Files.size(vide.getFichier()));
+
+            // les fichiers reçus sont dans le dossier de réception, et un
+            // transfert terminé ne les supprime pas
+            assertEquals(reception, salles.getFichier().getParent());
+            assertTrue(salles.getFichier().toString()
+                             .endsWith(ProtocoleTransfert.EXTENSION_RECEPTION));
+            decodeur.abandonner();
+            assertEquals(3, nbFichiers(reception));
+        }
+    }
+
+    @Test
+    void testTransfertEnMorceaux() throws IOException {
+        // une paire de substitution à cheval sur la fin du premier morceau
+        StringBuilder texte = new StringBuilder("Ident;salle;employe;activite;"
+                                                + "date;heuredebut;heurefin\n");
+        while (texte.length() < ProtocoleTransfert.TAILLE_MORCEAU - 1) {
+            texte.append('é');
+        }
+        texte.append("🚀");
+        for (int i = 0; texte.length() < 5 * ProtocoleTransfert.TAILLE_MORCEAU; i++) {
+            texte.append("R").append(i).append(";00000001;E000001;réunion ✓;")
+                 .append("07/10/2024;08h00;10h30\r\n");
+        }
+        Path fichier = Files.writeString(dossier.resolve("Reservations.csv"), texte);
+
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        ProtocoleTransfert.ecrireTransfert(sortie, List.of(fichier), CLE);
+        Path reception = Files.createDirectories(dossier.resolve("reception"));
+        ProtocoleTransfert.Decodeur decodeur = decodeur(reception);
+        decodeur.ajouter(ByteBuffer.wrap(sortie.toByteArray()));
+
+        assertTrue(decodeur.estTermine());
+        FichierTransfere recu = decodeur.getFichiers().get(0);
+        assertEquals("Reservation", recu.getType());
+        assertArrayEquals(Files.readAllBytes(fichier),
+                          Files.readAllBytes(recu.getFichier()));
+        assertEquals(Files.size(fichier), recu.getTaille());
+        assertEquals("Ident;salle", recu.lireDebut(11));
+    }
+
+    @Test
+    void testTransfertInvalide() throws IOException {
+        byte[] transfert = ecrire();
+        Path reception = Files.createDirectories(dossier.resolve("reception"));
+
+        byte[] signature = transfert.clone();
+        signature[0] = 'R';
+        assertThrows(IllegalArgumentException.class,
+                () -> decodeur(reception).ajouter(ByteBuffer.wrap(signature)));
+
+        byte[] version = transfert.clone();
+        version[4] = 1;
+        assertThrows(IllegalArgumentException.class,
+                () -> decodeur(reception).ajouter(ByteBuffer.wrap(version)));
+
+        // premier morceau du premier fichier modifié : empreinte différente
+        byte[] contenu = transfert.clone();
+        int debutContenu = 7 + 3 + "Salles.csv".length() + 4;
+        contenu[debutContenu] = (byte) (contenu[debutContenu] == 'a' ? 'b' : 'a');
+        ProtocoleTransfert.Decodeur decodeur = decodeur(reception);
+        assertThrows(IllegalArgumentException.class,
+                () -> decodeur.ajouter(ByteBuffer.wrap(contenu)));
+        assertFalse(decodeur.estTermine());
+        decodeur.abandonner();
+        assertEquals(0, nbFichiers(reception));
+
+        // octets reçus après la fin du transfert
+        byte[] prolonge = new byte[transfert.length + 1];
+        System.arraycopy(transfert, 0, prolonge, 0, transfert.length);
+        ProtocoleTransfert.Decodeur termine = decodeur(reception);
+        assertThrows(IllegalArgumentException.class,
+                () -> termine.ajouter(ByteBuffer.wrap(prolonge)));
+    }
+
+    @Test
+    void testTransfertAbandonne() throws IOException {
+        byte[] transfert = ecrire();
+        Path reception = Files.createDirectories(dossier.resolve("reception"));
+
+        // le premier fichier est complet, le second interrompu
+        ProtocoleTransfert.Decodeur decodeur = decodeur(reception);
+        decodeur.ajouter(ByteBuffer.wrap(transfert, 0, transfert.length - 20));
+        assertFalse(decodeur.estTermine());
+        assertEquals(2, nbFichiers(reception));
+
+        decodeur.abandonner();
+        assertEquals(0, nbFichiers(reception));
+    }
+
+    @Test
+    void testTransfertCompresse() throws IOException {
+        Compression deflate = ProtocoleTransfert.COMPRESSIONS.get(0);
+        StringBuilder texte = new StringBuilder(RESERVATIONS);
+        for (int i = 0; texte.length() < 3 * ProtocoleTransfert.TAILLE_MORCEAU; i++) {
+            texte.append("R").append(i).append(";00000001;E000001;réunion;")
+                 .append("07/10/2024;08h00;10h30\n");
+        }
+        Path reservations = Files.writeString(dossier.resolve("Reservations.csv"), texte);
+        Path salles = Files.writeString(dossier.resolve("Salles.csv"), SALLES);
+        Path vide = Files.writeString(dossier.resolve("Vide.csv"), "");
+        List<Path> envoyes = List.of(reservations, salles, vide);
+
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        ProtocoleTransfert.ecrireTransfert(sortie, envoyes, CLE, deflate);
+        byte[] transfert = sortie.toByteArray();
+        sortie.reset();
+        ProtocoleTransfert.ecrireTransfert(sortie, envoyes, CLE);
+        assertEquals(ProtocoleTransfert.VERSION, transfert[4]);
+        assertTrue(transfert.length * 4 < sortie.size(),
+                   "Le contenu répétitif doit être compressé");
+
+        for (int taille : new int[] {1, 7, transfert.length}) {
+            Path reception = Files.createDirectories(dossier.resolve("reception_" + taille));
+            ProtocoleTransfert.Decodeur decodeur = decodeur(reception);
+            for (int debut = 0; debut < transfert.length; debut += taille) {
+                decodeur.ajouter(ByteBuffer.wrap(transfert, debut,
+                        Math.min(taille, transfert.length - debut)));
+            }
+            assertTrue(decodeur.estTermine());
+
+            List<FichierTransfere> fichiers = decodeur.getFichiers();
+            for (int i = 0; i < envoyes.size(); i++) {
+                assertArrayEquals(Files.readAllBytes(envoyes.get(i)),
+                                  Files.readAllBytes(fichiers.get(i).getFichier()));
+                assertEquals(Files.size(envoyes.get(i)), fichiers.get(i).getTaille());
+            }
+            assertEquals("Reservation", fichiers.get(0).getType());
+        }
+
+        // compression inconnue du destinataire
+        byte[] inconnue = transfert.clone();
+        inconnue[5] = (byte) (ProtocoleTransfert.COMPRESSIONS.size() + 1);
+        Path reception = dossier.resolve("reception_1");
+        assertThrows(IllegalArgumentException.class,
+                () -> decodeur(reception).ajouter(ByteBuffer.wrap(inconnue)));
+    }
+
+    @Test
+    void testContenuDecompresseTropVolumineux() throws IOException {
+        // contenu qui se compresse très bien : quelques Ko sur le réseau
+        Path repetitif = Files.writeString(dossier.resolve("Reservations.csv"),
+                                           RESERVATIONS.repeat(20_000));
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        ProtocoleTransfert.ecrireTransfert(sortie, List.of(repetitif), CLE,
+                                           ProtocoleTransfert.COMPRESSIONS.get(0));
+        byte[] transfert = sortie.toByteArray();
+        long tailleMax = Files.size(repetitif) / 2;
+        assertTrue(transfert.length < tailleMax);
+
+        Path reception = Files.createDirectories(dossier.resolve("reception"));
+        ProtocoleTransfert.Decodeur decodeur =
+                new ProtocoleTransfert.Decodeur(reception, tailleMax);
+        decodeur.setCle(CLE);
+        assertThrows(IllegalArgumentException.class,
+                () -> decodeur.ajouter(ByteBuffer.wrap(transfert)));
+        try (Stream<Path> recus = Files.list(reception)) {
+            assertTrue(Files.size(recus.findFirst().orElseThrow()) <= tailleMax);
+        }
+
+        decodeur.abandonner();
+        assertEquals(0, nbFichiers(reception));
+
+        // le même fichier est accepté sans limite plus basse que sa taille
+        ProtocoleTransfert.Decodeur accepte = decodeur(reception);
+        accepte.ajouter(ByteBuffer.wrap(transfert));
+        assertTrue(accepte.estTermine());
+        assertEquals(Files.size(repetitif), accepte.getFichiers().get(0).getTaille());
+    }
+
+    @Test
+    void testChoisirCompression() {
+        List<Compression> acceptees = ProtocoleTransfert.COMPRESSIONS;
+        String annonce = ProtocoleTransfert.annoncerCompressions(acceptees);
+        assertEquals("deflate", annonce);
+
+        // serveur qui n'annonce aucune compression
+        assertNull(ProtocoleTransfert.choisirCompression("5 ; 23 ; 11", acceptees));
+        assertNull(ProtocoleTransfert.choisirCompression("5 ; 23 ; 11 ; ", acceptees));
+        assertNull(ProtocoleTransfert.choisirCompression("5 ; 23 ; 11 ; zstd", acceptees));
+        assertNull(ProtocoleTransfert.choisirCompression(null, acceptees));
+
+        assertSame(acceptees.get(0), ProtocoleTransfert.choisirCompression(
+                "5 ; 23 ; 11 ; zstd," + annonce, acceptees));
+
+        // client qui n'accepte aucune compression
+        assertNull(ProtocoleTransfert.choisirCompression(
+                "5 ; 23 ; 11 ; " + annonce, List.of()));
+    }
+
+    /*
+     * Décodeur recevant les fichiers dans un dossier, la clé déjà échangée.
+     */
+    private static ProtocoleTransfert.Decodeur decodeur(Path reception) {
+        ProtocoleTransfert.Decodeur decodeur = new ProtocoleTransfert.Decodeur(reception);
+        decodeur.setCle(CLE);
+        return decodeur;
+    }
+
+    /*
+     * Nombre de fichiers d'un dossier.
+     */
+    private static long nbFichiers(Path dossier) throws IOException {
+        try (Stream<Path> fichiers = Files.list(dossier)) {
+            return fichiers.count();
+        }
+    }
+
+    /*
+     * Transfert de trois fichiers, dont un vide.
+     */
+    private byte[] ecrire() throws IOException {
+        Path salles = Files.writeString(dossier.resolve("Salles.csv"), SALLES);
+        Path reservations = Files.writeString(dossier.resolve("Reservations.csv"),
+                                              RESERVATIONS);
+        Path vide = Files.writeString(dossier.resolve("Vide.csv"), "");
+
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        ProtocoleTransfert.ecrireTransfert(sortie, List.of(salles, reservations, vide),
+                                           CLE);
+        return sortie.toByteArray();
+    }
+}
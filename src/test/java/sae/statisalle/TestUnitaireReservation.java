@@ -0,0 +1,159 @@
+/*
+ * TestUnitaireReservation.java            17/10/2026
+ * IUT DE RODEZ                            Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Test;
+import sae.statisalle.modele.ColonnesReservations;
+import sae.statisalle.modele.Dictionnaire;
+import sae.statisalle.modele.DictionnairesReservations;
+import sae.statisalle.modele.objet.Reservation;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour la classe Reservation.
+ *
+ * <p>Les tests couvrent les fonctionnalités suivantes :
+ * <ul>
+ *   <li>Conversion des dates et des heures à la création     </li>
+ *   <li>Restitution des valeurs sous forme de chaînes        </li>
+ *   <li>Calcul de la durée                                   </li>
+ *   <li>Partage des salles, employés et activités par codes  </li>
+ *   <li>Valeurs nulles et renouvellement des dictionnaires   </li>
+ *   <li>Valeurs mal formatées                                </li>
+ * </ul>
+ * @author erwan.thierry
+ */
+class TestUnitaireReservation {
+
+    private Reservation creer(String salle, String date,
+                              String debut, String fin) {
+        return new Reservation("R000001", salle, "E000001", "réunion", date,
+                               debut, fin, "club gym", "Legendre", "Noémie",
+                               "0600000000", "reunion");
+    }
+
+    @Test
+    void testConversionALaCreation() {
+        Reservation reservation = creer("00000001", "07/10/2024", "8h00", "10h30");
+
+        assertEquals(LocalDate.of(2024, 10, 7).toEpochDay(), reservation.getJour());
+        assertEquals(8 * 60, reservation.getDebutMinutes());
+        assertEquals(10 * 60 + 30, reservation.getFinMinutes());
+        assertEquals(150, reservation.getDureeMinutes());
+    }
+
+    @Test
+    void testGettersTexte() {
+        Reservation reservation = creer("00000001", "07/10/2024", "8h00", "17h05");
+
+        assertEquals("00000001", reservation.getSalleR());
+        assertEquals("E000001", reservation.getEmployeR());
+        assertEquals("réunion", reservation.getActiviteR());
+        assertEquals("07/10/2024", reservation.getDateR());
+        assertEquals("08h00", reservation.getHeureDebut());
+        assertEquals("17h05", reservation.getHeureFin());
+        assertEquals("09h05", reservation.getDureeReservation());
+    }
+
+    @Test
+    void testCodesPartages() {
+        Reservation premiere = creer("salle test partage", "07/10/2024", "08h00", "09h00");
+        Reservation seconde = creer("salle test partage", "08/10/2024", "10h00", "11h00");
+
+        assertEquals(premiere.getCodeSalle(), seconde.getCodeSalle());
+        assertSame(premiere.getDictionnaires(), seconde.getDictionnaires());
+        Dictionnaire salles = premiere.getDictionnaires().getSalles();
+        assertEquals(premiere.getCodeSalle(), salles.chercher("salle test partage"));
+        assertEquals(Dictionnaire.ABSENT, salles.chercher("salle jamais réservée"));
+
+        seconde.setSalleR("autre salle test");
+        assertNotEquals(premiere.getCodeSalle(), seconde.getCodeSalle());
+        assertEquals("autre salle test", seconde.getSalleR());
+    }
+
+    @Test
+    void testSalleNulle() {
+        Reservation reservation = creer(null, "07/10/2024", "08h00", "09h00");
+
+        assertNull(reservation.getSalleR());
+        assertEquals(reservation.getCodeSalle(),
+                     reservation.getDictionnaires().getSalles().chercher(null));
+        assertEquals(reservation.getCodeSalle(),
+                     creer(null, "08/10/2024", "08h00", "09h00").getCodeSalle());
+    }
+
+    @Test
+    void testDictionnaireValeurNulle() {
+        Dictionnaire dictionnaire = new Dictionnaire();
+        assertEquals(Dictionnaire.ABSENT, dictionnaire.chercher(null));
+        int salle = dictionnaire.code("Salle A");
+        int nulle = dictionnaire.code(null);
+        assertNotEquals(salle, nulle);
+        assertEquals(2, dictionnaire.taille());
+        assertEquals(Set.of(salle),
+                     dictionnaire.chercherSansCasse("salle a").stream()
+                                 .boxed().collect(Collectors.toSet()));
+        assertEquals(nulle, dictionnaire.code(null));
+        assertEquals(2, dictionnaire.taille());
+    }
+
+    @Test
+    void testRenouvelerDictionnaires() {
+        Reservation ancienne = creer("salle avant rechargement", "07/10/2024",
+                                     "08h00", "09h00");
+        DictionnairesReservations nouveaux = Reservation.renouvelerDictionnaires();
+        Reservation nouvelle = creer("salle après rechargement", "07/10/2024",
+                                     "08h00", "09h00");
+
+        // l'ancienne réservation reste lisible avec ses propres dictionnaires
+        assertNotSame(nouveaux, ancienne.getDictionnaires());
+        assertSame(nouveaux, nouvelle.getDictionnaires());
+        assertEquals("salle avant rechargement", ancienne.getSalleR());
+        assertEquals("salle après rechargement", nouvelle.getSalleR());
+        assertEquals(Dictionnaire.ABSENT,
+                     nouveaux.getSalles().chercher("salle avant rechargement"));
+
+        // un stockage ne mélange pas des réservations de deux chargements
+        assertThrows(IllegalArgumentException.class,
+                     () -> new ColonnesReservations(List.of(ancienne, nouvelle)));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new ColonnesReservations(List.of(nouvelle))
+                             .modifier(new int[0], List.of(ancienne)));
+    }
+
+    @Test
+    void testValeursNonValides() {
+        Reservation reservation = creer("00000001", "32/13/2024", "8h", "midi");
+
+        assertEquals(Reservation.DATE_INVALIDE, reservation.getJour());
+        assertFalse(reservation.heuresValides());
+        assertEquals(0, reservation.getDureeMinutes());
+        assertEquals("Non Valide", reservation.getDateR());
+        assertEquals("Non Valide", reservation.getDureeReservation());
+    }
+
+    @Test
+    void testConvertirHeure() {
+        assertEquals(0, Reservation.convertirHeure("00h00"));
+        assertEquals(9 * 60 + 15, Reservation.convertirHeure("09:15"));
+        assertEquals(23 * 60 + 59, Reservation.convertirHeure(" 23h59 "));
+        assertEquals(Reservation.HEURE_INVALIDE, Reservation.convertirHeure("24h00"));
+        assertEquals(Reservation.HEURE_INVALIDE, Reservation.convertirHeure(""));
+        assertEquals(Reservation.HEURE_INVALIDE, Reservation.convertirHeure(null));
+    }
+
+    @Test
+    void testFormaterHeure() {
+        assertEquals("00h00", Reservation.formaterHeure(0));
+        assertEquals("10h30", Reservation.formaterHeure(630));
+        assertEquals("Non Valide", Reservation.formaterHeure(Reservation.HEURE_INVALIDE));
+    }
+}
@@ -7,15 +7,33 @@ package sae.statisalle;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sae.statisalle.modele.DiffieHellman;
+import sae.statisalle.modele.ProtocoleTransfert;
+import sae.statisalle.modele.objet.Client;
 import sae.statisalle.modele.objet.Serveur;
 
 import java.io.BufferedReader;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.math.BigInteger;
 import java.net.InetAddress;
-import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,9 +47,13 @@ public class TestUnitaireServeur {
     private Serveur serveur;
     private Thread serveurThread;
 
+    @TempDir
+    Path dossier;
+
     @BeforeEach
     void setUp() throws InterruptedException {
-        serveur = new Serveur();
+        serveur = new Serveur(Serveur.NB_CONNEXIONS_MAX,
+                              Serveur.DELAI_INACTIVITE, dossier);
         serveurThread = new Thread(() -> {
             try {
                 serveur.demarrer(65432, null);
@@ -89,7 +111,8 @@ public class TestUnitaireServeur {
             String cleServeur = in.readLine();
             assertNotNull(cleServeur, "La clé publique du serveur ne "
                     + "doit pas être null");
-            assertTrue(cleServeur.matches("\\d+ ; \\d+ ; \\d+"),
+            // suivie des compressions acceptées par le serveur
+            assertTrue(cleServeur.matches("\\d+ ; \\d+ ; \\d+ ; deflate"),
                     "La clé publique du serveur doit respecter le "
                             + "format attendu");
         } catch (Exception e) {
@@ -151,33 +174,208 @@ public class TestUnitaireServeur {
 
     @Test
     void testFermerResourcesProprement() throws IOException {
-        // Création d'un ServerSocket et d'un Socket client
-        try (ServerSocket serverSocket = new ServerSocket(0)) {
-            // Création d'un thread pour simuler un client se connectant au serveur
-            Thread clientThread = new Thread(() -> {
-                try {
-                    new Socket("localhost", serverSocket.getLocalPort());
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            });
-            clientThread.start();
-
-            // Accepter la connexion du client
-            Socket clientSocket = serverSocket.accept();
-
-            // Instancier le Serveur
-            Serveur serveur = new Serveur();
-
-            // Initialisation des flux
-            serveur.demarrer(55588, "127.0.0.1");
-            serveur.accepterClients();
+        try (Socket client = new Socket(InetAddress.getLocalHost(),
+                65432)) {
+            PrintWriter out = new PrintWriter(client.getOutputStream(),
+                    true);
+            BufferedReader in = new BufferedReader(new InputStreamReader
+                    (client.getInputStream()));
+
+            // attendre que la connexion du client soit établie
+            out.println("5 ; 23 ; 11");
+            assertNotNull(in.readLine());
 
             // Vérification que fermer ne lève pas d'exception
             assertDoesNotThrow(serveur::fermer, "La méthode fermer ne doit pas lever d'exception.");
 
-            // Vérification que le socket est bien fermé
-            assertTrue(clientSocket.isClosed(), "Le clientSocket doit être fermé.");
+            // Vérification que la connexion du client est bien fermée
+            assertNull(in.readLine(), "La connexion du client doit être fermée.");
+        }
+    }
+
+    @Test
+    void testClientsSimultanes() throws Exception {
+        final int NB_CLIENTS = 40;
+        CountDownLatch depart = new CountDownLatch(1);
+        List<Future<String>> reponses = new ArrayList<>();
+        ExecutorService clients = Executors.newFixedThreadPool(NB_CLIENTS);
+        try {
+            for (int i = 0; i < NB_CLIENTS; i++) {
+                Path fichier = dossier.resolve("Reservation_" + i + ".csv");
+                Files.writeString(fichier, "Ident;salle;employe;activite;date;"
+                        + "heuredebut;heurefin\nR" + i + ";00000001;E000001;"
+                        + "réunion;07/10/2024;08h00;10h30\n");
+                reponses.add(clients.submit(() -> {
+                    depart.await();
+                    return envoyerFichier(fichier);
+                }));
+            }
+            depart.countDown();
+
+            // chaque client reçoit la réponse à ses propres fichiers
+            for (int i = 0; i < NB_CLIENTS; i++) {
+                assertEquals("Données bien envoyées : Reservation_" + i
+                             + ".csv",
+                             reponses.get(i).get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    @Test
+    void testNombreConnexionsBorne() throws Exception {
+        Serveur serveurBorne = new Serveur(2, Serveur.DELAI_INACTIVITE);
+        serveurBorne.demarrer(55589, "127.0.0.1");
+        Thread thread = Thread.ofPlatform().start(serveurBorne::accepterClients);
+        // le premier client est fermé en cours de test pour libérer sa place
+        Socket premier = new Socket("127.0.0.1", 55589);
+        try (Socket second = new Socket("127.0.0.1", 55589);
+             Socket troisieme = new Socket("127.0.0.1", 55589)) {
+            assertNotNull(echangerCle(premier));
+            assertNotNull(echangerCle(second));
+
+            // le troisième client attend qu'une connexion se libère
+            troisieme.setSoTimeout(500);
+            PrintWriter out = new PrintWriter(troisieme.getOutputStream(),
+                    true);
+            BufferedReader in = new BufferedReader(new InputStreamReader
+                    (troisieme.getInputStream()));
+            out.println("5 ; 23 ; 11");
+            assertThrows(SocketTimeoutException.class, in::readLine);
+
+            premier.close();
+            troisieme.setSoTimeout(5000);
+            assertNotNull(in.readLine(), "Le troisième client doit être "
+                    + "accepté une fois une connexion libérée");
+        } finally {
+            premier.close();
+            serveurBorne.fermerServeur();
+            thread.join();
+        }
+    }
+
+    @Test
+    void testConnexionInactiveFermee() throws Exception {
+        Serveur serveurPresse = new Serveur(Serveur.NB_CONNEXIONS_MAX, 200);
+        serveurPresse.demarrer(55590, "127.0.0.1");
+        Thread thread = Thread.ofPlatform().start(serveurPresse::accepterClients);
+        try (Socket client = new Socket("127.0.0.1", 55590)) {
+            client.setSoTimeout(5000);
+            BufferedReader in = new BufferedReader(new InputStreamReader
+                    (client.getInputStream()));
+
+            // le client n'envoie rien : le serveur ferme la connexion
+            assertNull(in.readLine(), "Une connexion inactive doit être "
+                    + "fermée par le serveur");
+        } finally {
+            serveurPresse.fermerServeur();
+            thread.join();
+        }
+    }
+
+    @Test
+    void testTransfertInterrompuSupprime() throws Exception {
+        try (Socket client = new Socket("127.0.0.1", 65432)) {
+            assertNotNull(echangerCle(client));
+
+            // début d'un fichier, dont le contenu n'arrive jamais
+            DataOutputStream out = new DataOutputStream(client.getOutputStream());
+            out.writeInt(ProtocoleTransfert.SIGNATURE);
+            out.writeByte(ProtocoleTransfert.VERSION_SANS_COMPRESSION);
+            out.writeShort(1);
+            out.writeByte(0);
+            out.writeShort(9);
+            out.write("Salle.csv".getBytes(StandardCharsets.US_ASCII));
+            out.writeInt(100);
+            out.write(new byte[10]);
+            out.flush();
+            assertTrue(attendre(() -> nbFichiersRecus() == 1),
+                       "Le fichier doit être reçu dans un fichier temporaire");
+        }
+
+        // client déconnecté : le fichier incomplet est supprimé
+        assertTrue(attendre(() -> nbFichiersRecus() == 0),
+                   "Le fichier d'un transfert interrompu doit être supprimé");
+    }
+
+    /*
+     * Nombre de fichiers temporaires de réception du serveur.
+     */
+    private long nbFichiersRecus() throws IOException {
+        try (Stream<Path> fichiers = Files.list(dossier)) {
+            return fichiers.filter(fichier -> fichier.toString().endsWith(
+                    ProtocoleTransfert.EXTENSION_RECEPTION)).count();
+        }
+    }
+
+    /*
+     * Attend au plus 5 secondes qu'une condition soit vraie.
+     */
+    private static boolean attendre(Callable<Boolean> condition)
+            throws Exception {
+        long fin = System.currentTimeMillis() + 5000;
+        while (!condition.call()) {
+            if (System.currentTimeMillis() > fin) {
+                return false;
+            }
+            Thread.sleep(20);
+        }
+        return true;
+    }
+
+    /*
+     * Envoie une clé publique au serveur et renvoie la sienne.
+     */
+    private static String echangerCle(Socket client) throws IOException {
+        PrintWriter out = new PrintWriter(client.getOutputStream(), true);
+        BufferedReader in = new BufferedReader(new InputStreamReader
+                (client.getInputStream()));
+        out.println("5 ; 23 ; 11");
+        return in.readLine();
+    }
+
+    @Test
+    void testClientSansCompression() throws Exception {
+        Path fichier = dossier.resolve("Salle.csv");
+        Files.writeString(fichier, "Ident;Nom;Capacite;videoproj;ecranXXL;"
+                + "ordinateur;type;logiciels;imprimante\n"
+                + "00000001;Salle 1;30;oui;non;0;;;non\n");
+
+        // un client qui ne lit pas les compressions annoncées envoie un
+        // transfert sans compression, toujours accepté
+        assertEquals("Données bien envoyées : Salle.csv",
+                     envoyerFichier(fichier, new Client(List.of())));
+    }
+
+    /*
+     * Échange les clés avec le serveur, lui envoie un fichier chiffré et
+     * renvoie sa réponse.
+     */
+    private static String envoyerFichier(Path fichier) throws IOException {
+        return envoyerFichier(fichier, new Client());
+    }
+
+    /*
+     * Envoie un fichier au serveur avec un client donné.
+     */
+    private static String envoyerFichier(Path fichier, Client client)
+            throws IOException {
+        try {
+            client.connecter("127.0.0.1", 65432);
+            int p = DiffieHellman.genererEntierPremier(1, 9999);
+            int g = DiffieHellman.genererGenerateur(p);
+            int a = DiffieHellman.genererEntierPremier(1, 9999);
+            client.envoyerClePublic(DiffieHellman.expoModulaire(g, a, p)
+                                    + " ; " + p + " ; " + g);
+
+            String[] parties = client.recevoirClePublic().split(" ; ");
+            BigInteger cle = BigInteger.valueOf(DiffieHellman.expoModulaire(
+                    Integer.parseInt(parties[0]), a, p));
+            client.envoyerFichiers(List.of(fichier), cle);
+            return client.recevoir();
+        } finally {
+            client.fermer();
         }
     }
 
@@ -0,0 +1,86 @@
+/*
+ * TestUnitaireSurveillanceDossier.java   17/10/2026
+ * IUT DE RODEZ                           Pas de copyrights
+ */
+package sae.statisalle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sae.statisalle.modele.SurveillanceDossier;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour la classe SurveillanceDossier.
+ *
+ * <p>Les tests couvrent les fonctionnalités suivantes :
+ * <ul>
+ *   <li>Regroupement d'une rafale d'écritures en un seul signalement </li>
+ *   <li>Signalement des fichiers supprimés                           </li>
+ *   <li>Fichiers autres que CSV ignorés                              </li>
+ * </ul>
+ * @author erwan.thierry
+ */
+class TestUnitaireSurveillanceDossier {
+
+    /* Délai de regroupement utilisé par les tests, en millisecondes */
+    private static final long DELAI = 200;
+
+    /* Attente maximale d'un signalement, en secondes */
+    private static final long ATTENTE_MAXIMALE = 10;
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    void testRegroupementEcritures() throws Exception {
+        BlockingQueue<List<String>> signalements = new LinkedBlockingQueue<>();
+        try (SurveillanceDossier surveillance = new SurveillanceDossier(
+                dossier, DELAI, signalements::add, () -> fail("débordement"))) {
+            surveillance.demarrer();
+
+            Path premier = dossier.resolve("Reservation_1.csv");
+            Path second = dossier.resolve("Reservation_2.csv");
+            Files.writeString(premier, "Ident;salle\n");
+            Files.writeString(second, "Ident;salle\n");
+            Files.writeString(premier, "R000001;1\n",
+                              StandardOpenOption.APPEND);
+            Files.writeString(dossier.resolve("notes.txt"), "ignoré");
+
+            List<String> chemins = signalements.poll(ATTENTE_MAXIMALE, TimeUnit.SECONDS);
+            assertNotNull(chemins);
+            assertEquals(Set.of(premier.toString(), second.toString()),
+                         new HashSet<>(chemins));
+            assertEquals(chemins.size(), new HashSet<>(chemins).size());
+
+            // aucune autre rafale
+            assertNull(signalements.poll(3 * DELAI, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    void testSuppression() throws Exception {
+        Path fichier = dossier.resolve("Salle_1.csv");
+        Files.writeString(fichier, "Ident;Nom\n");
+
+        BlockingQueue<List<String>> signalements = new LinkedBlockingQueue<>();
+        try (SurveillanceDossier surveillance = new SurveillanceDossier(
+                dossier, DELAI, signalements::add, () -> fail("débordement"))) {
+            surveillance.demarrer();
+
+            Files.delete(fichier);
+            assertEquals(List.of(fichier.toString()),
+                         signalements.poll(ATTENTE_MAXIMALE, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -143,4 +143,34 @@ public class TestUnitaireVigenere {
             assertTrue(Vigenere.alphabet.contains(c), "L'alphabet doit contenir le symbole : " + c);
         }
     }
+
+    /**
+     * Test du chiffrement de données longues : le résultat doit être celui
+     * du calcul sur la clé ajustée, divisée par 10 à chaque caractère.
+     */
+    @Test
+    public void testChiffrementDonneesLongues() {
+        java.util.Random aleatoire = new java.util.Random(42);
+        StringBuilder texte = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            texte.append((char) (' ' + aleatoire.nextInt(230)));
+        }
+        String donnees = texte.toString();
+        BigInteger cle = new BigInteger(200, aleatoire);
+
+        BigInteger cleAjustee = Vigenere.ajusterTailleCle(donnees, cle);
+        BigInteger taille = BigInteger.valueOf(Vigenere.alphabet.size());
+        StringBuilder attendu = new StringBuilder();
+        for (int i = 0; i < donnees.length(); i++) {
+            int code = Vigenere.alphabet.indexOf(donnees.charAt(i));
+            attendu.append(code < 0 ? donnees.charAt(i)
+                           : Vigenere.alphabet.get(cleAjustee.add(BigInteger.valueOf(code))
+                                                             .mod(taille).intValue()));
+            cleAjustee = cleAjustee.divide(BigInteger.TEN);
+        }
+
+        String chiffre = Vigenere.chiffrementDonnees(donnees, cle);
+        assertEquals(attendu.toString(), chiffre, "Le chiffrement doit être celui de la clé ajustée.");
+        assertEquals(donnees, Vigenere.dechiffrementDonnees(chiffre, cle), "Le déchiffrement doit restituer les données.");
+    }
 }